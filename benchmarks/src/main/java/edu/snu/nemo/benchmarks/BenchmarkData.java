@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.benchmarks;
+
+import edu.snu.nemo.common.KeyExtractor;
+import edu.snu.nemo.common.coder.Coder;
+import edu.snu.nemo.common.ir.edge.executionproperty.CompressionProperty;
+import edu.snu.nemo.common.ir.executionproperty.ExecutionPropertyMap;
+import edu.snu.nemo.compiler.frontend.beam.coder.BeamCoder;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.executor.data.NonSerializedPartition;
+import edu.snu.nemo.runtime.executor.data.SerializerManager;
+import edu.snu.nemo.runtime.executor.data.partitioner.HashPartitioner;
+import edu.snu.nemo.runtime.executor.data.partitioner.Partitioner;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+import org.apache.beam.sdk.values.KV;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The data shared by the benchmarks, which mimics the key-value pairs shuffled between executors.
+ */
+final class BenchmarkData {
+  static final Coder<KV<Integer, Integer>> CODER = new BeamCoder<>(KvCoder.of(VarIntCoder.of(), VarIntCoder.of()));
+  static final KeyExtractor KEY_EXTRACTOR = element -> ((KV) element).getKey();
+  static final String RUNTIME_EDGE_ID = RuntimeIdGenerator.generateRuntimeEdgeId("Benchmark");
+  private static final long SEED = 0;
+
+  /**
+   * Private constructor.
+   */
+  private BenchmarkData() {
+  }
+
+  /**
+   * @param numElements the number of elements to create.
+   * @param numKeys     the number of distinct keys of the elements.
+   * @return the key-value pairs with uniformly random keys.
+   */
+  static List<KV<Integer, Integer>> createElements(final int numElements, final int numKeys) {
+    final Random random = new Random(SEED);
+    final List<KV<Integer, Integer>> elements = new ArrayList<>(numElements);
+    for (int i = 0; i < numElements; i++) {
+      elements.add(KV.of(random.nextInt(numKeys), random.nextInt()));
+    }
+    return elements;
+  }
+
+  /**
+   * @param elements       the elements to partition.
+   * @param numPartitions  the number of partitions.
+   * @return the hash partitions of the elements.
+   */
+  static List<NonSerializedPartition<Integer>> createPartitions(final List<KV<Integer, Integer>> elements,
+                                                                final int numPartitions) {
+    final Partitioner partitioner = new HashPartitioner();
+    final List<NonSerializedPartition<Integer>> partitions = new ArrayList<>(numPartitions);
+    partitioner.partition(elements, numPartitions, KEY_EXTRACTOR)
+        .forEach(partition -> partitions.add((NonSerializedPartition<Integer>) partition));
+    return partitions;
+  }
+
+  /**
+   * @param compression the compression of the edge, or {@code null} if the data is not compressed.
+   * @return the serializer manager which knows the serializer of the benchmark edge.
+   */
+  static SerializerManager createSerializerManager(final CompressionProperty.Compression compression) {
+    final SerializerManager serializerManager = new SerializerManager();
+    final ExecutionPropertyMap executionProperties = new ExecutionPropertyMap(RUNTIME_EDGE_ID);
+    if (compression != null) {
+      executionProperties.put(CompressionProperty.of(compression));
+    }
+    serializerManager.register(RUNTIME_EDGE_ID, CODER, executionProperties);
+    return serializerManager;
+  }
+
+  /**
+   * @param index the index of the block.
+   * @return the id of the block, produced through the benchmark edge.
+   */
+  static String createBlockId(final int index) {
+    return RuntimeIdGenerator.generateBlockId(RUNTIME_EDGE_ID, index);
+  }
+}
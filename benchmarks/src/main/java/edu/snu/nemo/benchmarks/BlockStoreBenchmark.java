@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.benchmarks;
+
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.common.data.HashRange;
+import edu.snu.nemo.runtime.executor.data.NonSerializedPartition;
+import edu.snu.nemo.runtime.executor.data.SerializerManager;
+import edu.snu.nemo.runtime.executor.data.stores.BlockStore;
+import edu.snu.nemo.runtime.executor.data.stores.LocalFileStore;
+import edu.snu.nemo.runtime.executor.data.stores.MemoryStore;
+import edu.snu.nemo.runtime.executor.data.stores.SerializedMemoryStore;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks writing a block to and reading a block from the {@link BlockStore}s of an executor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BlockStoreBenchmark {
+  private static final int NUM_ELEMENTS = 100000;
+  private static final int NUM_KEYS = 1000;
+  private static final int NUM_PARTITIONS = 100;
+
+  @Param({"MemoryStore", "SerializedMemoryStore", "LocalFileStore"})
+  private String store;
+
+  private Path fileDirectory;
+  private BlockStore blockStore;
+  private List<NonSerializedPartition<Integer>> partitions;
+  private String committedBlockId;
+  private String writtenBlockId;
+
+  /**
+   * Creates the block store and a committed block in it.
+   * @throws Exception if fail to create the block store.
+   */
+  @Setup
+  public final void setUp() throws Exception {
+    fileDirectory = Files.createTempDirectory("nemo-benchmark");
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(JobConf.FileDirectory.class, fileDirectory.toString());
+    injector.bindVolatileInstance(SerializerManager.class, BenchmarkData.createSerializerManager(null));
+    switch (store) {
+      case "MemoryStore":
+        blockStore = injector.getInstance(MemoryStore.class);
+        break;
+      case "SerializedMemoryStore":
+        blockStore = injector.getInstance(SerializedMemoryStore.class);
+        break;
+      case "LocalFileStore":
+        blockStore = injector.getInstance(LocalFileStore.class);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown block store " + store);
+    }
+
+    partitions = BenchmarkData.createPartitions(BenchmarkData.createElements(NUM_ELEMENTS, NUM_KEYS), NUM_PARTITIONS);
+    committedBlockId = BenchmarkData.createBlockId(0);
+    writtenBlockId = BenchmarkData.createBlockId(1);
+    blockStore.createBlock(committedBlockId);
+    blockStore.putPartitions(committedBlockId, partitions);
+    blockStore.commitBlock(committedBlockId);
+  }
+
+  /**
+   * Removes the committed block and deletes the files of the block store.
+   * @throws IOException if fail to delete the files.
+   */
+  @TearDown
+  public final void tearDown() throws IOException {
+    blockStore.removeBlock(committedBlockId);
+    try (final Stream<Path> paths = Files.walk(fileDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  /**
+   * Writes and commits a block, and then removes it to keep the size of the store.
+   */
+  @Benchmark
+  public final void putAndCommitBlock() {
+    blockStore.createBlock(writtenBlockId);
+    blockStore.putPartitions(writtenBlockId, partitions);
+    blockStore.commitBlock(writtenBlockId);
+    blockStore.removeBlock(writtenBlockId);
+  }
+
+  /**
+   * Reads every element of a committed block.
+   * @param blackhole to consume the elements.
+   */
+  @Benchmark
+  public final void getPartitions(final Blackhole blackhole) {
+    final Iterable<NonSerializedPartition<Integer>> readPartitions =
+        blockStore.<Integer>getPartitions(committedBlockId, HashRange.all()).get();
+    readPartitions.forEach(partition -> partition.getData().forEach(blackhole::consume));
+  }
+}
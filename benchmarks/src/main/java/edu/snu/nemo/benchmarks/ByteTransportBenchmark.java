@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.benchmarks;
+
+import com.google.protobuf.ByteString;
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.common.comm.ControlMessage.BlockStore;
+import edu.snu.nemo.runtime.common.comm.ControlMessage.ByteTransferContextDescriptor;
+import edu.snu.nemo.runtime.common.data.HashRange;
+import edu.snu.nemo.runtime.common.message.MessageContext;
+import edu.snu.nemo.runtime.common.message.MessageEnvironment;
+import edu.snu.nemo.runtime.common.message.MessageListener;
+import edu.snu.nemo.runtime.common.message.MessageParameters;
+import edu.snu.nemo.runtime.common.message.PersistentConnectionToMasterMap;
+import edu.snu.nemo.runtime.common.message.local.LocalMessageDispatcher;
+import edu.snu.nemo.runtime.common.message.local.LocalMessageEnvironment;
+import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransfer;
+import edu.snu.nemo.runtime.executor.data.BlockManagerWorker;
+import edu.snu.nemo.runtime.executor.data.SerializerManager;
+import edu.snu.nemo.runtime.executor.data.stores.SerializedMemoryStore;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.reef.io.network.naming.NameResolverConfiguration;
+import org.apache.reef.io.network.naming.NameServer;
+import org.apache.reef.io.network.util.StringIdentifierFactory;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.remote.address.LocalAddressProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks fetching a serialized block from another executor through the byte transport, over the loopback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ByteTransportBenchmark {
+  private static final Tang TANG = Tang.Factory.getTang();
+  private static final String EXECUTOR_ID_PREFIX = "Executor";
+  private static final int NUM_KEYS = 1000;
+  private static final int NUM_PARTITIONS = 100;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  @Param({"10000", "1000000"})
+  private int numElements;
+
+  private Path fileDirectory;
+  private NameServer nameServer;
+  private ByteTransfer byteTransfer;
+  private String remoteExecutorId;
+  private byte[] contextDescriptor;
+  private byte[] buffer;
+
+  /**
+   * Sets up two executors connected by the byte transport, one of which has a block in its serialized memory.
+   * @throws Exception if fail to set up the executors.
+   */
+  @Setup
+  public final void setUp() throws Exception {
+    fileDirectory = Files.createTempDirectory("nemo-benchmark");
+    final Injector nameServerInjector = TANG.newInjector(TANG.newConfigurationBuilder()
+        .bindImplementation(IdentifierFactory.class, StringIdentifierFactory.class)
+        .build());
+    final LocalAddressProvider localAddressProvider = nameServerInjector.getInstance(LocalAddressProvider.class);
+    nameServer = nameServerInjector.getInstance(NameServer.class);
+    final Injector nameClientInjector = nameServerInjector.forkInjector(NameResolverConfiguration.CONF
+        .set(NameResolverConfiguration.NAME_SERVER_HOSTNAME, localAddressProvider.getLocalAddress())
+        .set(NameResolverConfiguration.NAME_SERVICE_PORT, nameServer.getPort())
+        .build());
+    nameClientInjector.bindVolatileParameter(JobConf.JobId.class, "ByteTransportBenchmark");
+    final LocalMessageDispatcher messageDispatcher = new LocalMessageDispatcher();
+    // The master, which ignores the metrics sent by the executors
+    new LocalMessageEnvironment(MessageEnvironment.MASTER_COMMUNICATION_ID, messageDispatcher).setupListener(
+        MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID, new MessageListener<Object>() {
+          @Override
+          public void onMessage(final Object message) {
+          }
+
+          @Override
+          public void onMessageWithContext(final Object message, final MessageContext messageContext) {
+          }
+        });
+
+    // The remote executor which serves the block
+    remoteExecutorId = EXECUTOR_ID_PREFIX + 0;
+    final Injector remoteInjector = createExecutorInjector(remoteExecutorId, messageDispatcher, nameClientInjector);
+    final String blockId = BenchmarkData.createBlockId(0);
+    final SerializedMemoryStore serializedMemoryStore = remoteInjector.getInstance(SerializedMemoryStore.class);
+    serializedMemoryStore.createBlock(blockId);
+    serializedMemoryStore.putPartitions(blockId, BenchmarkData.createPartitions(
+        BenchmarkData.createElements(numElements, NUM_KEYS), NUM_PARTITIONS));
+    serializedMemoryStore.commitBlock(blockId);
+    // Listens to the requests for the block
+    remoteInjector.getInstance(BlockManagerWorker.class);
+
+    // The local executor which fetches the block
+    final Injector localInjector =
+        createExecutorInjector(EXECUTOR_ID_PREFIX + 1, messageDispatcher, nameClientInjector);
+    localInjector.getInstance(BlockManagerWorker.class);
+    byteTransfer = localInjector.getInstance(ByteTransfer.class);
+
+    contextDescriptor = ByteTransferContextDescriptor.newBuilder()
+        .setBlockId(blockId)
+        .setBlockStore(BlockStore.SER_MEMORY)
+        .setRuntimeEdgeId(BenchmarkData.RUNTIME_EDGE_ID)
+        .setKeyRange(ByteString.copyFrom(SerializationUtils.serialize(HashRange.all())))
+        .build()
+        .toByteArray();
+    buffer = new byte[BUFFER_SIZE];
+  }
+
+  /**
+   * Closes the name server and deletes the files of the executors.
+   * @throws Exception if fail to close the name server.
+   */
+  @TearDown
+  public final void tearDown() throws Exception {
+    nameServer.close();
+    try (final Stream<Path> paths = Files.walk(fileDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  /**
+   * Fetches the whole block from the remote executor.
+   * @return the number of bytes received.
+   * @throws Exception if fail to fetch the block.
+   */
+  @Benchmark
+  public final long fetchBlock() throws Exception {
+    long numBytes = 0;
+    final Iterator<InputStream> inputStreams =
+        byteTransfer.newInputContext(remoteExecutorId, contextDescriptor).get().getInputStreams();
+    while (inputStreams.hasNext()) {
+      numBytes += drain(inputStreams.next());
+    }
+    return numBytes;
+  }
+
+  /**
+   * @param inputStream to read until its end.
+   * @return the number of bytes read.
+   * @throws IOException if fail to read.
+   */
+  private long drain(final InputStream inputStream) throws IOException {
+    long numBytes = 0;
+    int numRead;
+    while ((numRead = inputStream.read(buffer)) != -1) {
+      numBytes += numRead;
+    }
+    return numBytes;
+  }
+
+  /**
+   * @param executorId         of the executor.
+   * @param messageDispatcher  which connects the executors.
+   * @param nameClientInjector which resolves the addresses of the executors.
+   * @return the injector of an executor.
+   */
+  private Injector createExecutorInjector(final String executorId,
+                                          final LocalMessageDispatcher messageDispatcher,
+                                          final Injector nameClientInjector) {
+    final LocalMessageEnvironment messageEnvironment = new LocalMessageEnvironment(executorId, messageDispatcher);
+    final Configuration executorConfiguration = TANG.newConfigurationBuilder()
+        .bindNamedParameter(JobConf.ExecutorId.class, executorId)
+        .bindNamedParameter(MessageParameters.SenderId.class, executorId)
+        .build();
+    final Injector injector = nameClientInjector.forkInjector(executorConfiguration);
+    injector.bindVolatileInstance(MessageEnvironment.class, messageEnvironment);
+    injector.bindVolatileInstance(PersistentConnectionToMasterMap.class,
+        new PersistentConnectionToMasterMap(messageEnvironment));
+    injector.bindVolatileInstance(SerializerManager.class, BenchmarkData.createSerializerManager(null));
+    injector.bindVolatileParameter(JobConf.FileDirectory.class,
+        fileDirectory.resolve(executorId).toString());
+    injector.bindVolatileParameter(JobConf.GlusterVolumeDirectory.class,
+        fileDirectory.resolve("gluster").toString());
+    return injector;
+  }
+}
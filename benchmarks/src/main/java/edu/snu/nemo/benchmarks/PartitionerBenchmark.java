@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.benchmarks;
+
+import edu.snu.nemo.runtime.executor.data.Partition;
+import edu.snu.nemo.runtime.executor.data.partitioner.DataSkewHashPartitioner;
+import edu.snu.nemo.runtime.executor.data.partitioner.HashPartitioner;
+import org.apache.beam.sdk.values.KV;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link HashPartitioner} and {@link DataSkewHashPartitioner}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PartitionerBenchmark {
+  private static final int NUM_ELEMENTS = 100000;
+  private static final int NUM_KEYS = 10000;
+  private static final int HASH_RANGE_MULTIPLIER = 10;
+
+  @Param({"10", "1000"})
+  private int dstParallelism;
+
+  private List<KV<Integer, Integer>> elements;
+  private HashPartitioner hashPartitioner;
+  private DataSkewHashPartitioner dataSkewHashPartitioner;
+
+  /**
+   * Creates the elements to partition.
+   */
+  @Setup
+  public final void setUp() {
+    elements = BenchmarkData.createElements(NUM_ELEMENTS, NUM_KEYS);
+    hashPartitioner = new HashPartitioner();
+    dataSkewHashPartitioner = new DataSkewHashPartitioner(HASH_RANGE_MULTIPLIER);
+  }
+
+  /**
+   * @return the partitions made by the {@link HashPartitioner}.
+   */
+  @Benchmark
+  public final List<Partition> hashPartition() {
+    return hashPartitioner.partition(elements, dstParallelism, BenchmarkData.KEY_EXTRACTOR);
+  }
+
+  /**
+   * @return the partitions made by the {@link DataSkewHashPartitioner}.
+   */
+  @Benchmark
+  public final List<Partition> dataSkewHashPartition() {
+    return dataSkewHashPartitioner.partition(elements, dstParallelism, BenchmarkData.KEY_EXTRACTOR);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.benchmarks;
+
+import edu.snu.nemo.common.DirectByteArrayOutputStream;
+import edu.snu.nemo.common.ir.edge.executionproperty.CompressionProperty;
+import edu.snu.nemo.runtime.executor.data.DataUtil;
+import edu.snu.nemo.runtime.executor.data.NonSerializedPartition;
+import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DataUtil#serializePartition} and {@link DataUtil#deserializePartition},
+ * with the stream chainers (e.g., compression) of the serializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SerializationBenchmark {
+  private static final int NUM_KEYS = 1000;
+  private static final String NO_COMPRESSION = "None";
+
+  @Param({"1000", "100000"})
+  private int numElements;
+
+  @Param({NO_COMPRESSION, "LZ4", "Snappy", "Zstd"})
+  private String compression;
+
+  private Serializer serializer;
+  private NonSerializedPartition<Integer> partition;
+  private byte[] serializedPartition;
+
+  /**
+   * Creates the partition to serialize, and its serialized form to deserialize.
+   * @throws IOException if fail to serialize the partition.
+   */
+  @Setup
+  public final void setUp() throws IOException {
+    serializer = BenchmarkData.createSerializerManager(NO_COMPRESSION.equals(compression)
+        ? null : CompressionProperty.Compression.valueOf(compression)).getSerializer(BenchmarkData.RUNTIME_EDGE_ID);
+    partition = new NonSerializedPartition<>(0, BenchmarkData.createElements(numElements, NUM_KEYS));
+    final DirectByteArrayOutputStream bytesOutputStream = serialize();
+    serializedPartition = new byte[bytesOutputStream.getCount()];
+    System.arraycopy(bytesOutputStream.getBufDirectly(), 0, serializedPartition, 0, serializedPartition.length);
+  }
+
+  /**
+   * @return the stream which the partition is serialized to.
+   * @throws IOException if fail to serialize.
+   */
+  @Benchmark
+  public final DirectByteArrayOutputStream serializePartition() throws IOException {
+    return serialize();
+  }
+
+  /**
+   * @return the deserialized partition.
+   * @throws IOException if fail to deserialize.
+   */
+  @Benchmark
+  public final NonSerializedPartition deserializePartition() throws IOException {
+    return DataUtil.deserializePartition(numElements, serializer, 0, new ByteArrayInputStream(serializedPartition));
+  }
+
+  /**
+   * @return the stream which the partition is serialized to.
+   * @throws IOException if fail to serialize.
+   */
+  private DirectByteArrayOutputStream serialize() throws IOException {
+    final DirectByteArrayOutputStream bytesOutputStream = new DirectByteArrayOutputStream();
+    try (final OutputStream wrappedStream =
+             DataUtil.buildOutputStream(bytesOutputStream, serializer.getStreamChainers())) {
+      DataUtil.serializePartition(serializer.getCoder(), partition, wrappedStream);
+    }
+    return bytesOutputStream;
+  }
+}
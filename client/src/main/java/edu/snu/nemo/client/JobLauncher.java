@@ -20,6 +20,7 @@ import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.driver.NemoDriver;
 import edu.snu.nemo.runtime.common.message.MessageEnvironment;
 import edu.snu.nemo.runtime.common.message.MessageParameters;
+import edu.snu.nemo.runtime.master.scheduler.SchedulingPolicy;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.reef.client.DriverConfiguration;
 import org.apache.reef.client.DriverLauncher;
@@ -75,11 +76,12 @@ public final class JobLauncher {
     final Configuration driverNcsConf = getDriverNcsConf();
     final Configuration driverMessageConfg = getDriverMessageConf();
     final Configuration executorResourceConfig = getExecutorResourceConf(jobConf);
+    final Configuration schedulingPolicyConf = getSchedulingPolicyConf(jobConf);
     final Configuration clientConf = getClientConf();
 
     // Merge Job and Driver Confs
     jobAndDriverConf = Configurations.merge(jobConf, driverConf, driverNcsConf, driverMessageConfg,
-        executorResourceConfig);
+        executorResourceConfig, schedulingPolicyConf);
 
     // Get DeployMode Conf
     deployModeConf = Configurations.merge(getDeployModeConf(jobConf), clientConf);
@@ -170,6 +172,22 @@ public final class JobLauncher {
         .build();
   }
 
+  /**
+   * Get the configuration which binds the scheduling policy of the driver.
+   * @param jobConf job configuration to get the name of the scheduling policy.
+   * @return scheduling policy configuration.
+   * @throws InjectionException exception while injection.
+   * @throws ClassNotFoundException if the scheduling policy class is not found.
+   */
+  private static Configuration getSchedulingPolicyConf(final Configuration jobConf)
+      throws InjectionException, ClassNotFoundException {
+    final Injector injector = TANG.newInjector(jobConf);
+    final String schedulingPolicy = injector.getNamedInstance(JobConf.SchedulingPolicy.class);
+    return TANG.newConfigurationBuilder()
+        .bindImplementation(SchedulingPolicy.class, Class.forName(schedulingPolicy).asSubclass(SchedulingPolicy.class))
+        .build();
+  }
+
   /**
    * Get driver configuration.
    * @param jobConf job Configuration to get job id and driver memory.
@@ -212,9 +230,17 @@ public final class JobLauncher {
     cl.registerShortNameOfClass(JobConf.DriverMemMb.class);
     cl.registerShortNameOfClass(JobConf.ExecutorJsonPath.class);
     cl.registerShortNameOfClass(JobConf.JVMHeapSlack.class);
+    cl.registerShortNameOfClass(JobConf.MemoryStoreFraction.class);
     cl.registerShortNameOfClass(JobConf.IORequestHandleThreadsTotal.class);
     cl.registerShortNameOfClass(JobConf.SchedulerTimeoutMs.class);
+    cl.registerShortNameOfClass(JobConf.SchedulingPolicy.class);
+    cl.registerShortNameOfClass(JobConf.LocalityWaitMs.class);
+    cl.registerShortNameOfClass(JobConf.Speculation.class);
+    cl.registerShortNameOfClass(JobConf.SpeculationQuantile.class);
+    cl.registerShortNameOfClass(JobConf.SpeculationMultiplier.class);
     cl.registerShortNameOfClass(JobConf.MaxScheduleAttempt.class);
+    cl.registerShortNameOfClass(JobConf.OutputBatchSize.class);
+    cl.registerShortNameOfClass(JobConf.PartitionTransferWindowSize.class);
     cl.registerShortNameOfClass(JobConf.FileDirectory.class);
     cl.registerShortNameOfClass(JobConf.GlusterVolumeDirectory.class);
     cl.registerShortNameOfClass(JobConf.PartitionTransportServerPort.class);
@@ -24,17 +24,26 @@ import java.util.Map;
  */
 public final class ContextImpl implements Transform.Context {
   private final Map<Transform, Object> sideInputs;
+  private final String spillDirectory;
 
   /**
    * Constructor of Context Implementation.
-   * @param sideInputs side inputs.
+   * @param sideInputs     side inputs.
+   * @param spillDirectory local directory to spill data to.
    */
-  public ContextImpl(final Map<Transform, Object> sideInputs) {
+  public ContextImpl(final Map<Transform, Object> sideInputs,
+                     final String spillDirectory) {
     this.sideInputs = sideInputs;
+    this.spillDirectory = spillDirectory;
   }
 
   @Override
   public Map<Transform, Object> getSideInputs() {
     return this.sideInputs;
   }
+
+  @Override
+  public String getSpillDirectory() {
+    return this.spillDirectory;
+  }
 }
@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common;
+
+import edu.snu.nemo.common.coder.Coder;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Groups elements by their keys in bounded memory.
+ * The added elements are serialized with the coder of the edge and kept in memory,
+ * until their size reaches the limit. Then, the serialized records are sorted by the hash of their keys
+ * and spilled to a local file as a sorted run.
+ * When grouping, the sorted runs are merged and the elements are grouped one key hash at a time,
+ * so that only the elements of the keys which share a hash value are in memory at once.
+ * Each record in a run is laid out like a partition of a file block:
+ * the hash value of the key, the length of the serialized element, and the serialized element.
+ * @param <E> element type.
+ */
+public final class ExternalSortGrouper<E> {
+  public static final int DEFAULT_MAX_BYTES_IN_MEMORY = 64 * 1024 * 1024;
+  private static final int INITIAL_NUM_RECORDS = 1024;
+
+  private final Coder<E> coder;
+  private final KeyExtractor keyExtractor;
+  private final File spillDirectory;
+  private final int maxBytesInMemory;
+
+  /**
+   * The in-memory run. The i-th record starts at the i-th offset in the buffer.
+   */
+  private final DirectByteArrayOutputStream recordBuffer;
+  private int[] recordHashes;
+  private int[] recordOffsets;
+  private int numRecords;
+
+  private final List<File> spilledRuns;
+
+  /**
+   * Constructor.
+   * @param coder            the coder to serialize the elements.
+   * @param keyExtractor     the key extractor to group the elements with.
+   * @param spillDirectory   the directory to spill the sorted runs to.
+   * @param maxBytesInMemory the maximum number of serialized bytes to keep in memory before spilling.
+   */
+  public ExternalSortGrouper(final Coder<E> coder,
+                             final KeyExtractor keyExtractor,
+                             final String spillDirectory,
+                             final int maxBytesInMemory) {
+    this.coder = coder;
+    this.keyExtractor = keyExtractor;
+    this.spillDirectory = new File(spillDirectory);
+    this.maxBytesInMemory = maxBytesInMemory;
+    this.recordBuffer = new DirectByteArrayOutputStream();
+    this.recordHashes = new int[INITIAL_NUM_RECORDS];
+    this.recordOffsets = new int[INITIAL_NUM_RECORDS];
+    this.numRecords = 0;
+    this.spilledRuns = new ArrayList<>();
+  }
+
+  /**
+   * Adds an element, spilling the in-memory run if it gets larger than the limit.
+   * @param element the element to add.
+   */
+  public void add(final E element) {
+    final int offset = recordBuffer.getCount();
+    try {
+      coder.encode(element, recordBuffer);
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+    if (numRecords == recordHashes.length) {
+      recordHashes = Arrays.copyOf(recordHashes, numRecords * 2);
+      recordOffsets = Arrays.copyOf(recordOffsets, numRecords * 2);
+    }
+    recordHashes[numRecords] = Objects.hashCode(keyExtractor.extractKey(element));
+    recordOffsets[numRecords] = offset;
+    numRecords++;
+    if (recordBuffer.getCount() >= maxBytesInMemory) {
+      spill();
+    }
+  }
+
+  /**
+   * @return the number of sorted runs spilled to local disk.
+   */
+  public int getNumSpilledRuns() {
+    return spilledRuns.size();
+  }
+
+  /**
+   * Merges the runs and hands over each group to the consumer, one at a time.
+   * The grouper is emptied afterwards, and the spilled runs are deleted.
+   * @param groupConsumer the consumer of the key and the elements of each group.
+   */
+  public void forEachGroup(final BiConsumer<Object, List<E>> groupConsumer) {
+    final PriorityQueue<Run<E>> runs = new PriorityQueue<>(Comparator.comparingInt(Run::getHash));
+    try {
+      for (final File spilledRun : spilledRuns) {
+        addIfNotEmpty(runs, new SpilledRun(spilledRun));
+      }
+      addIfNotEmpty(runs, new InMemoryRun(sortRecords()));
+
+      while (!runs.isEmpty()) {
+        final int hash = runs.peek().getHash();
+        // Usually a single key per hash value, but the keys with colliding hash values are told apart here.
+        final Map<Object, List<E>> keyToElements = new LinkedHashMap<>();
+        while (!runs.isEmpty() && runs.peek().getHash() == hash) {
+          final Run<E> run = runs.poll();
+          boolean hasNext;
+          do {
+            final E element = run.getElement();
+            keyToElements.computeIfAbsent(keyExtractor.extractKey(element), key -> new ArrayList<>()).add(element);
+            hasNext = run.next();
+          } while (hasNext && run.getHash() == hash);
+          if (hasNext) {
+            runs.add(run);
+          } else {
+            run.close();
+          }
+        }
+        keyToElements.forEach(groupConsumer);
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    } finally {
+      runs.forEach(Run::close);
+      clear();
+    }
+  }
+
+  /**
+   * Sorts the in-memory records by the hash values of their keys, keeping the insertion order between equal hashes.
+   * @return the indices of the records in the sorted order.
+   */
+  private int[] sortRecords() {
+    final long[] sortKeys = new long[numRecords];
+    for (int i = 0; i < numRecords; i++) {
+      sortKeys[i] = ((long) recordHashes[i] << 32) | i;
+    }
+    Arrays.sort(sortKeys);
+    final int[] sortedIndices = new int[numRecords];
+    for (int i = 0; i < numRecords; i++) {
+      sortedIndices[i] = (int) sortKeys[i];
+    }
+    return sortedIndices;
+  }
+
+  /**
+   * @param index the index of an in-memory record.
+   * @return the length of the record.
+   */
+  private int getRecordLength(final int index) {
+    final int end = index + 1 < numRecords ? recordOffsets[index + 1] : recordBuffer.getCount();
+    return end - recordOffsets[index];
+  }
+
+  /**
+   * Sorts the in-memory records and writes them to a new run file.
+   */
+  private void spill() {
+    try {
+      if (!spillDirectory.exists() && !spillDirectory.mkdirs() && !spillDirectory.exists()) {
+        throw new IOException("Failed to create the spill directory " + spillDirectory);
+      }
+      final File runFile = File.createTempFile("groupbykey-", ".run", spillDirectory);
+      spilledRuns.add(runFile);
+      try (final DataOutputStream outputStream =
+               new DataOutputStream(new BufferedOutputStream(new FileOutputStream(runFile)))) {
+        for (final int index : sortRecords()) {
+          final int length = getRecordLength(index);
+          outputStream.writeInt(recordHashes[index]);
+          outputStream.writeInt(length);
+          outputStream.write(recordBuffer.getBufDirectly(), recordOffsets[index], length);
+        }
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+    recordBuffer.reset();
+    numRecords = 0;
+  }
+
+  /**
+   * Empties the in-memory run and deletes the spilled runs.
+   */
+  private void clear() {
+    recordBuffer.reset();
+    numRecords = 0;
+    spilledRuns.forEach(File::delete);
+    spilledRuns.clear();
+  }
+
+  /**
+   * Adds the run to the merging runs if it has any record, or closes it.
+   * @param runs the merging runs.
+   * @param run  the run to add.
+   * @throws IOException if fail to read the run.
+   */
+  private void addIfNotEmpty(final PriorityQueue<Run<E>> runs, final Run<E> run) throws IOException {
+    if (run.next()) {
+      runs.add(run);
+    } else {
+      run.close();
+    }
+  }
+
+  /**
+   * A sorted run, read one record at a time.
+   * @param <E> element type.
+   */
+  private interface Run<E> {
+    /**
+     * Moves to the next record.
+     * @return whether there was a next record.
+     * @throws IOException if fail to read the record.
+     */
+    boolean next() throws IOException;
+
+    /**
+     * @return the hash value of the key of the current record.
+     */
+    int getHash();
+
+    /**
+     * @return the element of the current record.
+     * @throws IOException if fail to decode the element.
+     */
+    E getElement() throws IOException;
+
+    /**
+     * Releases the resources of this run.
+     */
+    void close();
+  }
+
+  /**
+   * The sorted run in memory.
+   */
+  private final class InMemoryRun implements Run<E> {
+    private final int[] sortedIndices;
+    private int position;
+
+    /**
+     * Constructor.
+     * @param sortedIndices the indices of the in-memory records in the sorted order.
+     */
+    private InMemoryRun(final int[] sortedIndices) {
+      this.sortedIndices = sortedIndices;
+      this.position = -1;
+    }
+
+    @Override
+    public boolean next() {
+      position++;
+      return position < sortedIndices.length;
+    }
+
+    @Override
+    public int getHash() {
+      return recordHashes[sortedIndices[position]];
+    }
+
+    @Override
+    public E getElement() throws IOException {
+      final int index = sortedIndices[position];
+      return coder.decode(new ByteArrayInputStream(
+          recordBuffer.getBufDirectly(), recordOffsets[index], getRecordLength(index)));
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * A sorted run spilled to local disk.
+   */
+  private final class SpilledRun implements Run<E> {
+    private final DataInputStream inputStream;
+    private int hash;
+    private byte[] serializedElement;
+
+    /**
+     * Constructor.
+     * @param runFile the file of the run.
+     * @throws IOException if fail to open the file.
+     */
+    private SpilledRun(final File runFile) throws IOException {
+      this.inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(runFile)));
+    }
+
+    @Override
+    public boolean next() throws IOException {
+      try {
+        hash = inputStream.readInt();
+      } catch (final EOFException e) {
+        return false;
+      }
+      serializedElement = new byte[inputStream.readInt()];
+      inputStream.readFully(serializedElement);
+      return true;
+    }
+
+    @Override
+    public int getHash() {
+      return hash;
+    }
+
+    @Override
+    public E getElement() throws IOException {
+      return coder.decode(new ByteArrayInputStream(serializedElement));
+    }
+
+    @Override
+    public void close() {
+      try {
+        inputStream.close();
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
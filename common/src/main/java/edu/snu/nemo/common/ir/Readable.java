@@ -16,6 +16,8 @@
 package edu.snu.nemo.common.ir;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Interface for readable.
@@ -24,9 +26,18 @@ import java.io.Serializable;
 public interface Readable<O> extends Serializable {
   /**
    * Method to read data from the source.
+   * The returned {@link Iterable} may read the data lazily while it is iterated.
    * @return an {@link Iterable} of the data read by the readable.
    * @throws Exception exception while reading data.
    */
   Iterable<O> read() throws Exception;
+
+  /**
+   * Returns the locations of the data to read, which the scheduler may use as hints.
+   * @return the host names where the data is stored, or an empty list if there is no preferred location.
+   */
+  default List<String> getLocations() {
+    return Collections.emptyList();
+  }
 }
 
@@ -44,5 +44,7 @@ public final class CompressionProperty extends ExecutionProperty<CompressionProp
   public enum Compression {
     Gzip,
     LZ4,
+    Snappy,
+    Zstd,
   }
 }
@@ -45,6 +45,7 @@ public final class DataStoreProperty extends ExecutionProperty<DataStoreProperty
     MemoryStore,
     SerializedMemoryStore,
     LocalFileStore,
-    GlusterFileStore
+    GlusterFileStore,
+    OffHeapMemoryStore
   }
 }
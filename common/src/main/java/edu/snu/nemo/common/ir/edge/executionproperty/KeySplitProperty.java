@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.edge.executionproperty;
+
+import edu.snu.nemo.common.ir.executionproperty.ExecutionProperty;
+
+/**
+ * KeySplit ExecutionProperty.
+ * It tells whether the data of a single key can be split over multiple destination task groups.
+ * This is safe only when the destination produces partial results that are merged again afterwards.
+ */
+public final class KeySplitProperty extends ExecutionProperty<Boolean> {
+  /**
+   * Constructor.
+   * @param value value of the execution property.
+   */
+  private KeySplitProperty(final Boolean value) {
+    super(Key.KeySplit, value);
+  }
+
+  /**
+   * Static method exposing the constructor.
+   * @param value value of the new execution property.
+   * @return the newly created execution property.
+   */
+  public static KeySplitProperty of(final Boolean value) {
+    return new KeySplitProperty(value);
+  }
+}
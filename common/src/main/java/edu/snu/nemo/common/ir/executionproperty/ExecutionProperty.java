@@ -73,6 +73,7 @@ public abstract class ExecutionProperty<T> implements Serializable {
     UsedDataHandling,
     Compression,
     DuplicateEdgeGroup,
+    KeySplit,
 
     // Applies to IRVertex
     DynamicOptimizationType,
@@ -42,6 +42,7 @@ public final class DynamicOptimizationProperty extends ExecutionProperty<Dynamic
    * Possible values of DynamicOptimization ExecutionProperty.
    */
   public enum Value {
-    DataSkewRuntimePass
+    DataSkewRuntimePass,
+    DynamicParallelismRuntimePass
   }
 }
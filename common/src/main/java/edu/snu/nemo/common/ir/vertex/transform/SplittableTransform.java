@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.common.ir.vertex.transform;
+
+/**
+ * A {@link Transform} which can take the partial results of its intermediate transform as its input.
+ * The data of a single key can be split over multiple instances of the intermediate transform,
+ * as the partial results of the key are merged again by this transform.
+ * @param <I> input type, which is also the type of the partial results.
+ * @param <O> output type.
+ */
+public interface SplittableTransform<I, O> extends Transform<I, O> {
+  /**
+   * @return a new transform that merges its input into partial results of the same type.
+   */
+  Transform<I, I> getIntermediateTransform();
+}
@@ -38,6 +38,8 @@ public interface Transform<I, O> extends Serializable {
 
   /**
    * On data received.
+   * It can be called multiple times before {@link #close()}, with a part of the input data for each call
+   * (e.g., the data from each source task, or each output of a pipelined upstream transform).
    * @param elements data received.
    * @param srcVertexId sender of the data.
    */
@@ -56,5 +58,10 @@ public interface Transform<I, O> extends Serializable {
      * @return sideInputs.
      */
     Map<Transform, Object> getSideInputs();
+
+    /**
+     * @return the local directory where the transform can spill its data that does not fit in memory.
+     */
+    String getSpillDirectory();
   }
 }
@@ -65,6 +65,23 @@ public final class ArgBuilder {
     return this;
   }
 
+  /**
+   * @param policy scheduling policy.
+   * @return builder with the scheduling policy.
+   */
+  public ArgBuilder addSchedulingPolicy(final String policy) {
+    args.add(Arrays.asList("-scheduling_policy", policy));
+    return this;
+  }
+
+  /**
+   * @return builder with the speculative execution of straggler task groups enabled.
+   */
+  public ArgBuilder addSpeculation() {
+    args.add(Arrays.asList("-speculation", "true"));
+    return this;
+  }
+
   /**
    * @param directory directory to save the DAG.
    * @return builder with the DAG directory.
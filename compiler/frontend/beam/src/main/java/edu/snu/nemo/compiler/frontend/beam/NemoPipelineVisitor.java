@@ -76,6 +76,8 @@ public final class NemoPipelineVisitor extends Pipeline.PipelineVisitor.Defaults
       this.builder.addVertex(loopVertex, this.loopVertexStack);
       this.builder.removeVertex(loopVertex);
       this.loopVertexStack.push(loopVertex);
+    } else if (beamNode.getTransform() instanceof Combine.PerKey && liftCombine(beamNode)) {
+      return CompositeBehavior.DO_NOT_ENTER_TRANSFORM;
     }
     return CompositeBehavior.ENTER_TRANSFORM;
   }
@@ -112,6 +114,57 @@ public final class NemoPipelineVisitor extends Pipeline.PipelineVisitor.Defaults
         });
   }
 
+  /**
+   * Translate a {@link Combine.PerKey} into a partial combine before the shuffle and a final combine after it,
+   * so that only an accumulator per key is shuffled from each task instead of all of the values.
+   * A combine whose combine function needs a context or side inputs is not lifted,
+   * and is translated from its expansion (a {@link GroupByKey} and a {@link ParDo}) instead.
+   * @param beamNode the beam node of the {@link Combine.PerKey}.
+   * @return whether the combine is lifted or not.
+   */
+  private boolean liftCombine(final TransformHierarchy.Node beamNode) {
+    final Combine.PerKey perKey = (Combine.PerKey) beamNode.getTransform();
+    if (!(perKey.getFn() instanceof Combine.CombineFn) || !perKey.getSideInputs().isEmpty()) {
+      return false;
+    }
+    final PCollection input = (PCollection) beamNode.getInputs().values().iterator().next();
+    if (!(input.getCoder() instanceof KvCoder)) {
+      return false;
+    }
+    final Combine.CombineFn combineFn = (Combine.CombineFn) perKey.getFn();
+    final KvCoder inputCoder = (KvCoder) input.getCoder();
+    final Coder accumulatorCoder;
+    try {
+      accumulatorCoder = combineFn.getAccumulatorCoder(input.getPipeline().getCoderRegistry(),
+          inputCoder.getValueCoder());
+    } catch (final CannotProvideCoderException e) {
+      return false;
+    }
+
+    final IRVertex partialCombineVertex = new OperatorVertex(new PartialCombineTransform(combineFn));
+    final IRVertex finalCombineVertex = new OperatorVertex(new FinalCombineTransform(combineFn));
+    builder.addVertex(partialCombineVertex, loopVertexStack);
+    builder.addVertex(finalCombineVertex, loopVertexStack);
+
+    if (pValueToVertex.containsKey(input)) {
+      final IRVertex src = pValueToVertex.get(input);
+      final IREdge inputEdge = new IREdge(getEdgeCommunicationPattern(src, partialCombineVertex),
+          src, partialCombineVertex, pValueToCoder.get(input));
+      inputEdge.setProperty(KeyExtractorProperty.of(new BeamKeyExtractor()));
+      builder.connectVertices(inputEdge);
+    }
+    final BeamCoder accumulatorKvCoder = new BeamCoder(KvCoder.of(inputCoder.getKeyCoder(), accumulatorCoder));
+    final IREdge accumulatorEdge = new IREdge(getEdgeCommunicationPattern(partialCombineVertex, finalCombineVertex),
+        partialCombineVertex, finalCombineVertex, accumulatorKvCoder);
+    accumulatorEdge.setProperty(KeyExtractorProperty.of(new BeamKeyExtractor()));
+    builder.connectVertices(accumulatorEdge);
+
+    beamNode.getOutputs().values().stream().filter(v -> v instanceof PCollection).map(v -> (PCollection) v)
+        .forEach(output -> pValueToCoder.put(output, new BeamCoder(output.getCoder())));
+    beamNode.getOutputs().values().forEach(output -> pValueToVertex.put(output, finalCombineVertex));
+    return true;
+  }
+
   /**
    * Convert Beam node to IR vertex.
    * @param beamNode input beam node.
@@ -137,7 +190,8 @@ public final class NemoPipelineVisitor extends Pipeline.PipelineVisitor.Defaults
       irVertex = new BeamBoundedSourceVertex<>(read.getSource());
       builder.addVertex(irVertex, loopVertexStack);
     } else if (beamTransform instanceof GroupByKey) {
-      irVertex = new OperatorVertex(new GroupByKeyTransform());
+      final PCollection input = (PCollection) beamNode.getInputs().values().iterator().next();
+      irVertex = new OperatorVertex(new GroupByKeyTransform(new BeamCoder(input.getCoder()), new BeamKeyExtractor()));
       builder.addVertex(irVertex, loopVertexStack);
     } else if (beamTransform instanceof View.CreatePCollectionView) {
       final View.CreatePCollectionView view = (View.CreatePCollectionView) beamTransform;
@@ -243,7 +297,8 @@ public final class NemoPipelineVisitor extends Pipeline.PipelineVisitor.Defaults
    */
   private static DataCommunicationPatternProperty.Value getEdgeCommunicationPattern(final IRVertex src,
                                                                                     final IRVertex dst) {
-    if (dst instanceof OperatorVertex && ((OperatorVertex) dst).getTransform() instanceof GroupByKeyTransform) {
+    if (dst instanceof OperatorVertex && (((OperatorVertex) dst).getTransform() instanceof GroupByKeyTransform
+        || ((OperatorVertex) dst).getTransform() instanceof FinalCombineTransform)) {
       return DataCommunicationPatternProperty.Value.Shuffle;
     } else if (dst instanceof OperatorVertex && ((OperatorVertex) dst).getTransform() instanceof CreateViewTransform
         || src instanceof OperatorVertex && ((OperatorVertex) src).getTransform() instanceof CreateViewTransform) {
@@ -17,8 +17,11 @@ package edu.snu.nemo.compiler.frontend.beam.source;
 
 import edu.snu.nemo.common.ir.Readable;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import edu.snu.nemo.common.ir.vertex.SourceVertex;
 import org.apache.beam.sdk.io.BoundedSource;
@@ -71,6 +74,8 @@ public final class BeamBoundedSourceVertex<O> extends SourceVertex<O> {
 
   /**
    * BoundedSourceReadable class.
+   * The elements are read lazily from a {@link BoundedSource.BoundedReader} while they are iterated,
+   * so the split does not have to fit in memory before the first element is processed.
    * @param <T> type.
    */
   private final class BoundedSourceReadable<T> implements Readable<T> {
@@ -85,14 +90,62 @@ public final class BeamBoundedSourceVertex<O> extends SourceVertex<O> {
     }
 
     @Override
-    public Iterable<T> read() throws Exception {
-      final ArrayList<T> elements = new ArrayList<>();
-      try (BoundedSource.BoundedReader<T> reader = boundedSource.createReader(null)) {
-        for (boolean available = reader.start(); available; available = reader.advance()) {
-          elements.add(reader.getCurrent());
-        }
+    public Iterable<T> read() {
+      return () -> new BoundedReaderIterator<>(boundedSource);
+    }
+  }
+
+  /**
+   * An iterator over the elements of a {@link BoundedSource}, which reads them with a new reader.
+   * The reader is closed when all of the elements are iterated.
+   * @param <T> type.
+   */
+  private static final class BoundedReaderIterator<T> implements Iterator<T> {
+    private final BoundedSource.BoundedReader<T> reader;
+    private boolean available;
+
+    /**
+     * Constructor of the BoundedReaderIterator.
+     * @param boundedSource the BoundedSource to read.
+     */
+    BoundedReaderIterator(final BoundedSource<T> boundedSource) {
+      try {
+        this.reader = boundedSource.createReader(null);
+        this.available = reader.start();
+        closeIfExhausted();
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return available;
+    }
+
+    @Override
+    public T next() {
+      if (!available) {
+        throw new NoSuchElementException();
+      }
+      try {
+        final T current = reader.getCurrent();
+        available = reader.advance();
+        closeIfExhausted();
+        return current;
+      } catch (final IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    /**
+     * Closes the reader if there is no more element to read.
+     * @throws IOException if failed to close the reader.
+     */
+    private void closeIfExhausted() throws IOException {
+      if (!available) {
+        reader.close();
       }
-      return elements;
     }
   }
 }
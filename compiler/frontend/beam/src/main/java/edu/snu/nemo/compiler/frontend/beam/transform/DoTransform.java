@@ -34,18 +34,25 @@ import org.joda.time.Instant;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * DoFn transform implementation.
+ * The {@link DoFnInvoker} is created and set up once per task in {@link #prepare(Context, OutputCollector)},
+ * and the whole input of the task is processed as a single bundle which is finished in {@link #close()}.
  * @param <I> input type.
  * @param <O> output type.
  */
 public final class DoTransform<I, O> implements Transform<I, O> {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  // The options deserialized in this executor, keyed by their serialized form.
+  private static final Map<String, PipelineOptions> DESERIALIZED_OPTIONS = new ConcurrentHashMap<>();
+
   private final DoFn doFn;
-  private final ObjectMapper mapper;
   private final String serializedOptions;
-  private Map<PCollectionView, Object> sideInputs;
-  private OutputCollector<O> outputCollector;
+  private DoFnInvoker invoker;
+  private ProcessContext processContext;
+  private FinishBundleContext finishBundleContext;
 
   /**
    * DoTransform Constructor.
@@ -54,9 +61,8 @@ public final class DoTransform<I, O> implements Transform<I, O> {
    */
   public DoTransform(final DoFn doFn, final PipelineOptions options) {
     this.doFn = doFn;
-    this.mapper = new ObjectMapper();
     try {
-      this.serializedOptions = mapper.writeValueAsString(options);
+      this.serializedOptions = MAPPER.writeValueAsString(options);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -64,30 +70,43 @@ public final class DoTransform<I, O> implements Transform<I, O> {
 
   @Override
   public void prepare(final Context context, final OutputCollector<O> oc) {
-    this.outputCollector = oc;
-    this.sideInputs = new HashMap<>();
-    context.getSideInputs().forEach((k, v) -> this.sideInputs.put(((CreateViewTransform) k).getTag(), v));
+    final Map<PCollectionView, Object> sideInputs = new HashMap<>();
+    context.getSideInputs().forEach((k, v) -> sideInputs.put(((CreateViewTransform) k).getTag(), v));
+    final PipelineOptions options = getPipelineOptions(serializedOptions);
+    this.processContext = new ProcessContext(doFn, oc, sideInputs, options);
+    this.finishBundleContext = new FinishBundleContext(doFn, oc, options);
+    this.invoker = DoFnInvokers.invokerFor(doFn);
+    invoker.invokeSetup();
+    invoker.invokeStartBundle(new StartBundleContext(doFn, options));
   }
 
   @Override
   public void onData(final Iterator<I> elements, final String srcVertexId) {
-    final StartBundleContext startBundleContext = new StartBundleContext(doFn, serializedOptions);
-    final FinishBundleContext finishBundleContext = new FinishBundleContext(doFn, outputCollector, serializedOptions);
-    final ProcessContext processContext = new ProcessContext(doFn, outputCollector, sideInputs, serializedOptions);
-    final DoFnInvoker invoker = DoFnInvokers.invokerFor(doFn);
-    invoker.invokeSetup();
-    invoker.invokeStartBundle(startBundleContext);
     elements.forEachRemaining(element -> { // No need to check for input index, since it is always 0 for DoTransform
       processContext.setElement(element);
       invoker.invokeProcessElement(processContext);
     });
-    invoker.invokeFinishBundle(finishBundleContext);
-    invoker.invokeTeardown();
   }
 
   @Override
   public void close() {
-    // do nothing
+    invoker.invokeFinishBundle(finishBundleContext);
+    invoker.invokeTeardown();
+  }
+
+  /**
+   * Gets the pipeline options from their serialized form, deserializing them only once in this executor.
+   * @param serializedOptions the serialized options.
+   * @return the deserialized options.
+   */
+  private static PipelineOptions getPipelineOptions(final String serializedOptions) {
+    return DESERIALIZED_OPTIONS.computeIfAbsent(serializedOptions, serialized -> {
+      try {
+        return MAPPER.readValue(serialized, PipelineOptions.class);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    });
   }
 
 
@@ -104,23 +123,17 @@ public final class DoTransform<I, O> implements Transform<I, O> {
    * @param <O> output type.
    */
   private static final class StartBundleContext<I, O> extends DoFn<I, O>.StartBundleContext {
-    private final ObjectMapper mapper;
     private final PipelineOptions options;
 
     /**
      * StartBundleContext.
      * @param fn DoFn.
-     * @param serializedOptions serialized options of the DoTransform.
+     * @param options options of the DoTransform.
      */
     StartBundleContext(final DoFn<I, O> fn,
-                       final String serializedOptions) {
+                       final PipelineOptions options) {
       fn.super();
-      this.mapper = new ObjectMapper();
-      try {
-        this.options = mapper.readValue(serializedOptions, PipelineOptions.class);
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
+      this.options = options;
     }
 
     @Override
@@ -136,26 +149,20 @@ public final class DoTransform<I, O> implements Transform<I, O> {
    */
   private static final class FinishBundleContext<I, O> extends DoFn<I, O>.FinishBundleContext {
     private final OutputCollector<O> outputCollector;
-    private final ObjectMapper mapper;
     private final PipelineOptions options;
 
     /**
      * Constructor.
      * @param fn DoFn.
      * @param outputCollector output collector of the DoTransform.
-     * @param serializedOptions serialized options of the DoTransform.
+     * @param options options of the DoTransform.
      */
     FinishBundleContext(final DoFn<I, O> fn,
                         final OutputCollector<O> outputCollector,
-                        final String serializedOptions) {
+                        final PipelineOptions options) {
       fn.super();
       this.outputCollector = outputCollector;
-      this.mapper = new ObjectMapper();
-      try {
-        this.options = mapper.readValue(serializedOptions, PipelineOptions.class);
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
+      this.options = options;
     }
 
     @Override
@@ -188,7 +195,6 @@ public final class DoTransform<I, O> implements Transform<I, O> {
     private I input;
     private final OutputCollector<O> outputCollector;
     private final Map<PCollectionView, Object> sideInputs;
-    private final ObjectMapper mapper;
     private final PipelineOptions options;
 
     /**
@@ -196,21 +202,16 @@ public final class DoTransform<I, O> implements Transform<I, O> {
      * @param fn Dofn.
      * @param outputCollector OutputCollector.
      * @param sideInputs Map for SideInputs.
-     * @param serializedOptions Options, serialized.
+     * @param options Options.
      */
     ProcessContext(final DoFn<I, O> fn,
                    final OutputCollector<O> outputCollector,
                    final Map<PCollectionView, Object> sideInputs,
-                   final String serializedOptions) {
+                   final PipelineOptions options) {
       fn.super();
       this.outputCollector = outputCollector;
       this.sideInputs = sideInputs;
-      this.mapper = new ObjectMapper();
-      try {
-        this.options = mapper.readValue(serializedOptions, PipelineOptions.class);
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
+      this.options = options;
     }
 
     /**
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.beam.transform;
+
+import edu.snu.nemo.common.ir.OutputCollector;
+import edu.snu.nemo.common.ir.vertex.transform.SplittableTransform;
+import edu.snu.nemo.common.ir.vertex.transform.Transform;
+import org.apache.beam.sdk.transforms.Combine;
+import org.apache.beam.sdk.values.KV;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Merges the accumulators of each key produced by {@link PartialCombineTransform}s,
+ * and extracts the combined output of the key.
+ * {@link IntermediateCombineTransform}s can be placed before it to split the accumulators of a key.
+ * @param <K> key type.
+ * @param <A> accumulator type.
+ * @param <O> output value type.
+ */
+public final class FinalCombineTransform<K, A, O> implements SplittableTransform<KV<K, A>, KV<K, O>> {
+  private final Combine.CombineFn<?, A, O> combineFn;
+  private final Map<K, A> keyToAccumulator;
+  private OutputCollector<KV<K, O>> outputCollector;
+
+  /**
+   * FinalCombineTransform constructor.
+   * @param combineFn the combine function.
+   */
+  public FinalCombineTransform(final Combine.CombineFn<?, A, O> combineFn) {
+    this.combineFn = combineFn;
+    this.keyToAccumulator = new HashMap<>();
+  }
+
+  @Override
+  public void prepare(final Context context, final OutputCollector<KV<K, O>> oc) {
+    this.outputCollector = oc;
+  }
+
+  @Override
+  public void onData(final Iterator<KV<K, A>> elements, final String srcVertexId) {
+    elements.forEachRemaining(kv -> {
+      final A accumulator = keyToAccumulator.get(kv.getKey());
+      keyToAccumulator.put(kv.getKey(), accumulator == null
+          ? kv.getValue() : combineFn.mergeAccumulators(Arrays.asList(accumulator, kv.getValue())));
+    });
+  }
+
+  @Override
+  public Transform<KV<K, A>, KV<K, A>> getIntermediateTransform() {
+    return new IntermediateCombineTransform<>(combineFn);
+  }
+
+  @Override
+  public void close() {
+    keyToAccumulator.forEach((key, accumulator) ->
+        outputCollector.emit(KV.of(key, combineFn.extractOutput(accumulator))));
+    keyToAccumulator.clear();
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("FinalCombineTransform:" + combineFn);
+    return sb.toString();
+  }
+}
@@ -15,46 +15,54 @@
  */
 package edu.snu.nemo.compiler.frontend.beam.transform;
 
+import edu.snu.nemo.common.ExternalSortGrouper;
+import edu.snu.nemo.common.KeyExtractor;
+import edu.snu.nemo.common.coder.Coder;
 import edu.snu.nemo.common.ir.OutputCollector;
 import edu.snu.nemo.common.ir.vertex.transform.Transform;
 import org.apache.beam.sdk.values.KV;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Group Beam KVs.
+ * The KVs are sorted and grouped in bounded memory by {@link ExternalSortGrouper},
+ * spilling to local disk when they do not fit.
  * @param <I> input type.
  */
 public final class GroupByKeyTransform<I> implements Transform<I, KV<Object, List>> {
-  private final Map<Object, List> keyToValues;
+  private final Coder<I> coder;
+  private final KeyExtractor keyExtractor;
+  private ExternalSortGrouper<I> grouper;
   private OutputCollector<KV<Object, List>> outputCollector;
 
   /**
    * GroupByKey constructor.
+   * @param coder        coder of the input KVs.
+   * @param keyExtractor key extractor of the input KVs.
    */
-  public GroupByKeyTransform() {
-    this.keyToValues = new HashMap<>();
+  public GroupByKeyTransform(final Coder<I> coder, final KeyExtractor keyExtractor) {
+    this.coder = coder;
+    this.keyExtractor = keyExtractor;
   }
 
   @Override
   public void prepare(final Context context, final OutputCollector<KV<Object, List>> oc) {
+    this.grouper = new ExternalSortGrouper<>(coder, keyExtractor, context.getSpillDirectory(),
+        ExternalSortGrouper.DEFAULT_MAX_BYTES_IN_MEMORY);
     this.outputCollector = oc;
   }
 
   @Override
   public void onData(final Iterator<I> elements, final String srcVertexId) {
-    elements.forEachRemaining(element -> {
-      final KV kv = (KV) element;
-      keyToValues.putIfAbsent(kv.getKey(), new ArrayList());
-      keyToValues.get(kv.getKey()).add(kv.getValue());
-    });
+    elements.forEachRemaining(grouper::add);
   }
 
   @Override
   public void close() {
-    keyToValues.entrySet().stream().map(entry -> KV.of(entry.getKey(), entry.getValue()))
-        .forEach(wv -> outputCollector.emit(wv));
-    keyToValues.clear();
+    grouper.forEachGroup((key, elements) -> outputCollector.emit(KV.of(key,
+        elements.stream().map(element -> ((KV) element).getValue()).collect(Collectors.toList()))));
   }
 
   @Override
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.frontend.beam.transform;
+
+import edu.snu.nemo.common.ir.OutputCollector;
+import edu.snu.nemo.common.ir.vertex.transform.Transform;
+import org.apache.beam.sdk.transforms.Combine;
+import org.apache.beam.sdk.values.KV;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Partially combines the values of each key into an accumulator, before the values are shuffled.
+ * The accumulators are merged by {@link FinalCombineTransform} after the shuffle.
+ * @param <K> key type.
+ * @param <I> input value type.
+ * @param <A> accumulator type.
+ */
+public final class PartialCombineTransform<K, I, A> implements Transform<KV<K, I>, KV<K, A>> {
+  private final Combine.CombineFn<I, A, ?> combineFn;
+  private final Map<K, A> keyToAccumulator;
+  private OutputCollector<KV<K, A>> outputCollector;
+
+  /**
+   * PartialCombineTransform constructor.
+   * @param combineFn the combine function.
+   */
+  public PartialCombineTransform(final Combine.CombineFn<I, A, ?> combineFn) {
+    this.combineFn = combineFn;
+    this.keyToAccumulator = new HashMap<>();
+  }
+
+  @Override
+  public void prepare(final Context context, final OutputCollector<KV<K, A>> oc) {
+    this.outputCollector = oc;
+  }
+
+  @Override
+  public void onData(final Iterator<KV<K, I>> elements, final String srcVertexId) {
+    elements.forEachRemaining(kv -> {
+      final A accumulator = keyToAccumulator.get(kv.getKey());
+      keyToAccumulator.put(kv.getKey(), combineFn.addInput(
+          accumulator == null ? combineFn.createAccumulator() : accumulator, kv.getValue()));
+    });
+  }
+
+  @Override
+  public void close() {
+    keyToAccumulator.forEach((key, accumulator) -> outputCollector.emit(KV.of(key, combineFn.compact(accumulator))));
+    keyToAccumulator.clear();
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    sb.append("PartialCombineTransform:" + combineFn);
+    return sb.toString();
+  }
+}
@@ -18,6 +18,7 @@ package edu.snu.nemo.compiler.frontend.spark.core.java;
 import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.dag.DAGBuilder;
 import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataCommunicationPatternProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.KeyExtractorProperty;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
 import edu.snu.nemo.common.ir.vertex.LoopVertex;
@@ -80,11 +81,19 @@ public final class JavaPairRDD<K, V> extends org.apache.spark.api.java.JavaPairR
   public JavaPairRDD<K, V> reduceByKey(final Function2<V, V, V> func) {
     final DAGBuilder<IRVertex, IREdge> builder = new DAGBuilder<>(dag);
 
+    // The values are reduced before the shuffle, so that only one value per key is shuffled from each task.
+    final IRVertex partialReduceByKeyVertex = new OperatorVertex(new ReduceByKeyTransform<K, V>(func));
+    builder.addVertex(partialReduceByKeyVertex, loopVertexStack);
     final IRVertex reduceByKeyVertex = new OperatorVertex(new ReduceByKeyTransform<K, V>(func));
     builder.addVertex(reduceByKeyVertex, loopVertexStack);
 
-    final IREdge newEdge = new IREdge(getEdgeCommunicationPattern(lastVertex, reduceByKeyVertex),
-        lastVertex, reduceByKeyVertex, new SparkCoder(serializer));
+    final IREdge partialReduceEdge = new IREdge(DataCommunicationPatternProperty.Value.OneToOne,
+        lastVertex, partialReduceByKeyVertex, new SparkCoder(serializer));
+    partialReduceEdge.setProperty(KeyExtractorProperty.of(new SparkKeyExtractor()));
+    builder.connectVertices(partialReduceEdge);
+
+    final IREdge newEdge = new IREdge(getEdgeCommunicationPattern(partialReduceByKeyVertex, reduceByKeyVertex),
+        partialReduceByKeyVertex, reduceByKeyVertex, new SparkCoder(serializer));
     newEdge.setProperty(KeyExtractorProperty.of(new SparkKeyExtractor()));
     builder.connectVertices(newEdge);
 
@@ -45,11 +45,14 @@ public final class SparkBoundedSourceVertex<T> extends SourceVertex<T> {
    */
   public SparkBoundedSourceVertex(final SparkSession sparkSession, final Dataset<T> dataset) {
     this.readables = new ArrayList<>();
-    IntStream.range(0, dataset.rdd().getNumPartitions()).forEach(partitionIndex ->
+    final RDD<T> rdd = dataset.rdd();
+    IntStream.range(0, rdd.getNumPartitions()).forEach(partitionIndex ->
         readables.add(new SparkBoundedSourceReadable(
             sparkSession.getDatasetCommandsList(),
             sparkSession.getInitialConf(),
-            partitionIndex)));
+            partitionIndex,
+            new ArrayList<>(JavaConverters.seqAsJavaListConverter(
+                rdd.preferredLocations(rdd.getPartitions()[partitionIndex])).asJava()))));
   }
 
   /**
@@ -80,19 +83,23 @@ public final class SparkBoundedSourceVertex<T> extends SourceVertex<T> {
     private final LinkedHashMap<String, Object[]> commands;
     private final Map<String, String> sessionInitialConf;
     private final int partitionIndex;
+    private final List<String> locations;
 
     /**
      * Constructor.
      * @param commands list of commands needed to build the dataset.
      * @param sessionInitialConf spark session's initial configuration.
      * @param partitionIndex partition for this readable.
+     * @param locations preferred locations of the partition.
      */
     private SparkBoundedSourceReadable(final LinkedHashMap<String, Object[]> commands,
                                        final Map<String, String> sessionInitialConf,
-                                       final int partitionIndex) {
+                                       final int partitionIndex,
+                                       final List<String> locations) {
       this.commands = commands;
       this.sessionInitialConf = sessionInitialConf;
       this.partitionIndex = partitionIndex;
+      this.locations = locations;
     }
 
     @Override
@@ -108,5 +115,10 @@ public final class SparkBoundedSourceVertex<T> extends SourceVertex<T> {
       return () -> JavaConverters.asJavaIteratorConverter(
           rdd.iterator(rdd.getPartitions()[partitionIndex], TaskContext$.MODULE$.empty())).asJava();
     }
+
+    @Override
+    public List<String> getLocations() {
+      return locations;
+    }
   }
 }
@@ -31,6 +31,7 @@ import java.util.List;
  */
 public final class CollectTransform<T> implements Transform<T, T> {
   private String filename;
+  private List<T> list;
 
   /**
    * Constructor.
@@ -43,25 +44,25 @@ public final class CollectTransform<T> implements Transform<T, T> {
   @Override
   public void prepare(final Context context, final OutputCollector<T> outputCollector) {
     this.filename = filename + JavaRDD.getResultId();
+    this.list = new ArrayList<>();
   }
 
   @Override
   public void onData(final Iterator<T> elements, final String srcVertexId) {
+    elements.forEachRemaining(list::add);
+  }
+
+  @Override
+  public void close() {
     // Write result to a temporary file.
     // TODO #740: remove this part, and make it properly transfer with executor.
     try {
       final FileOutputStream fos = new FileOutputStream(filename);
       final ObjectOutputStream oos = new ObjectOutputStream(fos);
-      final List<T> list = new ArrayList<>();
-      elements.forEachRemaining(list::add);
       oos.writeObject(list);
       oos.close();
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
   }
-
-  @Override
-  public void close() {
-  }
 }
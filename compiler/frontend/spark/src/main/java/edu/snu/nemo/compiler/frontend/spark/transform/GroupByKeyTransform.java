@@ -15,45 +15,51 @@
  */
 package edu.snu.nemo.compiler.frontend.spark.transform;
 
+import edu.snu.nemo.common.ExternalSortGrouper;
+import edu.snu.nemo.common.coder.Coder;
 import edu.snu.nemo.common.ir.OutputCollector;
 import edu.snu.nemo.common.ir.vertex.transform.Transform;
+import edu.snu.nemo.compiler.frontend.spark.SparkKeyExtractor;
 import scala.Tuple2;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Transform for group by key transformation.
+ * The tuples are sorted and grouped in bounded memory by {@link ExternalSortGrouper},
+ * spilling to local disk when they do not fit.
  * @param <K> key type.
  * @param <V> value type.
  */
 public final class GroupByKeyTransform<K, V> implements Transform<Tuple2<K, V>, Tuple2<K, Iterable<V>>> {
-  private final Map<K, List<V>> keyToValues;
+  private final Coder<Tuple2<K, V>> coder;
+  private ExternalSortGrouper<Tuple2<K, V>> grouper;
   private OutputCollector<Tuple2<K, Iterable<V>>> oc;
 
   /**
    * Constructor.
+   * @param coder coder of the input tuples.
    */
-  public GroupByKeyTransform() {
-    this.keyToValues = new HashMap<>();
+  public GroupByKeyTransform(final Coder<Tuple2<K, V>> coder) {
+    this.coder = coder;
   }
 
   @Override
   public void prepare(final Transform.Context context, final OutputCollector<Tuple2<K, Iterable<V>>> outputCollector) {
+    this.grouper = new ExternalSortGrouper<>(coder, new SparkKeyExtractor(), context.getSpillDirectory(),
+        ExternalSortGrouper.DEFAULT_MAX_BYTES_IN_MEMORY);
     this.oc = outputCollector;
   }
 
   @Override
   public void onData(final Iterator<Tuple2<K, V>> elements, final String srcVertexId) {
-    elements.forEachRemaining(element -> {
-      keyToValues.putIfAbsent(element._1, new ArrayList<>());
-      keyToValues.get(element._1).add(element._2);
-    });
+    elements.forEachRemaining(grouper::add);
   }
 
   @Override
   public void close() {
-    keyToValues.entrySet().stream().map(entry -> new Tuple2<>(entry.getKey(), (Iterable<V>) entry.getValue()))
-        .forEach(oc::emit);
-    keyToValues.clear();
+    grouper.forEachGroup((key, elements) -> oc.emit(new Tuple2<>((K) key,
+        (Iterable<V>) elements.stream().map(element -> element._2).collect(Collectors.toList()))));
   }
 }
@@ -20,15 +20,20 @@ import edu.snu.nemo.common.ir.vertex.transform.Transform;
 import org.apache.spark.api.java.function.Function2;
 import scala.Tuple2;
 
-import java.util.*;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
  * Transform for reduce by key transformation.
+ * The values of each key are reduced incrementally as they arrive, so only one reduced value is kept per key.
+ * It is applied on both sides of the shuffle: before the shuffle to combine the values in each task,
+ * and after the shuffle to reduce the combined values from all tasks.
  * @param <K> key type.
  * @param <V> value type.
  */
 public final class ReduceByKeyTransform<K, V> implements Transform<Tuple2<K, V>, Tuple2<K, V>> {
-  private final Map<K, List<V>> keyToValues;
+  private final Map<K, V> keyToReducedValue;
   private final Function2<V, V, V> func;
   private OutputCollector<Tuple2<K, V>> oc;
 
@@ -38,7 +43,7 @@ public final class ReduceByKeyTransform<K, V> implements Transform<Tuple2<K, V>,
    */
   public ReduceByKeyTransform(final Function2<V, V, V> func) {
     this.func = func;
-    this.keyToValues = new HashMap<>();
+    this.keyToReducedValue = new HashMap<>();
   }
 
   @Override
@@ -48,18 +53,18 @@ public final class ReduceByKeyTransform<K, V> implements Transform<Tuple2<K, V>,
 
   @Override
   public void onData(final Iterator<Tuple2<K, V>> elements, final String srcVertexId) {
-    elements.forEachRemaining(element -> {
-      keyToValues.putIfAbsent(element._1, new ArrayList<>());
-      keyToValues.get(element._1).add(element._2);
-    });
+    elements.forEachRemaining(element -> keyToReducedValue.merge(element._1, element._2, (reduced, value) -> {
+      try {
+        return func.call(reduced, value);
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }));
   }
 
   @Override
   public void close() {
-    keyToValues.entrySet().stream().map(entry -> {
-      final V value = ReduceTransform.reduceIterator(entry.getValue().iterator(), func);
-      return new Tuple2<>(entry.getKey(), value);
-    }).forEach(oc::emit);
-    keyToValues.clear();
+    keyToReducedValue.forEach((key, value) -> oc.emit(new Tuple2<>(key, value)));
+    keyToReducedValue.clear();
   }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.CompressionProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataCommunicationPatternProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
+import edu.snu.nemo.common.ir.executionproperty.ExecutionProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A pass for choosing the compression algorithm of each inter-stage edge,
+ * according to the data store and the communication pattern of the edge.
+ * <ul>
+ *   <li>Edges stored in files, and broadcast edges whose data is read by every consumer, use Zstd
+ *   to trade CPU time for a better compression ratio.</li>
+ *   <li>Shuffle edges stored in memory use LZ4.</li>
+ *   <li>One-to-one edges stored in memory use Snappy, which is the cheapest to compress and decompress.</li>
+ * </ul>
+ * The edges whose compression is already set are not modified.
+ */
+public final class AdaptiveCompressionPass extends AnnotatingPass {
+  /**
+   * Default constructor.
+   */
+  public AdaptiveCompressionPass() {
+    super(ExecutionProperty.Key.Compression, Stream.of(
+        ExecutionProperty.Key.StageId,
+        ExecutionProperty.Key.DataStore,
+        ExecutionProperty.Key.DataCommunicationPattern
+    ).collect(Collectors.toSet()));
+  }
+
+  @Override
+  public DAG<IRVertex, IREdge> apply(final DAG<IRVertex, IREdge> dag) {
+    dag.topologicalDo(vertex -> dag.getIncomingEdgesOf(vertex).stream()
+        .filter(e -> !vertex.getProperty(ExecutionProperty.Key.StageId)
+            .equals(e.getSrc().getProperty(ExecutionProperty.Key.StageId)))
+        .filter(e -> e.getProperty(ExecutionProperty.Key.Compression) == null)
+        .forEach(edge -> edge.setProperty(CompressionProperty.of(chooseCompression(edge)))));
+    return dag;
+  }
+
+  /**
+   * @param edge the inter-stage edge to compress.
+   * @return the compression algorithm for the edge.
+   */
+  private static CompressionProperty.Compression chooseCompression(final IREdge edge) {
+    final DataStoreProperty.Value dataStore = edge.getProperty(ExecutionProperty.Key.DataStore);
+    final DataCommunicationPatternProperty.Value pattern =
+        edge.getProperty(ExecutionProperty.Key.DataCommunicationPattern);
+    if (DataStoreProperty.Value.LocalFileStore.equals(dataStore)
+        || DataStoreProperty.Value.GlusterFileStore.equals(dataStore)
+        || DataCommunicationPatternProperty.Value.BroadCast.equals(pattern)) {
+      return CompressionProperty.Compression.Zstd;
+    } else if (DataCommunicationPatternProperty.Value.Shuffle.equals(pattern)) {
+      return CompressionProperty.Compression.LZ4;
+    } else {
+      return CompressionProperty.Compression.Snappy;
+    }
+  }
+}
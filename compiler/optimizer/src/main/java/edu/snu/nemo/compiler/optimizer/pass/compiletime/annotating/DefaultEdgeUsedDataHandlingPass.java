@@ -43,7 +43,8 @@ public final class DefaultEdgeUsedDataHandlingPass extends AnnotatingPass {
           if (irEdge.getProperty(ExecutionProperty.Key.UsedDataHandling) == null) {
             final DataStoreProperty.Value dataStoreValue = irEdge.getProperty(ExecutionProperty.Key.DataStore);
             if (DataStoreProperty.Value.MemoryStore.equals(dataStoreValue)
-                || DataStoreProperty.Value.SerializedMemoryStore.equals(dataStoreValue)) {
+                || DataStoreProperty.Value.SerializedMemoryStore.equals(dataStoreValue)
+                || DataStoreProperty.Value.OffHeapMemoryStore.equals(dataStoreValue)) {
               irEdge.setProperty(UsedDataHandlingProperty.of(UsedDataHandlingProperty.Value.Discard));
             } else {
               irEdge.setProperty(UsedDataHandlingProperty.of(UsedDataHandlingProperty.Value.Keep));
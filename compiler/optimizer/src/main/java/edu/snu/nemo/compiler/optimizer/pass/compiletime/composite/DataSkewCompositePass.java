@@ -16,6 +16,7 @@
 package edu.snu.nemo.compiler.optimizer.pass.compiletime.composite;
 
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.*;
+import edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping.DataSkewKeySplitReshapingPass;
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping.DataSkewReshapingPass;
 
 import java.util.Arrays;
@@ -24,6 +25,8 @@ import java.util.Arrays;
  * Pass to modify the DAG for a job to perform data skew.
  * It adds a {@link edu.snu.nemo.common.ir.vertex.MetricCollectionBarrierVertex} before Shuffle edges,
  * to make a barrier before it, and to use the metrics to repartition the skewed data.
+ * Before a vertex which can merge partial results of a key, it also adds an intermediate vertex,
+ * so that a skewed key can be split over multiple task groups of the intermediate vertex.
  * NOTE: we currently put the DataSkewCompositePass at the end of the list for each policies, as it needs to take a
  * snapshot at the end of the pass. This could be prevented by modifying other passes to take the snapshot of the DAG
  * at the end of each passes for metricCollectionVertices.
@@ -34,6 +37,7 @@ public final class DataSkewCompositePass extends CompositePass {
    */
   public DataSkewCompositePass() {
     super(Arrays.asList(
+        new DataSkewKeySplitReshapingPass(),
         new DataSkewReshapingPass(),
         new DataSkewVertexPass(),
         new DataSkewEdgeDataStorePass(),
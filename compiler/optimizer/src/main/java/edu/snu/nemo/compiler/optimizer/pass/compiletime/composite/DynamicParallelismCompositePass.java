@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.optimizer.pass.compiletime.composite;
+
+import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.*;
+import edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping.DataSkewReshapingPass;
+
+import java.util.Arrays;
+
+/**
+ * Pass to modify the DAG for a job to adjust the parallelism of stages after shuffle edges at runtime.
+ * It reuses the metric collection of {@link DataSkewCompositePass}, which adds a
+ * {@link edu.snu.nemo.common.ir.vertex.MetricCollectionBarrierVertex} before Shuffle edges, but uses the collected
+ * data sizes to merge the hash ranges into as few task groups as needed.
+ * NOTE: the parallelism annotated at compile time becomes the upper bound of the parallelism at runtime.
+ */
+public final class DynamicParallelismCompositePass extends CompositePass {
+  /**
+   * Default constructor.
+   */
+  public DynamicParallelismCompositePass() {
+    super(Arrays.asList(
+        new DataSkewReshapingPass(),
+        new DynamicParallelismVertexPass(),
+        new DataSkewEdgeDataStorePass(),
+        new DataSkewEdgeMetricCollectionPass(),
+        new DataSkewEdgePartitionerPass()
+    ));
+  }
+}
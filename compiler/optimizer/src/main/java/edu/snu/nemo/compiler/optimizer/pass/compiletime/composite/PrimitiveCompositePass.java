@@ -35,7 +35,7 @@ public final class PrimitiveCompositePass extends CompositePass {
         new ReviseInterStageEdgeDataStorePass(), // after stage partitioning
         new DefaultEdgeUsedDataHandlingPass(),
         new ScheduleGroupPass(),
-        new CompressionPass()
+        new AdaptiveCompressionPass()
     ));
   }
 }
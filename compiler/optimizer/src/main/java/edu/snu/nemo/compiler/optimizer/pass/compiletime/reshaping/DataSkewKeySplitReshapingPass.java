@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.compiler.optimizer.pass.compiletime.reshaping;
+
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataCommunicationPatternProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.KeySplitProperty;
+import edu.snu.nemo.common.ir.executionproperty.ExecutionProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.transform.SplittableTransform;
+
+import java.util.Collections;
+
+/**
+ * Pass to modify the DAG for a job to split skewed keys.
+ * It adds an {@link OperatorVertex} with the intermediate transform of a {@link SplittableTransform}
+ * before the vertex, and shuffles the partial results of the intermediate vertex once more to the vertex.
+ * The data of a single key can then be split over multiple task groups of the intermediate vertex,
+ * which is marked by the {@link KeySplitProperty} of the Shuffle edge to it.
+ */
+public final class DataSkewKeySplitReshapingPass extends ReshapingPass {
+  /**
+   * Default constructor.
+   */
+  public DataSkewKeySplitReshapingPass() {
+    super(Collections.singleton(ExecutionProperty.Key.DataCommunicationPattern));
+  }
+
+  @Override
+  public DAG<IRVertex, IREdge> apply(final DAG<IRVertex, IREdge> dag) {
+    final DAGBuilder<IRVertex, IREdge> builder = new DAGBuilder<>();
+    dag.topologicalDo(v -> {
+      builder.addVertex(v);
+      // We care about OperatorVertices with a SplittableTransform that have any incoming edge of type Shuffle.
+      if (v instanceof OperatorVertex && ((OperatorVertex) v).getTransform() instanceof SplittableTransform) {
+        final SplittableTransform transform = (SplittableTransform) ((OperatorVertex) v).getTransform();
+        dag.getIncomingEdgesOf(v).forEach(edge -> {
+          if (DataCommunicationPatternProperty.Value.Shuffle
+              .equals(edge.getProperty(ExecutionProperty.Key.DataCommunicationPattern)) && !edge.isSideInput()) {
+            // Insert an intermediate vertex, whose partial results are shuffled again to the vertex.
+            final OperatorVertex intermediateVertex = new OperatorVertex(transform.getIntermediateTransform());
+            builder.addVertex(intermediateVertex);
+            final IREdge newEdgeToIntermediate = new IREdge(DataCommunicationPatternProperty.Value.Shuffle,
+                edge.getSrc(), intermediateVertex, edge.getCoder());
+            final IREdge newEdgeFromIntermediate = new IREdge(DataCommunicationPatternProperty.Value.Shuffle,
+                intermediateVertex, v, edge.getCoder());
+            edge.copyExecutionPropertiesTo(newEdgeToIntermediate);
+            edge.copyExecutionPropertiesTo(newEdgeFromIntermediate);
+            newEdgeToIntermediate.setProperty(KeySplitProperty.of(true));
+            builder.connectVertices(newEdgeToIntermediate);
+            builder.connectVertices(newEdgeFromIntermediate);
+          } else {
+            builder.connectVertices(edge);
+          }
+        });
+      } else { // Others are simply added to the builder.
+        dag.getIncomingEdgesOf(v).forEach(builder::connectVertices);
+      }
+    });
+    return builder.build();
+  }
+}
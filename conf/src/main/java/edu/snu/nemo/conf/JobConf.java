@@ -115,6 +115,15 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class JVMHeapSlack implements Name<Double> {
   }
 
+  /**
+   * The fraction of the executor JVM heap which can be occupied by the blocks in memory stores.
+   * A block which would exceed this budget is spilled to a file in {@link FileDirectory}.
+   */
+  @NamedParameter(doc = "The fraction of the executor heap for the blocks in memory stores",
+      short_name = "memory_store_fraction", default_value = "0.6")
+  public final class MemoryStoreFraction implements Name<Double> {
+  }
+
   /**
    * Contents of the JSON file that specifies resource layout.
    */
@@ -148,6 +157,45 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class SchedulerTimeoutMs implements Name<Integer> {
   }
 
+  /**
+   * The canonical name of the scheduling policy.
+   */
+  @NamedParameter(doc = "The canonical name of the scheduling policy", short_name = "scheduling_policy",
+      default_value = "edu.snu.nemo.runtime.master.scheduler.RoundRobinSchedulingPolicy")
+  public final class SchedulingPolicy implements Name<String> {
+  }
+
+  /**
+   * The maximum time to wait for an executor which holds the input of a task group, in ms.
+   */
+  @NamedParameter(doc = "Locality wait in ms", short_name = "locality_wait_ms", default_value = "3000")
+  public final class LocalityWaitMs implements Name<Integer> {
+  }
+
+  /**
+   * Whether to launch speculative copies of the straggler task groups.
+   */
+  @NamedParameter(doc = "Whether to launch speculative copies of straggler task groups", short_name = "speculation",
+      default_value = "false")
+  public final class Speculation implements Name<Boolean> {
+  }
+
+  /**
+   * The fraction of the task groups of a stage which must be complete before speculation is enabled for the stage.
+   */
+  @NamedParameter(doc = "The fraction of complete task groups to enable speculation for a stage",
+      short_name = "speculation_quantile", default_value = "0.75")
+  public final class SpeculationQuantile implements Name<Double> {
+  }
+
+  /**
+   * A task group which runs longer than this multiple of the median execution time of its stage is a straggler.
+   */
+  @NamedParameter(doc = "How many times slower than the median a task group is to be speculated",
+      short_name = "speculation_multiplier", default_value = "1.5")
+  public final class SpeculationMultiplier implements Name<Double> {
+  }
+
   /**
    * Max number of attempts for task group scheduling.
    */
@@ -176,6 +224,16 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class HashRangeMultiplier implements Name<Integer> {
   }
 
+  /**
+   * The number of output elements of a task which are partitioned and written to the blocks at once.
+   * The output of a task is written in batches of this size while the task is running,
+   * to bound the memory occupied by the output not written yet.
+   */
+  @NamedParameter(doc = "The number of output elements written at once", short_name = "output_batch_size",
+      default_value = "10000")
+  public final class OutputBatchSize implements Name<Integer> {
+  }
+
   /**
    * The TCP port to which local block transfer binds. 0 means random port.
    */
@@ -217,6 +275,16 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public final class PartitionTransportClientNumThreads implements Name<Integer> {
   }
 
+  /**
+   * The maximum number of bytes which a receiver buffers for a block transfer.
+   * The sender stops writing when it has sent this many bytes which the receiver has not consumed yet,
+   * and resumes when the receiver returns the credit for the consumed bytes.
+   */
+  @NamedParameter(doc = "The maximum number of unconsumed bytes buffered by a receiver per block transfer",
+      short_name = "block_transfer_window", default_value = "4194304")
+  public final class PartitionTransferWindowSize implements Name<Integer> {
+  }
+
   //////////////////////////////// Intermediate Configurations
 
   /**
@@ -238,6 +306,9 @@ public final class JobConf extends ConfigurationModuleBuilder {
   public static final RequiredParameter<String> JOB_ID = new RequiredParameter<>();
   public static final OptionalParameter<String> LOCAL_DISK_DIRECTORY = new OptionalParameter<>();
   public static final OptionalParameter<String> GLUSTER_DISK_DIRECTORY = new OptionalParameter<>();
+  public static final OptionalParameter<Double> MEMORY_STORE_FRACTION = new OptionalParameter<>();
+  public static final OptionalParameter<Integer> OUTPUT_BATCH_SIZE = new OptionalParameter<>();
+  public static final OptionalParameter<Integer> PARTITION_TRANSFER_WINDOW_SIZE = new OptionalParameter<>();
 
   public static final ConfigurationModule EXECUTOR_CONF = new JobConf()
       .bindNamedParameter(ExecutorId.class, EXECUTOR_ID)
@@ -245,5 +316,8 @@ public final class JobConf extends ConfigurationModuleBuilder {
       .bindNamedParameter(JobId.class, JOB_ID)
       .bindNamedParameter(FileDirectory.class, LOCAL_DISK_DIRECTORY)
       .bindNamedParameter(GlusterVolumeDirectory.class, GLUSTER_DISK_DIRECTORY)
+      .bindNamedParameter(MemoryStoreFraction.class, MEMORY_STORE_FRACTION)
+      .bindNamedParameter(OutputBatchSize.class, OUTPUT_BATCH_SIZE)
+      .bindNamedParameter(PartitionTransferWindowSize.class, PARTITION_TRANSFER_WINDOW_SIZE)
       .build();
 }
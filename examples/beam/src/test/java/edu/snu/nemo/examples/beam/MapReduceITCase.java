@@ -19,6 +19,7 @@ import edu.snu.nemo.client.JobLauncher;
 import edu.snu.nemo.common.test.ArgBuilder;
 import edu.snu.nemo.common.test.ExampleTestUtil;
 import edu.snu.nemo.examples.beam.policy.*;
+import edu.snu.nemo.runtime.master.scheduler.LocalitySchedulingPolicy;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -66,6 +67,24 @@ public final class MapReduceITCase {
         .build());
   }
 
+  @Test (timeout = TIMEOUT)
+  public void testLocality() throws Exception {
+    JobLauncher.main(builder
+        .addJobId(MapReduceITCase.class.getSimpleName() + "_locality")
+        .addOptimizationPolicy(DefaultPolicyParallelismFive.class.getCanonicalName())
+        .addSchedulingPolicy(LocalitySchedulingPolicy.class.getCanonicalName())
+        .build());
+  }
+
+  @Test (timeout = TIMEOUT)
+  public void testSpeculation() throws Exception {
+    JobLauncher.main(builder
+        .addJobId(MapReduceITCase.class.getSimpleName() + "_speculation")
+        .addOptimizationPolicy(DefaultPolicyParallelismFive.class.getCanonicalName())
+        .addSpeculation()
+        .build());
+  }
+
   @Test (timeout = TIMEOUT)
   public void testSailfish() throws Exception {
     JobLauncher.main(builder
@@ -101,4 +120,16 @@ public final class MapReduceITCase {
         .addOptimizationPolicy(DataSkewPolicyParallelsimFive.class.getCanonicalName())
         .build());
   }
+
+  /**
+   * Testing dynamic parallelism adjustment.
+   * @throws Exception exception on the way.
+   */
+  @Test (timeout = TIMEOUT)
+  public void testDynamicParallelism() throws Exception {
+    JobLauncher.main(builder
+        .addJobId(MapReduceITCase.class.getSimpleName() + "_dynamicparallelism")
+        .addOptimizationPolicy(DynamicParallelismPolicyParallelismFive.class.getCanonicalName())
+        .build());
+  }
 }
@@ -199,6 +199,7 @@ public final class NcsMessageEnvironment implements MessageEnvironment {
     switch (controlMessage.getType()) {
       case TaskGroupStateChanged:
       case ScheduleTaskGroup:
+      case CancelTaskGroup:
       case BlockStateChanged:
       case ExecutorFailed:
       case DataSizeMetric:
@@ -206,8 +207,10 @@ public final class NcsMessageEnvironment implements MessageEnvironment {
       case MetricMessageReceived:
         return MessageType.Send;
       case RequestBlockLocation:
+      case RequestBlockLocations:
         return MessageType.Request;
       case BlockLocationInfo:
+      case BlockLocationsInfo:
         return MessageType.Reply;
       default:
         throw new IllegalArgumentException(controlMessage.toString());
@@ -218,6 +221,8 @@ public final class NcsMessageEnvironment implements MessageEnvironment {
     switch (controlMessage.getType()) {
       case RequestBlockLocation:
         return controlMessage.getRequestBlockLocationMsg().getExecutorId();
+      case RequestBlockLocations:
+        return controlMessage.getRequestBlockLocationsMsg().getExecutorId();
       default:
         throw new IllegalArgumentException(controlMessage.toString());
     }
@@ -227,6 +232,8 @@ public final class NcsMessageEnvironment implements MessageEnvironment {
     switch (controlMessage.getType()) {
       case BlockLocationInfo:
         return controlMessage.getBlockLocationInfoMsg().getRequestId();
+      case BlockLocationsInfo:
+        return controlMessage.getBlockLocationsInfoMsg().getRequestId();
       default:
         throw new IllegalArgumentException(controlMessage.toString());
     }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.common.metric;
+
+import edu.snu.nemo.common.exception.IllegalMessageException;
+import net.jcip.annotations.ThreadSafe;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+/**
+ * Histograms of the metrics recorded for every task or block, such as latencies and data sizes.
+ * A histogram takes a fixed amount of memory regardless of the number of recorded values,
+ * and the histograms from different executors are merged by adding them up.
+ * Recording a value is wait-free, so that the metrics can be recorded on the data path.
+ */
+@ThreadSafe
+public final class MetricHistograms {
+  /**
+   * The metrics recorded in the histograms.
+   * The times are in nanoseconds, measured with {@link System#nanoTime()}, and the sizes are in bytes.
+   */
+  public enum Metric {
+    TaskTime,
+    InputReadTime,
+    TransformTime,
+    OutputWriteTime,
+    // The time to put the partitions to a block store, including the serialization.
+    BlockWriteTime,
+    // The time to send a block to another executor, including the serialization if the block is not serialized.
+    BlockTransferTime,
+    ReadBytes,
+    WrittenBytes,
+  }
+
+  /**
+   * The values larger than this (an hour, in nanoseconds) are recorded as this value.
+   */
+  private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toNanos(1);
+
+  /**
+   * The recorded values are kept with two significant digits, or with a relative error of 1%.
+   */
+  private static final int NUM_SIGNIFICANT_VALUE_DIGITS = 2;
+
+  private final Map<Metric, Recorder> metricToRecorder;
+
+  /**
+   * Constructor.
+   */
+  public MetricHistograms() {
+    final Map<Metric, Recorder> recorders = new EnumMap<>(Metric.class);
+    for (final Metric metric : Metric.values()) {
+      recorders.put(metric, new Recorder(HIGHEST_TRACKABLE_VALUE, NUM_SIGNIFICANT_VALUE_DIGITS));
+    }
+    this.metricToRecorder = Collections.unmodifiableMap(recorders);
+  }
+
+  /**
+   * Records a value of a metric.
+   *
+   * @param metric the metric.
+   * @param value  the value to record.
+   */
+  public void record(final Metric metric, final long value) {
+    metricToRecorder.get(metric).recordValue(Math.max(0, Math.min(value, HIGHEST_TRACKABLE_VALUE)));
+  }
+
+  /**
+   * Takes the values recorded since the last call of this method.
+   *
+   * @return the histograms of the metrics with any value recorded since the last call.
+   */
+  public Map<Metric, Histogram> takeIntervalHistograms() {
+    final Map<Metric, Histogram> intervalHistograms = new EnumMap<>(Metric.class);
+    metricToRecorder.forEach((metric, recorder) -> {
+      final Histogram intervalHistogram = recorder.getIntervalHistogram();
+      if (intervalHistogram.getTotalCount() > 0) {
+        intervalHistograms.put(metric, intervalHistogram);
+      }
+    });
+    return intervalHistograms;
+  }
+
+  /**
+   * @return an empty histogram to merge the histograms of a metric into.
+   */
+  public static Histogram newHistogram() {
+    return new Histogram(HIGHEST_TRACKABLE_VALUE, NUM_SIGNIFICANT_VALUE_DIGITS);
+  }
+
+  /**
+   * @param histogram the histogram to encode.
+   * @return the compressed form of the histogram.
+   */
+  public static byte[] encode(final Histogram histogram) {
+    final ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    final int numBytes = histogram.encodeIntoCompressedByteBuffer(buffer);
+    final byte[] encoded = new byte[numBytes];
+    System.arraycopy(buffer.array(), 0, encoded, 0, numBytes);
+    return encoded;
+  }
+
+  /**
+   * @param encoded the compressed form of a histogram.
+   * @return the decoded histogram.
+   * @throws IllegalMessageException if the histogram is malformed.
+   */
+  public static Histogram decode(final byte[] encoded) {
+    try {
+      return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), HIGHEST_TRACKABLE_VALUE);
+    } catch (final DataFormatException e) {
+      throw new IllegalMessageException(e);
+    }
+  }
+}
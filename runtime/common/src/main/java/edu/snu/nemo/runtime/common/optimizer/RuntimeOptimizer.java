@@ -19,6 +19,7 @@ import edu.snu.nemo.common.ir.vertex.MetricCollectionBarrierVertex;
 import edu.snu.nemo.common.ir.executionproperty.ExecutionProperty;
 import edu.snu.nemo.common.ir.vertex.executionproperty.DynamicOptimizationProperty;
 import edu.snu.nemo.runtime.common.optimizer.pass.runtime.DataSkewRuntimePass;
+import edu.snu.nemo.runtime.common.optimizer.pass.runtime.DynamicParallelismRuntimePass;
 import edu.snu.nemo.runtime.common.plan.physical.PhysicalPlan;
 
 import java.util.*;
@@ -49,6 +50,9 @@ public final class RuntimeOptimizer {
         // Map between a partition ID to corresponding metric data (e.g., the size of each block).
         final Map<String, List<Long>> metricData = metricCollectionBarrierVertex.getMetricData();
         return new DataSkewRuntimePass().apply(originalPlan, metricData);
+    } else if (dynamicOptimizationType.equals(DynamicOptimizationProperty.Value.DynamicParallelismRuntimePass)) {
+      final Map<String, List<Long>> metricData = metricCollectionBarrierVertex.getMetricData();
+      return new DynamicParallelismRuntimePass().apply(originalPlan, metricData);
     } else {
       return originalPlan;
     }
@@ -16,11 +16,13 @@
 package edu.snu.nemo.runtime.common.optimizer.pass.runtime;
 
 import com.google.common.annotations.VisibleForTesting;
+import edu.snu.nemo.common.Pair;
 import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.dag.DAGBuilder;
 import edu.snu.nemo.common.eventhandler.RuntimeEventHandler;
 import edu.snu.nemo.common.exception.DynamicOptimizationException;
 
+import edu.snu.nemo.common.ir.executionproperty.ExecutionProperty;
 import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
 import edu.snu.nemo.runtime.common.data.KeyRange;
 import edu.snu.nemo.runtime.common.plan.physical.PhysicalPlan;
@@ -37,6 +39,10 @@ import java.util.stream.IntStream;
 
 /**
  * Dynamic optimization pass for handling data skew.
+ * If the edges to optimize allow splitting a key
+ * ({@link edu.snu.nemo.common.ir.edge.executionproperty.KeySplitProperty}), a hash value that is larger than
+ * the ideal size of a task group is split over multiple task groups,
+ * each of which reads the hash value from a different range of source tasks.
  */
 public final class DataSkewRuntimePass implements RuntimePass<Map<String, List<Long>>> {
   private static final Logger LOG = LoggerFactory.getLogger(DataSkewRuntimePass.class.getName());
@@ -74,8 +80,20 @@ public final class DataSkewRuntimePass implements RuntimePass<Map<String, List<L
     final Integer taskGroupListSize = optimizationEdges.stream().findFirst().orElseThrow(() ->
         new RuntimeException("optimization edges are empty")).getDst().getTaskGroupIds().size();
 
-    // Calculate keyRanges.
-    final List<KeyRange> keyRanges = calculateHashRanges(metricData, taskGroupListSize);
+    // Calculate keyRanges, splitting the skewed keys if every edge allows it.
+    final boolean isKeySplittable = optimizationEdges.stream().allMatch(optimizationEdge ->
+        Boolean.TRUE.equals(optimizationEdge.getProperty(ExecutionProperty.Key.KeySplit)));
+    final List<KeyRange> keyRanges = new ArrayList<>(taskGroupListSize);
+    final List<KeyRange> srcTaskIdxRanges = new ArrayList<>(taskGroupListSize);
+    if (isKeySplittable) {
+      calculateKeyRangesWithKeySplit(metricData, taskGroupListSize).forEach(ranges -> {
+        keyRanges.add(ranges.left());
+        srcTaskIdxRanges.add(ranges.right());
+      });
+    } else {
+      keyRanges.addAll(calculateHashRanges(metricData, taskGroupListSize));
+      IntStream.range(0, taskGroupListSize).forEach(i -> srcTaskIdxRanges.add(HashRange.all()));
+    }
 
     // Overwrite the previously assigned hash value range in the physical DAG with the new range.
     optimizationEdges.forEach(optimizationEdge -> {
@@ -83,6 +101,7 @@ public final class DataSkewRuntimePass implements RuntimePass<Map<String, List<L
       final List<KeyRange> taskGroupIdxToHashRange = new ArrayList<>();
       IntStream.range(0, taskGroupListSize).forEach(i -> taskGroupIdxToHashRange.add(keyRanges.get(i)));
       optimizationEdge.setTaskGroupIdxToKeyRange(taskGroupIdxToHashRange);
+      optimizationEdge.setTaskGroupIdxToSrcTaskIdxRange(new ArrayList<>(srcTaskIdxRanges));
     });
 
     return new PhysicalPlan(originalPlan.getId(), physicalDAGBuilder.build(), originalPlan.getTaskIRVertexMap());
@@ -97,6 +116,114 @@ public final class DataSkewRuntimePass implements RuntimePass<Map<String, List<L
   @VisibleForTesting
   public List<KeyRange> calculateHashRanges(final Map<String, List<Long>> metricData,
                                             final Integer taskGroupListSize) {
+    final List<Long> aggregatedMetricData = aggregateMetricData(metricData);
+    return calculateHashRanges(aggregatedMetricData, 0, aggregatedMetricData.size(), taskGroupListSize);
+  }
+
+  /**
+   * Method for calculating key ranges to evenly distribute the skewed metric data,
+   * splitting the hash values that are too large for a single task group.
+   * Each of the task groups for a split hash value reads the hash value from a different range of source tasks,
+   * and every other task group reads its range of hash values from all of the source tasks.
+   * @param metricData the metric data.
+   * @param taskGroupListSize the size of the task group list.
+   * @return the list of pairs of the key range and the source task index range for each task group.
+   */
+  @VisibleForTesting
+  public List<Pair<KeyRange, KeyRange>> calculateKeyRangesWithKeySplit(final Map<String, List<Long>> metricData,
+                                                                      final int taskGroupListSize) {
+    // NOTE: metricData is made up of a map of blockId to blockSizes.
+    final SortedMap<Integer, List<Long>> srcTaskIdxToMetricData = new TreeMap<>();
+    metricData.forEach((blockId, blockSizes) -> srcTaskIdxToMetricData.put(
+        Integer.valueOf(RuntimeIdGenerator.getTaskIndexFromBlockId(blockId)), blockSizes));
+    final int srcTaskCount = srcTaskIdxToMetricData.lastKey() + 1;
+    final List<Long> aggregatedMetricData = aggregateMetricData(metricData);
+    final int hashRangeCount = aggregatedMetricData.size();
+    final long totalSize = aggregatedMetricData.stream().mapToLong(n -> n).sum();
+    final long idealSizePerTaskGroup = totalSize / taskGroupListSize;
+
+    // Decide how many task groups each hash value is split into.
+    final int[] splitCounts = new int[hashRangeCount];
+    for (int hashValue = 0; hashValue < hashRangeCount; hashValue++) {
+      final int hashValueToSplit = hashValue;
+      final long nonEmptySrcTaskCount = srcTaskIdxToMetricData.values().stream()
+          .filter(blockSizes -> blockSizes.get(hashValueToSplit) > 0).count();
+      final long neededTaskGroupCount = idealSizePerTaskGroup == 0 ? 1
+          : (aggregatedMetricData.get(hashValue) + idealSizePerTaskGroup - 1) / idealSizePerTaskGroup;
+      splitCounts[hashValue] = (int) Math.max(1, Math.min(neededTaskGroupCount, nonEmptySrcTaskCount));
+    }
+    // Every range of hash values between the split hash values needs a task group. Reduce the splits to fit in.
+    while (countSplitTaskGroups(splitCounts) + getUnsplitSegments(splitCounts).size() > taskGroupListSize) {
+      final int largestSplit = IntStream.range(0, hashRangeCount)
+          .reduce((i, j) -> splitCounts[i] >= splitCounts[j] ? i : j).getAsInt();
+      splitCounts[largestSplit]--;
+    }
+
+    // Distribute the rest of the task groups to the segments, giving one to the most loaded segment at a time.
+    final List<Pair<Integer, Integer>> segments = getUnsplitSegments(splitCounts);
+    final int[] segmentTaskGroupCounts = new int[segments.size()];
+    Arrays.fill(segmentTaskGroupCounts, 1);
+    for (int i = countSplitTaskGroups(splitCounts) + segments.size(); i < taskGroupListSize; i++) {
+      int mostLoadedSegment = -1;
+      double mostLoadedSize = -1;
+      for (int segmentIdx = 0; segmentIdx < segments.size(); segmentIdx++) {
+        final Pair<Integer, Integer> segment = segments.get(segmentIdx);
+        if (segmentTaskGroupCounts[segmentIdx] < segment.right() - segment.left()) {
+          final double sizePerTaskGroup = (double) aggregatedMetricData.subList(segment.left(), segment.right())
+              .stream().mapToLong(n -> n).sum() / segmentTaskGroupCounts[segmentIdx];
+          if (sizePerTaskGroup > mostLoadedSize) {
+            mostLoadedSegment = segmentIdx;
+            mostLoadedSize = sizePerTaskGroup;
+          }
+        }
+      }
+      if (mostLoadedSegment < 0) {
+        break;
+      }
+      segmentTaskGroupCounts[mostLoadedSegment]++;
+    }
+
+    // Assign the ranges in the order of the hash values.
+    final List<Pair<KeyRange, KeyRange>> ranges = new ArrayList<>(taskGroupListSize);
+    int segmentIdx = 0;
+    int hashValue = 0;
+    while (hashValue < hashRangeCount) {
+      if (splitCounts[hashValue] > 1) {
+        final List<Long> srcTaskSizes = new ArrayList<>(srcTaskCount);
+        for (int srcTaskIdx = 0; srcTaskIdx < srcTaskCount; srcTaskIdx++) {
+          final List<Long> blockSizes = srcTaskIdxToMetricData.get(srcTaskIdx);
+          srcTaskSizes.add(blockSizes == null ? 0L : blockSizes.get(hashValue));
+        }
+        LOG.info("Split hash value {} of size {} into {} task groups",
+            new Object[]{hashValue, aggregatedMetricData.get(hashValue), splitCounts[hashValue]});
+        for (final KeyRange srcTaskIdxRange : calculateHashRanges(srcTaskSizes, 0, srcTaskCount,
+            splitCounts[hashValue])) {
+          ranges.add(Pair.of(HashRange.of(hashValue, hashValue + 1), srcTaskIdxRange));
+        }
+        hashValue++;
+      } else {
+        final Pair<Integer, Integer> segment = segments.get(segmentIdx);
+        for (final KeyRange keyRange : calculateHashRanges(aggregatedMetricData, segment.left(), segment.right(),
+            segmentTaskGroupCounts[segmentIdx])) {
+          ranges.add(Pair.of(keyRange, HashRange.all()));
+        }
+        hashValue = segment.right();
+        segmentIdx++;
+      }
+    }
+    // The task groups left, if any, read nothing.
+    while (ranges.size() < taskGroupListSize) {
+      ranges.add(Pair.of(HashRange.of(hashRangeCount, hashRangeCount), HashRange.all()));
+    }
+    return ranges;
+  }
+
+  /**
+   * Aggregates the metric data of each hash value.
+   * @param metricData the metric data.
+   * @return the list of the aggregated size of each hash value.
+   */
+  private static List<Long> aggregateMetricData(final Map<String, List<Long>> metricData) {
     // NOTE: metricData is made up of a map of blockId to blockSizes.
     // Count the hash range (number of blocks for each block).
     final int hashRangeCount = metricData.values().stream().findFirst().orElseThrow(() ->
@@ -107,41 +234,81 @@ public final class DataSkewRuntimePass implements RuntimePass<Map<String, List<L
     // for each hash range index, we aggregate the metric data.
     IntStream.range(0, hashRangeCount).forEach(i ->
         aggregatedMetricData.add(i, metricData.values().stream().mapToLong(lst -> lst.get(i)).sum()));
+    return aggregatedMetricData;
+  }
+
+  /**
+   * @param splitCounts the number of task groups each hash value is split into.
+   * @return the number of task groups for the split hash values.
+   */
+  private static int countSplitTaskGroups(final int[] splitCounts) {
+    return Arrays.stream(splitCounts).filter(splitCount -> splitCount > 1).sum();
+  }
 
+  /**
+   * @param splitCounts the number of task groups each hash value is split into.
+   * @return the ranges of hash values between the split hash values, as pairs of begin (inclusive) and end (exclusive).
+   */
+  private static List<Pair<Integer, Integer>> getUnsplitSegments(final int[] splitCounts) {
+    final List<Pair<Integer, Integer>> segments = new ArrayList<>();
+    int segmentBegin = 0;
+    for (int hashValue = 0; hashValue <= splitCounts.length; hashValue++) {
+      if (hashValue == splitCounts.length || splitCounts[hashValue] > 1) {
+        if (segmentBegin < hashValue) {
+          segments.add(Pair.of(segmentBegin, hashValue));
+        }
+        segmentBegin = hashValue + 1;
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * Method for calculating ranges to evenly distribute the sizes within a range over the given number of task groups.
+   * @param sizes the list of sizes.
+   * @param rangeBegin the beginning of the range to distribute (inclusive).
+   * @param rangeEnd the end of the range to distribute (exclusive).
+   * @param taskGroupListSize the number of task groups to distribute the range to.
+   * @return the list of ranges calculated.
+   */
+  private static List<KeyRange> calculateHashRanges(final List<Long> sizes,
+                                                    final int rangeBegin,
+                                                    final int rangeEnd,
+                                                    final int taskGroupListSize) {
     // Do the optimization using the information derived above.
-    final Long totalSize = aggregatedMetricData.stream().mapToLong(n -> n).sum(); // get total size
+    final Long totalSize = sizes.subList(rangeBegin, rangeEnd).stream().mapToLong(n -> n).sum(); // get total size
     final Long idealSizePerTaskGroup = totalSize / taskGroupListSize; // and derive the ideal size per task group
     LOG.info("idealSizePerTaskgroup {} = {}(totalSize) / {}(taskGroupListSize)",
         idealSizePerTaskGroup, totalSize, taskGroupListSize);
 
     // find HashRanges to apply (for each blocks of each block).
     final List<KeyRange> keyRanges = new ArrayList<>(taskGroupListSize);
-    int startingHashValue = 0;
-    int finishingHashValue = 1; // initial values
-    Long currentAccumulatedSize = aggregatedMetricData.get(startingHashValue);
+    int startingHashValue = rangeBegin;
+    int finishingHashValue = rangeBegin + 1; // initial values
+    Long currentAccumulatedSize = sizes.get(startingHashValue);
     for (int i = 1; i <= taskGroupListSize; i++) {
       if (i != taskGroupListSize) {
         final Long idealAccumulatedSize = idealSizePerTaskGroup * i; // where we should end
         // find the point while adding up one by one.
         while (currentAccumulatedSize < idealAccumulatedSize) {
-          currentAccumulatedSize += aggregatedMetricData.get(finishingHashValue);
+          currentAccumulatedSize += sizes.get(finishingHashValue);
           finishingHashValue++;
         }
 
-        Long oneStepBack = currentAccumulatedSize - aggregatedMetricData.get(finishingHashValue - 1);
+        Long oneStepBack = currentAccumulatedSize - sizes.get(finishingHashValue - 1);
         Long diffFromIdeal = currentAccumulatedSize - idealAccumulatedSize;
         Long diffFromIdealOneStepBack = idealAccumulatedSize - oneStepBack;
         // Go one step back if we came too far.
         if (diffFromIdeal > diffFromIdealOneStepBack) {
           finishingHashValue--;
-          currentAccumulatedSize -= aggregatedMetricData.get(finishingHashValue);
+          currentAccumulatedSize -= sizes.get(finishingHashValue);
         }
 
         // assign appropriately
         keyRanges.add(i - 1, HashRange.of(startingHashValue, finishingHashValue));
         startingHashValue = finishingHashValue;
       } else { // last one: we put the range of the rest.
-        keyRanges.add(i - 1, HashRange.of(startingHashValue, hashRangeCount));
+        keyRanges.add(i - 1, HashRange.of(startingHashValue, rangeEnd));
       }
     }
     return keyRanges;
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.common.optimizer.pass.runtime;
+
+import com.google.common.annotations.VisibleForTesting;
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.eventhandler.RuntimeEventHandler;
+import edu.snu.nemo.common.exception.DynamicOptimizationException;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.data.HashRange;
+import edu.snu.nemo.runtime.common.data.KeyRange;
+import edu.snu.nemo.runtime.common.eventhandler.DynamicOptimizationEventHandler;
+import edu.snu.nemo.runtime.common.plan.physical.PhysicalPlan;
+import edu.snu.nemo.runtime.common.plan.physical.PhysicalStage;
+import edu.snu.nemo.runtime.common.plan.physical.PhysicalStageEdge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Dynamic optimization pass for adjusting the parallelism of a stage to the actual size of its shuffled input.
+ * The parallelism of the destination stage, which is decided at compile time, is treated as an upper bound.
+ * The hash ranges of the shuffle are merged so that each task group reads about {@code targetBytesPerTaskGroup},
+ * and are assigned to as few task groups as needed. The remaining task groups are given empty hash ranges,
+ * so they complete without reading any data.
+ */
+public final class DynamicParallelismRuntimePass implements RuntimePass<Map<String, List<Long>>> {
+  private static final Logger LOG = LoggerFactory.getLogger(DynamicParallelismRuntimePass.class.getName());
+  public static final long DEFAULT_TARGET_BYTES_PER_TASK_GROUP = 64L * 1024 * 1024;
+  private final Set<Class<? extends RuntimeEventHandler>> eventHandlers;
+  private final long targetBytesPerTaskGroup;
+
+  /**
+   * Default constructor.
+   */
+  public DynamicParallelismRuntimePass() {
+    this(DEFAULT_TARGET_BYTES_PER_TASK_GROUP);
+  }
+
+  /**
+   * Constructor.
+   * @param targetBytesPerTaskGroup the amount of data each task group of the destination stage aims to read.
+   */
+  public DynamicParallelismRuntimePass(final long targetBytesPerTaskGroup) {
+    if (targetBytesPerTaskGroup <= 0) {
+      throw new DynamicOptimizationException("target bytes per task group should be positive: "
+          + targetBytesPerTaskGroup);
+    }
+    this.eventHandlers = Collections.singleton(
+        DynamicOptimizationEventHandler.class);
+    this.targetBytesPerTaskGroup = targetBytesPerTaskGroup;
+  }
+
+  @Override
+  public Set<Class<? extends RuntimeEventHandler>> getEventHandlerClasses() {
+    return this.eventHandlers;
+  }
+
+  @Override
+  public PhysicalPlan apply(final PhysicalPlan originalPlan, final Map<String, List<Long>> metricData) {
+    // Builder to create new stages.
+    final DAGBuilder<PhysicalStage, PhysicalStageEdge> physicalDAGBuilder =
+        new DAGBuilder<>(originalPlan.getStageDAG());
+
+    // get edges to optimize
+    final Set<String> optimizationEdgeIds = metricData.keySet().stream().map(blockId ->
+        RuntimeIdGenerator.getRuntimeEdgeIdFromBlockId(blockId)).collect(Collectors.toSet());
+    final DAG<PhysicalStage, PhysicalStageEdge> stageDAG = originalPlan.getStageDAG();
+    final List<PhysicalStageEdge> optimizationEdges = stageDAG.getVertices().stream()
+        .flatMap(physicalStage -> stageDAG.getIncomingEdgesOf(physicalStage).stream())
+        .filter(physicalStageEdge -> optimizationEdgeIds.contains(physicalStageEdge.getId()))
+        .collect(Collectors.toList());
+
+    // The compile-time parallelism of the next stage is the upper bound of the new parallelism.
+    final int maxTaskGroupCount = optimizationEdges.stream().findFirst().orElseThrow(() ->
+        new DynamicOptimizationException("optimization edges are empty")).getDst().getTaskGroupIds().size();
+    final int taskGroupCount = calculateTaskGroupCount(metricData, maxTaskGroupCount);
+    final List<KeyRange> keyRanges = calculateHashRanges(metricData, taskGroupCount, maxTaskGroupCount);
+    LOG.info("Adjusted the parallelism of {} from {} to {}",
+        new Object[]{optimizationEdgeIds, maxTaskGroupCount, taskGroupCount});
+
+    // Overwrite the previously assigned hash value range in the physical DAG with the new range.
+    optimizationEdges.forEach(optimizationEdge -> optimizationEdge.setTaskGroupIdxToKeyRange(keyRanges));
+
+    return new PhysicalPlan(originalPlan.getId(), physicalDAGBuilder.build(), originalPlan.getTaskIRVertexMap());
+  }
+
+  /**
+   * Method for calculating the number of task groups needed to read the metric data.
+   * @param metricData the metric data.
+   * @param maxTaskGroupCount the upper bound of the number of task groups.
+   * @return the number of task groups, between 1 and {@code maxTaskGroupCount}.
+   */
+  @VisibleForTesting
+  public int calculateTaskGroupCount(final Map<String, List<Long>> metricData,
+                                     final int maxTaskGroupCount) {
+    // NOTE: metricData is made up of a map of blockId to blockSizes.
+    final long totalSize = metricData.values().stream()
+        .flatMap(List::stream)
+        .mapToLong(Long::longValue)
+        .sum();
+    final long neededTaskGroupCount = (totalSize + targetBytesPerTaskGroup - 1) / targetBytesPerTaskGroup;
+    return (int) Math.max(1, Math.min(maxTaskGroupCount, neededTaskGroupCount));
+  }
+
+  /**
+   * Method for calculating key ranges to evenly distribute the metric data over {@code taskGroupCount} task groups.
+   * @param metricData the metric data.
+   * @param taskGroupCount the number of task groups to read the data.
+   * @param maxTaskGroupCount the size of the task group list.
+   * @return the list of key ranges calculated, whose entries after {@code taskGroupCount} are empty.
+   */
+  @VisibleForTesting
+  public List<KeyRange> calculateHashRanges(final Map<String, List<Long>> metricData,
+                                            final int taskGroupCount,
+                                            final int maxTaskGroupCount) {
+    final int hashRangeCount = metricData.values().stream().findFirst().orElseThrow(() ->
+        new DynamicOptimizationException("no valid metric data.")).size();
+
+    final List<KeyRange> keyRanges = new ArrayList<>(maxTaskGroupCount);
+    keyRanges.addAll(new DataSkewRuntimePass().calculateHashRanges(metricData, taskGroupCount));
+    while (keyRanges.size() < maxTaskGroupCount) {
+      keyRanges.add(HashRange.of(hashRangeCount, hashRangeCount));
+    }
+    return keyRanges;
+  }
+}
@@ -46,6 +46,11 @@ public final class PhysicalStageEdge extends RuntimeEdge<PhysicalStage> {
    */
   private List<KeyRange> taskGroupIdxToKeyRange;
 
+  /**
+   * The list between the task group idx and the range of source task indices to read from.
+   */
+  private List<KeyRange> taskGroupIdxToSrcTaskIdxRange;
+
   /**
    * Constructor.
    * @param runtimeEdgeId id of the runtime edge.
@@ -70,8 +75,10 @@ public final class PhysicalStageEdge extends RuntimeEdge<PhysicalStage> {
     this.dstVertex = dstVertex;
     // Initialize the key range of each dst task.
     this.taskGroupIdxToKeyRange = new ArrayList<>();
+    this.taskGroupIdxToSrcTaskIdxRange = new ArrayList<>();
     for (int taskIdx = 0; taskIdx < dstStage.getTaskGroupIds().size(); taskIdx++) {
       taskGroupIdxToKeyRange.add(HashRange.of(taskIdx, taskIdx + 1));
+      taskGroupIdxToSrcTaskIdxRange.add(HashRange.all());
     }
   }
 
@@ -115,4 +122,19 @@ public final class PhysicalStageEdge extends RuntimeEdge<PhysicalStage> {
   public void setTaskGroupIdxToKeyRange(final List<KeyRange> taskGroupIdxToKeyRange) {
     this.taskGroupIdxToKeyRange = taskGroupIdxToKeyRange;
   }
+
+  /**
+   * @return the list between the task group idx and the range of source task indices to read from.
+   */
+  public List<KeyRange> getTaskGroupIdxToSrcTaskIdxRange() {
+    return taskGroupIdxToSrcTaskIdxRange;
+  }
+
+  /**
+   * Sets the task group idx to source task idx range list.
+   * @param taskGroupIdxToSrcTaskIdxRange the list to set.
+   */
+  public void setTaskGroupIdxToSrcTaskIdxRange(final List<KeyRange> taskGroupIdxToSrcTaskIdxRange) {
+    this.taskGroupIdxToSrcTaskIdxRange = taskGroupIdxToSrcTaskIdxRange;
+  }
 }
@@ -67,6 +67,9 @@ public final class NemoDriver {
   private final String jobId;
   private final String localDirectory;
   private final String glusterDirectory;
+  private final double memoryStoreFraction;
+  private final int outputBatchSize;
+  private final int partitionTransferWindowSize;
 
   // Client for sending log messages
   private final JobMessageObserver client;
@@ -81,7 +84,10 @@ public final class NemoDriver {
                      @Parameter(JobConf.ExecutorJsonContents.class) final String resourceSpecificationString,
                      @Parameter(JobConf.JobId.class) final String jobId,
                      @Parameter(JobConf.FileDirectory.class) final String localDirectory,
-                     @Parameter(JobConf.GlusterVolumeDirectory.class) final String glusterDirectory) {
+                     @Parameter(JobConf.GlusterVolumeDirectory.class) final String glusterDirectory,
+                     @Parameter(JobConf.MemoryStoreFraction.class) final double memoryStoreFraction,
+                     @Parameter(JobConf.OutputBatchSize.class) final int outputBatchSize,
+                     @Parameter(JobConf.PartitionTransferWindowSize.class) final int partitionTransferWindowSize) {
     IdManager.setInDriver();
     this.userApplicationRunner = userApplicationRunner;
     this.runtimeMaster = runtimeMaster;
@@ -91,6 +97,9 @@ public final class NemoDriver {
     this.jobId = jobId;
     this.localDirectory = localDirectory;
     this.glusterDirectory = glusterDirectory;
+    this.memoryStoreFraction = memoryStoreFraction;
+    this.outputBatchSize = outputBatchSize;
+    this.partitionTransferWindowSize = partitionTransferWindowSize;
     this.client = client;
     this.handler = new RemoteClientMessageLoggingHandler(client);
   }
@@ -191,6 +200,9 @@ public final class NemoDriver {
         .set(JobConf.EXECUTOR_CAPACITY, executorCapacity)
         .set(JobConf.GLUSTER_DISK_DIRECTORY, glusterDirectory)
         .set(JobConf.LOCAL_DISK_DIRECTORY, localDirectory)
+        .set(JobConf.MEMORY_STORE_FRACTION, memoryStoreFraction)
+        .set(JobConf.OUTPUT_BATCH_SIZE, outputBatchSize)
+        .set(JobConf.PARTITION_TRANSFER_WINDOW_SIZE, partitionTransferWindowSize)
         .set(JobConf.JOB_ID, jobId)
         .build();
 
@@ -17,6 +17,7 @@ package edu.snu.nemo.runtime.executor;
 
 import com.google.protobuf.ByteString;
 import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.ir.Readable;
 import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.common.exception.IllegalMessageException;
 import edu.snu.nemo.common.exception.UnknownFailureCauseException;
@@ -27,6 +28,7 @@ import edu.snu.nemo.runtime.common.message.MessageEnvironment;
 import edu.snu.nemo.runtime.common.message.MessageListener;
 import edu.snu.nemo.runtime.common.message.PersistentConnectionToMasterMap;
 import edu.snu.nemo.runtime.common.plan.RuntimeEdge;
+import edu.snu.nemo.runtime.common.plan.physical.PhysicalStageEdge;
 import edu.snu.nemo.runtime.common.plan.physical.ScheduledTaskGroup;
 import edu.snu.nemo.runtime.common.plan.physical.Task;
 import edu.snu.nemo.runtime.executor.data.SerializerManager;
@@ -35,8 +37,17 @@ import org.apache.commons.lang3.SerializationUtils;
 import org.apache.reef.tang.annotations.Parameter;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +64,26 @@ public final class Executor {
    */
   private final ExecutorService executorService;
 
+  /**
+   * The futures of the task groups submitted to {@link #executorService}, to cancel them on request of the master.
+   */
+  private final Map<String, Future<Void>> taskGroupIdToFuture;
+
+  /**
+   * The task groups cancelled by the master. Their failures are not reported.
+   */
+  private final Set<String> cancelledTaskGroupIds;
+
+  /**
+   * The stages of the task groups received, which are sent only once for each stage by the master.
+   */
+  private final Map<String, CachedStage> stageIdToCachedStage;
+
+  /**
+   * The task groups received before their stage, which can happen as the master encodes the task groups in parallel.
+   */
+  private final Map<String, List<ControlMessage.ScheduleTaskGroupMsg>> stageIdToPendingTaskGroupMsgs;
+
   /**
    * In charge of this executor's intermediate data transfer.
    */
@@ -63,6 +94,16 @@ public final class Executor {
    */
   private final DataTransferFactory dataTransferFactory;
 
+  /**
+   * The number of output elements of a task written at once.
+   */
+  private final int outputBatchSize;
+
+  /**
+   * The local directory where the tasks spill their data.
+   */
+  private final String fileDirectory;
+
   private final PersistentConnectionToMasterMap persistentConnectionToMasterMap;
 
   private final MetricMessageSender metricMessageSender;
@@ -70,6 +111,8 @@ public final class Executor {
   @Inject
   public Executor(@Parameter(JobConf.ExecutorId.class) final String executorId,
                   @Parameter(JobConf.ExecutorCapacity.class) final int executorCapacity,
+                  @Parameter(JobConf.OutputBatchSize.class) final int outputBatchSize,
+                  @Parameter(JobConf.FileDirectory.class) final String fileDirectory,
                   final PersistentConnectionToMasterMap persistentConnectionToMasterMap,
                   final MessageEnvironment messageEnvironment,
                   final SerializerManager serializerManager,
@@ -77,6 +120,12 @@ public final class Executor {
                   final MetricManagerWorker metricMessageSender) {
     this.executorId = executorId;
     this.executorService = Executors.newFixedThreadPool(executorCapacity);
+    this.taskGroupIdToFuture = new ConcurrentHashMap<>();
+    this.cancelledTaskGroupIds = ConcurrentHashMap.newKeySet();
+    this.stageIdToCachedStage = new HashMap<>();
+    this.stageIdToPendingTaskGroupMsgs = new HashMap<>();
+    this.outputBatchSize = outputBatchSize;
+    this.fileDirectory = fileDirectory;
     this.persistentConnectionToMasterMap = persistentConnectionToMasterMap;
     this.serializerManager = serializerManager;
     this.dataTransferFactory = dataTransferFactory;
@@ -88,10 +137,82 @@ public final class Executor {
     return executorId;
   }
 
+  /**
+   * Decodes a task group to launch, using the cached stage of the task group.
+   * If the stage of the task group has not been received yet, the task group waits for it.
+   * @param scheduleTaskGroupMsg the message for the task group to launch.
+   */
+  private synchronized void onScheduleTaskGroupMsg(final ControlMessage.ScheduleTaskGroupMsg scheduleTaskGroupMsg) {
+    final String stageId = RuntimeIdGenerator.getStageIdFromTaskGroupId(scheduleTaskGroupMsg.getTaskGroupId());
+    if (scheduleTaskGroupMsg.hasStage()) {
+      final ControlMessage.TaskGroupStageMsg stageMsg = scheduleTaskGroupMsg.getStage();
+      final List<PhysicalStageEdge> incomingEdges =
+          SerializationUtils.deserialize(stageMsg.getIncomingEdges().toByteArray());
+      final List<PhysicalStageEdge> outgoingEdges =
+          SerializationUtils.deserialize(stageMsg.getOutgoingEdges().toByteArray());
+      final CachedStage cachedStage =
+          new CachedStage(stageMsg.getSerializedTaskGroupDag().toByteArray(), incomingEdges, outgoingEdges);
+      stageIdToCachedStage.put(stageId, cachedStage);
+
+      onTaskGroupReceived(decodeScheduledTaskGroup(scheduleTaskGroupMsg, cachedStage));
+      final List<ControlMessage.ScheduleTaskGroupMsg> pendingMsgs = stageIdToPendingTaskGroupMsgs.remove(stageId);
+      if (pendingMsgs != null) {
+        pendingMsgs.forEach(pendingMsg -> onTaskGroupReceived(decodeScheduledTaskGroup(pendingMsg, cachedStage)));
+      }
+    } else {
+      final CachedStage cachedStage = stageIdToCachedStage.get(stageId);
+      if (cachedStage == null) {
+        LOG.debug("TaskGroup [{}] waits for Stage [{}]", new Object[]{scheduleTaskGroupMsg.getTaskGroupId(), stageId});
+        stageIdToPendingTaskGroupMsgs.computeIfAbsent(stageId, id -> new ArrayList<>()).add(scheduleTaskGroupMsg);
+      } else {
+        onTaskGroupReceived(decodeScheduledTaskGroup(scheduleTaskGroupMsg, cachedStage));
+      }
+    }
+  }
+
+  /**
+   * @param scheduleTaskGroupMsg the message for the task group to launch.
+   * @param cachedStage          the stage of the task group.
+   * @return the decoded task group.
+   */
+  private static ScheduledTaskGroup decodeScheduledTaskGroup(
+      final ControlMessage.ScheduleTaskGroupMsg scheduleTaskGroupMsg, final CachedStage cachedStage) {
+    final Map<String, Readable> logicalTaskIdToReadable = scheduleTaskGroupMsg.hasLogicalTaskIdToReadable()
+        ? SerializationUtils.deserialize(scheduleTaskGroupMsg.getLogicalTaskIdToReadable().toByteArray())
+        : Collections.emptyMap();
+    return new ScheduledTaskGroup(scheduleTaskGroupMsg.getJobId(), cachedStage.serializedTaskGroupDag,
+        scheduleTaskGroupMsg.getTaskGroupId(), cachedStage.incomingEdges, cachedStage.outgoingEdges,
+        scheduleTaskGroupMsg.getAttemptIdx(), scheduleTaskGroupMsg.getContainerType(), logicalTaskIdToReadable);
+  }
+
   private synchronized void onTaskGroupReceived(final ScheduledTaskGroup scheduledTaskGroup) {
-    LOG.debug("Executor [{}] received TaskGroup [{}] to execute.",
-        new Object[]{executorId, scheduledTaskGroup.getTaskGroupId()});
-    executorService.execute(() -> launchTaskGroup(scheduledTaskGroup));
+    final String taskGroupId = scheduledTaskGroup.getTaskGroupId();
+    LOG.debug("Executor [{}] received TaskGroup [{}] to execute.", new Object[]{executorId, taskGroupId});
+    cancelledTaskGroupIds.remove(taskGroupId);
+    final FutureTask<Void> taskGroupFuture = new FutureTask<Void>(() -> launchTaskGroup(scheduledTaskGroup), null) {
+      @Override
+      protected void done() {
+        taskGroupIdToFuture.remove(taskGroupId, this);
+      }
+    };
+    taskGroupIdToFuture.put(taskGroupId, taskGroupFuture);
+    executorService.execute(taskGroupFuture);
+  }
+
+  /**
+   * Cancels the execution of a task group, whose speculative copy has completed in another executor.
+   * The thread executing the task group is interrupted, and its failure is not reported to the master.
+   * @param taskGroupId the ID of the task group to cancel.
+   */
+  private synchronized void onTaskGroupCancelled(final String taskGroupId) {
+    final Future<Void> taskGroupFuture = taskGroupIdToFuture.get(taskGroupId);
+    if (taskGroupFuture == null) {
+      LOG.info("TaskGroup [{}] to cancel is not running in Executor [{}]", new Object[]{taskGroupId, executorId});
+      return;
+    }
+    LOG.info("Cancelling TaskGroup [{}] in Executor [{}]", new Object[]{taskGroupId, executorId});
+    cancelledTaskGroupIds.add(taskGroupId);
+    taskGroupFuture.cancel(true);
   }
 
   /**
@@ -117,8 +238,13 @@ public final class Executor {
       });
 
       new TaskGroupExecutor(
-          scheduledTaskGroup, taskGroupDag, taskGroupStateManager, dataTransferFactory, metricMessageSender).execute();
+          scheduledTaskGroup, taskGroupDag, taskGroupStateManager, dataTransferFactory, metricMessageSender,
+          outputBatchSize, fileDirectory).execute();
     } catch (final Exception e) {
+      if (cancelledTaskGroupIds.remove(scheduledTaskGroup.getTaskGroupId())) {
+        LOG.info("Cancelled TaskGroup [{}] stopped with {}", new Object[]{scheduledTaskGroup.getTaskGroupId(), e});
+        return;
+      }
       persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID).send(
           ControlMessage.Message.newBuilder()
               .setId(RuntimeIdGenerator.generateMessageId())
@@ -151,10 +277,10 @@ public final class Executor {
     public void onMessage(final ControlMessage.Message message) {
       switch (message.getType()) {
       case ScheduleTaskGroup:
-        final ControlMessage.ScheduleTaskGroupMsg scheduleTaskGroupMsg = message.getScheduleTaskGroupMsg();
-        final ScheduledTaskGroup scheduledTaskGroup =
-            SerializationUtils.deserialize(scheduleTaskGroupMsg.getTaskGroup().toByteArray());
-        onTaskGroupReceived(scheduledTaskGroup);
+        onScheduleTaskGroupMsg(message.getScheduleTaskGroupMsg());
+        break;
+      case CancelTaskGroup:
+        onTaskGroupCancelled(message.getCancelTaskGroupMsg().getTaskGroupId());
         break;
       default:
         throw new IllegalMessageException(
@@ -171,4 +297,22 @@ public final class Executor {
       }
     }
   }
+
+  /**
+   * The stage-wide information of the task groups of a stage.
+   * The task group DAG is kept serialized, as each task group deserializes its own copy of the tasks to execute.
+   */
+  private static final class CachedStage {
+    private final byte[] serializedTaskGroupDag;
+    private final List<PhysicalStageEdge> incomingEdges;
+    private final List<PhysicalStageEdge> outgoingEdges;
+
+    private CachedStage(final byte[] serializedTaskGroupDag,
+                        final List<PhysicalStageEdge> incomingEdges,
+                        final List<PhysicalStageEdge> outgoingEdges) {
+      this.serializedTaskGroupDag = serializedTaskGroupDag;
+      this.incomingEdges = incomingEdges;
+      this.outgoingEdges = outgoingEdges;
+    }
+  }
 }
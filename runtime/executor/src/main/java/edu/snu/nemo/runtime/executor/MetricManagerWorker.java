@@ -15,16 +15,20 @@
  */
 package edu.snu.nemo.runtime.executor;
 
+import com.google.protobuf.ByteString;
 import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
 import edu.snu.nemo.runtime.common.comm.ControlMessage;
 import edu.snu.nemo.runtime.common.message.MessageEnvironment;
 import edu.snu.nemo.common.exception.UnknownFailureCauseException;
 import edu.snu.nemo.runtime.common.message.PersistentConnectionToMasterMap;
+import edu.snu.nemo.runtime.common.metric.MetricHistograms;
 import edu.snu.nemo.runtime.common.metric.parameter.MetricFlushPeriod;
+import org.HdrHistogram.Histogram;
 import org.apache.reef.annotations.audience.EvaluatorSide;
 import org.apache.reef.tang.annotations.Parameter;
 
 import javax.inject.Inject;
+import java.util.Map;
 import java.util.concurrent.*;
 
 import org.slf4j.Logger;
@@ -32,12 +36,14 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Metric sender that periodically flushes the collected metrics to Driver.
+ * The histograms of the recorded metrics are flushed as the values recorded during the period.
  */
 @EvaluatorSide
 public final class MetricManagerWorker implements MetricMessageSender {
 
   private final ScheduledExecutorService scheduledExecutorService;
   private final BlockingQueue<ControlMessage.Metric> metricMessageQueue;
+  private final MetricHistograms metricHistograms;
   private final PersistentConnectionToMasterMap persistentConnectionToMasterMap;
 
   private static final Logger LOG = LoggerFactory.getLogger(MetricManagerWorker.class.getName());
@@ -47,6 +53,7 @@ public final class MetricManagerWorker implements MetricMessageSender {
                               final PersistentConnectionToMasterMap persistentConnectionToMasterMap) {
     this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
     this.metricMessageQueue = new LinkedBlockingQueue<>();
+    this.metricHistograms = new MetricHistograms();
     this.persistentConnectionToMasterMap = persistentConnectionToMasterMap;
     final Runnable batchMetricMessages = () -> flushMetricMessageQueueToMaster();
     this.scheduledExecutorService.scheduleAtFixedRate(batchMetricMessages, 0,
@@ -54,18 +61,24 @@ public final class MetricManagerWorker implements MetricMessageSender {
   }
 
   private void flushMetricMessageQueueToMaster() {
-    if (!metricMessageQueue.isEmpty()) {
+    final Map<MetricHistograms.Metric, Histogram> intervalHistograms = metricHistograms.takeIntervalHistograms();
+    if (!metricMessageQueue.isEmpty() || !intervalHistograms.isEmpty()) {
       // Build batched metric messages
       int size = metricMessageQueue.size();
 
       final ControlMessage.MetricMsg.Builder metricMsgBuilder = ControlMessage.MetricMsg.newBuilder();
 
-      LOG.info("MetricManagerWorker Size: {}", size);
+      LOG.debug("MetricManagerWorker Size: {}", size);
       for (int i = 0; i < size; i++) {
         final ControlMessage.Metric metric = metricMessageQueue.poll();
-        LOG.info("MetricManagerWorker addMetric: {}, {}, {}", size, i, metric);
+        LOG.debug("MetricManagerWorker addMetric: {}, {}, {}", size, i, metric);
         metricMsgBuilder.addMetric(i, metric);
       }
+      intervalHistograms.forEach((metric, histogram) ->
+          metricMsgBuilder.addMetricHistogram(ControlMessage.MetricHistogram.newBuilder()
+              .setMetric(metric.name())
+              .setHistogram(ByteString.copyFrom(MetricHistograms.encode(histogram)))
+              .build()));
 
       persistentConnectionToMasterMap.getMessageSender(MessageEnvironment.RUNTIME_MASTER_MESSAGE_LISTENER_ID).send(
           ControlMessage.Message.newBuilder()
@@ -84,6 +97,11 @@ public final class MetricManagerWorker implements MetricMessageSender {
         ControlMessage.Metric.newBuilder().setMetricKey(metricKey).setMetricValue(metricValue).build());
   }
 
+  @Override
+  public void record(final MetricHistograms.Metric metric, final long value) {
+    metricHistograms.record(metric, value);
+  }
+
   @Override
   public void close() throws UnknownFailureCauseException {
     LOG.info("Shutting down MetricManager ");
@@ -15,6 +15,7 @@
  */
 package edu.snu.nemo.runtime.executor;
 
+import edu.snu.nemo.runtime.common.metric.MetricHistograms;
 import org.apache.reef.tang.annotations.DefaultImplementation;
 
 /**
@@ -25,5 +26,12 @@ public interface MetricMessageSender extends AutoCloseable {
 
   void send(final String metricKey, final String metricValue);
 
+  /**
+   * Records a value of a metric to its histogram, which is sent with the other metrics.
+   * @param metric the metric.
+   * @param value  the value to record.
+   */
+  void record(final MetricHistograms.Metric metric, final long value);
+
   void close();
 }
@@ -24,6 +24,7 @@ import edu.snu.nemo.common.ir.Readable;
 import edu.snu.nemo.common.ir.vertex.transform.Transform;
 import edu.snu.nemo.common.ir.vertex.OperatorVertex;
 import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.metric.MetricHistograms;
 import edu.snu.nemo.runtime.common.plan.RuntimeEdge;
 import edu.snu.nemo.runtime.common.plan.physical.*;
 import edu.snu.nemo.runtime.common.state.TaskGroupState;
@@ -36,7 +37,6 @@ import edu.snu.nemo.runtime.executor.datatransfer.OutputWriter;
 
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -46,10 +46,19 @@ import java.util.stream.Collectors;
 
 /**
  * Executes a task group.
+ * The stage-internal edges from a source or operator task to an operator task are pipelined:
+ * the output of the upstream task is pushed to the downstream transform as soon as it is emitted,
+ * instead of being written to and read from a block.
+ * The output of a task is written to the blocks in batches while the task is running,
+ * so that the output not written yet is bounded by the batch size.
+ * The input blocks of a task are consumed as they arrive, and only a bounded number of them are fetched at once.
+ * The time spent on each part of a task and the data size of the task are recorded to the metric histograms.
  */
 public final class TaskGroupExecutor {
 
   private static final Logger LOG = LoggerFactory.getLogger(TaskGroupExecutor.class.getName());
+  // The maximum number of input blocks of an operator task which are fetched at the same time.
+  private static final int MAX_NUM_PREFETCHED_BLOCKS = 16;
 
   private final DAG<Task, RuntimeEdge<Task>> taskGroupDag;
   private final String taskGroupId;
@@ -58,7 +67,9 @@ public final class TaskGroupExecutor {
   private final List<PhysicalStageEdge> stageIncomingEdges;
   private final List<PhysicalStageEdge> stageOutgoingEdges;
   private final DataTransferFactory channelFactory;
-  private final MetricCollector metricCollector;
+  private final MetricMessageSender metricMessageSender;
+  private final int outputBatchSize;
+  private final String spillDirectory;
 
   /**
    * Map of task IDs in this task group to their readers/writers.
@@ -66,13 +77,23 @@ public final class TaskGroupExecutor {
   private final Map<String, List<InputReader>> physicalTaskIdToInputReaderMap;
   private final Map<String, List<OutputWriter>> physicalTaskIdToOutputWriterMap;
 
+  /**
+   * Map of task IDs in this task group to the downstream operator tasks which are pipelined with them,
+   * and to the output collectors of the prepared operator tasks.
+   */
+  private final Map<String, List<OperatorTask>> physicalTaskIdToPipelinedTasksMap;
+  private final Map<String, OutputCollectorImpl> physicalTaskIdToOutputCollectorMap;
+  private final Map<String, Long> physicalTaskIdToWriteTimeNsMap;
+
   private boolean isExecutionRequested;
 
   public TaskGroupExecutor(final ScheduledTaskGroup scheduledTaskGroup,
                            final DAG<Task, RuntimeEdge<Task>> taskGroupDag,
                            final TaskGroupStateManager taskGroupStateManager,
                            final DataTransferFactory channelFactory,
-                           final MetricMessageSender metricMessageSender) {
+                           final MetricMessageSender metricMessageSender,
+                           final int outputBatchSize,
+                           final String spillDirectory) {
     this.taskGroupDag = taskGroupDag;
     this.taskGroupId = scheduledTaskGroup.getTaskGroupId();
     this.taskGroupIdx = scheduledTaskGroup.getTaskGroupIdx();
@@ -80,10 +101,15 @@ public final class TaskGroupExecutor {
     this.stageIncomingEdges = scheduledTaskGroup.getTaskGroupIncomingEdges();
     this.stageOutgoingEdges = scheduledTaskGroup.getTaskGroupOutgoingEdges();
     this.channelFactory = channelFactory;
-    this.metricCollector = new MetricCollector(metricMessageSender);
+    this.metricMessageSender = metricMessageSender;
+    this.outputBatchSize = outputBatchSize;
+    this.spillDirectory = spillDirectory;
 
     this.physicalTaskIdToInputReaderMap = new HashMap<>();
     this.physicalTaskIdToOutputWriterMap = new HashMap<>();
+    this.physicalTaskIdToPipelinedTasksMap = new HashMap<>();
+    this.physicalTaskIdToOutputCollectorMap = new HashMap<>();
+    this.physicalTaskIdToWriteTimeNsMap = new HashMap<>();
 
     this.isExecutionRequested = false;
 
@@ -125,13 +151,32 @@ public final class TaskGroupExecutor {
       });
 
       final List<RuntimeEdge<Task>> inEdgesWithinStage = taskGroupDag.getIncomingEdgesOf(task);
-      inEdgesWithinStage.forEach(internalEdge -> createLocalReader(task, internalEdge));
+      inEdgesWithinStage.stream()
+          .filter(internalEdge -> !isPipelined(internalEdge))
+          .forEach(internalEdge -> createLocalReader(task, internalEdge));
 
       final List<RuntimeEdge<Task>> outEdgesWithinStage = taskGroupDag.getOutgoingEdgesOf(task);
-      outEdgesWithinStage.forEach(internalEdge -> createLocalWriter(task, internalEdge));
+      outEdgesWithinStage.forEach(internalEdge -> {
+        if (isPipelined(internalEdge)) {
+          addPipelinedTask(task, (OperatorTask) internalEdge.getDst());
+        } else {
+          createLocalWriter(task, internalEdge);
+        }
+      });
     }));
   }
 
+  /**
+   * @param internalEdge a stage-internal edge.
+   * @return whether the data through the edge is pushed to the downstream task without being stored or not.
+   */
+  private static boolean isPipelined(final RuntimeEdge<Task> internalEdge) {
+    final Task srcTask = internalEdge.getSrc();
+    return !Boolean.TRUE.equals(internalEdge.isSideInput())
+        && internalEdge.getDst() instanceof OperatorTask
+        && (srcTask instanceof OperatorTask || srcTask instanceof BoundedSourceTask);
+  }
+
   // Helper functions to initializes cross-stage edges.
   private Set<PhysicalStageEdge> getInEdgesFromOtherStages(final Task task) {
     return stageIncomingEdges.stream().filter(
@@ -169,6 +214,12 @@ public final class TaskGroupExecutor {
     physicalTaskIdToOutputWriterMap.get(physicalTaskId).add(outputWriter);
   }
 
+  private void addPipelinedTask(final Task task, final OperatorTask pipelinedTask) {
+    final String physicalTaskId = getPhysicalTaskId(task.getId());
+    physicalTaskIdToPipelinedTasksMap.computeIfAbsent(physicalTaskId, taskList -> new ArrayList<>());
+    physicalTaskIdToPipelinedTasksMap.get(physicalTaskId).add(pipelinedTask);
+  }
+
   /**
    * Executes the task group.
    */
@@ -222,82 +273,69 @@ public final class TaskGroupExecutor {
 
   /**
    * Processes a BoundedSourceTask.
+   * The data is read while it is iterated, so each batch of it is written and pushed to the pipelined tasks
+   * as soon as it is read, without the whole data of the readable kept in memory.
    *
    * @param boundedSourceTask the bounded source task to execute
    * @throws Exception occurred during input read.
    */
   private void launchBoundedSourceTask(final BoundedSourceTask boundedSourceTask) throws Exception {
     final String physicalTaskId = getPhysicalTaskId(boundedSourceTask.getId());
-    final Map<String, Object> metric = new HashMap<>();
-    metricCollector.beginMeasurement(physicalTaskId, metric);
+    physicalTaskIdToWriteTimeNsMap.remove(physicalTaskId);
+    long accumulatedWriteAndPushTimeNs = 0;
 
-    final long readStartTime = System.currentTimeMillis();
+    final long readStartTimeNs = System.nanoTime();
     final Readable readable = boundedSourceTask.getReadable();
     final Iterable readData = readable.read();
-    final long readEndTime = System.currentTimeMillis();
-    metric.put("BoundedSourceReadTime(ms)", readEndTime - readStartTime);
+    List batch = new ArrayList<>();
+    for (final Object element : readData) {
+      batch.add(element);
+      if (batch.size() >= outputBatchSize) {
+        final long writeAndPushStartTimeNs = System.nanoTime();
+        writeAndPushOutput(boundedSourceTask, batch);
+        accumulatedWriteAndPushTimeNs += System.nanoTime() - writeAndPushStartTimeNs;
+        batch = new ArrayList<>();
+      }
+    }
+    final long readEndTimeNs = System.nanoTime();
+    writeAndPushOutput(boundedSourceTask, batch);
+    final long accumulatedWriteTimeNs = physicalTaskIdToWriteTimeNsMap.getOrDefault(physicalTaskId, 0L);
+    metricMessageSender.record(MetricHistograms.Metric.InputReadTime,
+        readEndTimeNs - readStartTimeNs - accumulatedWriteAndPushTimeNs);
 
     final List<Long> writtenBytesList = new ArrayList<>();
-    for (final OutputWriter outputWriter : physicalTaskIdToOutputWriterMap.get(physicalTaskId)) {
-      outputWriter.write(readData);
+    final long closeStartTimeNs = System.nanoTime();
+    for (final OutputWriter outputWriter : getOutputWriters(physicalTaskId)) {
       outputWriter.close();
       final Optional<Long> writtenBytes = outputWriter.getWrittenBytes();
       writtenBytes.ifPresent(writtenBytesList::add);
     }
-    final long writeEndTime = System.currentTimeMillis();
-    metric.put("OutputWriteTime(ms)", writeEndTime - readEndTime);
-    putWrittenBytesMetric(writtenBytesList, metric);
-    metricCollector.endMeasurement(physicalTaskId, metric);
+    final long writeEndTimeNs = System.nanoTime();
+    metricMessageSender.record(MetricHistograms.Metric.OutputWriteTime,
+        writeEndTimeNs - closeStartTimeNs + accumulatedWriteTimeNs);
+    recordWrittenBytes(writtenBytesList);
+    metricMessageSender.record(MetricHistograms.Metric.TaskTime, writeEndTimeNs - readStartTimeNs);
   }
 
   /**
    * Processes an OperatorTask.
+   * If the task is pipelined with an upstream task, the data from the upstream task is already pushed to it,
+   * so this method processes the remaining inputs and closes the transform.
    * @param operatorTask to execute
    */
   private void launchOperatorTask(final OperatorTask operatorTask) {
-    final Map<Transform, Object> sideInputMap = new HashMap<>();
-    final List<DataUtil.IteratorWithNumBytes> sideInputIterators = new ArrayList<>();
     final String physicalTaskId = getPhysicalTaskId(operatorTask.getId());
 
-    final Map<String, Object> metric = new HashMap<>();
-    metricCollector.beginMeasurement(physicalTaskId, metric);
-    long accumulatedBlockedReadTime = 0;
-    long accumulatedWriteTime = 0;
-    long accumulatedSerializedBlockSize = 0;
+    long accumulatedBlockedReadTimeNs = 0;
+    // The time to write the output pushed from the upstream tasks is measured as a part of the upstream tasks.
+    physicalTaskIdToWriteTimeNsMap.remove(physicalTaskId);
     long accumulatedEncodedBlockSize = 0;
     boolean blockSizeAvailable = true;
 
-    final long readStartTime = System.currentTimeMillis();
-    // Check for side inputs
-    physicalTaskIdToInputReaderMap.get(physicalTaskId).stream().filter(InputReader::isSideInputReader)
-        .forEach(inputReader -> {
-          try {
-            if (!inputReader.isSideInputReader()) {
-              // Trying to get sideInput from a reader that does not handle sideInput.
-              // This is probably a bug. We're not trying to recover but ensure a hard fail.
-              throw new RuntimeException("Trying to get sideInput from non-sideInput reader");
-            }
-            final DataUtil.IteratorWithNumBytes sideInputIterator = inputReader.read().get(0).get();
-            final Object sideInput = getSideInput(sideInputIterator);
-
-            final RuntimeEdge inEdge = inputReader.getRuntimeEdge();
-            final Transform srcTransform;
-            if (inEdge instanceof PhysicalStageEdge) {
-              srcTransform = ((OperatorVertex) ((PhysicalStageEdge) inEdge).getSrcVertex())
-                  .getTransform();
-            } else {
-              srcTransform = ((OperatorTask) inEdge.getSrc()).getTransform();
-            }
-            sideInputMap.put(srcTransform, sideInput);
-            sideInputIterators.add(sideInputIterator);
-          } catch (final InterruptedException | ExecutionException e) {
-            throw new BlockFetchException(e);
-          }
-        });
-
+    final long readStartTimeNs = System.nanoTime();
+    final List<DataUtil.IteratorWithNumBytes> sideInputIterators = prepareOperatorTask(operatorTask);
     for (final DataUtil.IteratorWithNumBytes iterator : sideInputIterators) {
       try {
-        accumulatedSerializedBlockSize += iterator.getNumSerializedBytes();
         accumulatedEncodedBlockSize += iterator.getNumEncodedBytes();
       } catch (final DataUtil.IteratorWithNumBytes.NumBytesNotSupportedException e) {
         blockSizeAvailable = false;
@@ -305,42 +343,44 @@ public final class TaskGroupExecutor {
       }
     }
 
-    final Transform.Context transformContext = new ContextImpl(sideInputMap);
-    final OutputCollectorImpl outputCollector = new OutputCollectorImpl();
-
     final Transform transform = operatorTask.getTransform();
-    transform.prepare(transformContext, outputCollector);
 
     // Check for non-side inputs
     // This blocking queue contains the pairs having data and source vertex ids.
     final BlockingQueue<Pair<DataUtil.IteratorWithNumBytes, String>> dataQueue = new LinkedBlockingQueue<>();
-    final AtomicInteger sourceParallelism = new AtomicInteger(0);
-    physicalTaskIdToInputReaderMap.get(physicalTaskId).stream().filter(inputReader -> !inputReader.isSideInputReader())
+    // The blocks are requested lazily, so that only a bounded number of blocks are fetched at the same time.
+    final Queue<Runnable> pendingBlockFetches = new ArrayDeque<>();
+    getInputReaders(physicalTaskId).stream().filter(inputReader -> !inputReader.isSideInputReader())
         .forEach(inputReader -> {
-          final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> futures = inputReader.read();
           final String srcIrVtxId = inputReader.getSrcIrVertexId();
-          sourceParallelism.getAndAdd(inputReader.getSourceParallelism());
           // Add consumers which will push the data to the data queue when it ready to the futures.
-          futures.forEach(compFuture -> compFuture.whenComplete((data, exception) -> {
-            if (exception != null) {
-              throw new BlockFetchException(exception);
-            }
-            dataQueue.add(Pair.of(data, srcIrVtxId));
-          }));
+          inputReader.readLazily().forEach(blockFetch -> pendingBlockFetches.add(() ->
+              blockFetch.get().whenComplete((data, exception) -> {
+                if (exception != null) {
+                  throw new BlockFetchException(exception);
+                }
+                dataQueue.add(Pair.of(data, srcIrVtxId));
+              })));
         });
-    final long readFutureEndTime = System.currentTimeMillis();
+    final int numBlocksToRead = pendingBlockFetches.size();
+    for (int i = 0; i < MAX_NUM_PREFETCHED_BLOCKS && !pendingBlockFetches.isEmpty(); i++) {
+      pendingBlockFetches.poll().run();
+    }
+    final long readFutureEndTimeNs = System.nanoTime();
     // Consumes all of the partitions from incoming edges.
-    for (int srcTaskNum = 0; srcTaskNum < sourceParallelism.get(); srcTaskNum++) {
+    for (int blockNum = 0; blockNum < numBlocksToRead; blockNum++) {
       try {
         // Because the data queue is a blocking queue, we may need to wait some available data to be pushed.
-        final long blockedReadStartTime = System.currentTimeMillis();
+        final long blockedReadStartTimeNs = System.nanoTime();
         final Pair<DataUtil.IteratorWithNumBytes, String> availableData = dataQueue.take();
-        final long blockedReadEndTime = System.currentTimeMillis();
-        accumulatedBlockedReadTime += blockedReadEndTime - blockedReadStartTime;
+        accumulatedBlockedReadTimeNs += System.nanoTime() - blockedReadStartTimeNs;
+        // Request the next block before consuming the available data, to overlap the fetch with the transform.
+        if (!pendingBlockFetches.isEmpty()) {
+          pendingBlockFetches.poll().run();
+        }
         transform.onData(availableData.left(), availableData.right());
         if (blockSizeAvailable) {
           try {
-            accumulatedSerializedBlockSize += availableData.left().getNumSerializedBytes();
             accumulatedEncodedBlockSize += availableData.left().getNumEncodedBytes();
           } catch (final DataUtil.IteratorWithNumBytes.NumBytesNotSupportedException e) {
             blockSizeAvailable = false;
@@ -351,42 +391,147 @@ public final class TaskGroupExecutor {
       }
 
       // Check whether there is any output data from the transform and write the output of this task to the writer.
-      final List output = outputCollector.collectOutputList();
-      if (!output.isEmpty() && physicalTaskIdToOutputWriterMap.containsKey(physicalTaskId)) {
-        final long writeStartTime = System.currentTimeMillis();
-        physicalTaskIdToOutputWriterMap.get(physicalTaskId).forEach(outputWriter -> outputWriter.write(output));
-        final long writeEndTime = System.currentTimeMillis();
-        accumulatedWriteTime += writeEndTime - writeStartTime;
-      } // If else, this is a sink task.
+      processOutput(operatorTask);
     }
     transform.close();
+    final long accumulatedWriteTimeNs = physicalTaskIdToWriteTimeNsMap.getOrDefault(physicalTaskId, 0L);
 
-    metric.put("InputReadTime(ms)", readFutureEndTime - readStartTime + accumulatedBlockedReadTime);
-    final long transformEndTime = System.currentTimeMillis();
-    metric.put("TransformTime(ms)",
-        transformEndTime - readFutureEndTime - accumulatedWriteTime - accumulatedBlockedReadTime);
+    metricMessageSender.record(MetricHistograms.Metric.InputReadTime,
+        readFutureEndTimeNs - readStartTimeNs + accumulatedBlockedReadTimeNs);
+    final long transformEndTimeNs = System.nanoTime();
+    metricMessageSender.record(MetricHistograms.Metric.TransformTime,
+        transformEndTimeNs - readFutureEndTimeNs - accumulatedWriteTimeNs - accumulatedBlockedReadTimeNs);
 
     // Check whether there is any output data from the transform and write the output of this task to the writer.
+    processOutput(operatorTask);
     final List<Long> writtenBytesList = new ArrayList<>();
-    final List output = outputCollector.collectOutputList();
     if (physicalTaskIdToOutputWriterMap.containsKey(physicalTaskId)) {
       for (final OutputWriter outputWriter : physicalTaskIdToOutputWriterMap.get(physicalTaskId)) {
-        if (!output.isEmpty()) {
-          outputWriter.write(output);
-        }
         outputWriter.close();
         final Optional<Long> writtenBytes = outputWriter.getWrittenBytes();
         writtenBytes.ifPresent(writtenBytesList::add);
       }
-    } else {
+    } else if (!physicalTaskIdToPipelinedTasksMap.containsKey(physicalTaskId)) {
       LOG.info("This is a sink task: {}", physicalTaskId);
     }
-    final long writeEndTime = System.currentTimeMillis();
-    metric.put("OutputTime(ms)", writeEndTime - transformEndTime + accumulatedWriteTime);
-    putReadBytesMetric(blockSizeAvailable, accumulatedSerializedBlockSize, accumulatedEncodedBlockSize, metric);
-    putWrittenBytesMetric(writtenBytesList, metric);
+    final long writeEndTimeNs = System.nanoTime();
+    metricMessageSender.record(MetricHistograms.Metric.OutputWriteTime,
+        writeEndTimeNs - transformEndTimeNs + accumulatedWriteTimeNs);
+    recordReadBytes(blockSizeAvailable, accumulatedEncodedBlockSize);
+    recordWrittenBytes(writtenBytesList);
+    metricMessageSender.record(MetricHistograms.Metric.TaskTime, writeEndTimeNs - readStartTimeNs);
+  }
+
+  /**
+   * Prepares the transform of an OperatorTask with its side inputs, if it is not prepared yet.
+   * A task pipelined with an upstream task is prepared when the upstream task pushes data to it for the first time.
+   *
+   * @param operatorTask to prepare.
+   * @return the iterators of the side inputs read to prepare the transform (empty if already prepared).
+   */
+  private List<DataUtil.IteratorWithNumBytes> prepareOperatorTask(final OperatorTask operatorTask) {
+    final String physicalTaskId = getPhysicalTaskId(operatorTask.getId());
+    if (physicalTaskIdToOutputCollectorMap.containsKey(physicalTaskId)) {
+      return Collections.emptyList();
+    }
+    final Map<Transform, Object> sideInputMap = new HashMap<>();
+    final List<DataUtil.IteratorWithNumBytes> sideInputIterators = new ArrayList<>();
+
+    // Check for side inputs
+    getInputReaders(physicalTaskId).stream().filter(InputReader::isSideInputReader)
+        .forEach(inputReader -> {
+          try {
+            if (!inputReader.isSideInputReader()) {
+              // Trying to get sideInput from a reader that does not handle sideInput.
+              // This is probably a bug. We're not trying to recover but ensure a hard fail.
+              throw new RuntimeException("Trying to get sideInput from non-sideInput reader");
+            }
+            final DataUtil.IteratorWithNumBytes sideInputIterator = inputReader.read().get(0).get();
+            final Object sideInput = getSideInput(sideInputIterator);
+
+            final RuntimeEdge inEdge = inputReader.getRuntimeEdge();
+            final Transform srcTransform;
+            if (inEdge instanceof PhysicalStageEdge) {
+              srcTransform = ((OperatorVertex) ((PhysicalStageEdge) inEdge).getSrcVertex())
+                  .getTransform();
+            } else {
+              srcTransform = ((OperatorTask) inEdge.getSrc()).getTransform();
+            }
+            sideInputMap.put(srcTransform, sideInput);
+            sideInputIterators.add(sideInputIterator);
+          } catch (final InterruptedException | ExecutionException e) {
+            throw new BlockFetchException(e);
+          }
+        });
+
+    final Transform.Context transformContext = new ContextImpl(sideInputMap, spillDirectory);
+    final OutputCollectorImpl outputCollector =
+        new OutputCollectorImpl<Object>(outputBatchSize, batch -> writeAndPushOutput(operatorTask, batch));
+    operatorTask.getTransform().prepare(transformContext, outputCollector);
+    physicalTaskIdToOutputCollectorMap.put(physicalTaskId, outputCollector);
+    return sideInputIterators;
+  }
+
+  /**
+   * Writes the output remaining in the output collector of an OperatorTask to the writers,
+   * and pushes it to the pipelined tasks.
+   *
+   * @param operatorTask the task whose output to process.
+   */
+  private void processOutput(final OperatorTask operatorTask) {
+    final String physicalTaskId = getPhysicalTaskId(operatorTask.getId());
+    writeAndPushOutput(operatorTask, physicalTaskIdToOutputCollectorMap.get(physicalTaskId).collectOutputList());
+  }
+
+  /**
+   * Writes a batch of the output of a task to the writers, and pushes it to the pipelined tasks.
+   * The time spent to write is accumulated for the metric of the task.
+   *
+   * @param task   the task whose output to process.
+   * @param output the batch of the output.
+   */
+  private void writeAndPushOutput(final Task task, final List output) {
+    if (output.isEmpty()) {
+      return;
+    }
+    final String physicalTaskId = getPhysicalTaskId(task.getId());
+    final long writeStartTimeNs = System.nanoTime();
+    getOutputWriters(physicalTaskId).forEach(outputWriter -> outputWriter.write(output));
+    physicalTaskIdToWriteTimeNsMap.merge(physicalTaskId, System.nanoTime() - writeStartTimeNs, Long::sum);
+    pushToPipelinedTasks(task, output);
+  }
+
+  /**
+   * Pushes the output of a task to the transforms of the downstream tasks pipelined with it,
+   * and processes the output of the downstream transforms in turn.
+   *
+   * @param task   the upstream task.
+   * @param output the output of the upstream task.
+   */
+  private void pushToPipelinedTasks(final Task task, final Iterable output) {
+    final List<OperatorTask> pipelinedTasks =
+        physicalTaskIdToPipelinedTasksMap.getOrDefault(getPhysicalTaskId(task.getId()), Collections.emptyList());
+    for (final OperatorTask pipelinedTask : pipelinedTasks) {
+      prepareOperatorTask(pipelinedTask);
+      pipelinedTask.getTransform().onData(output.iterator(), task.getIrVertexId());
+      processOutput(pipelinedTask);
+    }
+  }
 
-    metricCollector.endMeasurement(physicalTaskId, metric);
+  /**
+   * @param physicalTaskId the physical task id.
+   * @return the input readers of the task.
+   */
+  private List<InputReader> getInputReaders(final String physicalTaskId) {
+    return physicalTaskIdToInputReaderMap.getOrDefault(physicalTaskId, Collections.emptyList());
+  }
+
+  /**
+   * @param physicalTaskId the physical task id.
+   * @return the output writers of the task.
+   */
+  private List<OutputWriter> getOutputWriters(final String physicalTaskId) {
+    return physicalTaskIdToOutputWriterMap.getOrDefault(physicalTaskId, Collections.emptyList());
   }
 
   /**
@@ -395,16 +540,13 @@ public final class TaskGroupExecutor {
    */
   private void launchMetricCollectionBarrierTask(final MetricCollectionBarrierTask task) {
     final String physicalTaskId = getPhysicalTaskId(task.getId());
-    final Map<String, Object> metric = new HashMap<>();
-    metricCollector.beginMeasurement(physicalTaskId, metric);
-    long accumulatedSerializedBlockSize = 0;
     long accumulatedEncodedBlockSize = 0;
     boolean blockSizeAvailable = true;
 
-    final long readStartTime = System.currentTimeMillis();
+    final long readStartTimeNs = System.nanoTime();
     final BlockingQueue<DataUtil.IteratorWithNumBytes> dataQueue = new LinkedBlockingQueue<>();
     final AtomicInteger sourceParallelism = new AtomicInteger(0);
-    physicalTaskIdToInputReaderMap.get(physicalTaskId).stream().filter(inputReader -> !inputReader.isSideInputReader())
+    getInputReaders(physicalTaskId).stream().filter(inputReader -> !inputReader.isSideInputReader())
         .forEach(inputReader -> {
           sourceParallelism.getAndAdd(inputReader.getSourceParallelism());
           inputReader.read().forEach(compFuture -> compFuture.thenAccept(dataQueue::add));
@@ -417,7 +559,6 @@ public final class TaskGroupExecutor {
         availableData.forEachRemaining(data::add);
         if (blockSizeAvailable) {
           try {
-            accumulatedSerializedBlockSize += availableData.getNumSerializedBytes();
             accumulatedEncodedBlockSize += availableData.getNumEncodedBytes();
           } catch (final DataUtil.IteratorWithNumBytes.NumBytesNotSupportedException e) {
             blockSizeAvailable = false;
@@ -427,8 +568,8 @@ public final class TaskGroupExecutor {
         throw new BlockFetchException(e);
       }
     }
-    final long readEndTime = System.currentTimeMillis();
-    metric.put("InputReadTime(ms)", readEndTime - readStartTime);
+    final long readEndTimeNs = System.nanoTime();
+    metricMessageSender.record(MetricHistograms.Metric.InputReadTime, readEndTimeNs - readStartTimeNs);
 
     final List<Long> writtenBytesList = new ArrayList<>();
     for (final OutputWriter outputWriter : physicalTaskIdToOutputWriterMap.get(physicalTaskId)) {
@@ -437,11 +578,11 @@ public final class TaskGroupExecutor {
       final Optional<Long> writtenBytes = outputWriter.getWrittenBytes();
       writtenBytes.ifPresent(writtenBytesList::add);
     }
-    final long writeEndTime  = System.currentTimeMillis();
-    metric.put("OutputWriteTime(ms)", writeEndTime - readEndTime);
-    putReadBytesMetric(blockSizeAvailable, accumulatedSerializedBlockSize, accumulatedEncodedBlockSize, metric);
-    putWrittenBytesMetric(writtenBytesList, metric);
-    metricCollector.endMeasurement(physicalTaskId, metric);
+    final long writeEndTimeNs = System.nanoTime();
+    metricMessageSender.record(MetricHistograms.Metric.OutputWriteTime, writeEndTimeNs - readEndTimeNs);
+    recordReadBytes(blockSizeAvailable, accumulatedEncodedBlockSize);
+    recordWrittenBytes(writtenBytesList);
+    metricMessageSender.record(MetricHistograms.Metric.TaskTime, writeEndTimeNs - readStartTimeNs);
   }
 
   /**
@@ -453,39 +594,30 @@ public final class TaskGroupExecutor {
   }
 
   /**
-   * Puts read bytes metric if the input data size is known.
+   * Records the read bytes if the input data size is known.
    *
-   * @param available whether input data size is known or not
-   * @param serializedBytes size in serialized (encoded and optionally post-processed (e.g. compressed)) form
-   * @param encodedBytes    size in encoded form
-   * @param metricMap       the metric map to put written bytes metric.
+   * @param available    whether input data size is known or not
+   * @param encodedBytes size in encoded form
    */
-  private static void putReadBytesMetric(final boolean available,
-                                         final long serializedBytes,
-                                         final long encodedBytes,
-                                         final Map<String, Object> metricMap) {
+  private void recordReadBytes(final boolean available,
+                               final long encodedBytes) {
     if (available) {
-      if (serializedBytes != encodedBytes) {
-        metricMap.put("ReadBytes(raw)", serializedBytes);
-      }
-      metricMap.put("ReadBytes", encodedBytes);
+      metricMessageSender.record(MetricHistograms.Metric.ReadBytes, encodedBytes);
     }
   }
 
   /**
-   * Puts written bytes metric if the output data size is known.
+   * Records the written bytes if the output data size is known.
    *
    * @param writtenBytesList the list of written bytes.
-   * @param metricMap        the metric map to put written bytes metric.
    */
-  private static void putWrittenBytesMetric(final List<Long> writtenBytesList,
-                                            final Map<String, Object> metricMap) {
+  private void recordWrittenBytes(final List<Long> writtenBytesList) {
     if (!writtenBytesList.isEmpty()) {
       long totalWrittenBytes = 0;
       for (final Long writtenBytes : writtenBytesList) {
         totalWrittenBytes += writtenBytes;
       }
-      metricMap.put("WrittenBytes", totalWrittenBytes);
+      metricMessageSender.record(MetricHistograms.Metric.WrittenBytes, totalWrittenBytes);
     }
   }
 
@@ -16,12 +16,14 @@
 package edu.snu.nemo.runtime.executor.bytetransfer;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Container for multiple input streams. Represents a transfer context on receiver-side.
@@ -31,6 +33,10 @@ import java.util.concurrent.CompletableFuture;
  * {@link #onContextClose()}, are not thread-safe, since they are called by a single Netty event loop.</p>
  * <p>Public methods are thread safe,
  * although the execution order may not be linearized if they were called from different threads.</p>
+ *
+ * <h3>Flow control:</h3>
+ * <p>As the received bytes are read, the credit for them is returned to the sender
+ * once it amounts to half of the transfer window. See {@link ByteOutputContext}.</p>
  */
 public final class ByteInputContext extends ByteTransferContext {
 
@@ -38,6 +44,10 @@ public final class ByteInputContext extends ByteTransferContext {
   private final ClosableBlockingQueue<ByteBufInputStream> byteBufInputStreams = new ClosableBlockingQueue<>();
   private volatile ByteBufInputStream currentByteBufInputStream = null;
 
+  private final Channel channel;
+  private final long creditThreshold;
+  private final AtomicLong consumedBytesToCredit = new AtomicLong(0);
+
   private final Iterator<InputStream> inputStreams = new Iterator<InputStream>() {
     @Override
     public boolean hasNext() {
@@ -70,6 +80,8 @@ public final class ByteInputContext extends ByteTransferContext {
                    final byte[] contextDescriptor,
                    final ContextManager contextManager) {
     super(remoteExecutorId, contextId, contextDescriptor, contextManager);
+    this.channel = contextManager.getChannel();
+    this.creditThreshold = Math.max(1, contextManager.getTransferWindowSize() / 2);
   }
 
   /**
@@ -128,6 +140,20 @@ public final class ByteInputContext extends ByteTransferContext {
     deregister();
   }
 
+  /**
+   * Called when bytes are read from the input streams. Returns credit to the sender if enough bytes were consumed.
+   * @param numBytes the number of bytes read
+   */
+  private void onBytesConsumed(final long numBytes) {
+    if (consumedBytesToCredit.addAndGet(numBytes) >= creditThreshold) {
+      final long credit = consumedBytesToCredit.getAndSet(0);
+      if (credit > 0) {
+        channel.writeAndFlush(new ControlFrameEncoder.CreditFrame(getContextId(), credit))
+            .addListener(getChannelWriteListener());
+      }
+    }
+  }
+
   @Override
   public void onChannelError(@Nullable final Throwable cause) {
     setChannelError(cause);
@@ -142,7 +168,7 @@ public final class ByteInputContext extends ByteTransferContext {
   /**
    * An {@link InputStream} implementation that reads data from a composition of {@link ByteBuf}s.
    */
-  private static final class ByteBufInputStream extends InputStream {
+  private final class ByteBufInputStream extends InputStream {
 
     private final ClosableBlockingQueue<ByteBuf> byteBufQueue = new ClosableBlockingQueue<>();
 
@@ -160,6 +186,7 @@ public final class ByteInputContext extends ByteTransferContext {
           byteBufQueue.take();
           head.release();
         }
+        onBytesConsumed(1);
         return b;
       } catch (final InterruptedException e) {
         throw new IOException(e);
@@ -183,6 +210,7 @@ public final class ByteInputContext extends ByteTransferContext {
           final ByteBuf head = byteBufQueue.peek();
           if (head == null) {
             // end of stream event
+            onBytesConsumed(readBytes);
             return readBytes == 0 ? -1 : readBytes;
           }
           final int toRead = Math.min(head.readableBytes(), capacity);
@@ -194,6 +222,7 @@ public final class ByteInputContext extends ByteTransferContext {
           readBytes += toRead;
           capacity -= toRead;
         }
+        onBytesConsumed(readBytes);
         return readBytes;
       } catch (final InterruptedException e) {
         throw new IOException(e);
@@ -214,11 +243,13 @@ public final class ByteInputContext extends ByteTransferContext {
           final ByteBuf head = byteBufQueue.peek();
           if (head == null) {
             // end of stream event
+            onBytesConsumed(skippedBytes);
             return skippedBytes;
           }
           if (head.readableBytes() > toSkip) {
             head.skipBytes((int) toSkip);
             skippedBytes += toSkip;
+            onBytesConsumed(skippedBytes);
             return skippedBytes;
           } else {
             // discard the whole ByteBuf
@@ -228,6 +259,7 @@ public final class ByteInputContext extends ByteTransferContext {
             head.release();
           }
         }
+        onBytesConsumed(skippedBytes);
         return skippedBytes;
       } catch (final InterruptedException e) {
         throw new IOException(e);
@@ -18,6 +18,7 @@ package edu.snu.nemo.runtime.executor.bytetransfer;
 import edu.snu.nemo.runtime.executor.data.FileArea;
 import edu.snu.nemo.runtime.executor.data.SerializedPartition;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
 
 import javax.annotation.Nullable;
@@ -30,16 +31,33 @@ import java.nio.file.Paths;
 /**
  * Container for multiple output streams. Represents a transfer context on sender-side.
  *
+ * <h3>Flow control:</h3>
+ * <p>The sender may have at most a transfer window of bytes which the receiver has not consumed yet.
+ * Writing more blocks until the receiver returns credit for its consumed bytes,
+ * so that a slow receiver does not have to buffer an unbounded amount of data.
+ * A frame is written as long as any credit is left, so frames larger than the window do not block forever.</p>
+ *
  * <p>Public methods are thread safe,
  * although the execution order may not be linearized if they were called from different threads.</p>
  */
 public final class ByteOutputContext extends ByteTransferContext implements AutoCloseable {
 
+  /**
+   * The capacity of the pooled buffer in which the bytes written to a {@link ByteOutputStream} are accumulated.
+   */
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
   private final Channel channel;
 
   private volatile ByteOutputStream currentByteOutputStream = null;
   private volatile boolean closed = false;
 
+  /**
+   * The number of bytes which can be written before the receiver returns credit. Guarded by {@code creditLock}.
+   */
+  private long availableCredit;
+  private final Object creditLock = new Object();
+
   /**
    * Creates a output context.
    *
@@ -54,6 +72,7 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
                     final ContextManager contextManager) {
     super(remoteExecutorId, contextId, contextDescriptor, contextManager);
     this.channel = contextManager.getChannel();
+    this.availableCredit = contextManager.getTransferWindowSize();
   }
 
   /**
@@ -96,9 +115,44 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
   @Override
   public void onChannelError(@Nullable final Throwable cause) {
     setChannelError(cause);
+    synchronized (creditLock) {
+      creditLock.notifyAll();
+    }
     channel.close();
   }
 
+  /**
+   * Called when the receiver returns credit for the bytes it has consumed.
+   * @param credit the number of consumed bytes
+   */
+  void onCredit(final long credit) {
+    synchronized (creditLock) {
+      availableCredit += credit;
+      creditLock.notifyAll();
+    }
+  }
+
+  /**
+   * Waits until any credit is left, and takes the credit for writing a frame.
+   * Does not wait on the event loop of the channel, which delivers the credit.
+   * @param length the length of the frame body, in bytes
+   * @throws IOException when an exception has been set or interrupted while waiting
+   */
+  private void acquireCredit(final long length) throws IOException {
+    synchronized (creditLock) {
+      while (availableCredit <= 0 && !channel.eventLoop().inEventLoop()) {
+        ensureNoException();
+        try {
+          creditLock.wait();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+      availableCredit -= length;
+    }
+  }
+
   /**
    * @throws IOException when a channel exception has been set.
    */
@@ -115,6 +169,10 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
   /**
    * An {@link OutputStream} implementation which buffers data to {@link ByteBuf}s.
    *
+   * <p>The bytes written by {@link #write(byte[], int, int)} are copied to a pooled buffer of a bounded size,
+   * which is written to the channel as a single data frame when it gets full, or when the stream is flushed.
+   * The data of {@link SerializedPartition}s is written without being copied.</p>
+   *
    * <p>Public methods are thread safe,
    * although the execution order may not be linearized if they were called from different threads.</p>
    */
@@ -123,29 +181,58 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
     private volatile boolean newSubStream = true;
     private volatile boolean closed = false;
 
+    /**
+     * The pooled buffer in which the written bytes are accumulated, or {@code null}.
+     */
+    private ByteBuf writeBuffer = null;
+
+    @Override
+    public synchronized void write(final int i) throws IOException {
+      getWriteBuffer().writeByte(i);
+      flushWriteBufferIfFull();
+    }
+
     @Override
-    public void write(final int i) throws IOException {
-      final ByteBuf byteBuf = channel.alloc().ioBuffer(1, 1);
-      byteBuf.writeByte(i);
-      writeByteBuf(byteBuf);
+    public synchronized void write(final byte[] bytes, final int offset, final int length) throws IOException {
+      int written = 0;
+      while (written < length) {
+        final ByteBuf buffer = getWriteBuffer();
+        final int toWrite = Math.min(length - written, buffer.writableBytes());
+        buffer.writeBytes(bytes, offset + written, toWrite);
+        written += toWrite;
+        flushWriteBufferIfFull();
+      }
     }
 
     @Override
-    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
-      final ByteBuf byteBuf = channel.alloc().ioBuffer(length, length);
-      byteBuf.writeBytes(bytes, offset, length);
-      writeByteBuf(byteBuf);
+    public synchronized void flush() throws IOException {
+      flushWriteBuffer();
     }
 
     /**
      * Writes {@link SerializedPartition}.
+     * The data of the partition is written without being copied,
+     * whether it is kept in an off-heap buffer or in a byte array.
      * @param serializedPartition {@link SerializedPartition} to write.
      * @return {@code this}
      * @throws IOException when an exception has been set or this stream was closed
      */
-    public ByteOutputStream writeSerializedPartition(final SerializedPartition serializedPartition)
+    public synchronized ByteOutputStream writeSerializedPartition(final SerializedPartition serializedPartition)
         throws IOException {
-      write(serializedPartition.getData(), 0, serializedPartition.getLength());
+      flushWriteBuffer();
+      if (serializedPartition.getLength() > 0) {
+        // The retained or wrapped buffer is released by the encoder after being written to the channel.
+        // The data of a serialized partition is not modified after the partition is created, so it can be wrapped.
+        final ByteBuf byteBuf = serializedPartition.isOffHeap()
+            ? serializedPartition.getDirectBuffer().retainedDuplicate()
+            : Unpooled.wrappedBuffer(serializedPartition.getData(), 0, serializedPartition.getLength());
+        try {
+          writeByteBuf(byteBuf);
+        } catch (final IOException e) {
+          byteBuf.release();
+          throw e;
+        }
+      }
       return this;
     }
 
@@ -156,7 +243,8 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
      * @return {@code this}
      * @throws IOException when failed to open the file, an exception has been set, or this stream was closed
      */
-    public ByteOutputStream writeFileArea(final FileArea fileArea) throws IOException {
+    public synchronized ByteOutputStream writeFileArea(final FileArea fileArea) throws IOException {
+      flushWriteBuffer();
       final Path path = Paths.get(fileArea.getPath());
       long cursor = fileArea.getPosition();
       long bytesToSend = fileArea.getCount();
@@ -175,6 +263,7 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
       if (closed) {
         return;
       }
+      flushWriteBuffer();
       if (newSubStream) {
         // to emit a frame with new sub-stream flag
         writeDataFrame(null, 0);
@@ -182,6 +271,52 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
       closed = true;
     }
 
+    /**
+     * @return the buffer to accumulate the written bytes in, allocated from the pool if there is none.
+     * @throws IOException when this stream was closed
+     */
+    private ByteBuf getWriteBuffer() throws IOException {
+      if (closed) {
+        throw new IOException("Stream already closed.");
+      }
+      if (writeBuffer == null) {
+        writeBuffer = channel.alloc().ioBuffer(WRITE_BUFFER_SIZE, WRITE_BUFFER_SIZE);
+      }
+      return writeBuffer;
+    }
+
+    /**
+     * Writes the accumulated bytes as a data frame if the buffer is full.
+     * @throws IOException when an exception has been set or this stream was closed
+     */
+    private void flushWriteBufferIfFull() throws IOException {
+      if (!writeBuffer.isWritable()) {
+        flushWriteBuffer();
+      }
+    }
+
+    /**
+     * Writes the accumulated bytes, if any, as a data frame.
+     * @throws IOException when an exception has been set or this stream was closed
+     */
+    private void flushWriteBuffer() throws IOException {
+      if (writeBuffer == null) {
+        return;
+      }
+      final ByteBuf byteBuf = writeBuffer;
+      writeBuffer = null;
+      if (byteBuf.readableBytes() > 0) {
+        try {
+          writeByteBuf(byteBuf);
+        } catch (final IOException e) {
+          byteBuf.release();
+          throw e;
+        }
+      } else {
+        byteBuf.release();
+      }
+    }
+
     /**
      * Writes a data frame, from {@link ByteBuf}.
      * @param byteBuf {@link ByteBuf} to write.
@@ -203,6 +338,9 @@ public final class ByteOutputContext extends ByteTransferContext implements Auto
       if (closed) {
         throw new IOException("Stream already closed.");
       }
+      if (length > 0) {
+        acquireCredit(length);
+      }
       channel.writeAndFlush(DataFrameEncoder.DataFrame.newInstance(getContextId(), body, length, newSubStream))
           .addListener(getChannelWriteListener());
       newSubStream = false;
@@ -36,6 +36,8 @@ import javax.inject.Inject;
  *   => | FrameDecoder | =|
  *      +--------------+  |
  *                        += Data ==== (ContextManager) ==> Add data to an existing ByteInputContext
+ *                        |
+ *                        += Credit == (ContextManager) ==> Add credit to an existing ByteOutputContext
  * }
  * </pre>
  *
@@ -45,6 +47,9 @@ import javax.inject.Inject;
  *      +---------------------+
  *   <= | ControlFrameEncoder | <== A new ByteTransferContext
  *      +---------------------+
+ *      +---------------------+
+ *   <= | ControlFrameEncoder | <== Credit ==== Reading bytes from ByteInputContext
+ *      +---------------------+
  *      +------------------+
  *   <= | DataFrameEncoder | <==== ByteBuf ==== Writing bytes to ByteOutputStream
  *      +------------------+
@@ -62,6 +67,7 @@ final class ByteTransportChannelInitializer extends ChannelInitializer<SocketCha
   private final ControlFrameEncoder controlFrameEncoder;
   private final DataFrameEncoder dataFrameEncoder;
   private final String localExecutorId;
+  private final int transferWindowSize;
 
   /**
    * Creates a netty channel initializer.
@@ -72,6 +78,7 @@ final class ByteTransportChannelInitializer extends ChannelInitializer<SocketCha
    * @param controlFrameEncoder encodes control frames
    * @param dataFrameEncoder    encodes data frames
    * @param localExecutorId     the id of this executor
+   * @param transferWindowSize  the maximum number of bytes sent but not consumed yet, per context
    */
   @Inject
   private ByteTransportChannelInitializer(final InjectionFuture<BlockManagerWorker> blockManagerWorker,
@@ -79,19 +86,22 @@ final class ByteTransportChannelInitializer extends ChannelInitializer<SocketCha
                                           final InjectionFuture<ByteTransport> byteTransport,
                                           final ControlFrameEncoder controlFrameEncoder,
                                           final DataFrameEncoder dataFrameEncoder,
-                                          @Parameter(JobConf.ExecutorId.class) final String localExecutorId) {
+                                          @Parameter(JobConf.ExecutorId.class) final String localExecutorId,
+                                          @Parameter(JobConf.PartitionTransferWindowSize.class)
+                                          final int transferWindowSize) {
     this.blockManagerWorker = blockManagerWorker;
     this.byteTransfer = byteTransfer;
     this.byteTransport = byteTransport;
     this.controlFrameEncoder = controlFrameEncoder;
     this.dataFrameEncoder = dataFrameEncoder;
     this.localExecutorId = localExecutorId;
+    this.transferWindowSize = transferWindowSize;
   }
 
   @Override
   protected void initChannel(final SocketChannel ch) {
     final ContextManager contextManager = new ContextManager(blockManagerWorker.get(), byteTransfer.get(),
-        byteTransport.get().getChannelGroup(), localExecutorId, ch);
+        byteTransport.get().getChannelGroup(), localExecutorId, ch, transferWindowSize);
     ch.pipeline()
         // inbound
         .addLast(new FrameDecoder(contextManager))
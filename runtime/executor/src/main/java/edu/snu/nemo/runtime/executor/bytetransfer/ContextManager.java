@@ -37,6 +37,7 @@ final class ContextManager extends SimpleChannelInboundHandler<ByteTransferConte
   private final ChannelGroup channelGroup;
   private final String localExecutorId;
   private final Channel channel;
+  private final int transferWindowSize;
   private volatile String remoteExecutorId = null;
 
   private final ConcurrentMap<Integer, ByteInputContext> inputContextsInitiatedByLocal = new ConcurrentHashMap<>();
@@ -53,17 +54,20 @@ final class ContextManager extends SimpleChannelInboundHandler<ByteTransferConte
    * @param channelGroup        to cleanup this channel when closing {@link ByteTransport}
    * @param localExecutorId     local executor id
    * @param channel             the {@link Channel} to manage
+   * @param transferWindowSize  the maximum number of bytes sent but not consumed yet, per context
    */
   ContextManager(final BlockManagerWorker blockManagerWorker,
                  final ByteTransfer byteTransfer,
                  final ChannelGroup channelGroup,
                  final String localExecutorId,
-                 final Channel channel) {
+                 final Channel channel,
+                 final int transferWindowSize) {
     this.blockManagerWorker = blockManagerWorker;
     this.byteTransfer = byteTransfer;
     this.channelGroup = channelGroup;
     this.localExecutorId = localExecutorId;
     this.channel = channel;
+    this.transferWindowSize = transferWindowSize;
   }
 
   /**
@@ -73,6 +77,13 @@ final class ContextManager extends SimpleChannelInboundHandler<ByteTransferConte
     return channel;
   }
 
+  /**
+   * @return the maximum number of bytes sent but not consumed yet, per context.
+   */
+  int getTransferWindowSize() {
+    return transferWindowSize;
+  }
+
   /**
    * Returns {@link ByteInputContext} to provide {@link io.netty.buffer.ByteBuf}s on.
    * @param dataDirection the data direction
@@ -87,6 +98,20 @@ final class ContextManager extends SimpleChannelInboundHandler<ByteTransferConte
     return contexts.get(transferIndex);
   }
 
+  /**
+   * Returns {@link ByteOutputContext} to provide credits on.
+   * @param dataDirection the data direction
+   * @param transferIndex transfer index
+   * @return the {@link ByteOutputContext} corresponding to the pair of {@code dataDirection} and {@code transferIndex}
+   */
+  ByteOutputContext getOutputContext(final ByteTransferDataDirection dataDirection,
+                                     final int transferIndex) {
+    final ConcurrentMap<Integer, ByteOutputContext> contexts =
+        dataDirection == ByteTransferDataDirection.INITIATOR_SENDS_DATA
+            ? outputContextsInitiatedByLocal : outputContextsInitiatedByRemote;
+    return contexts.get(transferIndex);
+  }
+
   /**
    * Responds to new transfer contexts by a remote executor.
    * @param ctx netty {@link ChannelHandlerContext}
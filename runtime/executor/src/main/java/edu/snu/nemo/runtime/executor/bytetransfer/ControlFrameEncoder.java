@@ -18,6 +18,7 @@ package edu.snu.nemo.runtime.executor.bytetransfer;
 import com.google.protobuf.ByteString;
 import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.runtime.common.comm.ControlMessage.ByteTransferContextSetupMessage;
+import edu.snu.nemo.runtime.common.comm.ControlMessage.ByteTransferDataDirection;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
@@ -30,14 +31,20 @@ import java.util.List;
 
 /**
  * Encodes a control frame into bytes.
+ * A control frame either sets up a new {@link ByteTransferContext},
+ * or returns credit for consumed bytes to the sender of a transfer ({@link CreditFrame}).
  *
  * @see FrameDecoder
  */
 @ChannelHandler.Sharable
-final class ControlFrameEncoder extends MessageToMessageEncoder<ByteTransferContext> {
+final class ControlFrameEncoder extends MessageToMessageEncoder<Object> {
 
   private static final int ZEROS_LENGTH = 5;
   private static final int BODY_LENGTH_LENGTH = Integer.BYTES;
+  private static final int CREDIT_FRAME_LENGTH = Byte.BYTES + Integer.BYTES + Integer.BYTES;
+
+  // the maximum credit in a frame. 2**32 - 1
+  static final long CREDIT_MAX = 4294967295L;
   private static final ByteBuf ZEROS = Unpooled.directBuffer(ZEROS_LENGTH, ZEROS_LENGTH).writeZero(ZEROS_LENGTH);
 
   private final String localExecutorId;
@@ -50,10 +57,31 @@ final class ControlFrameEncoder extends MessageToMessageEncoder<ByteTransferCont
     this.localExecutorId = localExecutorId;
   }
 
+  @Override
+  public boolean acceptOutboundMessage(final Object msg) {
+    return msg instanceof ByteTransferContext || msg instanceof CreditFrame;
+  }
+
   @Override
   protected void encode(final ChannelHandlerContext ctx,
-                        final ByteTransferContext in,
+                        final Object in,
                         final List out) {
+    if (in instanceof CreditFrame) {
+      encodeCreditFrame(ctx, (CreditFrame) in, out);
+    } else {
+      encodeContextSetupFrame(ctx, (ByteTransferContext) in, out);
+    }
+  }
+
+  /**
+   * Encodes a frame which sets up a new context.
+   * @param ctx the channel handler context
+   * @param in  the new context
+   * @param out the list to which the encoded frame is added
+   */
+  private void encodeContextSetupFrame(final ChannelHandlerContext ctx,
+                                       final ByteTransferContext in,
+                                       final List out) {
     final ByteTransferContextSetupMessage message = ByteTransferContextSetupMessage.newBuilder()
         .setInitiatorExecutorId(localExecutorId)
         .setTransferIndex(in.getContextId().getTransferIndex())
@@ -65,4 +93,45 @@ final class ControlFrameEncoder extends MessageToMessageEncoder<ByteTransferCont
     out.add(ctx.alloc().ioBuffer(BODY_LENGTH_LENGTH, BODY_LENGTH_LENGTH).writeInt(frameBody.length));
     out.add(Unpooled.wrappedBuffer(frameBody));
   }
+
+  /**
+   * Encodes a frame which returns credit to the sender of a transfer.
+   * @param ctx the channel handler context
+   * @param in  the credit to return
+   * @param out the list to which the encoded frame is added
+   */
+  private void encodeCreditFrame(final ChannelHandlerContext ctx,
+                                 final CreditFrame in,
+                                 final List out) {
+    byte flags = (byte) (1 << 0);
+    if (in.contextId.getDataDirection() == ByteTransferDataDirection.INITIATOR_RECEIVES_DATA) {
+      flags |= (byte) (1 << 2);
+    }
+    // in.credit should not exceed the range of unsigned int
+    assert (in.credit <= CREDIT_MAX);
+    out.add(ctx.alloc().ioBuffer(CREDIT_FRAME_LENGTH, CREDIT_FRAME_LENGTH)
+        .writeByte(flags)
+        .writeInt(in.contextId.getTransferIndex())
+        .writeInt((int) in.credit));
+  }
+
+  /**
+   * Credit frame representation.
+   * Returns the credit for the bytes which the receiver of a transfer has consumed,
+   * so that the sender can write that many bytes more.
+   */
+  static final class CreditFrame {
+    private final ByteTransferContext.ContextId contextId;
+    private final long credit;
+
+    /**
+     * Creates a {@link CreditFrame}.
+     * @param contextId the identifier of the transfer context
+     * @param credit    the number of bytes consumed by the receiver
+     */
+    CreditFrame(final ByteTransferContext.ContextId contextId, final long credit) {
+      this.contextId = contextId;
+      this.credit = credit;
+    }
+  }
 }
@@ -34,6 +34,8 @@ import java.util.List;
  *   <li>If the received bytes are a part of a control frame, waits until the full content of the frame becomes
  *   available and decode the frame to emit a control frame object.</li>
  *   <li>If the received bytes consists a data frame, supply the data to the corresponding {@link ByteInputContext}.
+ *   <li>If the received bytes consists a credit frame, supply the credit to the corresponding
+ *   {@link ByteOutputContext}.</li>
  * </ul>
  *
  * <h3>Control frame specification:</h3>
@@ -47,6 +49,17 @@ import java.util.List;
  * }
  * </pre>
  *
+ * <h3>Credit frame specification:</h3>
+ * <pre>
+ * {@literal
+ *   <-------------------------------------- HEADER --------------------------------------->
+ *   +-------+-------+-------------------+-------+-----------+-------------+---------------+
+ *   | Zeros |   0   | DataDirectionFlag | Zeros |     1     | TransferIdx | Credit        |
+ *   | 4 bit | 1 bit |       1 bit       | 1 bit |   1 bit   |   4 bytes   | 4 bytes       |
+ *   +-------+-------+-------------------+-------+-----------+-------------+---------------+
+ * }
+ * </pre>
+ *
  * <h3>Data frame specification:</h3>
  * <pre>
  * {@literal
@@ -131,7 +144,16 @@ final class FrameDecoder extends ByteToMessageDecoder {
     if (length < 0) {
       throw new IllegalStateException(String.format("Frame length is negative: %d", length));
     }
-    if ((flags & ((byte) (1 << 3))) == 0) {
+    if ((flags & ((byte) (1 << 3))) == 0 && (flags & ((byte) (1 << 0))) != 0) {
+      // a credit frame has no body
+      final ByteTransferDataDirection dataDirection = (flags & ((byte) (1 << 2))) == 0
+          ? ByteTransferDataDirection.INITIATOR_SENDS_DATA : ByteTransferDataDirection.INITIATOR_RECEIVES_DATA;
+      final ByteOutputContext outputContext = contextManager.getOutputContext(dataDirection, transferIndex);
+      // the context may have been closed already, after the receiver consumed the last bytes
+      if (outputContext != null) {
+        outputContext.onCredit(length);
+      }
+    } else if ((flags & ((byte) (1 << 3))) == 0) {
       // setup context for reading control frame body
       controlBodyBytesToRead = length;
     } else {
@@ -30,6 +30,8 @@ import edu.snu.nemo.runtime.common.data.KeyRange;
 import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
 import edu.snu.nemo.runtime.common.message.MessageEnvironment;
 import edu.snu.nemo.runtime.common.message.PersistentConnectionToMasterMap;
+import edu.snu.nemo.runtime.common.metric.MetricHistograms;
+import edu.snu.nemo.runtime.executor.MetricMessageSender;
 import edu.snu.nemo.runtime.executor.bytetransfer.ByteInputContext;
 import edu.snu.nemo.runtime.executor.bytetransfer.ByteOutputContext;
 import edu.snu.nemo.runtime.executor.bytetransfer.ByteTransfer;
@@ -41,6 +43,7 @@ import org.apache.reef.tang.annotations.Parameter;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -59,6 +62,7 @@ public final class BlockManagerWorker {
   private final String executorId;
   private final MemoryStore memoryStore;
   private final SerializedMemoryStore serializedMemoryStore;
+  private final OffHeapMemoryStore offHeapMemoryStore;
   private final LocalFileStore localFileStore;
   private final RemoteFileStore remoteFileStore;
   private final PersistentConnectionToMasterMap persistentConnectionToMasterMap;
@@ -67,21 +71,25 @@ public final class BlockManagerWorker {
   private final ExecutorService backgroundExecutorService;
   private final Map<String, AtomicInteger> blockToRemainingRead;
   private final SerializerManager serializerManager;
-  private final Map<String, CompletableFuture<ControlMessage.Message>> pendingBlockLocationRequest;
+  private final Map<String, CompletableFuture<ControlMessage.BlockLocationInfoMsg>> pendingBlockLocationRequest;
+  private final MetricMessageSender metricMessageSender;
 
   @Inject
   private BlockManagerWorker(@Parameter(JobConf.ExecutorId.class) final String executorId,
                              @Parameter(JobConf.IORequestHandleThreadsTotal.class) final int numThreads,
                              final MemoryStore memoryStore,
                              final SerializedMemoryStore serializedMemoryStore,
+                             final OffHeapMemoryStore offHeapMemoryStore,
                              final LocalFileStore localFileStore,
                              final RemoteFileStore remoteFileStore,
                              final PersistentConnectionToMasterMap persistentConnectionToMasterMap,
                              final ByteTransfer byteTransfer,
-                             final SerializerManager serializerManager) {
+                             final SerializerManager serializerManager,
+                             final MetricMessageSender metricMessageSender) {
     this.executorId = executorId;
     this.memoryStore = memoryStore;
     this.serializedMemoryStore = serializedMemoryStore;
+    this.offHeapMemoryStore = offHeapMemoryStore;
     this.localFileStore = localFileStore;
     this.remoteFileStore = remoteFileStore;
     this.persistentConnectionToMasterMap = persistentConnectionToMasterMap;
@@ -90,6 +98,7 @@ public final class BlockManagerWorker {
     this.blockToRemainingRead = new ConcurrentHashMap<>();
     this.serializerManager = serializerManager;
     this.pendingBlockLocationRequest = new ConcurrentHashMap<>();
+    this.metricMessageSender = metricMessageSender;
   }
 
   /**
@@ -128,22 +137,18 @@ public final class BlockManagerWorker {
       handleUsedData(blockStore, blockId);
 
       // Block resides in this evaluator!
+      final Iterator innerIterator = DataUtil.concatNonSerPartitions(optionalResultPartitions.get()).iterator();
+      long numSerializedBytes = 0;
+      long numEncodedBytes = 0;
       try {
-        final Iterator innerIterator = DataUtil.concatNonSerPartitions(optionalResultPartitions.get()).iterator();
-        long numSerializedBytes = 0;
-        long numEncodedBytes = 0;
-        try {
-          for (final NonSerializedPartition partition : optionalResultPartitions.get()) {
-            numSerializedBytes += partition.getNumSerializedBytes();
-            numEncodedBytes += partition.getNumEncodedBytes();
-          }
-          return CompletableFuture.completedFuture(DataUtil.IteratorWithNumBytes.of(innerIterator, numSerializedBytes,
-              numEncodedBytes));
-        } catch (final DataUtil.IteratorWithNumBytes.NumBytesNotSupportedException e) {
-          return CompletableFuture.completedFuture(DataUtil.IteratorWithNumBytes.of(innerIterator));
+        for (final NonSerializedPartition partition : optionalResultPartitions.get()) {
+          numSerializedBytes += partition.getNumSerializedBytes();
+          numEncodedBytes += partition.getNumEncodedBytes();
         }
-      } catch (final IOException e) {
-        throw new BlockFetchException(e);
+        return CompletableFuture.completedFuture(DataUtil.IteratorWithNumBytes.of(innerIterator, numSerializedBytes,
+            numEncodedBytes));
+      } catch (final DataUtil.IteratorWithNumBytes.NumBytesNotSupportedException e) {
+        return CompletableFuture.completedFuture(DataUtil.IteratorWithNumBytes.of(innerIterator));
       }
     } else {
       // We don't have the block here...
@@ -168,32 +173,13 @@ public final class BlockManagerWorker {
       final DataStoreProperty.Value blockStore,
       final KeyRange keyRange) {
     // Let's see if a remote worker has it
-    final CompletableFuture<ControlMessage.Message> blockLocationFuture =
-        pendingBlockLocationRequest.computeIfAbsent(blockId, blockIdToRequest -> {
-          // Ask Master for the location
-          final CompletableFuture<ControlMessage.Message> responseFromMasterFuture = persistentConnectionToMasterMap
-              .getMessageSender(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID).request(
-                  ControlMessage.Message.newBuilder()
-                      .setId(RuntimeIdGenerator.generateMessageId())
-                      .setListenerId(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
-                      .setType(ControlMessage.MessageType.RequestBlockLocation)
-                      .setRequestBlockLocationMsg(
-                          ControlMessage.RequestBlockLocationMsg.newBuilder()
-                              .setExecutorId(executorId)
-                              .setBlockId(blockId)
-                              .build())
-                      .build());
-          return responseFromMasterFuture;
-        });
-    blockLocationFuture.whenComplete((message, throwable) -> pendingBlockLocationRequest.remove(blockId));
+    final CompletableFuture<ControlMessage.BlockLocationInfoMsg> blockLocationFuture =
+        pendingBlockLocationRequest.computeIfAbsent(blockId, this::requestBlockLocation);
+    blockLocationFuture.whenComplete((infoMsg, throwable) ->
+        pendingBlockLocationRequest.remove(blockId, blockLocationFuture));
 
     // Using thenCompose so that fetching block data starts after getting response from master.
-    return blockLocationFuture.thenCompose(responseFromMaster -> {
-      if (responseFromMaster.getType() != ControlMessage.MessageType.BlockLocationInfo) {
-        throw new RuntimeException("Response message type mismatch!");
-      }
-      final ControlMessage.BlockLocationInfoMsg blockLocationInfoMsg =
-          responseFromMaster.getBlockLocationInfoMsg();
+    return blockLocationFuture.thenCompose(blockLocationInfoMsg -> {
       if (!blockLocationInfoMsg.hasOwnerExecutorId()) {
         throw new BlockFetchException(new Throwable(
             "Block " + blockId + " not found both in any storage: "
@@ -211,14 +197,129 @@ public final class BlockManagerWorker {
             .setRuntimeEdgeId(runtimeEdgeId)
             .setKeyRange(ByteString.copyFrom(SerializationUtils.serialize(keyRange)))
             .build();
+        // The data is decoded while it is being received, without waiting for the whole block to arrive.
         return byteTransfer.newInputContext(targetExecutorId, descriptor.toByteArray())
-            .thenCompose(context -> context.getCompletedFuture())
-            .thenApply(streams -> new DataUtil.InputStreamIterator(streams,
+            .thenApply(context -> new DataUtil.InputStreamIterator(getCheckedInputStreams(context),
                 serializerManager.getSerializer(runtimeEdgeId)));
       }
     });
   }
 
+  /**
+   * Resolves the locations of the blocks with a single request to the master,
+   * so that the following {@link #queryBlock} calls for these blocks do not ask the master one by one.
+   * The blocks whose location is already being requested are not requested again.
+   *
+   * @param blockIds the IDs of the blocks to resolve.
+   */
+  public void resolveBlockLocations(final Collection<String> blockIds) {
+    final Map<String, CompletableFuture<ControlMessage.BlockLocationInfoMsg>> requestedFutures = new HashMap<>();
+    for (final String blockId : blockIds) {
+      pendingBlockLocationRequest.compute(blockId, (id, pendingFuture) -> {
+        // A completed future which has not been taken by any query may be stale, so it is requested again.
+        if (pendingFuture != null && !pendingFuture.isDone()) {
+          return pendingFuture;
+        }
+        final CompletableFuture<ControlMessage.BlockLocationInfoMsg> newFuture = new CompletableFuture<>();
+        requestedFutures.put(id, newFuture);
+        return newFuture;
+      });
+    }
+    if (requestedFutures.isEmpty()) {
+      return;
+    }
+
+    // Ask Master for the locations
+    persistentConnectionToMasterMap
+        .getMessageSender(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID).<ControlMessage.Message>request(
+            ControlMessage.Message.newBuilder()
+                .setId(RuntimeIdGenerator.generateMessageId())
+                .setListenerId(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
+                .setType(ControlMessage.MessageType.RequestBlockLocations)
+                .setRequestBlockLocationsMsg(
+                    ControlMessage.RequestBlockLocationsMsg.newBuilder()
+                        .setExecutorId(executorId)
+                        .addAllBlockIds(requestedFutures.keySet())
+                        .build())
+                .build())
+        .whenComplete((responseFromMaster, throwable) -> {
+          if (throwable != null) {
+            requestedFutures.values().forEach(future -> future.completeExceptionally(throwable));
+            return;
+          }
+          if (responseFromMaster.getType() != ControlMessage.MessageType.BlockLocationsInfo) {
+            requestedFutures.values().forEach(future ->
+                future.completeExceptionally(new RuntimeException("Response message type mismatch!")));
+            return;
+          }
+          for (final ControlMessage.BlockLocationInfoMsg infoMsg
+              : responseFromMaster.getBlockLocationsInfoMsg().getBlockLocationInfosList()) {
+            requestedFutures.get(infoMsg.getBlockId()).complete(infoMsg);
+          }
+        });
+  }
+
+  /**
+   * Asks the master for the location of a block.
+   *
+   * @param blockId the ID of the block.
+   * @return the future of the location information of the block.
+   */
+  private CompletableFuture<ControlMessage.BlockLocationInfoMsg> requestBlockLocation(final String blockId) {
+    return persistentConnectionToMasterMap
+        .getMessageSender(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID).<ControlMessage.Message>request(
+            ControlMessage.Message.newBuilder()
+                .setId(RuntimeIdGenerator.generateMessageId())
+                .setListenerId(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
+                .setType(ControlMessage.MessageType.RequestBlockLocation)
+                .setRequestBlockLocationMsg(
+                    ControlMessage.RequestBlockLocationMsg.newBuilder()
+                        .setExecutorId(executorId)
+                        .setBlockId(blockId)
+                        .build())
+                .build())
+        .thenApply(responseFromMaster -> {
+          if (responseFromMaster.getType() != ControlMessage.MessageType.BlockLocationInfo) {
+            throw new RuntimeException("Response message type mismatch!");
+          }
+          return responseFromMaster.getBlockLocationInfoMsg();
+        });
+  }
+
+  /**
+   * Gets the input streams of an input context, which fail the iteration if the transfer was not successful.
+   * Because a stream ends without any error when the context is closed due to a channel error,
+   * the result of the transfer is checked when there is no more stream to read.
+   *
+   * @param context the input context to read.
+   * @return the iterator of the input streams.
+   */
+  private static Iterator<InputStream> getCheckedInputStreams(final ByteInputContext context) {
+    final Iterator<InputStream> inputStreams = context.getInputStreams();
+    return new Iterator<InputStream>() {
+      @Override
+      public boolean hasNext() {
+        if (inputStreams.hasNext()) {
+          return true;
+        }
+        try {
+          context.getCompletedFuture().get();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new BlockFetchException(e);
+        } catch (final ExecutionException | CancellationException e) {
+          throw new BlockFetchException(e);
+        }
+        return false;
+      }
+
+      @Override
+      public InputStream next() {
+        return inputStreams.next();
+      }
+    };
+  }
+
   /**
    * Store an iterable of data partitions to a block in the target {@code BlockStore}.
    * Invariant: This should not be invoked after a block is committed.
@@ -237,7 +338,10 @@ public final class BlockManagerWorker {
     final BlockStore store = getBlockStore(blockStore);
 
     try {
-      return store.putPartitions(blockId, (Iterable) partitions);
+      final long writeStartTimeNs = System.nanoTime();
+      final Optional<List<Long>> partitionSizes = store.putPartitions(blockId, (Iterable) partitions);
+      metricMessageSender.record(MetricHistograms.Metric.BlockWriteTime, System.nanoTime() - writeStartTimeNs);
+      return partitionSizes;
     } catch (final Exception e) {
       throw new BlockWriteException(e);
     }
@@ -376,6 +480,8 @@ public final class BlockManagerWorker {
         return memoryStore;
       case SerializedMemoryStore:
         return serializedMemoryStore;
+      case OffHeapMemoryStore:
+        return offHeapMemoryStore;
       case LocalFileStore:
         return localFileStore;
       case GlusterFileStore:
@@ -405,6 +511,7 @@ public final class BlockManagerWorker {
       @Override
       public void run() {
         try {
+          final long transferStartTimeNs = System.nanoTime();
           if (DataStoreProperty.Value.LocalFileStore.equals(blockStore)
               || DataStoreProperty.Value.GlusterFileStore.equals(blockStore)) {
             final FileStore fileStore = (FileStore) getBlockStore(blockStore);
@@ -420,6 +527,8 @@ public final class BlockManagerWorker {
           }
           handleUsedData(blockStore, blockId);
           outputContext.close();
+          metricMessageSender.record(MetricHistograms.Metric.BlockTransferTime,
+              System.nanoTime() - transferStartTimeNs);
         } catch (final IOException | BlockFetchException e) {
           LOG.error("Closing a block request exceptionally", e);
           outputContext.onChannelError(e);
@@ -451,6 +560,8 @@ public final class BlockManagerWorker {
         return ControlMessage.BlockStore.MEMORY;
       case SerializedMemoryStore:
         return ControlMessage.BlockStore.SER_MEMORY;
+      case OffHeapMemoryStore:
+        return ControlMessage.BlockStore.OFF_HEAP_MEMORY;
       case LocalFileStore:
         return ControlMessage.BlockStore.LOCAL_FILE;
       case GlusterFileStore:
@@ -473,6 +584,8 @@ public final class BlockManagerWorker {
         return DataStoreProperty.Value.MemoryStore;
       case SER_MEMORY:
         return DataStoreProperty.Value.SerializedMemoryStore;
+      case OFF_HEAP_MEMORY:
+        return DataStoreProperty.Value.OffHeapMemoryStore;
       case LOCAL_FILE:
         return DataStoreProperty.Value.LocalFileStore;
       case REMOTE_FILE:
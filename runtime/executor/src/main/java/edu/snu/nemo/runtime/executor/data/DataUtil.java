@@ -15,22 +15,29 @@
  */
 package edu.snu.nemo.runtime.executor.data;
 
+import com.google.common.collect.Iterables;
+import com.google.common.io.ByteStreams;
 import com.google.common.io.CountingInputStream;
+import com.google.common.io.CountingOutputStream;
 import edu.snu.nemo.common.DirectByteArrayOutputStream;
 import edu.snu.nemo.common.coder.Coder;
 import edu.snu.nemo.runtime.executor.data.streamchainer.StreamChainer;
 import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
 
 import java.io.*;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * Utility methods for data handling (e.g., (de)serialization).
  */
 public final class DataUtil {
+  // The number of elements per partition to encode for estimating the size of a non-serialized partition.
+  private static final int NUM_SIZE_ESTIMATION_SAMPLES = 32;
+
   /**
    * Empty constructor.
    */
@@ -113,6 +120,40 @@ public final class DataUtil {
     return serializedPartitions;
   }
 
+  /**
+   * Converts the non-serialized {@link Partition}s in an iterable to serialized {@link Partition}s
+   * whose data is kept in pooled off-heap buffers.
+   * The buffers have to be released by the owner of the converted partitions.
+   *
+   * @param serializer          the serializer for serialization.
+   * @param partitionsToConvert the partitions to convert.
+   * @param <K>                 the key type of the partitions.
+   * @return the converted {@link SerializedPartition}s.
+   * @throws IOException if fail to convert.
+   */
+  public static <K extends Serializable> Iterable<SerializedPartition<K>> convertToOffHeapSerPartitions(
+      final Serializer serializer,
+      final Iterable<NonSerializedPartition<K>> partitionsToConvert) throws IOException {
+    final List<SerializedPartition<K>> serializedPartitions = new ArrayList<>();
+    for (final NonSerializedPartition<K> partitionToConvert : partitionsToConvert) {
+      final ByteBuf directBuffer = PooledByteBufAllocator.DEFAULT.directBuffer();
+      try (
+          final ByteBufOutputStream bytesOutputStream = new ByteBufOutputStream(directBuffer);
+          final OutputStream wrappedStream = buildOutputStream(bytesOutputStream, serializer.getStreamChainers());
+      ) {
+        final long elementsTotal = serializePartition(serializer.getCoder(), partitionToConvert, wrappedStream);
+        // We need to close wrappedStream on here to flush the chained streams into the buffer.
+        wrappedStream.close();
+        serializedPartitions.add(new SerializedPartition<>(partitionToConvert.getKey(), elementsTotal, directBuffer));
+      } catch (final IOException e) {
+        directBuffer.release();
+        serializedPartitions.forEach(partition -> partition.getDirectBuffer().release());
+        throw e;
+      }
+    }
+    return serializedPartitions;
+  }
+
   /**
    * Converts the serialized {@link Partition}s in an iterable to non-serialized {@link Partition}s.
    *
@@ -128,16 +169,54 @@ public final class DataUtil {
     final List<NonSerializedPartition<K>> nonSerializedPartitions = new ArrayList<>();
     for (final SerializedPartition<K> partitionToConvert : partitionsToConvert) {
       final K key = partitionToConvert.getKey();
-      try (final ByteArrayInputStream byteArrayInputStream =
-               new ByteArrayInputStream(partitionToConvert.getData())) {
+      try (final InputStream inputStream = partitionToConvert.isOffHeap()
+          ? new ByteBufInputStream(partitionToConvert.getDirectBuffer().duplicate())
+          : new ByteArrayInputStream(partitionToConvert.getData())) {
         final NonSerializedPartition<K> deserializePartition = deserializePartition(
-            partitionToConvert.getElementsTotal(), serializer, key, byteArrayInputStream);
+            partitionToConvert.getElementsTotal(), serializer, key, inputStream);
         nonSerializedPartitions.add(deserializePartition);
       }
     }
     return nonSerializedPartitions;
   }
 
+  /**
+   * Estimates the size of non-serialized {@link Partition}s in encoded form.
+   * If the number of encoded bytes of a partition is not known,
+   * it is extrapolated from the size of a few encoded elements in the partition.
+   *
+   * @param coder      the coder to encode the sampled elements.
+   * @param partitions the partitions to estimate.
+   * @param <K>        the key type of the partitions.
+   * @return the estimated number of bytes.
+   * @throws IOException if fail to encode the sampled elements.
+   */
+  public static <K extends Serializable> long estimateSize(final Coder coder,
+                                                           final Iterable<NonSerializedPartition<K>> partitions)
+      throws IOException {
+    long estimatedBytes = 0;
+    for (final NonSerializedPartition<K> partition : partitions) {
+      try {
+        estimatedBytes += partition.getNumEncodedBytes();
+      } catch (final IteratorWithNumBytes.NumBytesNotSupportedException e) {
+        final CountingOutputStream countingStream = new CountingOutputStream(ByteStreams.nullOutputStream());
+        long elementsTotal = 0;
+        long elementsSampled = 0;
+        for (final Object element : partition.getData()) {
+          if (elementsSampled < NUM_SIZE_ESTIMATION_SAMPLES) {
+            coder.encode(element, countingStream);
+            elementsSampled++;
+          }
+          elementsTotal++;
+        }
+        if (elementsSampled > 0) {
+          estimatedBytes += countingStream.getCount() * elementsTotal / elementsSampled;
+        }
+      }
+    }
+    return estimatedBytes;
+  }
+
   /**
    * Converts a block id to the corresponding file path.
    *
@@ -164,20 +243,14 @@ public final class DataUtil {
 
   /**
    * Concatenates an iterable of non-serialized {@link Partition}s into a single iterable of elements.
+   * The elements are not copied, but lazily iterated from the data of each partition.
    *
    * @param partitionsToConcat the partitions to concatenate.
    * @return the concatenated iterable of all elements.
-   * @throws IOException if fail to concatenate.
    */
-  public static Iterable concatNonSerPartitions(final Iterable<NonSerializedPartition> partitionsToConcat)
-      throws IOException {
-    final List concatStreamBase = new ArrayList<>();
-    Stream<Object> concatStream = concatStreamBase.stream();
-    for (final NonSerializedPartition nonSerializedPartition : partitionsToConcat) {
-      final Iterable elementsInPartition = nonSerializedPartition.getData();
-      concatStream = Stream.concat(concatStream, StreamSupport.stream(elementsInPartition.spliterator(), false));
-    }
-    return concatStream.collect(Collectors.toList());
+  public static Iterable concatNonSerPartitions(final Iterable<NonSerializedPartition> partitionsToConcat) {
+    return Iterables.concat(Iterables.<NonSerializedPartition, Iterable<Object>>transform(
+        partitionsToConcat, partition -> (Iterable<Object>) partition.getData()));
   }
 
   /**
@@ -48,4 +48,19 @@ public final class LimitedInputStream extends InputStream {
       return -1;
     }
   }
+
+  @Override
+  public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    } else if (limit > 0) {
+      final int readBytes = in.read(bytes, offset, (int) Math.min(length, limit));
+      if (readBytes > 0) {
+        limit -= readBytes;
+      }
+      return readBytes;
+    } else {
+      return -1;
+    }
+  }
 }
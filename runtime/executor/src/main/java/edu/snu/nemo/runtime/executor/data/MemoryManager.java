@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2017 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data;
+
+import edu.snu.nemo.conf.JobConf;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor-side accountant for the memory occupied by the blocks in memory stores.
+ * The capacity is a fraction of the JVM heap of this executor, whose size is determined by
+ * the container memory and {@link JobConf.JVMHeapSlack}.
+ */
+@ThreadSafe
+public final class MemoryManager {
+  private final long capacity;
+  private final AtomicLong usedBytes;
+
+  /**
+   * Constructor.
+   *
+   * @param memoryStoreFraction the fraction of the JVM heap which the memory stores can occupy.
+   */
+  @Inject
+  private MemoryManager(@Parameter(JobConf.MemoryStoreFraction.class) final double memoryStoreFraction) {
+    this.capacity = (long) (Runtime.getRuntime().maxMemory() * memoryStoreFraction);
+    this.usedBytes = new AtomicLong(0);
+  }
+
+  /**
+   * Tries to reserve some bytes of memory.
+   *
+   * @param bytes the number of bytes to reserve.
+   * @return whether the bytes are reserved or not (because of the lack of memory).
+   */
+  public boolean tryAcquire(final long bytes) {
+    while (true) {
+      final long used = usedBytes.get();
+      if (used + bytes > capacity) {
+        return false;
+      } else if (usedBytes.compareAndSet(used, used + bytes)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Reserves some bytes of memory regardless of the capacity.
+   * It is used to account the memory which is already occupied.
+   *
+   * @param bytes the number of bytes to reserve.
+   */
+  public void forceAcquire(final long bytes) {
+    usedBytes.addAndGet(bytes);
+  }
+
+  /**
+   * Releases some bytes of reserved memory.
+   *
+   * @param bytes the number of bytes to release.
+   */
+  public void release(final long bytes) {
+    usedBytes.addAndGet(-bytes);
+  }
+
+  /**
+   * @return the number of bytes which can be reserved in total.
+   */
+  public long getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the number of bytes reserved currently.
+   */
+  public long getUsedBytes() {
+    return usedBytes.get();
+  }
+}
@@ -15,15 +15,21 @@
  */
 package edu.snu.nemo.runtime.executor.data;
 
+import io.netty.buffer.ByteBuf;
+
+import javax.annotation.Nullable;
+
 /**
- * A collection of data elements. The data is stored as an array of bytes.
+ * A collection of data elements. The data is stored as an array of bytes,
+ * or as an off-heap {@link ByteBuf} when the partition resides in an off-heap memory block.
  * This is a unit of read / write towards {@link edu.snu.nemo.runtime.executor.data.block.Block}s.
  * @param <K> the key type of its partitions.
  */
 public final class SerializedPartition<K> implements Partition<byte[], K> {
   private final K key;
   private final long elementsTotal;
-  private final byte[] serializedData;
+  @Nullable private final byte[] serializedData;
+  @Nullable private final ByteBuf directBuffer;
   private final int length;
 
   /**
@@ -41,9 +47,28 @@ public final class SerializedPartition<K> implements Partition<byte[], K> {
     this.key = key;
     this.elementsTotal = elementsTotal;
     this.serializedData = serializedData;
+    this.directBuffer = null;
     this.length = length;
   }
 
+  /**
+   * Creates a serialized {@link Partition} whose data is kept in an off-heap buffer.
+   * The readable bytes of the buffer are the serialized data.
+   *
+   * @param key           the key.
+   * @param elementsTotal the total number of elements.
+   * @param directBuffer  the off-heap buffer containing the serialized data.
+   */
+  public SerializedPartition(final K key,
+                             final long elementsTotal,
+                             final ByteBuf directBuffer) {
+    this.key = key;
+    this.elementsTotal = elementsTotal;
+    this.serializedData = null;
+    this.directBuffer = directBuffer;
+    this.length = directBuffer.readableBytes();
+  }
+
   /**
    * @return the key value.
    */
@@ -61,11 +86,35 @@ public final class SerializedPartition<K> implements Partition<byte[], K> {
   }
 
   /**
+   * If the data is kept in an off-heap buffer, it is copied to a new array.
+   * Use {@link #getDirectBuffer()} to access the off-heap data without copying.
+   *
    * @return the serialized data.
    */
   @Override
   public byte[] getData() {
-    return serializedData;
+    if (directBuffer == null) {
+      return serializedData;
+    } else {
+      final byte[] copiedData = new byte[length];
+      directBuffer.getBytes(directBuffer.readerIndex(), copiedData);
+      return copiedData;
+    }
+  }
+
+  /**
+   * @return whether the data is kept in an off-heap buffer or not.
+   */
+  public boolean isOffHeap() {
+    return directBuffer != null;
+  }
+
+  /**
+   * @return the off-heap buffer containing the serialized data, or {@code null} if the data is kept in an array.
+   */
+  @Nullable
+  public ByteBuf getDirectBuffer() {
+    return directBuffer;
   }
 
   /**
@@ -20,10 +20,15 @@ import edu.snu.nemo.runtime.executor.data.*;
 import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
 import edu.snu.nemo.runtime.executor.data.metadata.PartitionMetadata;
 import edu.snu.nemo.runtime.executor.data.metadata.FileMetadata;
+import io.netty.buffer.ByteBuf;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 
 /**
@@ -67,7 +72,12 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
         // Reserve a partition write and get the metadata.
         metadata.writePartitionMetadata(
             serializedPartition.getKey(), serializedPartition.getLength(), serializedPartition.getElementsTotal());
-        fileOutputStream.write(serializedPartition.getData(), 0, serializedPartition.getLength());
+        if (serializedPartition.isOffHeap()) {
+          final ByteBuf directBuffer = serializedPartition.getDirectBuffer();
+          directBuffer.getBytes(directBuffer.readerIndex(), fileOutputStream, serializedPartition.getLength());
+        } else {
+          fileOutputStream.write(serializedPartition.getData(), 0, serializedPartition.getLength());
+        }
       }
     }
   }
@@ -106,6 +116,8 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
 
   /**
    * Retrieves the partitions of this block from the file in a specific key range and deserializes it.
+   * The file is read only at the areas of the partitions in the range,
+   * which are located by the offsets in the {@link PartitionMetadata}.
    *
    * @param keyRange the key range.
    * @return an iterable of {@link NonSerializedPartition}s.
@@ -115,33 +127,18 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
   public Iterable<NonSerializedPartition<K>> getPartitions(final KeyRange keyRange) throws IOException {
     // Deserialize the data
     final List<NonSerializedPartition<K>> deserializedPartitions = new ArrayList<>();
-    try (final FileInputStream fileStream = new FileInputStream(filePath)) {
-      for (final PartitionMetadata<K> partitionMetadata : metadata.getPartitionMetadataIterable()) {
-        final K key = partitionMetadata.getKey();
-        if (keyRange.includes(key)) {
-          // The key value of this partition is in the range.
-          final long availableBefore = fileStream.available();
-          // We need to limit read bytes on this FileStream, which could be over-read by wrapped
-          // compression stream. We recommend to wrap with LimitedInputStream once more when
-          // reading input from chained compression InputStream.
-          // Plus, this stream must be not closed to prevent to close the filtered file partition.
-          final LimitedInputStream limitedInputStream =
-              new LimitedInputStream(fileStream, partitionMetadata.getPartitionSize());
-          final NonSerializedPartition<K> deserializePartition =
-              DataUtil.deserializePartition(
-                  partitionMetadata.getElementsTotal(), serializer, key, limitedInputStream);
-          deserializedPartitions.add(deserializePartition);
-          // rearrange file pointer
-          final long toSkip = partitionMetadata.getPartitionSize() - availableBefore + fileStream.available();
-          if (toSkip > 0) {
-            skipBytes(fileStream, toSkip);
-          } else if (toSkip < 0) {
-            throw new IOException("file stream has been overread");
-          }
-        } else {
-          // Have to skip this partition.
-          skipBytes(fileStream, partitionMetadata.getPartitionSize());
-        }
+    try (final FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+      for (final PartitionMetadata<K> partitionMetadata : getPartitionMetadataInRange(keyRange)) {
+        fileChannel.position(partitionMetadata.getOffset());
+        // We need to limit read bytes on this FileChannel, which could be over-read by wrapped
+        // compression stream or the buffer.
+        // Plus, this stream must be not closed to prevent to close the file channel.
+        final LimitedInputStream limitedInputStream = new LimitedInputStream(
+            new BufferedInputStream(Channels.newInputStream(fileChannel)), partitionMetadata.getPartitionSize());
+        final NonSerializedPartition<K> deserializePartition =
+            DataUtil.deserializePartition(
+                partitionMetadata.getElementsTotal(), serializer, partitionMetadata.getKey(), limitedInputStream);
+        deserializedPartitions.add(deserializePartition);
       }
     }
 
@@ -150,6 +147,8 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
 
   /**
    * Retrieves the {@link SerializedPartition}s in a specific key range.
+   * The file is read only at the areas of the partitions in the range,
+   * which are located by the offsets in the {@link PartitionMetadata}.
    * Invariant: This should not be invoked before this block is committed.
    *
    * @param keyRange the key range to retrieve.
@@ -158,24 +157,13 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
    */
   @Override
   public Iterable<SerializedPartition<K>> getSerializedPartitions(final KeyRange keyRange) throws IOException {
-    // Deserialize the data
     final List<SerializedPartition<K>> partitionsInRange = new ArrayList<>();
-    try (final FileInputStream fileStream = new FileInputStream(filePath)) {
-      for (final PartitionMetadata<K> partitionmetadata : metadata.getPartitionMetadataIterable()) {
-        final K key = partitionmetadata.getKey();
-        if (keyRange.includes(key)) {
-          // The hash value of this partition is in the range.
-          final byte[] serializedData = new byte[partitionmetadata.getPartitionSize()];
-          final int readBytes = fileStream.read(serializedData);
-          if (readBytes != serializedData.length) {
-            throw new IOException("The read data size does not match with the partition size.");
-          }
-          partitionsInRange.add(new SerializedPartition<>(
-              key, partitionmetadata.getElementsTotal(), serializedData, serializedData.length));
-        } else {
-          // Have to skip this partition.
-          skipBytes(fileStream, partitionmetadata.getPartitionSize());
-        }
+    try (final FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+      for (final PartitionMetadata<K> partitionMetadata : getPartitionMetadataInRange(keyRange)) {
+        final byte[] serializedData = new byte[partitionMetadata.getPartitionSize()];
+        readFully(fileChannel, ByteBuffer.wrap(serializedData), partitionMetadata.getOffset());
+        partitionsInRange.add(new SerializedPartition<>(
+            partitionMetadata.getKey(), partitionMetadata.getElementsTotal(), serializedData, serializedData.length));
       }
     }
 
@@ -183,22 +171,41 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
   }
 
   /**
-   * Skips some bytes in a input stream.
+   * Reads bytes from a file channel until the buffer is full.
+   *
+   * @param fileChannel the channel to read.
+   * @param buffer      the buffer to fill.
+   * @param position    the position of the file to start reading.
+   * @throws IOException if fail to read, or the file ends before the buffer is full.
+   */
+  private static void readFully(final FileChannel fileChannel,
+                                final ByteBuffer buffer,
+                                final long position) throws IOException {
+    long currentPosition = position;
+    while (buffer.hasRemaining()) {
+      final int readBytes = fileChannel.read(buffer, currentPosition);
+      if (readBytes < 0) {
+        throw new IOException("The read data size does not match with the partition size.");
+      }
+      currentPosition += readBytes;
+    }
+  }
+
+  /**
+   * Retrieves the metadata of the partitions in a specific key range.
    *
-   * @param inputStream the stream to skip.
-   * @param bytesToSkip the number of bytes to skip.
-   * @throws IOException if fail to skip.
+   * @param keyRange the key range.
+   * @return the list of the {@link PartitionMetadata}s in the range, in the order of the offset.
+   * @throws IOException if failed to get the metadata.
    */
-  private void skipBytes(final InputStream inputStream,
-                         final long bytesToSkip) throws IOException {
-    long remainingBytesToSkip = bytesToSkip;
-    while (remainingBytesToSkip > 0) {
-      final long skippedBytes = inputStream.skip(bytesToSkip);
-      remainingBytesToSkip -= skippedBytes;
-      if (skippedBytes <= 0) {
-        throw new IOException("The file stream failed to skip to the next block.");
+  private List<PartitionMetadata<K>> getPartitionMetadataInRange(final KeyRange keyRange) throws IOException {
+    final List<PartitionMetadata<K>> partitionMetadataInRange = new ArrayList<>();
+    for (final PartitionMetadata<K> partitionMetadata : metadata.getPartitionMetadataIterable()) {
+      if (keyRange.includes(partitionMetadata.getKey())) {
+        partitionMetadataInRange.add(partitionMetadata);
       }
     }
+    return partitionMetadataInRange;
   }
 
   /**
@@ -210,10 +217,8 @@ public final class FileBlock<K extends Serializable> implements Block<K> {
    */
   public List<FileArea> asFileAreas(final KeyRange keyRange) throws IOException {
     final List<FileArea> fileAreas = new ArrayList<>();
-    for (final PartitionMetadata<K> partitionMetadata : metadata.getPartitionMetadataIterable()) {
-      if (keyRange.includes(partitionMetadata.getKey())) {
-        fileAreas.add(new FileArea(filePath, partitionMetadata.getOffset(), partitionMetadata.getPartitionSize()));
-      }
+    for (final PartitionMetadata<K> partitionMetadata : getPartitionMetadataInRange(keyRange)) {
+      fileAreas.add(new FileArea(filePath, partitionMetadata.getOffset(), partitionMetadata.getPartitionSize()));
     }
     return fileAreas;
   }
@@ -85,7 +85,7 @@ public final class NonSerializedMemoryBlock<K extends Serializable> implements B
       final Iterable<NonSerializedPartition<K>> convertedPartitions =
           DataUtil.convertToNonSerPartitions(serializer, partitions);
       final List<Long> dataSizePerPartition = new ArrayList<>();
-      partitions.forEach(serializedPartition -> dataSizePerPartition.add((long) serializedPartition.getData().length));
+      partitions.forEach(serializedPartition -> dataSizePerPartition.add((long) serializedPartition.getLength()));
       putPartitions(convertedPartitions);
 
       return dataSizePerPartition;
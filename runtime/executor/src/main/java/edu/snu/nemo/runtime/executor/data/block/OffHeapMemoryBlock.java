@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2017 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data.block;
+
+import edu.snu.nemo.runtime.common.data.KeyRange;
+import edu.snu.nemo.runtime.executor.data.DataUtil;
+import edu.snu.nemo.runtime.executor.data.NonSerializedPartition;
+import edu.snu.nemo.runtime.executor.data.SerializedPartition;
+import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * This class represents a block which is serialized and stored in pooled off-heap buffers.
+ * Storing the data out of the heap reduces the garbage collection pressure of large blocks,
+ * and lets the data be transferred to the network without being copied into the heap.
+ * The buffers have to be released by {@link #release()} when this block is removed.
+ * @param <K> the key type of its partitions.
+ */
+@ThreadSafe
+public final class OffHeapMemoryBlock<K extends Serializable> implements Block<K> {
+
+  private final List<SerializedPartition<K>> serializedPartitions;
+  private final Serializer serializer;
+  private volatile boolean committed;
+  private boolean released;
+
+  /**
+   * Constructor.
+   *
+   * @param serializer the {@link Serializer}.
+   */
+  public OffHeapMemoryBlock(final Serializer serializer) {
+    this.serializer = serializer;
+    serializedPartitions = new ArrayList<>();
+    committed = false;
+    released = false;
+  }
+
+  /**
+   * Serialized and stores {@link NonSerializedPartition}s to this block.
+   * Invariant: This should not be invoked after this block is committed.
+   *
+   * @param partitions the {@link NonSerializedPartition}s to store.
+   * @return the size of the data per partition.
+   * @throws IOException if fail to store.
+   */
+  @Override
+  public synchronized Optional<List<Long>> putPartitions(final Iterable<NonSerializedPartition<K>> partitions)
+      throws IOException {
+    if (!committed) {
+      final Iterable<SerializedPartition<K>> convertedPartitions = DataUtil.convertToOffHeapSerPartitions(
+          serializer, partitions);
+      // The converted partitions are owned by this block, so they are stored without being retained.
+      return Optional.of(storePartitions(convertedPartitions, false));
+    } else {
+      throw new IOException("Cannot append partitions to the committed block");
+    }
+  }
+
+  /**
+   * Stores {@link SerializedPartition}s to this block.
+   * The data of the partitions which are not off-heap is copied to pooled off-heap buffers.
+   * Invariant: This should not be invoked after this block is committed.
+   *
+   * @param partitions the {@link SerializedPartition}s to store.
+   * @throws IOException if fail to store.
+   */
+  @Override
+  public synchronized List<Long> putSerializedPartitions(final Iterable<SerializedPartition<K>> partitions)
+      throws IOException {
+    if (!committed) {
+      return storePartitions(partitions, true);
+    } else {
+      throw new IOException("Cannot append partitions to the committed block");
+    }
+  }
+
+  /**
+   * Retrieves the {@link NonSerializedPartition}s in a specific hash range from this block.
+   * Because the data is stored in a serialized form, it have to be deserialized.
+   * Invariant: This should not be invoked before this block is committed.
+   *
+   * @param keyRange the key range to retrieve.
+   * @return an iterable of {@link NonSerializedPartition}s.
+   * @throws IOException if failed to retrieve.
+   */
+  @Override
+  public Iterable<NonSerializedPartition<K>> getPartitions(final KeyRange keyRange) throws IOException {
+    return DataUtil.convertToNonSerPartitions(serializer, getSerializedPartitions(keyRange));
+  }
+
+  /**
+   * Retrieves the {@link SerializedPartition}s in a specific hash range.
+   * The retrieved partitions share the off-heap buffers of this block,
+   * so they are valid only until this block is released.
+   * Invariant: This should not be invoked before this block is committed.
+   *
+   * @param keyRange the key range to retrieve.
+   * @return an iterable of {@link SerializedPartition}s.
+   * @throws IOException if failed to retrieve.
+   */
+  @Override
+  public Iterable<SerializedPartition<K>> getSerializedPartitions(final KeyRange keyRange) throws IOException {
+    if (committed) {
+      final List<SerializedPartition<K>> partitionsInRange = new ArrayList<>();
+      serializedPartitions.forEach(serializedPartition -> {
+        final K key = serializedPartition.getKey();
+        if (keyRange.includes(key)) {
+          // The hash value of this partition is in the range.
+          partitionsInRange.add(serializedPartition);
+        }
+      });
+
+      return partitionsInRange;
+    } else {
+      throw new IOException("Cannot retrieve elements before a block is committed");
+    }
+  }
+
+  /**
+   * Commits this block to prevent further write.
+   */
+  @Override
+  public synchronized void commit() {
+    committed = true;
+  }
+
+  /**
+   * Releases the off-heap buffers of this block.
+   * This method have to be called after all read is completed (or failed).
+   */
+  public synchronized void release() {
+    if (!released) {
+      released = true;
+      serializedPartitions.forEach(serializedPartition -> serializedPartition.getDirectBuffer().release());
+      serializedPartitions.clear();
+    }
+  }
+
+  /**
+   * Stores {@link SerializedPartition}s to this block.
+   *
+   * @param partitions   the {@link SerializedPartition}s to store.
+   * @param retainBuffer whether the off-heap buffers of the partitions have to be retained or not.
+   * @return the size of the data per partition.
+   */
+  private List<Long> storePartitions(final Iterable<SerializedPartition<K>> partitions,
+                                     final boolean retainBuffer) {
+    final List<Long> partitionSizeList = new ArrayList<>();
+    partitions.forEach(serializedPartition -> {
+      partitionSizeList.add((long) serializedPartition.getLength());
+      serializedPartitions.add(toOffHeap(serializedPartition, retainBuffer));
+    });
+    return partitionSizeList;
+  }
+
+  /**
+   * Makes a {@link SerializedPartition} whose data is kept in an off-heap buffer owned by this block.
+   *
+   * @param serializedPartition the partition to convert.
+   * @param retainBuffer        whether the off-heap buffer of the partition has to be retained or not.
+   * @return the off-heap partition.
+   */
+  private SerializedPartition<K> toOffHeap(final SerializedPartition<K> serializedPartition,
+                                           final boolean retainBuffer) {
+    if (serializedPartition.isOffHeap()) {
+      return retainBuffer
+          ? new SerializedPartition<>(serializedPartition.getKey(), serializedPartition.getElementsTotal(),
+              serializedPartition.getDirectBuffer().retainedDuplicate())
+          : serializedPartition;
+    }
+    final ByteBuf directBuffer = PooledByteBufAllocator.DEFAULT.directBuffer(serializedPartition.getLength());
+    directBuffer.writeBytes(serializedPartition.getData(), 0, serializedPartition.getLength());
+    return new SerializedPartition<>(
+        serializedPartition.getKey(), serializedPartition.getElementsTotal(), directBuffer);
+  }
+}
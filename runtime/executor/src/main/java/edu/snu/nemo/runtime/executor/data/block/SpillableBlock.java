@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2017 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data.block;
+
+import edu.snu.nemo.runtime.common.data.KeyRange;
+import edu.snu.nemo.runtime.executor.data.DataUtil;
+import edu.snu.nemo.runtime.executor.data.MemoryManager;
+import edu.snu.nemo.runtime.executor.data.NonSerializedPartition;
+import edu.snu.nemo.runtime.executor.data.SerializedPartition;
+import edu.snu.nemo.runtime.executor.data.metadata.LocalFileMetadata;
+import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * This class represents a block which is stored in local memory as long as the {@link MemoryManager} allows.
+ * If a write would exceed the memory budget of the executor,
+ * the data of the write and every following write is spilled to a local {@link FileBlock}.
+ * Because the data in memory is always written before the spilled data,
+ * the order of the data is preserved by reading the data in memory first.
+ * @param <K> the key type of its partitions.
+ */
+@ThreadSafe
+public final class SpillableBlock<K extends Serializable> implements Block<K> {
+
+  private final Block<K> memoryBlock;
+  private final Serializer serializer;
+  private final String spillFilePath;
+  private final MemoryManager memoryManager;
+  private volatile FileBlock<K> spilledBlock;
+  private long reservedBytes;
+
+  /**
+   * Constructor.
+   *
+   * @param memoryBlock   the block to store the data in memory.
+   * @param serializer    the {@link Serializer}.
+   * @param spillFilePath the path of the file that the spilled data of this block will be stored.
+   * @param memoryManager the {@link MemoryManager} of this executor.
+   */
+  public SpillableBlock(final Block<K> memoryBlock,
+                        final Serializer serializer,
+                        final String spillFilePath,
+                        final MemoryManager memoryManager) {
+    this.memoryBlock = memoryBlock;
+    this.serializer = serializer;
+    this.spillFilePath = spillFilePath;
+    this.memoryManager = memoryManager;
+    this.spilledBlock = null;
+    this.reservedBytes = 0;
+  }
+
+  /**
+   * Stores {@link NonSerializedPartition}s to this block.
+   * The size of the partitions is estimated before the write, and corrected after the write
+   * if the memory block reports the actual size of the written data.
+   * Invariant: This should not be invoked after this block is committed.
+   *
+   * @param partitions the {@link NonSerializedPartition}s to store.
+   * @return the size of the data per partition (only when the data is serialized in this method).
+   * @throws IOException if fail to store.
+   */
+  @Override
+  public synchronized Optional<List<Long>> putPartitions(final Iterable<NonSerializedPartition<K>> partitions)
+      throws IOException {
+    if (spilledBlock == null) {
+      final long estimatedBytes = DataUtil.estimateSize(serializer.getCoder(), partitions);
+      if (memoryManager.tryAcquire(estimatedBytes)) {
+        final Optional<List<Long>> partitionSizeList = memoryBlock.putPartitions(partitions);
+        if (partitionSizeList.isPresent()) {
+          final long actualBytes = partitionSizeList.get().stream().mapToLong(Long::longValue).sum();
+          memoryManager.forceAcquire(actualBytes - estimatedBytes);
+          reservedBytes += actualBytes;
+        } else {
+          reservedBytes += estimatedBytes;
+        }
+        return partitionSizeList;
+      }
+      spill();
+    }
+    return spilledBlock.putPartitions(partitions);
+  }
+
+  /**
+   * Stores {@link SerializedPartition}s to this block.
+   * Invariant: This should not be invoked after this block is committed.
+   *
+   * @param partitions the {@link SerializedPartition}s to store.
+   * @return the size of the data per partition.
+   * @throws IOException if fail to store.
+   */
+  @Override
+  public synchronized List<Long> putSerializedPartitions(final Iterable<SerializedPartition<K>> partitions)
+      throws IOException {
+    if (spilledBlock == null) {
+      long serializedBytes = 0;
+      for (final SerializedPartition<K> serializedPartition : partitions) {
+        serializedBytes += serializedPartition.getLength();
+      }
+      if (memoryManager.tryAcquire(serializedBytes)) {
+        reservedBytes += serializedBytes;
+        return memoryBlock.putSerializedPartitions(partitions);
+      }
+      spill();
+    }
+    return spilledBlock.putSerializedPartitions(partitions);
+  }
+
+  /**
+   * Retrieves the {@link NonSerializedPartition}s in a specific key range from this block.
+   * Invariant: This should not be invoked before this block is committed.
+   *
+   * @param keyRange the key range to retrieve.
+   * @return an iterable of {@link NonSerializedPartition}s.
+   * @throws IOException if failed to retrieve.
+   */
+  @Override
+  public Iterable<NonSerializedPartition<K>> getPartitions(final KeyRange<K> keyRange) throws IOException {
+    final Iterable<NonSerializedPartition<K>> partitionsInMemory = memoryBlock.getPartitions(keyRange);
+    if (spilledBlock == null) {
+      return partitionsInMemory;
+    } else {
+      final List<NonSerializedPartition<K>> partitionsInRange = new ArrayList<>();
+      partitionsInMemory.forEach(partitionsInRange::add);
+      spilledBlock.getPartitions(keyRange).forEach(partitionsInRange::add);
+      return partitionsInRange;
+    }
+  }
+
+  /**
+   * Retrieves the {@link SerializedPartition}s in a specific key range.
+   * Invariant: This should not be invoked before this block is committed.
+   *
+   * @param keyRange the key range to retrieve.
+   * @return an iterable of {@link SerializedPartition}s.
+   * @throws IOException if failed to retrieve.
+   */
+  @Override
+  public Iterable<SerializedPartition<K>> getSerializedPartitions(final KeyRange<K> keyRange) throws IOException {
+    final Iterable<SerializedPartition<K>> partitionsInMemory = memoryBlock.getSerializedPartitions(keyRange);
+    if (spilledBlock == null) {
+      return partitionsInMemory;
+    } else {
+      final List<SerializedPartition<K>> partitionsInRange = new ArrayList<>();
+      partitionsInMemory.forEach(partitionsInRange::add);
+      spilledBlock.getSerializedPartitions(keyRange).forEach(partitionsInRange::add);
+      return partitionsInRange;
+    }
+  }
+
+  /**
+   * Commits this block to prevent further write.
+   *
+   * @throws IOException if failed to commit.
+   */
+  @Override
+  public synchronized void commit() throws IOException {
+    memoryBlock.commit();
+    if (spilledBlock != null) {
+      spilledBlock.commit();
+    }
+  }
+
+  /**
+   * Releases the memory reserved by this block (including off-heap buffers) and deletes the spilled file.
+   * This method have to be called after all read is completed (or failed).
+   *
+   * @throws IOException if failed to delete the spilled file.
+   */
+  public synchronized void release() throws IOException {
+    memoryManager.release(reservedBytes);
+    reservedBytes = 0;
+    if (memoryBlock instanceof OffHeapMemoryBlock) {
+      ((OffHeapMemoryBlock) memoryBlock).release();
+    }
+    if (spilledBlock != null) {
+      spilledBlock.deleteFile();
+    }
+  }
+
+  /**
+   * @return whether a part of this block is spilled to a file or not.
+   */
+  public boolean isSpilled() {
+    return spilledBlock != null;
+  }
+
+  /**
+   * Starts to write the following data of this block to a local file.
+   *
+   * @throws IOException if failed to prepare the file.
+   */
+  private void spill() throws IOException {
+    final File spillFile = new File(spillFilePath);
+    spillFile.getParentFile().mkdirs();
+    if (spillFile.exists() && !spillFile.delete()) {
+      throw new IOException("Failed to delete the stale spilled file " + spillFilePath);
+    }
+    spilledBlock = new FileBlock<>(serializer, spillFilePath, new LocalFileMetadata<>());
+  }
+}
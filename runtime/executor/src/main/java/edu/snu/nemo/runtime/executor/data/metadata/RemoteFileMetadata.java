@@ -29,10 +29,20 @@ import java.util.List;
  * Because the data is stored in a remote file and globally accessed by multiple nodes,
  * each read, or deletion for a block needs one instance of this metadata.
  * The metadata is store in and read from a file (after a remote file block is committed).
+ *
+ * The metadata file is encoded in a compact binary format:
+ * the format version, the number of partitions and the type of the keys come first,
+ * and then the key, size and number of elements of each partition follow.
+ * The sizes and numbers are written as variable-length integers,
+ * and the offsets of the partitions are not written because the partitions are stored contiguously.
+ * Integer keys (the hash values) are written as they are, and the other keys are written by Java serialization.
  * @param <K> the key type of its partitions.
  */
 @ThreadSafe
 public final class RemoteFileMetadata<K extends Serializable> extends FileMetadata<K> {
+  private static final byte FORMAT_VERSION = 1;
+  private static final byte INTEGER_KEY = 0;
+  private static final byte SERIALIZED_KEY = 1;
 
   private final String metaFilePath;
 
@@ -72,18 +82,28 @@ public final class RemoteFileMetadata<K extends Serializable> extends FileMetada
    */
   @Override
   public synchronized void commitBlock() throws IOException {
-    final Iterable<PartitionMetadata<K>> partitionMetadataItr = getPartitionMetadataIterable();
+    final List<PartitionMetadata<K>> partitionMetadataList = new ArrayList<>();
+    getPartitionMetadataIterable().forEach(partitionMetadataList::add);
+    final boolean integerKeys = partitionMetadataList.stream()
+        .allMatch(partitionMetadata -> partitionMetadata.getKey() instanceof Integer);
     try (
         final FileOutputStream metafileOutputStream = new FileOutputStream(metaFilePath, false);
-        final DataOutputStream dataOutputStream = new DataOutputStream(metafileOutputStream)
+        final DataOutputStream dataOutputStream =
+            new DataOutputStream(new BufferedOutputStream(metafileOutputStream))
     ) {
-      for (PartitionMetadata<K> partitionMetadata : partitionMetadataItr) {
-        final byte[] key = SerializationUtils.serialize(partitionMetadata.getKey());
-        dataOutputStream.writeInt(key.length);
-        dataOutputStream.write(key);
-        dataOutputStream.writeInt(partitionMetadata.getPartitionSize());
-        dataOutputStream.writeLong(partitionMetadata.getOffset());
-        dataOutputStream.writeLong(partitionMetadata.getElementsTotal());
+      dataOutputStream.writeByte(FORMAT_VERSION);
+      writeVarLong(dataOutputStream, partitionMetadataList.size());
+      dataOutputStream.writeByte(integerKeys ? INTEGER_KEY : SERIALIZED_KEY);
+      for (final PartitionMetadata<K> partitionMetadata : partitionMetadataList) {
+        if (integerKeys) {
+          dataOutputStream.writeInt((Integer) partitionMetadata.getKey());
+        } else {
+          final byte[] key = SerializationUtils.serialize(partitionMetadata.getKey());
+          writeVarLong(dataOutputStream, key.length);
+          dataOutputStream.write(key);
+        }
+        writeVarLong(dataOutputStream, partitionMetadata.getPartitionSize());
+        writeVarLong(dataOutputStream, partitionMetadata.getElementsTotal());
       }
     }
     setCommitted(true);
@@ -112,27 +132,75 @@ public final class RemoteFileMetadata<K extends Serializable> extends FileMetada
     if (!new File(metaFilePath).isFile()) {
       throw new IOException("File " + metaFilePath + " does not exist!");
     }
+    // Read the whole (small) metadata file at once.
+    final byte[] metadataBytes = Files.readAllBytes(Paths.get(metaFilePath));
     final List<PartitionMetadata<T>> partitionMetadataList = new ArrayList<>();
-    try (
-        final FileInputStream metafileInputStream = new FileInputStream(metaFilePath);
-        final DataInputStream dataInputStream = new DataInputStream(metafileInputStream)
-    ) {
-      while (dataInputStream.available() > 0) {
-        final int keyLength = dataInputStream.readInt();
-        final byte[] desKey = new byte[keyLength];
-        if (keyLength != dataInputStream.read(desKey)) {
-          throw new IOException("Invalid key length!");
+    try (final DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(metadataBytes))) {
+      final byte version = dataInputStream.readByte();
+      if (version != FORMAT_VERSION) {
+        throw new IOException("Unsupported metadata format version " + version + " in " + metaFilePath);
+      }
+      final long numPartitions = readVarLong(dataInputStream);
+      final byte keyType = dataInputStream.readByte();
+      long offset = 0;
+      for (long partitionIdx = 0; partitionIdx < numPartitions; partitionIdx++) {
+        final T key;
+        if (keyType == INTEGER_KEY) {
+          key = (T) Integer.valueOf(dataInputStream.readInt());
+        } else if (keyType == SERIALIZED_KEY) {
+          final byte[] desKey = new byte[(int) readVarLong(dataInputStream)];
+          dataInputStream.readFully(desKey);
+          key = SerializationUtils.deserialize(desKey);
+        } else {
+          throw new IOException("Invalid key type " + keyType + " in " + metaFilePath);
         }
-
-        final PartitionMetadata<T> partitionMetadata = new PartitionMetadata<>(
-            SerializationUtils.deserialize(desKey),
-            dataInputStream.readInt(),
-            dataInputStream.readLong(),
-            dataInputStream.readLong()
-        );
-        partitionMetadataList.add(partitionMetadata);
+        final int partitionSize = (int) readVarLong(dataInputStream);
+        final long elementsTotal = readVarLong(dataInputStream);
+        partitionMetadataList.add(new PartitionMetadata<>(key, partitionSize, offset, elementsTotal));
+        offset += partitionSize;
       }
     }
     return new RemoteFileMetadata<>(metaFilePath, partitionMetadataList);
   }
+
+  /**
+   * Writes a non-negative long value as a variable-length integer.
+   * Each byte has 7 bits of the value, and the highest bit indicates whether more bytes follow.
+   *
+   * @param outputStream the stream to write.
+   * @param value        the value to write.
+   * @throws IOException if fail to write.
+   */
+  private static void writeVarLong(final DataOutputStream outputStream,
+                                   final long value) throws IOException {
+    long remainingValue = value;
+    while ((remainingValue & ~0x7FL) != 0) {
+      outputStream.writeByte((int) ((remainingValue & 0x7F) | 0x80));
+      remainingValue >>>= 7;
+    }
+    outputStream.writeByte((int) remainingValue);
+  }
+
+  /**
+   * Reads a variable-length integer written by {@link #writeVarLong(DataOutputStream, long)}.
+   *
+   * @param inputStream the stream to read.
+   * @return the read value.
+   * @throws IOException if fail to read.
+   */
+  private static long readVarLong(final DataInputStream inputStream) throws IOException {
+    long value = 0;
+    int shift = 0;
+    while (true) {
+      final byte currentByte = inputStream.readByte();
+      value |= (long) (currentByte & 0x7F) << shift;
+      if ((currentByte & 0x80) == 0) {
+        return value;
+      }
+      shift += 7;
+      if (shift >= Long.SIZE) {
+        throw new IOException("Malformed variable-length integer in the metadata file.");
+      }
+    }
+  }
 }
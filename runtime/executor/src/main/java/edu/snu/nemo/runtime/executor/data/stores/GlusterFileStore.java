@@ -15,6 +15,8 @@
  */
 package edu.snu.nemo.runtime.executor.data.stores;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import edu.snu.nemo.common.exception.BlockFetchException;
 import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.common.exception.BlockWriteException;
@@ -42,10 +44,14 @@ import java.util.concurrent.ConcurrentHashMap;
  * each read, or deletion for a file needs one instance of {@link FileBlock}.
  * When a remote file block is created, it's metadata is maintained in memory until the block is committed.
  * After the block is committed, the metadata is store in and read from a file.
+ * The parsed metadata of committed blocks is cached in this executor,
+ * and is reused as long as the metadata file is not modified.
  */
 @ThreadSafe
 public final class GlusterFileStore extends AbstractBlockStore implements RemoteFileStore {
+  private static final int MAX_CACHED_METADATA = 10000;
   private final Map<String, FileBlock> blockMap;
+  private final Cache<String, CachedMetadata> metadataCache;
   private final String fileDirectory;
 
   /**
@@ -61,6 +67,7 @@ public final class GlusterFileStore extends AbstractBlockStore implements Remote
                            final SerializerManager serializerManager) {
     super(serializerManager);
     this.blockMap = new ConcurrentHashMap<>();
+    this.metadataCache = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_METADATA).build();
     this.fileDirectory = volumeDirectory + "/" + jobId;
     new File(fileDirectory).mkdirs();
   }
@@ -74,6 +81,7 @@ public final class GlusterFileStore extends AbstractBlockStore implements Remote
   @Override
   public void createBlock(final String blockId) {
     removeBlock(blockId);
+    metadataCache.invalidate(blockId);
     final Serializer serializer = getSerializerFromWorker(blockId);
     final String filePath = DataUtil.blockIdToFilePath(blockId, fileDirectory);
     final RemoteFileMetadata metadata =
@@ -199,6 +207,7 @@ public final class GlusterFileStore extends AbstractBlockStore implements Remote
       if (new File(filePath).isFile()) {
         final FileBlock block = getBlockFromFile(blockId);
         block.deleteFile();
+        metadataCache.invalidate(blockId);
         return true;
       } else {
         return false;
@@ -233,6 +242,7 @@ public final class GlusterFileStore extends AbstractBlockStore implements Remote
    * Because the data is stored in remote files and globally accessed by multiple nodes,
    * each read, or deletion for a file needs one instance of {@link FileBlock},
    * and the temporary block will not be maintained by this executor.
+   * The metadata is parsed from the file only if it is not cached, or the file is modified after being cached.
    *
    * @param blockId the ID of the block to get.
    * @param <K>     the type of the key of the block.
@@ -242,8 +252,58 @@ public final class GlusterFileStore extends AbstractBlockStore implements Remote
   private <K extends Serializable> FileBlock<K> getBlockFromFile(final String blockId) throws IOException {
     final Serializer serializer = getSerializerFromWorker(blockId);
     final String filePath = DataUtil.blockIdToFilePath(blockId, fileDirectory);
-    final RemoteFileMetadata<K> metadata =
-        RemoteFileMetadata.open(DataUtil.blockIdToMetaFilePath(blockId, fileDirectory));
+    final File metaFile = new File(DataUtil.blockIdToMetaFilePath(blockId, fileDirectory));
+    final long lastModified = metaFile.lastModified();
+    final long length = metaFile.length();
+
+    final CachedMetadata cachedMetadata = metadataCache.getIfPresent(blockId);
+    final RemoteFileMetadata<K> metadata;
+    if (cachedMetadata != null && cachedMetadata.isValid(lastModified, length)) {
+      metadata = cachedMetadata.getMetadata();
+    } else {
+      metadata = RemoteFileMetadata.open(metaFile.getPath());
+      metadataCache.put(blockId, new CachedMetadata(metadata, lastModified, length));
+    }
     return new FileBlock<>(serializer, filePath, metadata);
   }
+
+  /**
+   * The parsed metadata of a committed block, with the status of the metadata file when it is parsed.
+   */
+  private static final class CachedMetadata {
+    private final RemoteFileMetadata metadata;
+    private final long lastModified;
+    private final long length;
+
+    /**
+     * Constructor.
+     *
+     * @param metadata     the parsed metadata.
+     * @param lastModified the last modified time of the metadata file.
+     * @param length       the length of the metadata file.
+     */
+    private CachedMetadata(final RemoteFileMetadata metadata,
+                           final long lastModified,
+                           final long length) {
+      this.metadata = metadata;
+      this.lastModified = lastModified;
+      this.length = length;
+    }
+
+    /**
+     * @return the parsed metadata.
+     */
+    private RemoteFileMetadata getMetadata() {
+      return metadata;
+    }
+
+    /**
+     * @param currentLastModified the current last modified time of the metadata file.
+     * @param currentLength       the current length of the metadata file.
+     * @return whether the metadata file is not modified after this metadata is parsed or not.
+     */
+    private boolean isValid(final long currentLastModified, final long currentLength) {
+      return lastModified == currentLastModified && length == currentLength;
+    }
+  }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2017 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.executor.data.stores;
+
+import edu.snu.nemo.common.exception.BlockFetchException;
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.executor.data.DataUtil;
+import edu.snu.nemo.runtime.executor.data.MemoryManager;
+import edu.snu.nemo.runtime.executor.data.SerializerManager;
+import edu.snu.nemo.runtime.executor.data.block.OffHeapMemoryBlock;
+import edu.snu.nemo.runtime.executor.data.block.SpillableBlock;
+import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import java.io.IOException;
+
+/**
+ * Serialize and store data in pooled off-heap memory of the executor.
+ * The memory occupied by the blocks is bounded by the {@link MemoryManager}, and the data exceeding
+ * the bound is spilled to local files.
+ */
+@ThreadSafe
+public final class OffHeapMemoryStore extends LocalBlockStore {
+  private final String spillDirectory;
+  private final MemoryManager memoryManager;
+
+  /**
+   * Constructor.
+   *
+   * @param fileDirectory     the directory which will contain the spilled files.
+   * @param serializerManager the serializer manager.
+   * @param memoryManager     the memory manager.
+   */
+  @Inject
+  private OffHeapMemoryStore(@Parameter(JobConf.FileDirectory.class) final String fileDirectory,
+                             final SerializerManager serializerManager,
+                             final MemoryManager memoryManager) {
+    super(serializerManager);
+    this.spillDirectory = fileDirectory + "/spill";
+    this.memoryManager = memoryManager;
+  }
+
+  /**
+   * @see BlockStore#createBlock(String)
+   */
+  @Override
+  public void createBlock(final String blockId) {
+    removeBlock(blockId);
+
+    final Serializer serializer = getSerializerFromWorker(blockId);
+    final SpillableBlock block = new SpillableBlock(new OffHeapMemoryBlock(serializer), serializer,
+        DataUtil.blockIdToFilePath(blockId, spillDirectory), memoryManager);
+    getBlockMap().put(blockId, block);
+  }
+
+  /**
+   * Removes the block and releases the memory it occupies.
+   *
+   * @param blockId of the block.
+   * @return whether the block exists or not.
+   * @see BlockStore#removeBlock(String)
+   */
+  @Override
+  public Boolean removeBlock(final String blockId) {
+    final SpillableBlock block = (SpillableBlock) getBlockMap().remove(blockId);
+    if (block == null) {
+      return false;
+    }
+    try {
+      block.release();
+    } catch (final IOException e) {
+      throw new BlockFetchException(e);
+    }
+    return true;
+  }
+}
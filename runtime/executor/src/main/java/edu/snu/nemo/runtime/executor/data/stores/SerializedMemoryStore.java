@@ -15,26 +15,44 @@
  */
 package edu.snu.nemo.runtime.executor.data.stores;
 
+import edu.snu.nemo.common.exception.BlockFetchException;
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.executor.data.DataUtil;
+import edu.snu.nemo.runtime.executor.data.MemoryManager;
 import edu.snu.nemo.runtime.executor.data.SerializerManager;
 import edu.snu.nemo.runtime.executor.data.block.SerializedMemoryBlock;
+import edu.snu.nemo.runtime.executor.data.block.SpillableBlock;
 import edu.snu.nemo.runtime.executor.data.streamchainer.Serializer;
+import org.apache.reef.tang.annotations.Parameter;
 
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
+import java.io.IOException;
 
 /**
  * Serialize and store data in local memory.
+ * The memory occupied by the blocks is bounded by the {@link MemoryManager}, and the data exceeding
+ * the bound is spilled to local files.
  */
 @ThreadSafe
 public final class SerializedMemoryStore extends LocalBlockStore {
+  private final String spillDirectory;
+  private final MemoryManager memoryManager;
 
   /**
    * Constructor.
+   *
+   * @param fileDirectory     the directory which will contain the spilled files.
    * @param serializerManager the serializer manager.
+   * @param memoryManager     the memory manager.
    */
   @Inject
-  private SerializedMemoryStore(final SerializerManager serializerManager) {
+  private SerializedMemoryStore(@Parameter(JobConf.FileDirectory.class) final String fileDirectory,
+                                final SerializerManager serializerManager,
+                                final MemoryManager memoryManager) {
     super(serializerManager);
+    this.spillDirectory = fileDirectory + "/spill";
+    this.memoryManager = memoryManager;
   }
 
   /**
@@ -42,15 +60,32 @@ public final class SerializedMemoryStore extends LocalBlockStore {
    */
   @Override
   public void createBlock(final String blockId) {
+    removeBlock(blockId);
+
     final Serializer serializer = getSerializerFromWorker(blockId);
-    getBlockMap().put(blockId, new SerializedMemoryBlock(serializer));
+    final SpillableBlock block = new SpillableBlock(new SerializedMemoryBlock(serializer), serializer,
+        DataUtil.blockIdToFilePath(blockId, spillDirectory), memoryManager);
+    getBlockMap().put(blockId, block);
   }
 
   /**
+   * Removes the block and releases the memory it occupies.
+   *
+   * @param blockId of the block.
+   * @return whether the block exists or not.
    * @see BlockStore#removeBlock(String)
    */
   @Override
   public Boolean removeBlock(final String blockId) {
-    return getBlockMap().remove(blockId) != null;
+    final SpillableBlock block = (SpillableBlock) getBlockMap().remove(blockId);
+    if (block == null) {
+      return false;
+    }
+    try {
+      block.release();
+    } catch (final IOException e) {
+      throw new BlockFetchException(e);
+    }
+    return true;
   }
 }
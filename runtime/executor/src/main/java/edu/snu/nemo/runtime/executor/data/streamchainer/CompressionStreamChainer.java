@@ -17,8 +17,12 @@ package edu.snu.nemo.runtime.executor.data.streamchainer;
 
 import edu.snu.nemo.common.exception.UnsupportedCompressionException;
 import edu.snu.nemo.common.ir.edge.executionproperty.CompressionProperty;
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
 import net.jpountz.lz4.LZ4BlockInputStream;
 import net.jpountz.lz4.LZ4BlockOutputStream;
+import org.xerial.snappy.SnappyFramedInputStream;
+import org.xerial.snappy.SnappyFramedOutputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -48,6 +52,10 @@ public class CompressionStreamChainer implements StreamChainer {
         return new GZIPInputStream(in);
       case LZ4:
         return new LZ4BlockInputStream(in);
+      case Snappy:
+        return new SnappyFramedInputStream(in);
+      case Zstd:
+        return new ZstdInputStream(in);
       default:
         throw new UnsupportedCompressionException("Not supported compression method");
     }
@@ -60,6 +68,10 @@ public class CompressionStreamChainer implements StreamChainer {
         return new GZIPOutputStream(out);
       case LZ4:
         return new LZ4BlockOutputStream(out);
+      case Snappy:
+        return new SnappyFramedOutputStream(out);
+      case Zstd:
+        return new ZstdOutputStream(out);
       default:
         throw new UnsupportedCompressionException("Not supported compression method");
     }
@@ -16,6 +16,7 @@
 package edu.snu.nemo.runtime.executor.datatransfer;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterators;
 import edu.snu.nemo.common.ir.edge.executionproperty.DataCommunicationPatternProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.DuplicateEdgeGroupPropertyValue;
@@ -36,9 +37,8 @@ import javax.annotation.Nullable;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * Represents the input data transfer to a task.
@@ -70,10 +70,24 @@ public final class InputReader extends DataTransfer {
 
   /**
    * Reads input data depending on the communication pattern of the srcVertex.
+   * All of the blocks to read are requested at once.
    *
    * @return the read data.
    */
   public List<CompletableFuture<DataUtil.IteratorWithNumBytes>> read() {
+    return readLazily().stream().map(Supplier::get).collect(Collectors.toList());
+  }
+
+  /**
+   * Prepares to read input data depending on the communication pattern of the srcVertex,
+   * without requesting any block yet.
+   * The locations of all the blocks to read are resolved with a single request to the master,
+   * but a block is requested when the corresponding supplier is called, so that the caller can bound
+   * the number of blocks being fetched at the same time.
+   *
+   * @return the suppliers which request a block and return the future of its data.
+   */
+  public List<Supplier<CompletableFuture<DataUtil.IteratorWithNumBytes>>> readLazily() {
     DataCommunicationPatternProperty.Value comValue =
         (DataCommunicationPatternProperty.Value)
             runtimeEdge.getProperty(ExecutionProperty.Key.DataCommunicationPattern);
@@ -91,25 +105,26 @@ public final class InputReader extends DataTransfer {
     }
   }
 
-  private CompletableFuture<DataUtil.IteratorWithNumBytes> readOneToOne() {
+  private Supplier<CompletableFuture<DataUtil.IteratorWithNumBytes>> readOneToOne() {
     final String blockId = getBlockId(dstTaskIndex);
-    return blockManagerWorker.queryBlock(blockId, getId(),
+    return () -> blockManagerWorker.queryBlock(blockId, getId(),
         (DataStoreProperty.Value) runtimeEdge.getProperty(ExecutionProperty.Key.DataStore),
         HashRange.all());
   }
 
-  private List<CompletableFuture<DataUtil.IteratorWithNumBytes>> readBroadcast() {
+  private List<Supplier<CompletableFuture<DataUtil.IteratorWithNumBytes>>> readBroadcast() {
     final int numSrcTasks = this.getSourceParallelism();
 
-    final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> futures = new ArrayList<>();
-    for (int srcTaskIdx = 0; srcTaskIdx < numSrcTasks; srcTaskIdx++) {
-      final String blockId = getBlockId(srcTaskIdx);
-      futures.add(blockManagerWorker.queryBlock(blockId, getId(),
+    final List<String> blockIds = getBlockIds(numSrcTasks);
+    blockManagerWorker.resolveBlockLocations(blockIds);
+    final List<Supplier<CompletableFuture<DataUtil.IteratorWithNumBytes>>> suppliers = new ArrayList<>();
+    for (final String blockId : blockIds) {
+      suppliers.add(() -> blockManagerWorker.queryBlock(blockId, getId(),
           (DataStoreProperty.Value) runtimeEdge.getProperty(ExecutionProperty.Key.DataStore),
           HashRange.all()));
     }
 
-    return futures;
+    return suppliers;
   }
 
   /**
@@ -117,9 +132,9 @@ public final class InputReader extends DataTransfer {
    * Constraint: If a block is written by {@link OutputWriter#dataSkewWrite(List)}
    * or {@link OutputWriter#writeShuffle(List)}, it must be read using this method.
    *
-   * @return the list of the completable future of the data.
+   * @return the list of the suppliers of the completable future of the data.
    */
-  private List<CompletableFuture<DataUtil.IteratorWithNumBytes>> readDataInRange() {
+  private List<Supplier<CompletableFuture<DataUtil.IteratorWithNumBytes>>> readDataInRange() {
     assert (runtimeEdge instanceof PhysicalStageEdge);
     final KeyRange hashRangeToRead =
         ((PhysicalStageEdge) runtimeEdge).getTaskGroupIdxToKeyRange().get(dstTaskIndex);
@@ -127,18 +142,27 @@ public final class InputReader extends DataTransfer {
       throw new BlockFetchException(
           new Throwable("The hash range to read is not assigned to " + dstTaskIndex + "'th task"));
     }
+    // A skewed key can be split over multiple tasks, each of which reads the key from a part of the source tasks.
+    final KeyRange srcTaskIdxRangeToRead =
+        ((PhysicalStageEdge) runtimeEdge).getTaskGroupIdxToSrcTaskIdxRange().get(dstTaskIndex);
 
     final int numSrcTasks = this.getSourceParallelism();
-    final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> futures = new ArrayList<>();
+    final List<String> blockIds = new ArrayList<>(numSrcTasks);
     for (int srcTaskIdx = 0; srcTaskIdx < numSrcTasks; srcTaskIdx++) {
-      final String blockId = getBlockId(srcTaskIdx);
-      futures.add(
+      if (srcTaskIdxRangeToRead.includes(srcTaskIdx)) {
+        blockIds.add(getBlockId(srcTaskIdx));
+      }
+    }
+    blockManagerWorker.resolveBlockLocations(blockIds);
+    final List<Supplier<CompletableFuture<DataUtil.IteratorWithNumBytes>>> suppliers = new ArrayList<>();
+    for (final String blockId : blockIds) {
+      suppliers.add(() ->
           blockManagerWorker.queryBlock(blockId, getId(),
               (DataStoreProperty.Value) runtimeEdge.getProperty(ExecutionProperty.Key.DataStore),
               hashRangeToRead));
     }
 
-    return futures;
+    return suppliers;
   }
 
   public RuntimeEdge getRuntimeEdge() {
@@ -161,6 +185,20 @@ public final class InputReader extends DataTransfer {
     return RuntimeIdGenerator.generateBlockId(duplicateEdgeId, taskIdx);
   }
 
+  /**
+   * Get the ids of the blocks written by the source tasks.
+   *
+   * @param numSrcTasks the number of the source tasks.
+   * @return the block ids
+   */
+  private List<String> getBlockIds(final int numSrcTasks) {
+    final List<String> blockIds = new ArrayList<>(numSrcTasks);
+    for (int srcTaskIdx = 0; srcTaskIdx < numSrcTasks; srcTaskIdx++) {
+      blockIds.add(getBlockId(srcTaskIdx));
+    }
+    return blockIds;
+  }
+
   public String getSrcIrVertexId() {
     // this src vertex can be either a real vertex or a task. we must check!
     if (srcVertex != null) {
@@ -196,22 +234,23 @@ public final class InputReader extends DataTransfer {
 
   /**
    * Combine the given list of futures.
+   * The elements are lazily concatenated, so each future is waited for only when the iteration reaches it.
    *
    * @param futures to combine.
-   * @return the combined iterable of elements.
-   * @throws ExecutionException   when fail to get results from futures.
-   * @throws InterruptedException when interrupted during getting results from futures.
+   * @return the combined iterator of elements.
    */
   @VisibleForTesting
-  public static Iterator combineFutures(final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> futures)
-      throws ExecutionException, InterruptedException {
-    final List concatStreamBase = new ArrayList<>();
-    Stream<Object> concatStream = concatStreamBase.stream();
-    for (int srcTaskIdx = 0; srcTaskIdx < futures.size(); srcTaskIdx++) {
-      final Iterator dataFromATask = futures.get(srcTaskIdx).get();
-      final Iterable iterable = () -> dataFromATask;
-      concatStream = Stream.concat(concatStream, StreamSupport.stream(iterable.spliterator(), false));
-    }
-    return concatStream.collect(Collectors.toList()).iterator();
+  public static Iterator combineFutures(final List<CompletableFuture<DataUtil.IteratorWithNumBytes>> futures) {
+    final Iterator<Iterator<Object>> dataFromTasks = Iterators.transform(futures.iterator(), future -> {
+      try {
+        return (Iterator<Object>) future.get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new BlockFetchException(e);
+      } catch (final ExecutionException e) {
+        throw new BlockFetchException(e);
+      }
+    });
+    return Iterators.concat(dataFromTasks);
   }
 }
@@ -20,24 +20,48 @@ import edu.snu.nemo.common.ir.OutputCollector;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Output Collector Implementation.
+ * If a batch consumer is given, the accumulated output is handed to the consumer
+ * whenever the number of accumulated elements reaches the batch size.
  * @param <O> output type.
  */
 public final class OutputCollectorImpl<O> implements OutputCollector<O> {
   private AtomicReference<List<O>> outputList;
+  private final int batchSize;
+  private final Consumer<List<O>> batchConsumer;
 
   /**
    * Constructor of a new OutputCollector.
    */
   public OutputCollectorImpl() {
+    this(Integer.MAX_VALUE, output -> {
+      // The output is collected by collectOutputList().
+    });
+  }
+
+  /**
+   * Constructor of a new OutputCollector which hands the output over in batches.
+   *
+   * @param batchSize     the number of elements in a batch.
+   * @param batchConsumer the consumer to hand a batch over.
+   */
+  public OutputCollectorImpl(final int batchSize,
+                             final Consumer<List<O>> batchConsumer) {
     outputList = new AtomicReference<>(new ArrayList<>());
+    this.batchSize = batchSize;
+    this.batchConsumer = batchConsumer;
   }
 
   @Override
   public void emit(final O output) {
-    outputList.get().add(output);
+    final List<O> currentOutputList = outputList.get();
+    currentOutputList.add(output);
+    if (currentOutputList.size() >= batchSize) {
+      batchConsumer.accept(collectOutputList());
+    }
   }
 
   @Override
@@ -196,7 +196,14 @@ public final class OutputWriter extends DataTransfer implements AutoCloseable {
         blockManagerWorker.putPartitions(blockId, partitionsToWrite, blockStoreValue);
     partitionSizeList.ifPresent(partitionsSize -> {
       addWrittenBytes(partitionsSize);
-      this.accumulatedPartitionSizeInfo.addAll(partitionsSize);
+      if (accumulatedPartitionSizeInfo.isEmpty()) {
+        accumulatedPartitionSizeInfo.addAll(partitionsSize);
+      } else {
+        // The output is written in multiple batches. Accumulate the size of the partition having each key.
+        for (int i = 0; i < partitionsSize.size(); i++) {
+          accumulatedPartitionSizeInfo.set(i, accumulatedPartitionSizeInfo.get(i) + partitionsSize.get(i));
+        }
+      }
     });
   }
 
@@ -31,11 +31,9 @@ import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.reef.annotations.audience.DriverSide;
 import org.slf4j.Logger;
@@ -51,14 +49,11 @@ import static edu.snu.nemo.runtime.master.RuntimeMaster.convertBlockState;
 @DriverSide
 public final class BlockManagerMaster {
   private static final Logger LOG = LoggerFactory.getLogger(BlockManagerMaster.class.getName());
+  // The maps are concurrent, and each block is guarded by the monitor of its BlockMetadata.
+  // Therefore, operations on different blocks do not contend with each other.
   private final Map<String, BlockMetadata> blockIdToMetadata;
   private final Map<String, Set<String>> producerTaskGroupIdToBlockIds;
-  // A lock that can be acquired exclusively or not.
-  // Because the BlockMetadata itself is sufficiently synchronized,
-  // operation that runs in a single block can just acquire a (sharable) read lock.
-  // On the other hand, operation that deals with multiple blocks or
-  // modifies global variables in this class have to acquire an (exclusive) write lock.
-  private final ReadWriteLock lock;
+  private final Map<String, Set<String>> blockIdToProducerTaskGroupIds;
 
   /**
    * Constructor.
@@ -69,9 +64,9 @@ public final class BlockManagerMaster {
   private BlockManagerMaster(final MessageEnvironment masterMessageEnvironment) {
     masterMessageEnvironment.setupListener(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID,
         new PartitionManagerMasterControlMessageReceiver());
-    this.blockIdToMetadata = new HashMap<>();
-    this.producerTaskGroupIdToBlockIds = new HashMap<>();
-    this.lock = new ReentrantReadWriteLock();
+    this.blockIdToMetadata = new ConcurrentHashMap<>();
+    this.producerTaskGroupIdToBlockIds = new ConcurrentHashMap<>();
+    this.blockIdToProducerTaskGroupIds = new ConcurrentHashMap<>();
   }
 
   /**
@@ -83,15 +78,11 @@ public final class BlockManagerMaster {
   @VisibleForTesting
   public void initializeState(final String blockId,
                               final String producerTaskGroupId) {
-    final Lock writeLock = lock.writeLock();
-    writeLock.lock();
-    try {
-      blockIdToMetadata.put(blockId, new BlockMetadata(blockId));
-      producerTaskGroupIdToBlockIds.putIfAbsent(producerTaskGroupId, new HashSet<>());
-      producerTaskGroupIdToBlockIds.get(producerTaskGroupId).add(blockId);
-    } finally {
-      writeLock.unlock();
-    }
+    blockIdToMetadata.put(blockId, new BlockMetadata(blockId));
+    producerTaskGroupIdToBlockIds.computeIfAbsent(producerTaskGroupId, id -> ConcurrentHashMap.newKeySet())
+        .add(blockId);
+    blockIdToProducerTaskGroupIds.computeIfAbsent(blockId, id -> ConcurrentHashMap.newKeySet())
+        .add(producerTaskGroupId);
   }
 
   /**
@@ -104,21 +95,15 @@ public final class BlockManagerMaster {
     final Set<String> taskGroupsToRecompute = new HashSet<>();
     LOG.warn("Worker {} is removed.", new Object[]{executorId});
 
-    final Lock writeLock = lock.writeLock();
-    writeLock.lock();
-    try {
-      // Set committed block states to lost
-      getCommittedBlocksByWorker(executorId).forEach(blockId -> {
-        onBlockStateChanged(blockId, BlockState.State.LOST, executorId);
-        // producerTaskGroupForPartition should always be non-empty.
-        final Set<String> producerTaskGroupForPartition = getProducerTaskGroupIds(blockId);
-        producerTaskGroupForPartition.forEach(taskGroupsToRecompute::add);
-      });
+    // Set committed block states to lost
+    getCommittedBlocksByWorker(executorId).forEach(blockId -> {
+      onBlockStateChanged(blockId, BlockState.State.LOST, executorId);
+      // producerTaskGroupForPartition should always be non-empty.
+      final Set<String> producerTaskGroupForPartition = getProducerTaskGroupIds(blockId);
+      producerTaskGroupForPartition.forEach(taskGroupsToRecompute::add);
+    });
 
-      return taskGroupsToRecompute;
-    } finally {
-      writeLock.unlock();
-    }
+    return taskGroupsToRecompute;
   }
 
   /**
@@ -129,15 +114,14 @@ public final class BlockManagerMaster {
    * is not {@code SCHEDULED} or {@code COMMITTED}.
    */
   public BlockLocationRequestHandler getBlockLocationHandler(final String blockId) {
-    final Lock readLock = lock.readLock();
-    readLock.lock();
-    try {
+    final BlockMetadata blockMetadata = blockIdToMetadata.get(blockId);
+    synchronized (blockMetadata) {
       final BlockState.State state =
-          (BlockState.State) getBlockState(blockId).getStateMachine().getCurrentState();
+          (BlockState.State) blockMetadata.getBlockState().getStateMachine().getCurrentState();
       switch (state) {
         case SCHEDULED:
         case COMMITTED:
-          return blockIdToMetadata.get(blockId).getLocationHandler();
+          return blockMetadata.getLocationHandler();
         case READY:
         case LOST_BEFORE_COMMIT:
         case LOST:
@@ -148,8 +132,6 @@ public final class BlockManagerMaster {
         default:
           throw new UnsupportedOperationException(state.toString());
       }
-    } finally {
-      readLock.unlock();
     }
   }
 
@@ -161,20 +143,8 @@ public final class BlockManagerMaster {
    */
   @VisibleForTesting
   public Set<String> getProducerTaskGroupIds(final String blockId) {
-    final Lock readLock = lock.readLock();
-    readLock.lock();
-    try {
-      final Set<String> producerTaskGroupIds = new HashSet<>();
-      for (Map.Entry<String, Set<String>> entry : producerTaskGroupIdToBlockIds.entrySet()) {
-        if (entry.getValue().contains(blockId)) {
-          producerTaskGroupIds.add(entry.getKey());
-        }
-      }
-
-      return producerTaskGroupIds;
-    } finally {
-      readLock.unlock();
-    }
+    final Set<String> producerTaskGroupIds = blockIdToProducerTaskGroupIds.get(blockId);
+    return producerTaskGroupIds == null ? new HashSet<>() : new HashSet<>(producerTaskGroupIds);
   }
 
   /**
@@ -185,20 +155,17 @@ public final class BlockManagerMaster {
    * @param scheduledTaskGroupId the ID of the scheduled task group.
    */
   public void onProducerTaskGroupScheduled(final String scheduledTaskGroupId) {
-    final Lock writeLock = lock.writeLock();
-    writeLock.lock();
-    try {
-      if (producerTaskGroupIdToBlockIds.containsKey(scheduledTaskGroupId)) {
-        producerTaskGroupIdToBlockIds.get(scheduledTaskGroupId).forEach(blockId -> {
-          if (!blockIdToMetadata.get(blockId).getBlockState()
-              .getStateMachine().getCurrentState().equals(SCHEDULED)) {
-            onBlockStateChanged(blockId, SCHEDULED, null);
+    final Set<String> blockIds = producerTaskGroupIdToBlockIds.get(scheduledTaskGroupId);
+    if (blockIds != null) {
+      blockIds.forEach(blockId -> {
+        final BlockMetadata blockMetadata = blockIdToMetadata.get(blockId);
+        synchronized (blockMetadata) {
+          if (!blockMetadata.getBlockState().getStateMachine().getCurrentState().equals(SCHEDULED)) {
+            blockMetadata.onStateChanged(SCHEDULED, null);
           }
-        });
-      } // else this task group does not produce any block
-    } finally {
-      writeLock.unlock();
-    }
+        }
+      });
+    } // else this task group does not produce any block
   }
 
   /**
@@ -208,26 +175,47 @@ public final class BlockManagerMaster {
    * @param failedTaskGroupId the ID of the task group that failed.
    */
   public void onProducerTaskGroupFailed(final String failedTaskGroupId) {
-    final Lock writeLock = lock.writeLock();
-    writeLock.lock();
-    try {
-      if (producerTaskGroupIdToBlockIds.containsKey(failedTaskGroupId)) {
-        LOG.info("ProducerTaskGroup {} failed for a list of blocks:", failedTaskGroupId);
-        producerTaskGroupIdToBlockIds.get(failedTaskGroupId).forEach(blockId -> {
-          final BlockState.State state = (BlockState.State)
-              blockIdToMetadata.get(blockId).getBlockState().getStateMachine().getCurrentState();
+    final Set<String> blockIds = producerTaskGroupIdToBlockIds.get(failedTaskGroupId);
+    if (blockIds != null) {
+      LOG.info("ProducerTaskGroup {} failed for a list of blocks:", failedTaskGroupId);
+      blockIds.forEach(blockId -> {
+        final BlockMetadata blockMetadata = blockIdToMetadata.get(blockId);
+        synchronized (blockMetadata) {
+          final BlockState.State state =
+              (BlockState.State) blockMetadata.getBlockState().getStateMachine().getCurrentState();
           if (state == BlockState.State.COMMITTED) {
             LOG.info("Partition lost: {}", blockId);
-            onBlockStateChanged(blockId, BlockState.State.LOST, null);
+            blockMetadata.onStateChanged(BlockState.State.LOST, null);
           } else {
             LOG.info("Partition lost_before_commit: {}", blockId);
-            onBlockStateChanged(blockId, BlockState.State.LOST_BEFORE_COMMIT, null);
+            blockMetadata.onStateChanged(BlockState.State.LOST_BEFORE_COMMIT, null);
           }
-        });
-      } // else this task group does not produce any block
-    } finally {
-      writeLock.unlock();
+        }
+      });
+    } // else this task group does not produce any block
+  }
+
+  /**
+   * Gets the location of a block without waiting for the block to be committed.
+   *
+   * @param blockId the id of the block.
+   * @return the location of the block (e.g., worker id, remote store) if it is committed, or empty otherwise.
+   */
+  public Optional<String> getCommittedLocation(final String blockId) {
+    final BlockMetadata blockMetadata = blockIdToMetadata.get(blockId);
+    if (blockMetadata == null) {
+      return Optional.empty();
     }
+    final Future<String> location = blockMetadata.getLocationHandler().getLocationFuture();
+    if (location.isDone()) {
+      try {
+        return Optional.of(location.get());
+      } catch (final InterruptedException | ExecutionException e) {
+        // The block is not available.
+        return Optional.empty();
+      }
+    }
+    return Optional.empty();
   }
 
   /**
@@ -238,27 +226,21 @@ public final class BlockManagerMaster {
    */
   @VisibleForTesting
   Set<String> getCommittedBlocksByWorker(final String executorId) {
-    final Lock readLock = lock.readLock();
-    readLock.lock();
-    try {
-      final Set<String> blockIds = new HashSet<>();
-      blockIdToMetadata.values().forEach(blockMetadata -> {
-        final Future<String> location = blockMetadata.getLocationHandler().getLocationFuture();
-        if (location.isDone()) {
-          try {
-            if (location.get().equals(executorId)) {
-              blockIds.add(blockMetadata.getBlockId());
-            }
-          } catch (final InterruptedException | ExecutionException e) {
-            // Cannot reach here because we check the completion of the future already.
-            LOG.error("Exception while getting the location of a block!", e);
+    final Set<String> blockIds = new HashSet<>();
+    blockIdToMetadata.values().forEach(blockMetadata -> {
+      final Future<String> location = blockMetadata.getLocationHandler().getLocationFuture();
+      if (location.isDone()) {
+        try {
+          if (location.get().equals(executorId)) {
+            blockIds.add(blockMetadata.getBlockId());
           }
+        } catch (final InterruptedException | ExecutionException e) {
+          // Cannot reach here because we check the completion of the future already.
+          LOG.error("Exception while getting the location of a block!", e);
         }
-      });
-      return blockIds;
-    } finally {
-      readLock.unlock();
-    }
+      }
+    });
+    return blockIds;
   }
 
   /**
@@ -267,13 +249,7 @@ public final class BlockManagerMaster {
    */
   @VisibleForTesting
   BlockState getBlockState(final String blockId) {
-    final Lock readLock = lock.readLock();
-    readLock.lock();
-    try {
-      return blockIdToMetadata.get(blockId).getBlockState();
-    } finally {
-      readLock.unlock();
-    }
+    return blockIdToMetadata.get(blockId).getBlockState();
   }
 
   /**
@@ -288,13 +264,7 @@ public final class BlockManagerMaster {
   public void onBlockStateChanged(final String blockId,
                                   final BlockState.State newState,
                                   @Nullable final String location) {
-    final Lock readLock = lock.readLock();
-    readLock.lock();
-    try {
-      blockIdToMetadata.get(blockId).onStateChanged(newState, location);
-    } finally {
-      readLock.unlock();
-    }
+    blockIdToMetadata.get(blockId).onStateChanged(newState, location);
   }
 
   /**
@@ -308,14 +278,41 @@ public final class BlockManagerMaster {
     assert (message.getType() == ControlMessage.MessageType.RequestBlockLocation);
     final String blockId = message.getRequestBlockLocationMsg().getBlockId();
     final long requestId = message.getId();
-    final Lock readLock = lock.readLock();
-    readLock.lock();
-    try {
-      final BlockLocationRequestHandler locationFuture = getBlockLocationHandler(blockId);
-      locationFuture.registerRequest(requestId, messageContext);
-    } finally {
-      readLock.unlock();
+    final BlockLocationRequestHandler locationFuture = getBlockLocationHandler(blockId);
+    locationFuture.registerRequest(requestId, messageContext);
+  }
+
+  /**
+   * Deals with a request for the locations of multiple blocks.
+   * The reply is sent once the locations of all the requested blocks are known (or known to be absent).
+   *
+   * @param message        the request message.
+   * @param messageContext the message context which will be used for response.
+   */
+  void onRequestBlockLocations(final ControlMessage.Message message,
+                               final MessageContext messageContext) {
+    assert (message.getType() == ControlMessage.MessageType.RequestBlockLocations);
+    final List<String> blockIds = message.getRequestBlockLocationsMsg().getBlockIdsList();
+    final long requestId = message.getId();
+    final List<CompletableFuture<ControlMessage.BlockLocationInfoMsg>> infoMsgFutures =
+        new ArrayList<>(blockIds.size());
+    for (final String blockId : blockIds) {
+      infoMsgFutures.add(getBlockLocationHandler(blockId).getInfoMsgFuture(requestId));
     }
+
+    CompletableFuture.allOf(infoMsgFutures.toArray(new CompletableFuture[infoMsgFutures.size()]))
+        .thenRun(() -> {
+          final ControlMessage.BlockLocationsInfoMsg.Builder infosMsgBuilder =
+              ControlMessage.BlockLocationsInfoMsg.newBuilder().setRequestId(requestId);
+          infoMsgFutures.forEach(infoMsgFuture -> infosMsgBuilder.addBlockLocationInfos(infoMsgFuture.join()));
+          messageContext.reply(
+              ControlMessage.Message.newBuilder()
+                  .setId(RuntimeIdGenerator.generateMessageId())
+                  .setListenerId(MessageEnvironment.EXECUTOR_MESSAGE_LISTENER_ID)
+                  .setType(ControlMessage.MessageType.BlockLocationsInfo)
+                  .setBlockLocationsInfoMsg(infosMsgBuilder.build())
+                  .build());
+        });
   }
 
   /**
@@ -350,6 +347,9 @@ public final class BlockManagerMaster {
         case RequestBlockLocation:
           onRequestBlockLocation(message, messageContext);
           break;
+        case RequestBlockLocations:
+          onRequestBlockLocations(message, messageContext);
+          break;
         default:
           throw new IllegalMessageException(
               new Exception("This message should not be received by "
@@ -405,25 +405,35 @@ public final class BlockManagerMaster {
      */
     void registerRequest(final long requestId,
                          final MessageContext messageContext) {
-      final ControlMessage.BlockLocationInfoMsg.Builder infoMsgBuilder =
-          ControlMessage.BlockLocationInfoMsg.newBuilder()
-              .setRequestId(requestId)
-              .setBlockId(blockId);
+      getInfoMsgFuture(requestId).thenAccept(infoMsg -> messageContext.reply(
+          ControlMessage.Message.newBuilder()
+              .setId(RuntimeIdGenerator.generateMessageId())
+              .setListenerId(MessageEnvironment.EXECUTOR_MESSAGE_LISTENER_ID)
+              .setType(ControlMessage.MessageType.BlockLocationInfo)
+              .setBlockLocationInfoMsg(infoMsg)
+              .build()));
+    }
 
-      locationFuture.whenComplete((location, throwable) -> {
+    /**
+     * Gets the future of the location information of the block for a request.
+     * The future completes when the location is known, or when the block turns out to be absent.
+     *
+     * @param requestId the ID of the block location request.
+     * @return the future of the location information.
+     */
+    CompletableFuture<ControlMessage.BlockLocationInfoMsg> getInfoMsgFuture(final long requestId) {
+      return locationFuture.handle((location, throwable) -> {
+        final ControlMessage.BlockLocationInfoMsg.Builder infoMsgBuilder =
+            ControlMessage.BlockLocationInfoMsg.newBuilder()
+                .setRequestId(requestId)
+                .setBlockId(blockId);
         if (throwable == null) {
           infoMsgBuilder.setOwnerExecutorId(location);
         } else {
           infoMsgBuilder.setState(
               convertBlockState(((AbsentBlockException) throwable).getState()));
         }
-        messageContext.reply(
-            ControlMessage.Message.newBuilder()
-                .setId(RuntimeIdGenerator.generateMessageId())
-                .setListenerId(MessageEnvironment.EXECUTOR_MESSAGE_LISTENER_ID)
-                .setType(ControlMessage.MessageType.BlockLocationInfo)
-                .setBlockLocationInfoMsg(infoMsgBuilder.build())
-                .build());
+        return infoMsgBuilder.build();
       });
     }
 
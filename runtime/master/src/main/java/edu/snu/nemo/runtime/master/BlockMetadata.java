@@ -26,6 +26,8 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * This class represents a block metadata stored in the metadata server.
+ * Its monitor guards the state of the block, so that a check and a change of the state can be done atomically
+ * by synchronizing on this metadata.
  */
 @ThreadSafe
 final class BlockMetadata {
@@ -74,6 +76,11 @@ final class BlockMetadata {
         break;
       case COMMITTED:
         assert (location != null);
+        if (oldState == BlockState.State.COMMITTED) {
+          // A speculative copy of the producer task group committed the block again. The first commit is kept.
+          LOG.info("Block {} is already committed. Ignoring the commit in {}", new Object[]{blockId, location});
+          break;
+        }
         locationHandler.complete(location);
         stateMachine.setState(newState);
         break;
@@ -91,6 +91,13 @@ public final class JobStateManager {
    */
   private final Set<String> currentJobStageIds;
 
+  /**
+   * Used to find the straggler task groups for speculative execution.
+   * The start times of the executing task groups, and the execution times of the complete task groups of each stage.
+   */
+  private final Map<String, Long> taskGroupIdToStartTimeNs;
+  private final Map<String, Map<String, Long>> stageIdToTaskGroupExecutionTimesNs;
+
   /**
    * A lock and condition to check whether the job is finished or not.
    */
@@ -114,6 +121,8 @@ public final class JobStateManager {
     this.scheduleAttemptIdxByStage = new HashMap<>();
     this.stageIdToRemainingTaskGroupSet = new HashMap<>();
     this.currentJobStageIds = new HashSet<>();
+    this.taskGroupIdToStartTimeNs = new HashMap<>();
+    this.stageIdToTaskGroupExecutionTimesNs = new HashMap<>();
     this.finishLock = new ReentrantLock();
     this.jobFinishedCondition = finishLock.newCondition();
     this.metricDataBuilderMap = new HashMap<>();
@@ -286,6 +295,11 @@ public final class JobStateManager {
       taskGroupState.setState(newState);
       metric.put("ToState", newState);
       endMeasurement(taskGroupId, metric);
+      final Long startTimeNs = taskGroupIdToStartTimeNs.remove(taskGroupId);
+      if (startTimeNs != null) {
+        stageIdToTaskGroupExecutionTimesNs.computeIfAbsent(stageId, id -> new HashMap<>())
+            .put(taskGroupId, System.nanoTime() - startTimeNs);
+      }
 
       if (stageIdToRemainingTaskGroupSet.containsKey(stageId)) {
         final Set<String> remainingTaskGroups = stageIdToRemainingTaskGroupSet.get(stageId);
@@ -304,8 +318,10 @@ public final class JobStateManager {
       taskGroupState.setState(newState);
       metric.put("FromState", newState);
       beginMeasurement(taskGroupId, metric);
+      taskGroupIdToStartTimeNs.put(taskGroupId, System.nanoTime());
       break;
     case FAILED_RECOVERABLE:
+      taskGroupIdToStartTimeNs.remove(taskGroupId);
       // Multiple calls to set a task group's state to failed_recoverable can occur when
       // a task group is made failed_recoverable early by another task group's failure detection in the same stage
       // and the task group finds itself failed_recoverable later, propagating the state change event only then.
@@ -334,6 +350,7 @@ public final class JobStateManager {
       taskGroupState.setState(newState);
       break;
     case FAILED_UNRECOVERABLE:
+      taskGroupIdToStartTimeNs.remove(taskGroupId);
       taskGroupState.setState(newState);
       metric.put("ToState", newState);
       endMeasurement(taskGroupId, metric);
@@ -343,6 +360,36 @@ public final class JobStateManager {
     }
   }
 
+  /**
+   * Finds the straggler task groups, which have been executing for much longer than the other task groups of
+   * their stages. The task groups of a stage are checked once the given fraction of them is complete,
+   * and a task group is a straggler if it has been executing for longer than the given multiple of
+   * the median execution time of the complete task groups of its stage.
+   *
+   * @param quantile   the fraction of the task groups of a stage which must be complete.
+   * @param multiplier the multiple of the median execution time.
+   * @return the IDs of the straggler task groups.
+   */
+  public synchronized List<String> getStragglerTaskGroupIds(final double quantile, final double multiplier) {
+    final long currentTimeNs = System.nanoTime();
+    final List<String> stragglerTaskGroupIds = new ArrayList<>();
+    for (final PhysicalStage stage : physicalPlan.getStageDAG().getVertices()) {
+      final Map<String, Long> executionTimesNs = stageIdToTaskGroupExecutionTimesNs.get(stage.getId());
+      if (executionTimesNs == null || executionTimesNs.size() < quantile * stage.getTaskGroupIds().size()) {
+        continue;
+      }
+      final List<Long> sortedExecutionTimesNs = new ArrayList<>(executionTimesNs.values());
+      Collections.sort(sortedExecutionTimesNs);
+      final long medianExecutionTimeNs = sortedExecutionTimesNs.get(sortedExecutionTimesNs.size() / 2);
+      stage.getTaskGroupIds().stream()
+          .filter(taskGroupIdToStartTimeNs::containsKey)
+          .filter(taskGroupId ->
+              currentTimeNs - taskGroupIdToStartTimeNs.get(taskGroupId) > multiplier * medianExecutionTimeNs)
+          .forEach(stragglerTaskGroupIds::add);
+    }
+    return stragglerTaskGroupIds;
+  }
+
   public synchronized boolean checkStageCompletion(final String stageId) {
     return stageIdToRemainingTaskGroupSet.get(stageId).isEmpty();
   }
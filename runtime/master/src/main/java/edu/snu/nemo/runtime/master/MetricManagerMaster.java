@@ -17,10 +17,13 @@ package edu.snu.nemo.runtime.master;
 
 import javax.inject.Inject;
 
+import edu.snu.nemo.runtime.common.metric.MetricHistograms;
+import org.HdrHistogram.Histogram;
 import org.apache.reef.annotations.audience.DriverSide;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -28,17 +31,21 @@ import java.util.Map;
 
 /**
  * A default metric message handler.
+ * The histograms of a metric received from the executors are merged into a single histogram,
+ * whose percentiles are logged when the handler terminates.
  */
 @DriverSide
 public final class MetricManagerMaster implements MetricMessageHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(MetricManagerMaster.class.getName());
   private final Map<String, List<String>> compUnitIdToMetricInJson;
+  private final Map<MetricHistograms.Metric, Histogram> metricToHistogram;
   private boolean isTerminated;
 
   @Inject
   private MetricManagerMaster() {
     this.compUnitIdToMetricInJson = new HashMap<>();
+    this.metricToHistogram = new EnumMap<>(MetricHistograms.Metric.class);
     this.isTerminated = false;
   }
 
@@ -56,11 +63,29 @@ public final class MetricManagerMaster implements MetricMessageHandler {
     return compUnitIdToMetricInJson.get(metricKey);
   }
 
+  @Override
+  public synchronized void onMetricHistogramReceived(final MetricHistograms.Metric metric,
+                                                     final Histogram histogram) {
+    if (!isTerminated) {
+      metricToHistogram.computeIfAbsent(metric, m -> MetricHistograms.newHistogram()).add(histogram);
+    }
+  }
+
+  @Override
+  public synchronized Histogram getMetricHistogram(final MetricHistograms.Metric metric) {
+    return metricToHistogram.getOrDefault(metric, MetricHistograms.newHistogram()).copy();
+  }
+
   @Override
   public synchronized void terminate() {
     compUnitIdToMetricInJson.forEach((compUnitId, metricList) ->
         LOG.info("{\"computationUnitId\":\"{}\", \"metricList\":{}}", compUnitId, metricList));
     compUnitIdToMetricInJson.clear();
+    metricToHistogram.forEach((metric, histogram) ->
+        LOG.info("{\"metric\":\"{}\", \"count\":{}, \"mean\":{}, \"p50\":{}, \"p99\":{}, \"p999\":{}, \"max\":{}}",
+            metric, histogram.getTotalCount(), (long) histogram.getMean(), histogram.getValueAtPercentile(50),
+            histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMaxValue()));
+    metricToHistogram.clear();
     isTerminated = true;
   }
 }
@@ -15,6 +15,8 @@
  */
 package edu.snu.nemo.runtime.master;
 
+import edu.snu.nemo.runtime.common.metric.MetricHistograms;
+import org.HdrHistogram.Histogram;
 import org.apache.reef.tang.annotations.DefaultImplementation;
 
 import java.util.List;
@@ -39,6 +41,20 @@ public interface MetricMessageHandler {
    */
   List<String> getMetricByKey(final String metricKey);
 
+  /**
+   * Handle the received histogram of a metric, which is merged into the histogram of the metric.
+   * @param metric the metric.
+   * @param histogram the histogram of the values recorded by an executor.
+   */
+  void onMetricHistogramReceived(final MetricHistograms.Metric metric, final Histogram histogram);
+
+  /**
+   * Retrieves the histogram of a metric, merged from all executors.
+   * @param metric to retrieve the histogram for
+   * @return the histogram of the metric (empty if no value is received)
+   */
+  Histogram getMetricHistogram(final MetricHistograms.Metric metric);
+
   /**
    * Cleans up and terminates this handler.
    */
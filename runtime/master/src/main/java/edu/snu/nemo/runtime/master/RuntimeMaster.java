@@ -23,6 +23,7 @@ import edu.snu.nemo.runtime.common.comm.ControlMessage;
 import edu.snu.nemo.runtime.common.message.MessageContext;
 import edu.snu.nemo.runtime.common.message.MessageEnvironment;
 import edu.snu.nemo.runtime.common.message.MessageListener;
+import edu.snu.nemo.runtime.common.metric.MetricHistograms;
 import edu.snu.nemo.runtime.common.plan.physical.PhysicalPlan;
 import edu.snu.nemo.runtime.common.state.BlockState;
 import edu.snu.nemo.runtime.common.state.TaskGroupState;
@@ -294,6 +295,10 @@ public final class RuntimeMaster {
       final List<ControlMessage.Metric> metricList = message.getMetricMsg().getMetricList();
       metricList.forEach(metric ->
           metricMessageHandler.onMetricMessageReceived(metric.getMetricKey(), metric.getMetricValue()));
+      message.getMetricMsg().getMetricHistogramList().forEach(metricHistogram ->
+          metricMessageHandler.onMetricHistogramReceived(
+              MetricHistograms.Metric.valueOf(metricHistogram.getMetric()),
+              MetricHistograms.decode(metricHistogram.getHistogram().toByteArray())));
       break;
     default:
       throw new IllegalMessageException(
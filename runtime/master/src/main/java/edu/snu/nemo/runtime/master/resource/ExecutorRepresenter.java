@@ -23,9 +23,13 @@ import edu.snu.nemo.runtime.common.message.MessageSender;
 import edu.snu.nemo.runtime.common.plan.physical.ScheduledTaskGroup;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.reef.driver.context.ActiveContext;
+import org.apache.reef.driver.evaluator.EvaluatorDescriptor;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -43,9 +47,11 @@ public final class ExecutorRepresenter {
   private final Set<String> runningTaskGroups;
   private final Set<String> completeTaskGroups;
   private final Set<String> failedTaskGroups;
+  private final Set<String> stageIdsSent;
   private final MessageSender<ControlMessage.Message> messageSender;
   private final ActiveContext activeContext;
   private final ExecutorService serializationExecutorService;
+  private final String nodeName;
 
   public ExecutorRepresenter(final String executorId,
                              final ResourceSpecification resourceSpecification,
@@ -58,8 +64,22 @@ public final class ExecutorRepresenter {
     this.runningTaskGroups = new HashSet<>();
     this.completeTaskGroups = new HashSet<>();
     this.failedTaskGroups = new HashSet<>();
+    this.stageIdsSent = ConcurrentHashMap.newKeySet();
     this.activeContext = activeContext;
     this.serializationExecutorService = serializationExecutorService;
+    this.nodeName = getNodeName(activeContext);
+  }
+
+  /**
+   * @param activeContext the context of the executor.
+   * @return the host name of the node which the executor runs on, or {@code null} if it is unknown.
+   */
+  private static String getNodeName(final ActiveContext activeContext) {
+    final EvaluatorDescriptor evaluatorDescriptor = activeContext.getEvaluatorDescriptor();
+    if (evaluatorDescriptor == null || evaluatorDescriptor.getNodeDescriptor() == null) {
+      return null;
+    }
+    return evaluatorDescriptor.getNodeDescriptor().getInetSocketAddress().getHostName();
   }
 
   public void onExecutorFailed() {
@@ -71,24 +91,54 @@ public final class ExecutorRepresenter {
     runningTaskGroups.add(scheduledTaskGroup.getTaskGroupId());
     failedTaskGroups.remove(scheduledTaskGroup.getTaskGroupId());
 
+    // The stage of the task group is shipped only once to this executor, which caches it.
+    final boolean isStageSent = !stageIdsSent.add(
+        RuntimeIdGenerator.getStageIdFromTaskGroupId(scheduledTaskGroup.getTaskGroupId()));
     serializationExecutorService.submit(new Runnable() {
       @Override
       public void run() {
-        final byte[] serialized = SerializationUtils.serialize(scheduledTaskGroup);
         sendControlMessage(
             ControlMessage.Message.newBuilder()
                 .setId(RuntimeIdGenerator.generateMessageId())
                 .setListenerId(MessageEnvironment.EXECUTOR_MESSAGE_LISTENER_ID)
                 .setType(ControlMessage.MessageType.ScheduleTaskGroup)
-                .setScheduleTaskGroupMsg(
-                    ControlMessage.ScheduleTaskGroupMsg.newBuilder()
-                        .setTaskGroup(ByteString.copyFrom(serialized))
-                        .build())
+                .setScheduleTaskGroupMsg(encodeScheduledTaskGroup(scheduledTaskGroup, isStageSent))
                 .build());
       }
     });
   }
 
+  /**
+   * Encodes a task group to launch.
+   * The stage-wide information, such as the task group DAG and the stage edges, is included
+   * only if it was not sent to this executor before.
+   * @param scheduledTaskGroup the task group to encode.
+   * @param isStageSent        whether the stage of the task group was sent to this executor before.
+   * @return the encoded message.
+   */
+  private static ControlMessage.ScheduleTaskGroupMsg encodeScheduledTaskGroup(
+      final ScheduledTaskGroup scheduledTaskGroup, final boolean isStageSent) {
+    final ControlMessage.ScheduleTaskGroupMsg.Builder builder = ControlMessage.ScheduleTaskGroupMsg.newBuilder()
+        .setJobId(scheduledTaskGroup.getJobId())
+        .setTaskGroupId(scheduledTaskGroup.getTaskGroupId())
+        .setAttemptIdx(scheduledTaskGroup.getAttemptIdx())
+        .setContainerType(scheduledTaskGroup.getContainerType());
+    if (!isStageSent) {
+      builder.setStage(ControlMessage.TaskGroupStageMsg.newBuilder()
+          .setSerializedTaskGroupDag(ByteString.copyFrom(scheduledTaskGroup.getSerializedTaskGroupDag()))
+          .setIncomingEdges(ByteString.copyFrom(SerializationUtils.serialize(
+              new ArrayList<>(scheduledTaskGroup.getTaskGroupIncomingEdges()))))
+          .setOutgoingEdges(ByteString.copyFrom(SerializationUtils.serialize(
+              new ArrayList<>(scheduledTaskGroup.getTaskGroupOutgoingEdges()))))
+          .build());
+    }
+    if (!scheduledTaskGroup.getLogicalTaskIdToReadable().isEmpty()) {
+      builder.setLogicalTaskIdToReadable(ByteString.copyFrom(SerializationUtils.serialize(
+          new HashMap<>(scheduledTaskGroup.getLogicalTaskIdToReadable()))));
+    }
+    return builder.build();
+  }
+
   public void sendControlMessage(final ControlMessage.Message message) {
     messageSender.send(message);
   }
@@ -103,6 +153,24 @@ public final class ExecutorRepresenter {
     failedTaskGroups.add(taskGroupId);
   }
 
+  /**
+   * Cancels a copy of a task group running in this executor, as another copy of it has completed.
+   * @param taskGroupId the ID of the task group to cancel.
+   */
+  public void onTaskGroupCancelled(final String taskGroupId) {
+    runningTaskGroups.remove(taskGroupId);
+    sendControlMessage(
+        ControlMessage.Message.newBuilder()
+            .setId(RuntimeIdGenerator.generateMessageId())
+            .setListenerId(MessageEnvironment.EXECUTOR_MESSAGE_LISTENER_ID)
+            .setType(ControlMessage.MessageType.CancelTaskGroup)
+            .setCancelTaskGroupMsg(
+                ControlMessage.CancelTaskGroupMsg.newBuilder()
+                    .setTaskGroupId(taskGroupId)
+                    .build())
+            .build());
+  }
+
   public int getExecutorCapacity() {
     return resourceSpecification.getCapacity();
   }
@@ -123,6 +191,13 @@ public final class ExecutorRepresenter {
     return resourceSpecification.getContainerType();
   }
 
+  /**
+   * @return the host name of the node which the executor runs on, or {@code null} if it is unknown.
+   */
+  public String getNodeName() {
+    return nodeName;
+  }
+
   public void shutDown() {
     activeContext.close();
   }
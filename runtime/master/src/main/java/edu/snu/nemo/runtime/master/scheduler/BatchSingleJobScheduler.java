@@ -16,6 +16,7 @@
 package edu.snu.nemo.runtime.master.scheduler;
 
 import edu.snu.nemo.common.Pair;
+import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.eventhandler.PubSubEventHandlerWrapper;
 import edu.snu.nemo.common.ir.Readable;
@@ -31,11 +32,15 @@ import edu.snu.nemo.runtime.common.state.TaskGroupState;
 import edu.snu.nemo.runtime.master.BlockManagerMaster;
 import edu.snu.nemo.runtime.master.JobStateManager;
 import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.tang.annotations.Parameter;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -45,11 +50,15 @@ import static edu.snu.nemo.runtime.common.state.TaskGroupState.State.ON_HOLD;
 /**
  * BatchSingleJobScheduler receives a single {@link PhysicalPlan} to execute and schedules the TaskGroups.
  * The policy by which it schedules them is dependent on the implementation of {@link SchedulingPolicy}.
+ *
+ * If speculation is enabled, it periodically looks for the straggler TaskGroups and schedules a copy of each of them.
+ * The first copy of a TaskGroup to complete is taken, and the other copy is cancelled.
  */
 @DriverSide
 public final class BatchSingleJobScheduler implements Scheduler {
   private static final Logger LOG = LoggerFactory.getLogger(BatchSingleJobScheduler.class.getName());
   private static final int SCHEDULE_ATTEMPT_ON_CONTAINER_FAILURE = Integer.MAX_VALUE;
+  private static final long SPECULATION_INTERVAL_MS = 1000;
 
   /**
    * Components related to scheduling the given job.
@@ -64,6 +73,30 @@ public final class BatchSingleJobScheduler implements Scheduler {
   private final BlockManagerMaster blockManagerMaster;
   private final PubSubEventHandlerWrapper pubSubEventHandlerWrapper;
 
+  /**
+   * Components related to speculative execution.
+   */
+  private final boolean speculation;
+  private final double speculationQuantile;
+  private final double speculationMultiplier;
+  private final ScheduledExecutorService speculationExecutorService;
+
+  /**
+   * The last ScheduledTaskGroup enqueued for each TaskGroup, to schedule a speculative copy of it.
+   */
+  private final Map<String, ScheduledTaskGroup> taskGroupIdToScheduledTaskGroup;
+
+  /**
+   * The number of running copies of each speculated TaskGroup, including the original one.
+   */
+  private final Map<String, Integer> taskGroupIdToNumRunningCopies;
+
+  /**
+   * The executors where a copy of each TaskGroup has been cancelled.
+   * The state changes of the cancelled copies are ignored.
+   */
+  private final Map<String, Set<String>> taskGroupIdToCancelledExecutorIds;
+
   /**
    * The below variables depend on the submitted job to execute.
    */
@@ -77,12 +110,22 @@ public final class BatchSingleJobScheduler implements Scheduler {
                                  final PendingTaskGroupQueue pendingTaskGroupQueue,
                                  final BlockManagerMaster blockManagerMaster,
                                  final PubSubEventHandlerWrapper pubSubEventHandlerWrapper,
-                                 final UpdatePhysicalPlanEventHandler updatePhysicalPlanEventHandler) {
+                                 final UpdatePhysicalPlanEventHandler updatePhysicalPlanEventHandler,
+                                 @Parameter(JobConf.Speculation.class) final boolean speculation,
+                                 @Parameter(JobConf.SpeculationQuantile.class) final double speculationQuantile,
+                                 @Parameter(JobConf.SpeculationMultiplier.class) final double speculationMultiplier) {
     this.schedulingPolicy = schedulingPolicy;
     this.schedulerRunner = schedulerRunner;
     this.pendingTaskGroupQueue = pendingTaskGroupQueue;
     this.blockManagerMaster = blockManagerMaster;
     this.pubSubEventHandlerWrapper = pubSubEventHandlerWrapper;
+    this.speculation = speculation;
+    this.speculationQuantile = speculationQuantile;
+    this.speculationMultiplier = speculationMultiplier;
+    this.speculationExecutorService = Executors.newSingleThreadScheduledExecutor();
+    this.taskGroupIdToScheduledTaskGroup = new HashMap<>();
+    this.taskGroupIdToNumRunningCopies = new HashMap<>();
+    this.taskGroupIdToCancelledExecutorIds = new HashMap<>();
     updatePhysicalPlanEventHandler.setScheduler(this);
     if (pubSubEventHandlerWrapper.getPubSubEventHandler() != null) {
       pubSubEventHandlerWrapper.getPubSubEventHandler()
@@ -111,6 +154,11 @@ public final class BatchSingleJobScheduler implements Scheduler {
         .min().getAsInt();
 
     scheduleRootStages();
+
+    if (speculation) {
+      speculationExecutorService.scheduleWithFixedDelay(this::speculateStragglers,
+          SPECULATION_INTERVAL_MS, SPECULATION_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
   }
 
   @Override
@@ -140,15 +188,28 @@ public final class BatchSingleJobScheduler implements Scheduler {
                                       final int attemptIdx,
                                       @Nullable final String taskPutOnHold,
                                       final TaskGroupState.RecoverableFailureCause failureCause) {
+    if (isCancelledCopy(executorId, taskGroupId)) {
+      LOG.info("Ignoring {} of {} in {}, whose copy has been cancelled",
+          new Object[]{newState, taskGroupId, executorId});
+      return;
+    }
+
     switch (newState) {
     case COMPLETE:
+      cancelOtherCopies(executorId, taskGroupId);
       jobStateManager.onTaskGroupStateChanged(taskGroupId, newState);
       onTaskGroupExecutionComplete(executorId, taskGroupId);
       break;
     case FAILED_RECOVERABLE:
-      onTaskGroupExecutionFailedRecoverable(executorId, taskGroupId, attemptIdx, newState, failureCause);
+      if (onCopyFailed(taskGroupId)) {
+        LOG.info("{} failed in {}, but another copy of it is running", taskGroupId, executorId);
+        schedulingPolicy.onTaskGroupExecutionFailed(executorId, taskGroupId);
+      } else {
+        onTaskGroupExecutionFailedRecoverable(executorId, taskGroupId, attemptIdx, newState, failureCause);
+      }
       break;
     case ON_HOLD:
+      cancelOtherCopies(executorId, taskGroupId);
       jobStateManager.onTaskGroupStateChanged(taskGroupId, newState);
       onTaskGroupExecutionOnHold(executorId, taskGroupId, taskPutOnHold);
       break;
@@ -163,6 +224,69 @@ public final class BatchSingleJobScheduler implements Scheduler {
     }
   }
 
+  /**
+   * Schedules a speculative copy of each straggler task group which does not have a copy yet.
+   */
+  private synchronized void speculateStragglers() {
+    try {
+      if (jobStateManager.checkJobTermination()) {
+        return;
+      }
+      for (final String taskGroupId
+          : jobStateManager.getStragglerTaskGroupIds(speculationQuantile, speculationMultiplier)) {
+        final ScheduledTaskGroup scheduledTaskGroup = taskGroupIdToScheduledTaskGroup.get(taskGroupId);
+        if (scheduledTaskGroup == null || taskGroupIdToNumRunningCopies.containsKey(taskGroupId)) {
+          continue;
+        }
+        final Optional<String> executorId = schedulingPolicy.scheduleTaskGroupCopy(scheduledTaskGroup);
+        if (executorId.isPresent()) {
+          LOG.info("Speculating straggler {} in {}", taskGroupId, executorId.get());
+          taskGroupIdToNumRunningCopies.put(taskGroupId, 2);
+        }
+      }
+    } catch (final RuntimeException e) {
+      // Not to stop the periodic speculation.
+      LOG.warn("Failed to speculate the stragglers", e);
+    }
+  }
+
+  /**
+   * @param executorId  the ID of the executor.
+   * @param taskGroupId the ID of the task group.
+   * @return whether the copy of the task group in the executor has been cancelled.
+   */
+  private synchronized boolean isCancelledCopy(final String executorId, final String taskGroupId) {
+    final Set<String> cancelledExecutorIds = taskGroupIdToCancelledExecutorIds.get(taskGroupId);
+    return cancelledExecutorIds != null && cancelledExecutorIds.contains(executorId);
+  }
+
+  /**
+   * Cancels the other copies of a task group, as a copy of it has completed.
+   * @param executorId  the ID of the executor where the task group has completed.
+   * @param taskGroupId the ID of the task group.
+   */
+  private synchronized void cancelOtherCopies(final String executorId, final String taskGroupId) {
+    if (taskGroupIdToNumRunningCopies.remove(taskGroupId) != null) {
+      final Set<String> cancelledExecutorIds = schedulingPolicy.cancelTaskGroupCopies(taskGroupId, executorId);
+      taskGroupIdToCancelledExecutorIds.computeIfAbsent(taskGroupId, id -> new HashSet<>())
+          .addAll(cancelledExecutorIds);
+    }
+  }
+
+  /**
+   * Counts down the running copies of a task group, as a copy of it has failed.
+   * @param taskGroupId the ID of the task group.
+   * @return whether another copy of the task group is still running.
+   */
+  private synchronized boolean onCopyFailed(final String taskGroupId) {
+    final Integer numRunningCopies = taskGroupIdToNumRunningCopies.remove(taskGroupId);
+    if (numRunningCopies != null && numRunningCopies > 1) {
+      taskGroupIdToNumRunningCopies.put(taskGroupId, numRunningCopies - 1);
+      return true;
+    }
+    return false;
+  }
+
   /**
    * Action after task group execution has been completed, not after it has been put on hold.
    *
@@ -470,6 +594,8 @@ public final class BatchSingleJobScheduler implements Scheduler {
         case FAILED_RECOVERABLE:
           LOG.info("Re-scheduling {} for failure recovery", taskGroupId);
           jobStateManager.onTaskGroupStateChanged(taskGroupId, TaskGroupState.State.READY);
+          taskGroupIdToNumRunningCopies.remove(taskGroupId);
+          taskGroupIdToCancelledExecutorIds.remove(taskGroupId);
           taskGroupIdsToSchedule.add(taskGroupId);
           break;
         case ON_HOLD:
@@ -496,9 +622,13 @@ public final class BatchSingleJobScheduler implements Scheduler {
       blockManagerMaster.onProducerTaskGroupScheduled(taskGroupId);
       final int taskGroupIdx = RuntimeIdGenerator.getIndexFromTaskGroupId(taskGroupId);
       LOG.debug("Enquing {}", taskGroupId);
-      pendingTaskGroupQueue.enqueue(new ScheduledTaskGroup(physicalPlan.getId(),
+      final ScheduledTaskGroup scheduledTaskGroup = new ScheduledTaskGroup(physicalPlan.getId(),
           stageToSchedule.getSerializedTaskGroupDag(), taskGroupId, stageIncomingEdges, stageOutgoingEdges, attemptIdx,
-          stageToSchedule.getContainerType(), logicalTaskIdToReadables.get(taskGroupIdx)));
+          stageToSchedule.getContainerType(), logicalTaskIdToReadables.get(taskGroupIdx));
+      if (speculation) {
+        taskGroupIdToScheduledTaskGroup.put(taskGroupId, scheduledTaskGroup);
+      }
+      pendingTaskGroupQueue.enqueue(scheduledTaskGroup);
     });
   }
 
@@ -528,6 +658,6 @@ public final class BatchSingleJobScheduler implements Scheduler {
 
   @Override
   public void terminate() {
-    // nothing to do yet.
+    speculationExecutorService.shutdownNow();
   }
 }
@@ -0,0 +1,395 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.runtime.master.scheduler;
+
+import edu.snu.nemo.common.exception.SchedulingException;
+import edu.snu.nemo.common.ir.Readable;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataCommunicationPatternProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DuplicateEdgeGroupPropertyValue;
+import edu.snu.nemo.common.ir.executionproperty.ExecutionProperty;
+import edu.snu.nemo.common.ir.vertex.executionproperty.ExecutorPlacementProperty;
+import edu.snu.nemo.conf.JobConf;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.plan.physical.PhysicalStageEdge;
+import edu.snu.nemo.runtime.common.plan.physical.ScheduledTaskGroup;
+import edu.snu.nemo.runtime.common.state.TaskGroupState;
+import edu.snu.nemo.runtime.master.BlockManagerMaster;
+import edu.snu.nemo.runtime.master.JobStateManager;
+import edu.snu.nemo.runtime.master.resource.ContainerManager;
+import edu.snu.nemo.runtime.master.resource.ExecutorRepresenter;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.tang.annotations.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * {@inheritDoc}
+ * A locality-aware implementation used by {@link BatchSingleJobScheduler}.
+ *
+ * This policy prefers the executors which hold the input blocks of a task group,
+ * and the executors on the nodes where the {@link Readable}s of a task group prefer to read.
+ * When every preferred executor is busy, it waits for one of them to have a free slot (delay scheduling),
+ * but only up to the locality wait. Afterwards, or when no executor is preferred,
+ * the task group is assigned to any available executor in a round-robin manner.
+ */
+@ThreadSafe
+@DriverSide
+public final class LocalitySchedulingPolicy implements SchedulingPolicy {
+  private static final Logger LOG = LoggerFactory.getLogger(LocalitySchedulingPolicy.class.getName());
+
+  private final ContainerManager containerManager;
+  private final BlockManagerMaster blockManagerMaster;
+
+  private final int scheduleTimeoutMs;
+  private final int localityWaitMs;
+
+  /**
+   * Thread safety is provided by this lock as multiple threads can call the methods in this class concurrently.
+   */
+  private final Lock lock;
+
+  /**
+   * Signaled when a slot becomes free or an executor is added.
+   */
+  private final Condition freeSlotCondition;
+
+  /**
+   * The ids of the available executors, in the order they were added.
+   */
+  private final List<String> executorIds;
+
+  /**
+   * A copy of {@link ContainerManager#executorRepresenterMap}.
+   * This cached copy is updated when an executor is added or removed.
+   */
+  private final Map<String, ExecutorRepresenter> executorRepresenterMap;
+
+  /**
+   * The index of the next executor to be assigned when the locality is not considered.
+   */
+  private int nextExecutorIndex;
+
+  @Inject
+  public LocalitySchedulingPolicy(final ContainerManager containerManager,
+                                  final BlockManagerMaster blockManagerMaster,
+                                  @Parameter(JobConf.SchedulerTimeoutMs.class) final int scheduleTimeoutMs,
+                                  @Parameter(JobConf.LocalityWaitMs.class) final int localityWaitMs) {
+    this.containerManager = containerManager;
+    this.blockManagerMaster = blockManagerMaster;
+    this.scheduleTimeoutMs = scheduleTimeoutMs;
+    this.localityWaitMs = localityWaitMs;
+    this.lock = new ReentrantLock();
+    this.freeSlotCondition = lock.newCondition();
+    this.executorIds = new ArrayList<>();
+    this.executorRepresenterMap = new HashMap<>();
+    this.nextExecutorIndex = 0;
+  }
+
+  @Override
+  public long getScheduleTimeoutMs() {
+    return scheduleTimeoutMs;
+  }
+
+  @Override
+  public boolean scheduleTaskGroup(final ScheduledTaskGroup scheduledTaskGroup,
+                                   final JobStateManager jobStateManager) {
+    // The locations are looked up before taking the lock, not to block the other methods of this policy.
+    final Map<String, Integer> preferredExecutorToScore = getPreferredExecutors(scheduledTaskGroup);
+    final String containerType = scheduledTaskGroup.getContainerType();
+    final long startTimeMs = System.currentTimeMillis();
+
+    lock.lock();
+    try {
+      while (true) {
+        final List<ExecutorRepresenter> candidates = getCandidateExecutors(containerType);
+        final Optional<ExecutorRepresenter> preferredExecutor = candidates.stream()
+            .filter(executor -> hasFreeSlot(executor) && preferredExecutorToScore.containsKey(executor.getExecutorId()))
+            .max(Comparator.comparingInt(executor -> preferredExecutorToScore.get(executor.getExecutorId())));
+        if (preferredExecutor.isPresent()) {
+          scheduleTaskGroup(preferredExecutor.get(), scheduledTaskGroup, jobStateManager);
+          return true;
+        }
+
+        final long elapsedMs = System.currentTimeMillis() - startTimeMs;
+        // Delay scheduling only if a preferred executor can run this task group once it has a free slot.
+        final boolean waitForLocality = elapsedMs < localityWaitMs && candidates.stream()
+            .anyMatch(executor -> preferredExecutorToScore.containsKey(executor.getExecutorId()));
+        if (!waitForLocality) {
+          final Optional<ExecutorRepresenter> anyExecutor = selectExecutorByRR(candidates);
+          if (anyExecutor.isPresent()) {
+            scheduleTaskGroup(anyExecutor.get(), scheduledTaskGroup, jobStateManager);
+            return true;
+          }
+        }
+
+        if (elapsedMs >= scheduleTimeoutMs) {
+          return false;
+        }
+        final long waitMs = waitForLocality
+            ? Math.min(localityWaitMs, scheduleTimeoutMs) - elapsedMs
+            : scheduleTimeoutMs - elapsedMs;
+        freeSlotCondition.await(waitMs, TimeUnit.MILLISECONDS);
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SchedulingException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<String> scheduleTaskGroupCopy(final ScheduledTaskGroup scheduledTaskGroup) {
+    final Map<String, Integer> preferredExecutorToScore = getPreferredExecutors(scheduledTaskGroup);
+    final String taskGroupId = scheduledTaskGroup.getTaskGroupId();
+
+    lock.lock();
+    try {
+      final List<ExecutorRepresenter> candidates = getCandidateExecutors(scheduledTaskGroup.getContainerType())
+          .stream()
+          .filter(executor -> !executor.getRunningTaskGroups().contains(taskGroupId))
+          .collect(Collectors.toList());
+      Optional<ExecutorRepresenter> executor = candidates.stream()
+          .filter(candidate -> hasFreeSlot(candidate)
+              && preferredExecutorToScore.containsKey(candidate.getExecutorId()))
+          .max(Comparator.comparingInt(candidate -> preferredExecutorToScore.get(candidate.getExecutorId())));
+      if (!executor.isPresent()) {
+        executor = selectExecutorByRR(candidates);
+      }
+      executor.ifPresent(selected -> {
+        LOG.info("Scheduling a copy of {} to {}", taskGroupId, selected.getExecutorId());
+        selected.onTaskGroupScheduled(scheduledTaskGroup);
+      });
+      return executor.map(ExecutorRepresenter::getExecutorId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Scores the executors by the locality of the input of a task group.
+   * An executor gets a point for each input block it holds,
+   * and for each {@link Readable} which prefers to read on the node of the executor.
+   *
+   * @param scheduledTaskGroup the task group to schedule.
+   * @return the map between the ids of the preferred executors and their scores.
+   */
+  private Map<String, Integer> getPreferredExecutors(final ScheduledTaskGroup scheduledTaskGroup) {
+    final Map<String, Integer> executorToScore = new HashMap<>();
+    for (final PhysicalStageEdge edge : scheduledTaskGroup.getTaskGroupIncomingEdges()) {
+      for (final String blockId : getInputBlockIds(edge, scheduledTaskGroup.getTaskGroupIdx())) {
+        blockManagerMaster.getCommittedLocation(blockId)
+            .ifPresent(location -> executorToScore.merge(location, 1, Integer::sum));
+      }
+    }
+
+    final Collection<Readable> readables = scheduledTaskGroup.getLogicalTaskIdToReadable().values();
+    if (!readables.isEmpty()) {
+      final Map<String, Integer> nodeToScore = new HashMap<>();
+      readables.forEach(readable -> ((List<String>) readable.getLocations())
+          .forEach(node -> nodeToScore.merge(node, 1, Integer::sum)));
+      if (!nodeToScore.isEmpty()) {
+        lock.lock();
+        try {
+          executorRepresenterMap.values().forEach(executor -> {
+            final Integer score = nodeToScore.get(executor.getNodeName());
+            if (score != null) {
+              executorToScore.merge(executor.getExecutorId(), score, Integer::sum);
+            }
+          });
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+    return executorToScore;
+  }
+
+  /**
+   * Gets the ids of the blocks which a task group reads through an edge.
+   *
+   * @param edge         the incoming edge of the task group.
+   * @param taskGroupIdx the index of the task group.
+   * @return the ids of the input blocks.
+   */
+  private static List<String> getInputBlockIds(final PhysicalStageEdge edge, final int taskGroupIdx) {
+    final DuplicateEdgeGroupPropertyValue duplicateDataProperty =
+        edge.getProperty(ExecutionProperty.Key.DuplicateEdgeGroup);
+    final String edgeId = duplicateDataProperty == null || duplicateDataProperty.getGroupSize() <= 1
+        ? edge.getId() : duplicateDataProperty.getRepresentativeEdgeId();
+    if (DataCommunicationPatternProperty.Value.OneToOne
+        .equals(edge.getProperty(ExecutionProperty.Key.DataCommunicationPattern))) {
+      return Collections.singletonList(RuntimeIdGenerator.generateBlockId(edgeId, taskGroupIdx));
+    }
+    final int numSrcTasks = edge.getSrcVertex().getProperty(ExecutionProperty.Key.Parallelism);
+    final List<String> blockIds = new ArrayList<>(numSrcTasks);
+    for (int srcTaskIdx = 0; srcTaskIdx < numSrcTasks; srcTaskIdx++) {
+      blockIds.add(RuntimeIdGenerator.generateBlockId(edgeId, srcTaskIdx));
+    }
+    return blockIds;
+  }
+
+  /**
+   * @param containerType the container type of the task group to schedule.
+   * @return the executors which can run a task group of the container type.
+   */
+  private List<ExecutorRepresenter> getCandidateExecutors(final String containerType) {
+    final List<ExecutorRepresenter> candidates = new ArrayList<>();
+    for (final String executorId : executorIds) {
+      final ExecutorRepresenter executor = executorRepresenterMap.get(executorId);
+      if (containerType.equals(ExecutorPlacementProperty.NONE)
+          || containerType.equals(executor.getContainerType())) {
+        candidates.add(executor);
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Selects an executor with a free slot in a round-robin manner.
+   *
+   * @param candidates the executors to select from.
+   * @return (optionally) the selected executor.
+   */
+  private Optional<ExecutorRepresenter> selectExecutorByRR(final List<ExecutorRepresenter> candidates) {
+    final int numExecutors = candidates.size();
+    for (int i = 0; i < numExecutors; i++) {
+      final ExecutorRepresenter executor = candidates.get((nextExecutorIndex + i) % numExecutors);
+      if (hasFreeSlot(executor)) {
+        nextExecutorIndex = (nextExecutorIndex + i + 1) % numExecutors;
+        return Optional.of(executor);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Schedules and sends a TaskGroup to the given executor.
+   *
+   * @param executor           the executor to execute the TaskGroup.
+   * @param scheduledTaskGroup to assign.
+   * @param jobStateManager    which the TaskGroup belongs to.
+   */
+  private void scheduleTaskGroup(final ExecutorRepresenter executor,
+                                 final ScheduledTaskGroup scheduledTaskGroup,
+                                 final JobStateManager jobStateManager) {
+    jobStateManager.onTaskGroupStateChanged(scheduledTaskGroup.getTaskGroupId(), TaskGroupState.State.EXECUTING);
+    LOG.info("Scheduling {} to {}", scheduledTaskGroup.getTaskGroupId(), executor.getExecutorId());
+    executor.onTaskGroupScheduled(scheduledTaskGroup);
+  }
+
+  private boolean hasFreeSlot(final ExecutorRepresenter executor) {
+    return executor.getRunningTaskGroups().size() < executor.getExecutorCapacity();
+  }
+
+  @Override
+  public void onExecutorAdded(final String executorId) {
+    lock.lock();
+    try {
+      updateCachedExecutorRepresenterMap();
+      executorIds.add(executorId);
+      freeSlotCondition.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Set<String> onExecutorRemoved(final String executorId) {
+    lock.lock();
+    try {
+      final ExecutorRepresenter executor = containerManager.getFailedExecutorRepresenterMap().get(executorId);
+      executorIds.remove(executorId);
+      nextExecutorIndex = 0;
+      updateCachedExecutorRepresenterMap();
+      return Collections.unmodifiableSet(executor.getRunningTaskGroups());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void updateCachedExecutorRepresenterMap() {
+    executorRepresenterMap.clear();
+    executorRepresenterMap.putAll(containerManager.getExecutorRepresenterMap());
+  }
+
+  @Override
+  public void onTaskGroupExecutionComplete(final String executorId, final String taskGroupId) {
+    lock.lock();
+    try {
+      final ExecutorRepresenter executor = executorRepresenterMap.get(executorId);
+      executor.onTaskGroupExecutionComplete(taskGroupId);
+      LOG.info("{" + taskGroupId + "} completed in [" + executorId + "]");
+
+      // the scheduler thread may be waiting for a free slot...
+      freeSlotCondition.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Set<String> cancelTaskGroupCopies(final String taskGroupId, final String executorIdToKeep) {
+    lock.lock();
+    try {
+      final Set<String> cancelledExecutorIds = new HashSet<>();
+      for (final ExecutorRepresenter executor : executorRepresenterMap.values()) {
+        if (!executor.getExecutorId().equals(executorIdToKeep)
+            && executor.getRunningTaskGroups().contains(taskGroupId)) {
+          executor.onTaskGroupCancelled(taskGroupId);
+          LOG.info("{" + taskGroupId + "} cancelled in [" + executor.getExecutorId() + "]");
+          cancelledExecutorIds.add(executor.getExecutorId());
+        }
+      }
+
+      // the scheduler thread may be waiting for a free slot...
+      freeSlotCondition.signalAll();
+      return cancelledExecutorIds;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void onTaskGroupExecutionFailed(final String executorId, final String taskGroupId) {
+    lock.lock();
+    try {
+      ExecutorRepresenter executor = executorRepresenterMap.get(executorId);
+
+      // When this method is called due to container failure and the executor has been moved to the failed map.
+      if (executor == null) {
+        executor = containerManager.getFailedExecutorRepresenterMap().get(executorId);
+      }
+
+      executor.onTaskGroupExecutionFailed(taskGroupId);
+      LOG.info("{" + taskGroupId + "} failed in [" + executorId + "]");
+
+      // the scheduler thread may be waiting for a free slot...
+      freeSlotCondition.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
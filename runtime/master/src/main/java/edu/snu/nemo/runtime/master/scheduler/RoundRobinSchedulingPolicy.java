@@ -105,17 +105,19 @@ public final class RoundRobinSchedulingPolicy implements SchedulingPolicy {
     lock.lock();
     try {
       final String containerType = scheduledTaskGroup.getContainerType();
+      final String taskGroupId = scheduledTaskGroup.getTaskGroupId();
       initializeContainerTypeIfAbsent(containerType);
 
-      Optional<String> executorId = selectExecutorByRR(containerType);
+      Optional<String> executorId = selectExecutorByRR(containerType, taskGroupId);
       if (!executorId.isPresent()) { // If there is no available executor to schedule this task group now,
         // TODO #696 Sleep Time Per Container Type in Scheduling Policy
         final boolean executorAvailable =
             conditionByContainerType.get(containerType).await(scheduleTimeoutMs, TimeUnit.MILLISECONDS);
         if (executorAvailable) { // if an executor has become available before scheduleTimeoutMs,
-          executorId = selectExecutorByRR(containerType);
+          executorId = selectExecutorByRR(containerType, taskGroupId);
           if (executorId.isPresent()) {
-            scheduleTaskGroup(selectExecutorByRR(containerType).get(), scheduledTaskGroup, jobStateManager);
+            scheduleTaskGroup(selectExecutorByRR(containerType, taskGroupId).get(), scheduledTaskGroup,
+                jobStateManager);
             return true;
           } else {
             throw new SchedulingException(new Throwable("An executor must be available at this point"));
@@ -133,14 +135,34 @@ public final class RoundRobinSchedulingPolicy implements SchedulingPolicy {
     }
   }
 
+  @Override
+  public Optional<String> scheduleTaskGroupCopy(final ScheduledTaskGroup scheduledTaskGroup) {
+    lock.lock();
+    try {
+      final String containerType = scheduledTaskGroup.getContainerType();
+      initializeContainerTypeIfAbsent(containerType);
+
+      final Optional<String> executorId = selectExecutorByRR(containerType, scheduledTaskGroup.getTaskGroupId());
+      executorId.ifPresent(id -> {
+        LOG.info("Scheduling a copy of {} to {}", scheduledTaskGroup.getTaskGroupId(), id);
+        executorRepresenterMap.get(id).onTaskGroupScheduled(scheduledTaskGroup);
+      });
+      return executorId;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
    * Sticks to the RR policy to select an executor for the next task group.
-   * It checks the task groups running (as compared to each executor's capacity).
+   * It checks the task groups running (as compared to each executor's capacity),
+   * and skips the executors already running a copy of the task group.
    *
    * @param containerType to select an executor for.
+   * @param taskGroupId   the ID of the task group to select an executor for.
    * @return (optionally) the selected executor.
    */
-  private Optional<String> selectExecutorByRR(final String containerType) {
+  private Optional<String> selectExecutorByRR(final String containerType, final String taskGroupId) {
     final List<String> candidateExecutorIds = (containerType.equals(ExecutorPlacementProperty.NONE))
         ? getAllContainers() // all containers
         : executorIdByContainerType.get(containerType); // containers of a particular type
@@ -153,7 +175,7 @@ public final class RoundRobinSchedulingPolicy implements SchedulingPolicy {
         final String selectedExecutorId = candidateExecutorIds.get(index);
 
         final ExecutorRepresenter executor = executorRepresenterMap.get(selectedExecutorId);
-        if (hasFreeSlot(executor)) {
+        if (hasFreeSlot(executor) && !executor.getRunningTaskGroups().contains(taskGroupId)) {
           nextExecutorIndex = (index + 1) % numExecutors;
           nextExecutorIndexByContainerType.put(containerType, nextExecutorIndex);
           return Optional.of(selectedExecutorId);
@@ -271,6 +293,28 @@ public final class RoundRobinSchedulingPolicy implements SchedulingPolicy {
     }
   }
 
+  @Override
+  public Set<String> cancelTaskGroupCopies(final String taskGroupId, final String executorIdToKeep) {
+    lock.lock();
+    try {
+      final Set<String> cancelledExecutorIds = new HashSet<>();
+      for (final ExecutorRepresenter executor : executorRepresenterMap.values()) {
+        if (!executor.getExecutorId().equals(executorIdToKeep)
+            && executor.getRunningTaskGroups().contains(taskGroupId)) {
+          executor.onTaskGroupCancelled(taskGroupId);
+          LOG.info("{" + taskGroupId + "} cancelled in [" + executor.getExecutorId() + "]");
+          cancelledExecutorIds.add(executor.getExecutorId());
+
+          // the scheduler thread may be waiting for a free slot...
+          signalPossiblyWaitingScheduler(executor.getContainerType());
+        }
+      }
+      return cancelledExecutorIds;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public void onTaskGroupExecutionFailed(final String executorId, final String taskGroupId) {
     lock.lock();
@@ -20,6 +20,7 @@ import edu.snu.nemo.runtime.master.JobStateManager;
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.tang.annotations.DefaultImplementation;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -46,6 +47,26 @@ public interface SchedulingPolicy {
    */
   boolean scheduleTaskGroup(final ScheduledTaskGroup scheduledTaskGroup, final JobStateManager jobStateManager);
 
+  /**
+   * Attempts to schedule a speculative copy of the given taskGroup, which is already executing in an executor.
+   * The copy is scheduled to an executor which has a free slot and is not running the taskGroup.
+   * It does not wait for an executor, and does not change the state of the taskGroup.
+   *
+   * @param scheduledTaskGroup to schedule a copy of.
+   * @return the id of the executor where the copy is scheduled, or an empty optional if there is no such executor.
+   */
+  Optional<String> scheduleTaskGroupCopy(ScheduledTaskGroup scheduledTaskGroup);
+
+  /**
+   * Cancels the copies of the taskGroup running in the executors other than the given one.
+   * Unlocks this policy to schedule a next taskGroup if locked.
+   *
+   * @param taskGroupId whose copies to cancel.
+   * @param executorIdToKeep of the executor where the copy to keep has completed.
+   * @return the ids of the executors where a copy has been cancelled.
+   */
+  Set<String> cancelTaskGroupCopies(String taskGroupId, String executorIdToKeep);
+
   /**
    * Adds the executorId to the pool of available executors.
    * Unlocks this policy to schedule a next taskGroup if locked.
@@ -27,8 +27,11 @@ import org.apache.reef.annotations.audience.DriverSide;
 
 import javax.inject.Inject;
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Keep tracks of all pending task groups.
@@ -36,177 +39,273 @@ import java.util.function.BiFunction;
  * Stages that are mutually independent alternate turns in scheduling each of their TaskGroups.
  * This PQ assumes that stages/task groups of higher priorities are never enqueued without first removing
  * those of lower priorities (which is how Scheduler behaves) for simplicity.
+ *
+ * The stages are indexed by their ids, and the ancestors and descendants of a stage are computed once and cached,
+ * so that every operation of this PQ takes time proportional to the number of related stages,
+ * not to the number of pending stages or task groups.
  */
 @ThreadSafe
 @DriverSide
 public final class SingleJobTaskGroupQueue implements PendingTaskGroupQueue {
+  /**
+   * Decrements a count, removing it when it reaches zero.
+   */
+  private static final BiFunction<String, Integer, Integer> DECREMENT =
+      (stageId, count) -> (count > 1) ? count - 1 : null;
+
   private PhysicalPlan physicalPlan;
 
+  /**
+   * Thread safety is provided by this lock, which guards every field below.
+   * Each critical section only touches the stages related to a single stage.
+   */
+  private final Lock lock;
+
+  /**
+   * Signaled when a stage becomes schedulable.
+   */
+  private final Condition schedulableStageAdded;
+
   /**
    * Pending TaskGroups awaiting to be scheduled for each stage.
    */
-  private final ConcurrentMap<String, Deque<ScheduledTaskGroup>> stageIdToPendingTaskGroups;
+  private final Map<String, Deque<ScheduledTaskGroup>> stageIdToPendingTaskGroups;
 
   /**
-   * Stages with TaskGroups that have not yet been scheduled.
+   * Stages with TaskGroups that can be scheduled now, in the order they take turns.
    */
-  private final BlockingDeque<String> schedulableStages;
+  private final LinkedHashSet<String> schedulableStageIds;
+
+  /**
+   * The number of schedulable descendant stages of the same container type, for each stage.
+   * A stage can be scheduled only when it has no such descendant.
+   */
+  private final Map<String, Integer> stageIdToNumSchedulableDescendants;
+
+  /**
+   * Cached ancestors of each stage of the same container type, and cached descendants of each stage.
+   */
+  private final Map<String, Set<String>> stageIdToSameTypeAncestorIds;
+  private final Map<String, Set<String>> stageIdToDescendantIds;
 
   @Inject
   public SingleJobTaskGroupQueue() {
-    stageIdToPendingTaskGroups = new ConcurrentHashMap<>();
-    schedulableStages = new LinkedBlockingDeque<>();
+    lock = new ReentrantLock();
+    schedulableStageAdded = lock.newCondition();
+    stageIdToPendingTaskGroups = new HashMap<>();
+    schedulableStageIds = new LinkedHashSet<>();
+    stageIdToNumSchedulableDescendants = new HashMap<>();
+    stageIdToSameTypeAncestorIds = new HashMap<>();
+    stageIdToDescendantIds = new HashMap<>();
   }
 
   @Override
   public void enqueue(final ScheduledTaskGroup scheduledTaskGroup) {
     final String stageId = RuntimeIdGenerator.getStageIdFromTaskGroupId(scheduledTaskGroup.getTaskGroupId());
 
-    synchronized (stageIdToPendingTaskGroups) {
-      stageIdToPendingTaskGroups.compute(stageId,
-          new BiFunction<String, Deque<ScheduledTaskGroup>, Deque<ScheduledTaskGroup>>() {
-            @Override
-            public Deque<ScheduledTaskGroup> apply(final String s,
-                                                   final Deque<ScheduledTaskGroup> scheduledTaskGroups) {
-              if (scheduledTaskGroups == null) {
-                final Deque<ScheduledTaskGroup> pendingTaskGroupsForStage = new ArrayDeque<>();
-                pendingTaskGroupsForStage.add(scheduledTaskGroup);
-                updateSchedulableStages(stageId, scheduledTaskGroup.getContainerType());
-                return pendingTaskGroupsForStage;
-              } else {
-                scheduledTaskGroups.add(scheduledTaskGroup);
-                return scheduledTaskGroups;
-              }
-            }
-          });
+    lock.lock();
+    try {
+      final Deque<ScheduledTaskGroup> pendingTaskGroupsForStage = stageIdToPendingTaskGroups.get(stageId);
+      if (pendingTaskGroupsForStage == null) {
+        final Deque<ScheduledTaskGroup> newPendingTaskGroupsForStage = new ArrayDeque<>();
+        newPendingTaskGroupsForStage.add(scheduledTaskGroup);
+        stageIdToPendingTaskGroups.put(stageId, newPendingTaskGroupsForStage);
+        updateSchedulableStages(stageId);
+      } else {
+        pendingTaskGroupsForStage.add(scheduledTaskGroup);
+      }
+    } finally {
+      lock.unlock();
     }
   }
 
   /**
    * Dequeues the next TaskGroup to be scheduled according to job dependency priority.
+   * It waits until there is a schedulable TaskGroup.
    * @return the next TaskGroup to be scheduled
    */
   @Override
   public Optional<ScheduledTaskGroup> dequeue() {
-    ScheduledTaskGroup taskGroupToSchedule = null;
-    final String stageId;
+    lock.lock();
     try {
-      stageId = schedulableStages.takeFirst();
-    } catch (InterruptedException e) {
-      e.printStackTrace();
-      throw new SchedulingException(new Throwable("An exception occurred while trying to dequeue the next TaskGroup"));
-    }
+      while (schedulableStageIds.isEmpty()) {
+        schedulableStageAdded.await();
+      }
 
-    synchronized (stageIdToPendingTaskGroups) {
+      final String stageId = schedulableStageIds.iterator().next();
       final Deque<ScheduledTaskGroup> pendingTaskGroupsForStage = stageIdToPendingTaskGroups.get(stageId);
-
-      if (pendingTaskGroupsForStage == null) {
-        schedulableStages.addLast(stageId);
+      final ScheduledTaskGroup taskGroupToSchedule = pendingTaskGroupsForStage.poll();
+      if (pendingTaskGroupsForStage.isEmpty()) {
+        stageIdToPendingTaskGroups.remove(stageId);
+        removeSchedulableStage(stageId);
+        onSchedulableStageRemoved(stageId);
       } else {
-        taskGroupToSchedule = pendingTaskGroupsForStage.poll();
-        if (pendingTaskGroupsForStage.isEmpty()) {
-          stageIdToPendingTaskGroups.remove(stageId);
-          stageIdToPendingTaskGroups.forEach((scheduledStageId, taskGroupList) ->
-              updateSchedulableStages(scheduledStageId, taskGroupList.getFirst().getContainerType()));
-        } else {
-          schedulableStages.addLast(stageId);
-        }
+        // The other schedulable stages take turns before the next TaskGroup of this stage.
+        schedulableStageIds.remove(stageId);
+        schedulableStageIds.add(stageId);
       }
+      return Optional.of(taskGroupToSchedule);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SchedulingException(new Throwable("An exception occurred while trying to dequeue the next TaskGroup"));
+    } finally {
+      lock.unlock();
     }
-
-    return (taskGroupToSchedule == null) ? Optional.empty()
-        : Optional.of(taskGroupToSchedule);
   }
 
   /**
    * Removes a stage and its descendant stages from this PQ.
+   * The ancestor stages which were waiting for the removed stages may become schedulable.
    * @param stageId for the stage to begin the removal recursively.
    */
   @Override
   public void removeTaskGroupsAndDescendants(final String stageId) {
-    synchronized (stageIdToPendingTaskGroups) {
-      removeStageAndChildren(stageId);
-    }
-  }
-
-  /**
-   * Recursively removes a stage and its children stages from this PQ.
-   * @param stageId for the stage to begin the removal recursively.
-   */
-  private void removeStageAndChildren(final String stageId) {
-    schedulableStages.remove(stageId);
-    stageIdToPendingTaskGroups.remove(stageId);
+    lock.lock();
+    try {
+      final List<String> stageIdsToRemove = new ArrayList<>();
+      stageIdsToRemove.add(stageId);
+      stageIdsToRemove.addAll(getDescendantIds(stageId));
 
-    physicalPlan.getStageDAG().getChildren(stageId).forEach(
-        physicalStage -> removeStageAndChildren(physicalStage.getId()));
+      final List<String> removedSchedulableStageIds = new ArrayList<>();
+      stageIdsToRemove.forEach(stageIdToRemove -> {
+        stageIdToPendingTaskGroups.remove(stageIdToRemove);
+        if (removeSchedulableStage(stageIdToRemove)) {
+          removedSchedulableStageIds.add(stageIdToRemove);
+        }
+      });
+      removedSchedulableStageIds.forEach(this::onSchedulableStageRemoved);
+    } finally {
+      lock.unlock();
+    }
   }
 
   /**
    * Updates the two-level PQ by examining a new candidate stage.
-   * If there are no stages with higher priority, the candidate can be made schedulable.
+   * If there are no stages with higher priority, the candidate is made schedulable,
+   * and its ancestor stages of the same container type wait until the candidate has no pending TaskGroups.
    *
    * NOTE: This method provides the "line up" between stages, by assigning priorities,
    * serving as the key to the "priority" implementation of this class.
    * @param candidateStageId for the stage that can potentially be scheduled.
-   * @param candidateStageContainerType for the stage that can potentially be scheduled.
    */
-  private void updateSchedulableStages(final String candidateStageId, final String candidateStageContainerType) {
-    final DAG<PhysicalStage, PhysicalStageEdge> jobDAG = physicalPlan.getStageDAG();
-
-    if (isSchedulable(candidateStageId, candidateStageContainerType)) {
-      // Check for ancestor stages that became schedulable due to candidateStage's absence from the queue.
-      jobDAG.getAncestors(candidateStageId).forEach(ancestorStage -> {
-        if (schedulableStages.contains(ancestorStage.getId())) {
-          // Remove the ancestor stage if it is of the same container type.
-          if (candidateStageContainerType.equals(ancestorStage.getContainerType())) {
-            schedulableStages.remove(ancestorStage.getId());
-          }
+  private void updateSchedulableStages(final String candidateStageId) {
+    if (schedulableStageIds.contains(candidateStageId)
+        || stageIdToNumSchedulableDescendants.getOrDefault(candidateStageId, 0) > 0) {
+      return;
+    }
+    getSameTypeAncestorIds(candidateStageId).forEach(this::removeSchedulableStage);
+
+    schedulableStageIds.add(candidateStageId);
+    getSameTypeAncestorIds(candidateStageId).forEach(ancestorStageId ->
+        stageIdToNumSchedulableDescendants.merge(ancestorStageId, 1, Integer::sum));
+    schedulableStageAdded.signalAll();
+  }
+
+  /**
+   * Removes a stage from the schedulable stages, if it is schedulable.
+   * @param stageId of the stage to remove.
+   * @return whether the stage was schedulable.
+   */
+  private boolean removeSchedulableStage(final String stageId) {
+    if (!schedulableStageIds.remove(stageId)) {
+      return false;
+    }
+    getSameTypeAncestorIds(stageId).forEach(ancestorStageId ->
+        stageIdToNumSchedulableDescendants.computeIfPresent(ancestorStageId, DECREMENT));
+    return true;
+  }
+
+  /**
+   * Examines the pending ancestor stages which may have been waiting for a stage no longer schedulable.
+   * @param removedStageId of the stage removed from the schedulable stages.
+   */
+  private void onSchedulableStageRemoved(final String removedStageId) {
+    getSameTypeAncestorIds(removedStageId).forEach(ancestorStageId -> {
+      if (stageIdToPendingTaskGroups.containsKey(ancestorStageId)) {
+        updateSchedulableStages(ancestorStageId);
+      }
+    });
+  }
+
+  /**
+   * @param stageId of the stage.
+   * @return the ids of the ancestor stages of the same container type.
+   */
+  private Set<String> getSameTypeAncestorIds(final String stageId) {
+    return stageIdToSameTypeAncestorIds.computeIfAbsent(stageId, id -> {
+      final DAG<PhysicalStage, PhysicalStageEdge> jobDAG = physicalPlan.getStageDAG();
+      final String containerType = jobDAG.getVertexById(id).getContainerType();
+      final Set<String> sameTypeAncestorIds = new LinkedHashSet<>();
+      collectStageIds(id, jobDAG::getParents).forEach(ancestorId -> {
+        if (containerType.equals(jobDAG.getVertexById(ancestorId).getContainerType())) {
+          sameTypeAncestorIds.add(ancestorId);
         }
       });
-      if (!schedulableStages.contains(candidateStageId)) {
-        schedulableStages.addLast(candidateStageId);
-      }
-    }
+      return sameTypeAncestorIds;
+    });
   }
 
   /**
-   * Determines whether the given candidate stage is schedulable immediately or not.
-   * @param candidateStageId for the stage that can potentially be scheduled.
-   * @param candidateStageContainerType for the stage that can potentially be scheduled.
-   * @return true if schedulable, false otherwise.
+   * @param stageId of the stage.
+   * @return the ids of the descendant stages.
    */
-  private boolean isSchedulable(final String candidateStageId, final String candidateStageContainerType) {
-    final DAG<PhysicalStage, PhysicalStageEdge> jobDAG = physicalPlan.getStageDAG();
-    for (final PhysicalStage descendantStage : jobDAG.getDescendants(candidateStageId)) {
-      if (schedulableStages.contains(descendantStage.getId())) {
-        if (candidateStageContainerType.equals(descendantStage.getContainerType())) {
-          return false;
+  private Set<String> getDescendantIds(final String stageId) {
+    return stageIdToDescendantIds.computeIfAbsent(stageId,
+        id -> collectStageIds(id, physicalPlan.getStageDAG()::getChildren));
+  }
+
+  /**
+   * Collects the stages reachable from a stage, visiting each stage once.
+   * @param stageId      of the stage to begin with.
+   * @param getNeighbors the function which returns the stages adjacent to a stage.
+   * @return the ids of the reachable stages, except the given stage.
+   */
+  private static Set<String> collectStageIds(final String stageId,
+                                             final Function<String, List<PhysicalStage>> getNeighbors) {
+    final Set<String> visited = new LinkedHashSet<>();
+    final Deque<String> toVisit = new ArrayDeque<>();
+    toVisit.add(stageId);
+    while (!toVisit.isEmpty()) {
+      getNeighbors.apply(toVisit.poll()).forEach(neighbor -> {
+        if (visited.add(neighbor.getId())) {
+          toVisit.add(neighbor.getId());
         }
-      }
+      });
     }
-    return true;
+    return visited;
   }
 
   @Override
   public void onJobScheduled(final PhysicalPlan physicalPlanForJob) {
-    this.physicalPlan = physicalPlanForJob;
+    lock.lock();
+    try {
+      this.physicalPlan = physicalPlanForJob;
+      stageIdToSameTypeAncestorIds.clear();
+      stageIdToDescendantIds.clear();
+    } finally {
+      lock.unlock();
+    }
   }
 
   @Override
   public boolean isEmpty() {
-    synchronized (stageIdToPendingTaskGroups) {
-      for (final String stageId : schedulableStages) {
-        if (!stageIdToPendingTaskGroups.get(stageId).isEmpty()) {
-          return false;
-        }
-      }
-      return true;
+    lock.lock();
+    try {
+      return schedulableStageIds.isEmpty();
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public void close() {
-    schedulableStages.clear();
-    stageIdToPendingTaskGroups.clear();
+    lock.lock();
+    try {
+      schedulableStageIds.clear();
+      stageIdToPendingTaskGroups.clear();
+      stageIdToNumSchedulableDescendants.clear();
+    } finally {
+      lock.unlock();
+    }
   }
 }
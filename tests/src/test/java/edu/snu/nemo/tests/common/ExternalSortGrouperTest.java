@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.tests.common;
+
+import edu.snu.nemo.common.ExternalSortGrouper;
+import edu.snu.nemo.compiler.frontend.beam.coder.BeamCoder;
+import org.apache.beam.sdk.coders.KvCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+import org.apache.beam.sdk.coders.VarIntCoder;
+import org.apache.beam.sdk.values.KV;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test {@link ExternalSortGrouper}.
+ */
+public final class ExternalSortGrouperTest {
+  private static final String SPILL_DIRECTORY = "./tmpSpillFiles";
+  private static final int NUM_ELEMENTS = 1000;
+  // "Aa" and "BB" have the same hash code.
+  private static final List<String> KEYS = Arrays.asList("Aa", "BB", "a", "b", "c", "d", "e");
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(new File(SPILL_DIRECTORY));
+  }
+
+  @Test
+  public void testGroupInMemory() {
+    checkGrouping(ExternalSortGrouper.DEFAULT_MAX_BYTES_IN_MEMORY, false);
+  }
+
+  @Test
+  public void testGroupWithSpill() {
+    checkGrouping(256, true);
+  }
+
+  private void checkGrouping(final int maxBytesInMemory, final boolean expectSpill) {
+    final ExternalSortGrouper<KV<String, Integer>> grouper = new ExternalSortGrouper<>(
+        new BeamCoder<>(KvCoder.of(StringUtf8Coder.of(), VarIntCoder.of())),
+        element -> ((KV) element).getKey(), SPILL_DIRECTORY, maxBytesInMemory);
+    final Map<String, List<Integer>> expected = new HashMap<>();
+    for (int i = 0; i < NUM_ELEMENTS; i++) {
+      final String key = KEYS.get(i % KEYS.size());
+      grouper.add(KV.of(key, i));
+      expected.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+    }
+    assertEquals(expectSpill, grouper.getNumSpilledRuns() > 0);
+
+    final Map<String, List<Integer>> grouped = new HashMap<>();
+    grouper.forEachGroup((key, elements) -> {
+      final List<Integer> values = new ArrayList<>();
+      elements.forEach(element -> values.add(element.getValue()));
+      Collections.sort(values);
+      // Each key should be handed over exactly once.
+      assertEquals(null, grouped.put((String) key, values));
+    });
+    assertEquals(expected, grouped);
+    assertEquals(0, grouper.getNumSpilledRuns());
+    final String[] leftFiles = new File(SPILL_DIRECTORY).list();
+    assertTrue(leftFiles == null || leftFiles.length == 0);
+  }
+}
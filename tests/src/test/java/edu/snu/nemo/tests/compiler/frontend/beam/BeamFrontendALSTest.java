@@ -18,14 +18,24 @@ package edu.snu.nemo.tests.compiler.frontend.beam;
 import edu.snu.nemo.client.JobLauncher;
 import edu.snu.nemo.common.dag.DAG;
 import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataCommunicationPatternProperty;
+import edu.snu.nemo.common.ir.executionproperty.ExecutionProperty;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.compiler.frontend.beam.transform.FinalCombineTransform;
+import edu.snu.nemo.compiler.frontend.beam.transform.PartialCombineTransform;
 import edu.snu.nemo.tests.compiler.CompilerTestUtil;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test Beam frontend.
@@ -56,4 +66,23 @@ public final class BeamFrontendALSTest {
     assertEquals(2, producedDAG.getIncomingEdgesOf(vertex13.getId()).size());
     assertEquals(1, producedDAG.getOutgoingEdgesOf(vertex13).size());
   }
+
+  @Test
+  public void testCombineLifting() throws Exception {
+    final DAG<IRVertex, IREdge> producedDAG = CompilerTestUtil.compileALSDAG();
+
+    // Each Combine.perKey is translated into a partial combine, a shuffle, and a final combine.
+    final List<IRVertex> finalCombineVertices = producedDAG.getVertices().stream()
+        .filter(v -> v instanceof OperatorVertex
+            && ((OperatorVertex) v).getTransform() instanceof FinalCombineTransform)
+        .collect(Collectors.toList());
+    assertFalse(finalCombineVertices.isEmpty());
+    finalCombineVertices.forEach(finalCombineVertex -> {
+      final List<IREdge> inEdges = producedDAG.getIncomingEdgesOf(finalCombineVertex);
+      assertEquals(1, inEdges.size());
+      assertEquals(DataCommunicationPatternProperty.Value.Shuffle,
+          inEdges.get(0).getProperty(ExecutionProperty.Key.DataCommunicationPattern));
+      assertTrue(((OperatorVertex) inEdges.get(0).getSrc()).getTransform() instanceof PartialCombineTransform);
+    });
+  }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.tests.compiler.frontend.beam.source;
+
+import edu.snu.nemo.common.ir.Readable;
+import edu.snu.nemo.compiler.frontend.beam.source.BeamBoundedSourceVertex;
+import org.apache.beam.sdk.io.CountingSource;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Test {@link BeamBoundedSourceVertex}.
+ */
+public final class BeamBoundedSourceVertexTest {
+  private static final long NUM_ELEMENTS = 1000;
+
+  /**
+   * Test that the readables of the splits read all of the elements of the source while they are iterated.
+   */
+  @Test
+  public void testReadablesIterateAllElements() throws Exception {
+    final BeamBoundedSourceVertex<Long> vertex = new BeamBoundedSourceVertex<>(CountingSource.upTo(NUM_ELEMENTS));
+    final List<Long> elements = new ArrayList<>();
+    for (final Readable<Long> readable : vertex.getReadables(4)) {
+      final Iterator<Long> iterator = readable.read().iterator();
+      while (iterator.hasNext()) {
+        elements.add(iterator.next());
+      }
+      assertFalse(iterator.hasNext());
+    }
+
+    elements.sort(Long::compare);
+    assertEquals(NUM_ELEMENTS, elements.size());
+    for (int i = 0; i < NUM_ELEMENTS; i++) {
+      assertEquals(i, (long) elements.get(i));
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.tests.compiler.frontend.beam.transform;
+
+import edu.snu.nemo.common.ContextImpl;
+import edu.snu.nemo.compiler.frontend.beam.transform.DoTransform;
+import edu.snu.nemo.runtime.executor.datatransfer.OutputCollectorImpl;
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test {@link DoTransform}.
+ */
+public final class DoTransformTest {
+  private static final List<String> LIFECYCLE = Collections.synchronizedList(new ArrayList<>());
+
+  /**
+   * Test that the DoFn is set up and bundled once per task, across multiple calls of onData.
+   */
+  @Test
+  public void testLifecycleAcrossMultipleOnData() {
+    LIFECYCLE.clear();
+    final DoTransform<Integer, Integer> doTransform =
+        new DoTransform<>(new LifecycleDoFn(), PipelineOptionsFactory.create());
+    final OutputCollectorImpl<Integer> outputCollector = new OutputCollectorImpl<>();
+    doTransform.prepare(new ContextImpl(Collections.emptyMap(), null), outputCollector);
+    doTransform.onData(Arrays.asList(1, 2).iterator(), "src");
+    doTransform.onData(Collections.singletonList(3).iterator(), "src");
+    doTransform.close();
+
+    assertEquals(Arrays.asList("setup", "startBundle", "process", "process", "process", "finishBundle", "teardown"),
+        LIFECYCLE);
+    // The element emitted in finishBundle comes last.
+    assertEquals(Arrays.asList(2, 4, 6, -1), outputCollector.collectOutputList());
+  }
+
+  /**
+   * A DoFn which records the calls of its lifecycle methods.
+   */
+  public static final class LifecycleDoFn extends DoFn<Integer, Integer> {
+    @Setup
+    public void setup() {
+      LIFECYCLE.add("setup");
+    }
+
+    @StartBundle
+    public void startBundle() {
+      LIFECYCLE.add("startBundle");
+    }
+
+    @ProcessElement
+    public void processElement(final ProcessContext c) {
+      LIFECYCLE.add("process");
+      c.output(c.element() * 2);
+    }
+
+    @FinishBundle
+    public void finishBundle(final FinishBundleContext c) {
+      LIFECYCLE.add("finishBundle");
+      c.output(-1, null, null);
+    }
+
+    @Teardown
+    public void teardown() {
+      LIFECYCLE.add("teardown");
+    }
+  }
+}
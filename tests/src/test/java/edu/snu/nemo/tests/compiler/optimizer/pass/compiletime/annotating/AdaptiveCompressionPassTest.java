@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.tests.compiler.optimizer.pass.compiletime.annotating;
+
+import edu.snu.nemo.client.JobLauncher;
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.ir.edge.IREdge;
+import edu.snu.nemo.common.ir.edge.executionproperty.CompressionProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataCommunicationPatternProperty;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataStoreProperty;
+import edu.snu.nemo.common.ir.executionproperty.ExecutionProperty;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.compiler.optimizer.CompiletimeOptimizer;
+import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.AdaptiveCompressionPass;
+import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.AnnotatingPass;
+import edu.snu.nemo.compiler.optimizer.policy.PadoPolicy;
+import edu.snu.nemo.tests.compiler.CompilerTestUtil;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test {@link AdaptiveCompressionPass}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(JobLauncher.class)
+public final class AdaptiveCompressionPassTest {
+  @Test
+  public void testAnnotatingPass() {
+    final AnnotatingPass compressionPass = new AdaptiveCompressionPass();
+    assertEquals(ExecutionProperty.Key.Compression, compressionPass.getExecutionPropertyToModify());
+  }
+
+  /**
+   * This test ensures that only the inter-stage edges are compressed,
+   * and that the edges stored in files are compressed with Zstd.
+   */
+  @Test
+  public void testAdaptiveCompressionPass() throws Exception {
+    final DAG<IRVertex, IREdge> processedDAG = CompiletimeOptimizer.optimize(CompilerTestUtil.compileALSDAG(),
+        new PadoPolicy(), "");
+
+    processedDAG.getVertices().forEach(vertex -> processedDAG.getIncomingEdgesOf(vertex).forEach(edge -> {
+      final CompressionProperty.Compression compression = edge.getProperty(ExecutionProperty.Key.Compression);
+      if (vertex.getProperty(ExecutionProperty.Key.StageId)
+          .equals(edge.getSrc().getProperty(ExecutionProperty.Key.StageId))) {
+        assertNull(compression);
+      } else if (DataStoreProperty.Value.LocalFileStore.equals(edge.getProperty(ExecutionProperty.Key.DataStore))
+          || DataCommunicationPatternProperty.Value.BroadCast
+          .equals(edge.getProperty(ExecutionProperty.Key.DataCommunicationPattern))) {
+        assertEquals(CompressionProperty.Compression.Zstd, compression);
+      } else {
+        assertNotEquals(CompressionProperty.Compression.Zstd, compression);
+        assertNotEquals(null, compression);
+      }
+    }));
+  }
+}
@@ -23,6 +23,8 @@ import edu.snu.nemo.common.ir.edge.executionproperty.MetricCollectionProperty;
 import edu.snu.nemo.common.ir.edge.executionproperty.PartitionerProperty;
 import edu.snu.nemo.common.ir.vertex.IRVertex;
 import edu.snu.nemo.common.ir.vertex.MetricCollectionBarrierVertex;
+import edu.snu.nemo.common.ir.vertex.OperatorVertex;
+import edu.snu.nemo.common.ir.vertex.transform.SplittableTransform;
 import edu.snu.nemo.common.ir.executionproperty.ExecutionProperty;
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.annotating.AnnotatingPass;
 import edu.snu.nemo.compiler.optimizer.pass.compiletime.composite.CompositePass;
@@ -48,7 +50,7 @@ import static org.junit.Assert.assertTrue;
 @PrepareForTest(JobLauncher.class)
 public class DataSkewCompositePassTest {
   private DAG<IRVertex, IREdge> mrDAG;
-  private static final long NUM_OF_PASSES_IN_DATA_SKEW_PASS = 5;
+  private static final long NUM_OF_PASSES_IN_DATA_SKEW_PASS = 6;
 
   @Before
   public void setUp() throws Exception {
@@ -74,7 +76,8 @@ public class DataSkewCompositePassTest {
   }
 
   /**
-   * Test for {@link DataSkewCompositePass} with MR workload. It must insert a {@link MetricCollectionBarrierVertex}
+   * Test for {@link DataSkewCompositePass} with MR workload. It must insert an intermediate vertex
+   * before each vertex with a {@link SplittableTransform}, and a {@link MetricCollectionBarrierVertex}
    * before each shuffle edge.
    * @throws Exception exception on the way.
    */
@@ -87,9 +90,20 @@ public class DataSkewCompositePassTest {
             DataCommunicationPatternProperty.Value.Shuffle
             .equals(irEdge.getProperty(ExecutionProperty.Key.DataCommunicationPattern))))
         .count();
+    final Long numOfSplittableVertices = mrDAG.getVertices().stream().filter(irVertex ->
+        irVertex instanceof OperatorVertex
+            && ((OperatorVertex) irVertex).getTransform() instanceof SplittableTransform)
+        .count();
     final DAG<IRVertex, IREdge> processedDAG = new DataSkewCompositePass().apply(mrDAG);
 
-    assertEquals(originalVerticesNum + numOfShuffleGatherEdges, processedDAG.getVertices().size());
+    // Each intermediate vertex also receives a shuffle edge, with a metric collection barrier vertex before it.
+    assertEquals(originalVerticesNum + numOfShuffleGatherEdges + 2 * numOfSplittableVertices,
+        processedDAG.getVertices().size());
+    assertEquals(numOfSplittableVertices.longValue(), processedDAG.getVertices().stream()
+        .map(processedDAG::getIncomingEdgesOf)
+        .flatMap(List::stream)
+        .filter(irEdge -> Boolean.TRUE.equals(irEdge.getProperty(ExecutionProperty.Key.KeySplit)))
+        .count());
     processedDAG.getVertices().stream().map(processedDAG::getIncomingEdgesOf)
         .flatMap(List::stream)
         .filter(irEdge -> DataCommunicationPatternProperty.Value.Shuffle
@@ -43,10 +43,17 @@ public final class PolicyBuilderTest {
   @Test
   public void testDataSkewPolicy() {
     final Policy dataSkewPolicy = new DataSkewPolicy();
-    assertEquals(16, dataSkewPolicy.getCompileTimePasses().size());
+    assertEquals(17, dataSkewPolicy.getCompileTimePasses().size());
     assertEquals(1, dataSkewPolicy.getRuntimePasses().size());
   }
 
+  @Test
+  public void testDynamicParallelismPolicy() {
+    final Policy dynamicParallelismPolicy = new DynamicParallelismPolicy();
+    assertEquals(16, dynamicParallelismPolicy.getCompileTimePasses().size());
+    assertEquals(1, dynamicParallelismPolicy.getRuntimePasses().size());
+  }
+
   @Test
   public void testShouldFailPolicy() {
     try {
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.tests.runtime.common.metric;
+
+import edu.snu.nemo.runtime.common.metric.MetricHistograms;
+import org.HdrHistogram.Histogram;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link MetricHistograms}.
+ */
+public final class MetricHistogramsTest {
+
+  /**
+   * Tests whether the values recorded since the last take are taken.
+   */
+  @Test
+  public void testTakeIntervalHistograms() {
+    final MetricHistograms metricHistograms = new MetricHistograms();
+    for (int i = 1; i <= 100; i++) {
+      metricHistograms.record(MetricHistograms.Metric.TaskTime, i * 1000L);
+    }
+    metricHistograms.record(MetricHistograms.Metric.ReadBytes, 42);
+
+    final Map<MetricHistograms.Metric, Histogram> histograms = metricHistograms.takeIntervalHistograms();
+    assertEquals(2, histograms.size());
+    final Histogram taskTime = histograms.get(MetricHistograms.Metric.TaskTime);
+    assertEquals(100, taskTime.getTotalCount());
+    assertTrue(taskTime.valuesAreEquivalent(50000, taskTime.getValueAtPercentile(50)));
+    assertTrue(taskTime.valuesAreEquivalent(100000, taskTime.getMaxValue()));
+    assertEquals(1, histograms.get(MetricHistograms.Metric.ReadBytes).getTotalCount());
+
+    // The taken values are not taken again.
+    assertTrue(metricHistograms.takeIntervalHistograms().isEmpty());
+  }
+
+  /**
+   * Tests whether the histograms are merged after they are encoded and decoded.
+   */
+  @Test
+  public void testEncodeAndMerge() {
+    final MetricHistograms executor1 = new MetricHistograms();
+    final MetricHistograms executor2 = new MetricHistograms();
+    executor1.record(MetricHistograms.Metric.BlockTransferTime, 10);
+    executor2.record(MetricHistograms.Metric.BlockTransferTime, 20);
+    // The values out of the trackable range are recorded instead of failing.
+    executor2.record(MetricHistograms.Metric.BlockTransferTime, Long.MAX_VALUE);
+    executor2.record(MetricHistograms.Metric.BlockTransferTime, -1);
+
+    final Histogram merged = MetricHistograms.newHistogram();
+    for (final MetricHistograms executor : new MetricHistograms[]{executor1, executor2}) {
+      final Histogram histogram = executor.takeIntervalHistograms().get(MetricHistograms.Metric.BlockTransferTime);
+      merged.add(MetricHistograms.decode(MetricHistograms.encode(histogram)));
+    }
+    assertEquals(4, merged.getTotalCount());
+    assertEquals(0, merged.getMinValue());
+    assertFalse(merged.getMaxValue() < 20);
+  }
+}
@@ -15,6 +15,9 @@
  */
 package edu.snu.nemo.tests.runtime.common.optimizer.pass.runtime;
 
+import edu.snu.nemo.common.Pair;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.data.HashRange;
 import edu.snu.nemo.runtime.common.data.KeyRange;
 import edu.snu.nemo.runtime.common.optimizer.pass.runtime.DataSkewRuntimePass;
 import org.junit.Before;
@@ -62,4 +65,38 @@ public class DataSkewRuntimePassTest {
     assertEquals(9, keyRanges.get(4).rangeBeginInclusive());
     assertEquals(10, keyRanges.get(4).rangeEndExclusive());
   }
+
+  /**
+   * Test if a hash value larger than the ideal size of a task group is split over the source tasks.
+   */
+  @Test
+  public void testKeySplit() {
+    // Hash value 4 is 90 out of 117 in total, evenly produced by the three source tasks.
+    final Map<String, List<Long>> skewedMetricData = new HashMap<>();
+    for (int srcTaskIdx = 0; srcTaskIdx < 3; srcTaskIdx++) {
+      skewedMetricData.put(RuntimeIdGenerator.generateBlockId("Edge-0", srcTaskIdx),
+          Arrays.asList(1L, 1L, 1L, 1L, 30L, 1L, 1L, 1L, 1L, 1L));
+    }
+
+    final List<Pair<KeyRange, KeyRange>> ranges =
+        new DataSkewRuntimePass().calculateKeyRangesWithKeySplit(skewedMetricData, 6);
+
+    assertEquals(6, ranges.size());
+    assertEquals(Pair.of(HashRange.of(0, 4), HashRange.all()), ranges.get(0));
+    assertEquals(Pair.of(HashRange.of(4, 5), HashRange.of(0, 1)), ranges.get(1));
+    assertEquals(Pair.of(HashRange.of(4, 5), HashRange.of(1, 2)), ranges.get(2));
+    assertEquals(Pair.of(HashRange.of(4, 5), HashRange.of(2, 3)), ranges.get(3));
+    assertEquals(Pair.of(HashRange.of(5, 7), HashRange.all()), ranges.get(4));
+    assertEquals(Pair.of(HashRange.of(7, 10), HashRange.all()), ranges.get(5));
+
+    // With fewer task groups, the split of the hash value is reduced to leave a task group to each of the rest.
+    final List<Pair<KeyRange, KeyRange>> fewerRanges =
+        new DataSkewRuntimePass().calculateKeyRangesWithKeySplit(skewedMetricData, 4);
+
+    assertEquals(4, fewerRanges.size());
+    assertEquals(Pair.of(HashRange.of(0, 4), HashRange.all()), fewerRanges.get(0));
+    assertEquals(Pair.of(HashRange.of(4, 5), HashRange.of(0, 2)), fewerRanges.get(1));
+    assertEquals(Pair.of(HashRange.of(4, 5), HashRange.of(2, 3)), fewerRanges.get(2));
+    assertEquals(Pair.of(HashRange.of(5, 10), HashRange.all()), fewerRanges.get(3));
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.tests.runtime.common.optimizer.pass.runtime;
+
+import edu.snu.nemo.runtime.common.data.HashRange;
+import edu.snu.nemo.runtime.common.data.KeyRange;
+import edu.snu.nemo.runtime.common.optimizer.pass.runtime.DynamicParallelismRuntimePass;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test {@link DynamicParallelismRuntimePass}.
+ */
+public class DynamicParallelismRuntimePassTest {
+  private final Map<String, List<Long>> testMetricData = new HashMap<>();
+
+  @Before
+  public void setUp() {
+    // Sum is 150 in total, and 30 for each hashRanges: 0-3, 3-5, 5-7, 7-9, 9-10.
+    testMetricData.put("1", Arrays.asList(1L, 2L, 4L, 2L, 1L, 8L, 2L, 4L, 2L, 10L));
+    testMetricData.put("2", Arrays.asList(3L, 5L, 5L, 7L, 10L, 3L, 5L, 4L, 8L, 5L));
+    testMetricData.put("3", Arrays.asList(2L, 3L, 5L, 5L, 5L, 6L, 6L, 8L, 4L, 15L));
+  }
+
+  /**
+   * Test if the number of task groups follows the total data size, bounded by the compile-time parallelism.
+   */
+  @Test
+  public void testCalculateTaskGroupCount() {
+    assertEquals(1, new DynamicParallelismRuntimePass(1000L).calculateTaskGroupCount(testMetricData, 5));
+    assertEquals(2, new DynamicParallelismRuntimePass(75L).calculateTaskGroupCount(testMetricData, 5));
+    assertEquals(3, new DynamicParallelismRuntimePass(74L).calculateTaskGroupCount(testMetricData, 5));
+    assertEquals(5, new DynamicParallelismRuntimePass(1L).calculateTaskGroupCount(testMetricData, 5));
+  }
+
+  /**
+   * Test if the data is merged into the first task groups, leaving empty ranges to the rest.
+   */
+  @Test
+  public void testCalculateHashRanges() {
+    final DynamicParallelismRuntimePass runtimePass = new DynamicParallelismRuntimePass(50L);
+    final int taskGroupCount = runtimePass.calculateTaskGroupCount(testMetricData, 5);
+    assertEquals(3, taskGroupCount);
+
+    final List<KeyRange> keyRanges = runtimePass.calculateHashRanges(testMetricData, taskGroupCount, 5);
+    assertEquals(5, keyRanges.size());
+    assertEquals(HashRange.of(0, 4), keyRanges.get(0));
+    assertEquals(HashRange.of(4, 8), keyRanges.get(1));
+    assertEquals(HashRange.of(8, 10), keyRanges.get(2));
+    assertEquals(HashRange.of(10, 10), keyRanges.get(3));
+    assertEquals(HashRange.of(10, 10), keyRanges.get(4));
+  }
+}
@@ -45,12 +45,15 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static edu.snu.nemo.tests.runtime.RuntimeTestUtil.getRangedNumList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Matchers.any;
@@ -66,6 +69,7 @@ public final class TaskGroupExecutorTest {
   private static final int DATA_SIZE = 100;
   private static final String CONTAINER_TYPE = "CONTAINER_TYPE";
   private static final int SOURCE_PARALLELISM = 5;
+  private static final String SPILL_DIRECTORY = "./tmpSpillFiles";
   private List elements;
   private Map<String, List<Iterable>> taskIdToOutputData;
   private DataTransferFactory dataTransferFactory;
@@ -143,7 +147,8 @@ public final class TaskGroupExecutorTest {
 
     // Execute the task group.
     final TaskGroupExecutor taskGroupExecutor = new TaskGroupExecutor(
-        scheduledTaskGroup, taskDag, taskGroupStateManager, dataTransferFactory, metricMessageSender);
+        scheduledTaskGroup, taskDag, taskGroupStateManager, dataTransferFactory, metricMessageSender,
+        DATA_SIZE, SPILL_DIRECTORY);
     taskGroupExecutor.execute();
 
     // Check the output.
@@ -162,7 +167,8 @@ public final class TaskGroupExecutorTest {
    * The output data from upstream stage will be split
    * according to source parallelism through {@link InterStageReaderAnswer}.
    * Because of this, the operator task 1 will process multiple partitions and emit data in multiple times also.
-   * On the other hand, operator task 2 will receive the output data once and produce a single output.
+   * The operator task 2 is pipelined with the operator task 1, so each output of the operator task 1
+   * is pushed to the operator task 2 directly without any intra-stage block.
    */
   @Test//(timeout=2000)
   public void testOperatorTask() throws Exception {
@@ -201,20 +207,126 @@ public final class TaskGroupExecutorTest {
 
     // Execute the task group.
     final TaskGroupExecutor taskGroupExecutor = new TaskGroupExecutor(
-        scheduledTaskGroup, taskDag, taskGroupStateManager, dataTransferFactory, metricMessageSender);
+        scheduledTaskGroup, taskDag, taskGroupStateManager, dataTransferFactory, metricMessageSender,
+        DATA_SIZE, SPILL_DIRECTORY);
     taskGroupExecutor.execute();
 
     // Check the output.
-    assertEquals(SOURCE_PARALLELISM, taskIdToOutputData.get(operatorTaskId1).size()); // Multiple output emission.
-    final List<Iterable> outputs = taskIdToOutputData.get(operatorTaskId1);
+    verify(dataTransferFactory, never()).createLocalWriter(any(), anyInt(), any());
+    verify(dataTransferFactory, never()).createLocalReader(anyInt(), any());
+    assertFalse(taskIdToOutputData.containsKey(operatorTaskId1)); // No intra-stage block.
+    assertEquals(SOURCE_PARALLELISM, taskIdToOutputData.get(operatorTaskId2).size()); // Multiple output emission.
+    final List<Iterable> outputs = taskIdToOutputData.get(operatorTaskId2);
     final List concatStreamBase = new ArrayList<>();
     Stream<Object> concatStream = concatStreamBase.stream();
     for (int srcIdx = 0; srcIdx < SOURCE_PARALLELISM; srcIdx++) {
       concatStream = Stream.concat(concatStream, StreamSupport.stream(outputs.get(srcIdx).spliterator(), false));
     }
     assertEquals(elements, concatStream.collect(Collectors.toList()));
-    assertEquals(1, taskIdToOutputData.get(operatorTaskId2).size());
-    assertEquals(elements, taskIdToOutputData.get(operatorTaskId2).get(0));
+    // Check the state transition.
+    taskIdToStateList.forEach((taskId, taskStateList) -> assertEquals(expectedTaskStateList, taskStateList));
+  }
+
+  /**
+   * Test the pipelining of a {@link BoundedSourceTask} and an {@link OperatorTask} in {@link TaskGroupExecutor}.
+   *
+   * The DAG of the task group to test will looks like:
+   * source task -> operator task
+   *
+   * The data read by the source task is pushed to the operator task directly without any intra-stage block.
+   */
+  @Test(timeout=2000)
+  public void testPipelinedSourceTask() throws Exception {
+    final IRVertex sourceIRVertex = new SimpleIRVertex();
+    final IRVertex operatorIRVertex = new SimpleIRVertex();
+    final String runtimeIREdgeId = "Runtime edge between source and operator tasks";
+
+    final String sourceTaskId = RuntimeIdGenerator.generateLogicalTaskId("Source_vertex_3");
+    final String operatorTaskId = RuntimeIdGenerator.generateLogicalTaskId("Operator_vertex_4");
+    final String stageId = RuntimeIdGenerator.generateStageId(2);
+
+    final BoundedSourceTask<Integer> boundedSourceTask =
+        new BoundedSourceTask<>(sourceTaskId, sourceIRVertex.getId());
+    final OperatorTask operatorTask = new OperatorTask(operatorTaskId, operatorIRVertex.getId(), new SimpleTransform());
+    final Readable readable = new Readable() {
+      @Override
+      public Iterable read() throws Exception {
+        return elements;
+      }
+    };
+    final Map<String, Readable> logicalIdToReadable = new HashMap<>();
+    logicalIdToReadable.put(sourceTaskId, readable);
+
+    final ExecutionPropertyMap edgeProperties = new ExecutionPropertyMap(runtimeIREdgeId);
+    edgeProperties.put(DataStoreProperty.of(DataStoreProperty.Value.MemoryStore));
+    final DAG<Task, RuntimeEdge<Task>> taskDag = new DAGBuilder<Task, RuntimeEdge<Task>>()
+        .addVertex(boundedSourceTask)
+        .addVertex(operatorTask)
+        .connectVertices(new RuntimeEdge<Task>(
+            runtimeIREdgeId, edgeProperties, boundedSourceTask, operatorTask, Coder.DUMMY_CODER))
+        .build();
+    final PhysicalStageEdge stageOutEdge = mock(PhysicalStageEdge.class);
+    when(stageOutEdge.getSrcVertex()).thenReturn(operatorIRVertex);
+    final String taskGroupId = RuntimeIdGenerator.generateTaskGroupId(0, stageId);
+    final ScheduledTaskGroup scheduledTaskGroup =
+        new ScheduledTaskGroup("testPipelinedSourceTask", new byte[0], taskGroupId, Collections.emptyList(),
+            Collections.singletonList(stageOutEdge), 0, CONTAINER_TYPE, logicalIdToReadable);
+
+    // Execute the task group.
+    final TaskGroupExecutor taskGroupExecutor = new TaskGroupExecutor(
+        scheduledTaskGroup, taskDag, taskGroupStateManager, dataTransferFactory, metricMessageSender,
+        DATA_SIZE, SPILL_DIRECTORY);
+    taskGroupExecutor.execute();
+
+    // Check the output.
+    verify(dataTransferFactory, never()).createLocalWriter(any(), anyInt(), any());
+    assertFalse(taskIdToOutputData.containsKey(sourceTaskId)); // No intra-stage block.
+    assertEquals(1, taskIdToOutputData.get(operatorTaskId).size());
+    assertEquals(elements, taskIdToOutputData.get(operatorTaskId).get(0));
+    // Check the state transition.
+    taskIdToStateList.forEach((taskId, taskStateList) -> assertEquals(expectedTaskStateList, taskStateList));
+  }
+
+  /**
+   * Test the output of an {@link OperatorTask} written in batches in {@link TaskGroupExecutor}.
+   * The transform of the task emits all of its output when it is closed,
+   * but the output is written in multiple batches bounded by the batch size.
+   */
+  @Test(timeout=2000)
+  public void testOutputBatches() throws Exception {
+    final int batchSize = 30;
+    final IRVertex operatorIRVertex = new SimpleIRVertex();
+    final String operatorTaskId = RuntimeIdGenerator.generateLogicalTaskId("Operator_vertex_5");
+    final String stageId = RuntimeIdGenerator.generateStageId(3);
+
+    final OperatorTask operatorTask =
+        new OperatorTask(operatorTaskId, operatorIRVertex.getId(), new AccumulatingTransform());
+    final DAG<Task, RuntimeEdge<Task>> taskDag =
+        new DAGBuilder<Task, RuntimeEdge<Task>>().addVertex(operatorTask).build();
+    final PhysicalStageEdge stageInEdge = mock(PhysicalStageEdge.class);
+    when(stageInEdge.getDstVertex()).thenReturn(operatorIRVertex);
+    final PhysicalStageEdge stageOutEdge = mock(PhysicalStageEdge.class);
+    when(stageOutEdge.getSrcVertex()).thenReturn(operatorIRVertex);
+    final String taskGroupId = RuntimeIdGenerator.generateTaskGroupId(0, stageId);
+    final ScheduledTaskGroup scheduledTaskGroup =
+        new ScheduledTaskGroup("testOutputBatches", new byte[0], taskGroupId, Collections.singletonList(stageInEdge),
+            Collections.singletonList(stageOutEdge), 0, CONTAINER_TYPE, Collections.emptyMap());
+
+    // Execute the task group.
+    final TaskGroupExecutor taskGroupExecutor = new TaskGroupExecutor(
+        scheduledTaskGroup, taskDag, taskGroupStateManager, dataTransferFactory, metricMessageSender, batchSize,
+        SPILL_DIRECTORY);
+    taskGroupExecutor.execute();
+
+    // Check the output.
+    final List<Iterable> outputs = taskIdToOutputData.get(operatorTaskId);
+    assertEquals((DATA_SIZE + batchSize - 1) / batchSize, outputs.size());
+    final List concatenatedOutput = new ArrayList();
+    outputs.forEach(output -> {
+      assertTrue(((List) output).size() <= batchSize);
+      concatenatedOutput.addAll((List) output);
+    });
+    assertEquals(elements, concatenatedOutput);
     // Check the state transition.
     taskIdToStateList.forEach((taskId, taskStateList) -> assertEquals(expectedTaskStateList, taskStateList));
   }
@@ -231,6 +343,9 @@ public final class TaskGroupExecutorTest {
       inputFutures.add(CompletableFuture.completedFuture(DataUtil.IteratorWithNumBytes.of(elements.iterator())));
       final InputReader inputReader = mock(InputReader.class);
       when(inputReader.read()).thenReturn(inputFutures);
+      when(inputReader.readLazily()).thenReturn(inputFutures.stream()
+          .map(future -> (Supplier<CompletableFuture<DataUtil.IteratorWithNumBytes>>) () -> future)
+          .collect(Collectors.toList()));
       when(inputReader.isSideInputReader()).thenReturn(false);
       when(inputReader.getSourceParallelism()).thenReturn(1);
       return inputReader;
@@ -253,6 +368,9 @@ public final class TaskGroupExecutorTest {
       }
       final InputReader inputReader = mock(InputReader.class);
       when(inputReader.read()).thenReturn(inputFutures);
+      when(inputReader.readLazily()).thenReturn(inputFutures.stream()
+          .map(future -> (Supplier<CompletableFuture<DataUtil.IteratorWithNumBytes>>) () -> future)
+          .collect(Collectors.toList()));
       when(inputReader.isSideInputReader()).thenReturn(false);
       when(inputReader.getSourceParallelism()).thenReturn(SOURCE_PARALLELISM);
       return inputReader;
@@ -293,6 +411,30 @@ public final class TaskGroupExecutorTest {
     }
   }
 
+  /**
+   * {@link Transform} for testing, which emits all of its input when it is closed.
+   * @param <T> input/output type.
+   */
+  private class AccumulatingTransform<T> implements Transform<T, T> {
+    private final List<T> accumulated = new ArrayList<>();
+    private OutputCollector<T> outputCollector;
+
+    @Override
+    public void prepare(final Context context, final OutputCollector<T> outputCollector) {
+      this.outputCollector = outputCollector;
+    }
+
+    @Override
+    public void onData(final Iterator<T> elements, final String srcVertexId) {
+      elements.forEachRemaining(accumulated::add);
+    }
+
+    @Override
+    public void close() {
+      accumulated.forEach(outputCollector::emit);
+    }
+  }
+
   /**
    * Simple {@link Transform} for testing.
    * @param <T> input/output type.
@@ -15,6 +15,7 @@
  */
 package edu.snu.nemo.tests.runtime.executor.data;
 
+import com.google.common.collect.Lists;
 import edu.snu.nemo.common.ir.edge.executionproperty.CompressionProperty;
 import edu.snu.nemo.conf.JobConf;
 import edu.snu.nemo.compiler.frontend.beam.coder.BeamCoder;
@@ -48,6 +49,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -61,6 +63,7 @@ import static edu.snu.nemo.tests.runtime.RuntimeTestUtil.getRangedNumList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -68,7 +71,7 @@ import static org.mockito.Mockito.when;
  * Tests write and read for {@link BlockStore}s.
  */
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({BlockManagerMaster.class, RuntimeMaster.class, SerializerManager.class})
+@PrepareForTest({BlockManagerMaster.class, RuntimeMaster.class, SerializerManager.class, MemoryManager.class})
 public final class BlockStoreTest {
   private static final String TMP_FILE_DIRECTORY = "./tmpFiles";
   private static final Coder CODER = new BeamCoder(KvCoder.of(VarIntCoder.of(), VarIntCoder.of()));
@@ -244,6 +247,84 @@ public final class BlockStoreTest {
     shuffleInHashRange(serMemoryStore, serMemoryStore);
   }
 
+  /**
+   * Test {@link OffHeapMemoryStore}.
+   */
+  @Test(timeout = 10000)
+  public void testOffHeapMemoryStore() throws Exception {
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileInstance(SerializerManager.class, serializerManager);
+    final BlockStore offHeapMemoryStore = injector.getInstance(OffHeapMemoryStore.class);
+    shuffle(offHeapMemoryStore, offHeapMemoryStore);
+    concurrentRead(offHeapMemoryStore, offHeapMemoryStore);
+    shuffleInHashRange(offHeapMemoryStore, offHeapMemoryStore);
+  }
+
+  /**
+   * Test {@link MemoryStore} whose memory budget is exhausted.
+   * Every block has to be spilled to a local file.
+   */
+  @Test(timeout = 10000)
+  public void testSpilledMemoryStore() throws Exception {
+    FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
+    final BlockStore memoryStore = createMemoryStoreWithoutBudget(MemoryStore.class);
+    shuffle(memoryStore, memoryStore);
+    concurrentRead(memoryStore, memoryStore);
+    shuffleInHashRange(memoryStore, memoryStore);
+    FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
+  }
+
+  /**
+   * Test {@link SerializedMemoryStore} whose memory budget is exhausted.
+   * Every block has to be spilled to a local file.
+   */
+  @Test(timeout = 10000)
+  public void testSpilledSerMemoryStore() throws Exception {
+    FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
+    final BlockStore serMemoryStore = createMemoryStoreWithoutBudget(SerializedMemoryStore.class);
+    shuffle(serMemoryStore, serMemoryStore);
+    concurrentRead(serMemoryStore, serMemoryStore);
+    shuffleInHashRange(serMemoryStore, serMemoryStore);
+    FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
+  }
+
+  /**
+   * Test blocks in {@link MemoryStore} and {@link SerializedMemoryStore}
+   * which are partially stored in memory and partially spilled to a local file.
+   * It checks that the read data is identical with written data (including the order).
+   */
+  @Test(timeout = 10000)
+  public void testPartiallySpilledMemoryStores() throws Exception {
+    FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
+    final MemoryManager memoryManager = mock(MemoryManager.class);
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(JobConf.FileDirectory.class, TMP_FILE_DIRECTORY);
+    injector.bindVolatileInstance(SerializerManager.class, serializerManager);
+    injector.bindVolatileInstance(MemoryManager.class, memoryManager);
+
+    for (final BlockStore store : Arrays.asList(
+        injector.getInstance(MemoryStore.class), injector.getInstance(SerializedMemoryStore.class))) {
+      // Only the first write fits in the memory.
+      when(memoryManager.tryAcquire(anyLong())).thenReturn(true, false);
+      for (int writeTaskIdx = 0; writeTaskIdx < NUM_WRITE_HASH_TASKS; writeTaskIdx++) {
+        final String blockId = hashedBlockIdList.get(writeTaskIdx);
+        final List<NonSerializedPartition<Integer>> partitions = hashedBlockPartitionList.get(writeTaskIdx);
+        store.createBlock(blockId);
+        store.putPartitions(blockId, partitions.subList(0, HASH_RANGE / 2));
+        store.putPartitions(blockId, partitions.subList(HASH_RANGE / 2, HASH_RANGE));
+        store.commitBlock(blockId);
+      }
+      for (int readTaskIdx = 0; readTaskIdx < NUM_READ_HASH_TASKS; readTaskIdx++) {
+        for (int writeTaskIdx = 0; writeTaskIdx < NUM_WRITE_HASH_TASKS; writeTaskIdx++) {
+          readResultCheck(hashedBlockIdList.get(writeTaskIdx), readKeyRangeList.get(readTaskIdx),
+              store, expectedDataInRange.get(readTaskIdx).get(writeTaskIdx));
+        }
+      }
+      hashedBlockIdList.forEach(blockId -> assertTrue(store.removeBlock(blockId)));
+    }
+    FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
+  }
+
   /**
    * Test {@link LocalFileStore}.
    */
@@ -280,6 +361,15 @@ public final class BlockStoreTest {
     FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
   }
 
+  private BlockStore createMemoryStoreWithoutBudget(final Class<? extends BlockStore> storeClass)
+      throws InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(JobConf.FileDirectory.class, TMP_FILE_DIRECTORY);
+    injector.bindVolatileParameter(JobConf.MemoryStoreFraction.class, 0.0);
+    injector.bindVolatileInstance(SerializerManager.class, serializerManager);
+    return injector.getInstance(storeClass);
+  }
+
   private GlusterFileStore createGlusterFileStore(final String executorId)
       throws InjectionException {
     final LocalMessageEnvironment localMessageEnvironment =
@@ -598,7 +688,7 @@ public final class BlockStoreTest {
     final Iterable serToNonSerialized = DataUtil.convertToNonSerPartitions(
         SERIALIZER, serializedResult);
 
-    assertEquals(expectedResult, DataUtil.concatNonSerPartitions(nonSerializedResult));
-    assertEquals(expectedResult, DataUtil.concatNonSerPartitions(serToNonSerialized));
+    assertEquals(expectedResult, Lists.newArrayList(DataUtil.concatNonSerPartitions(nonSerializedResult)));
+    assertEquals(expectedResult, Lists.newArrayList(DataUtil.concatNonSerPartitions(serToNonSerialized)));
   }
 }
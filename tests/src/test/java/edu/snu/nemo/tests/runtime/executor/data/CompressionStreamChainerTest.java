@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.tests.runtime.executor.data;
+
+import edu.snu.nemo.common.ir.edge.executionproperty.CompressionProperty;
+import edu.snu.nemo.runtime.executor.data.streamchainer.CompressionStreamChainer;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link CompressionStreamChainer} with every compression method.
+ */
+public final class CompressionStreamChainerTest {
+  private static final int DATA_SIZE = 100000;
+
+  @Test
+  public void testCompressionRoundTrip() throws Exception {
+    final byte[] data = new byte[DATA_SIZE];
+    for (int i = 0; i < DATA_SIZE; i++) {
+      data[i] = (byte) (i % 10);
+    }
+
+    for (final CompressionProperty.Compression compression : CompressionProperty.Compression.values()) {
+      final CompressionStreamChainer chainer = new CompressionStreamChainer(compression);
+      final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+      try (final OutputStream outputStream = chainer.chainOutput(compressed)) {
+        outputStream.write(data);
+      }
+      assertTrue(compression + " should compress repetitive data", compressed.size() < DATA_SIZE);
+
+      try (final InputStream inputStream = chainer.chainInput(new ByteArrayInputStream(compressed.toByteArray()))) {
+        assertArrayEquals(data, IOUtils.toByteArray(inputStream));
+      }
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2017 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.tests.runtime.executor.data;
+
+import edu.snu.nemo.runtime.executor.data.metadata.PartitionMetadata;
+import edu.snu.nemo.runtime.executor.data.metadata.RemoteFileMetadata;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the encoding of {@link RemoteFileMetadata}.
+ */
+public final class RemoteFileMetadataTest {
+  private static final String TMP_FILE_DIRECTORY = "./tmpMetaFiles";
+  private static final String META_FILE_PATH = TMP_FILE_DIRECTORY + "/block_meta";
+
+  @Before
+  public void setUp() {
+    new File(TMP_FILE_DIRECTORY).mkdirs();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(new File(TMP_FILE_DIRECTORY));
+  }
+
+  /**
+   * Checks that the metadata of a block having integer keys is read as it is written.
+   */
+  @Test
+  public void testIntegerKeys() throws IOException {
+    writeAndCheck(Arrays.asList(0, -1, Integer.MAX_VALUE, 7));
+  }
+
+  /**
+   * Checks that the metadata of a block having keys which are not integers is read as it is written.
+   */
+  @Test
+  public void testSerializedKeys() throws IOException {
+    writeAndCheck(Arrays.asList("a", "key", ""));
+  }
+
+  /**
+   * Checks that the metadata of an empty block is read as it is written.
+   */
+  @Test
+  public void testEmptyBlock() throws IOException {
+    writeAndCheck(new ArrayList<Integer>());
+  }
+
+  /**
+   * Writes the metadata of partitions having the given keys, and checks the opened metadata.
+   *
+   * @param keys the keys of the partitions.
+   * @param <K>  the key type.
+   * @throws IOException if fail to write or open the metadata.
+   */
+  private <K extends Serializable> void writeAndCheck(final List<K> keys) throws IOException {
+    final RemoteFileMetadata<K> writtenMetadata = RemoteFileMetadata.create(META_FILE_PATH);
+    for (int i = 0; i < keys.size(); i++) {
+      // Partition sizes and element counts span multiple bytes of variable-length integers.
+      writtenMetadata.writePartitionMetadata(keys.get(i), 1 << (7 * i), (1L << (9 * i)) + i);
+    }
+    writtenMetadata.commitBlock();
+
+    final List<PartitionMetadata<K>> expected = new ArrayList<>();
+    writtenMetadata.getPartitionMetadataIterable().forEach(expected::add);
+    final List<PartitionMetadata<K>> actual = new ArrayList<>();
+    RemoteFileMetadata.<K>open(META_FILE_PATH).getPartitionMetadataIterable().forEach(actual::add);
+
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getKey(), actual.get(i).getKey());
+      assertEquals(expected.get(i).getPartitionSize(), actual.get(i).getPartitionSize());
+      assertEquals(expected.get(i).getOffset(), actual.get(i).getOffset());
+      assertEquals(expected.get(i).getElementsTotal(), actual.get(i).getElementsTotal());
+    }
+  }
+}
@@ -97,14 +97,19 @@ import static org.mockito.Mockito.mock;
 public final class DataTransferTest {
   private static final String EXECUTOR_ID_PREFIX = "Executor";
   private static final int EXECUTOR_CAPACITY = 1;
+  private static final int OUTPUT_BATCH_SIZE = 10000;
   private static final int MAX_SCHEDULE_ATTEMPT = 2;
   private static final int SCHEDULE_TIMEOUT = 1000;
   private static final DataStoreProperty.Value MEMORY_STORE = DataStoreProperty.Value.MemoryStore;
   private static final DataStoreProperty.Value SER_MEMORY_STORE = DataStoreProperty.Value.SerializedMemoryStore;
+  private static final DataStoreProperty.Value OFF_HEAP_MEMORY_STORE =
+      DataStoreProperty.Value.OffHeapMemoryStore;
   private static final DataStoreProperty.Value LOCAL_FILE_STORE = DataStoreProperty.Value.LocalFileStore;
   private static final DataStoreProperty.Value REMOTE_FILE_STORE = DataStoreProperty.Value.GlusterFileStore;
   private static final String TMP_LOCAL_FILE_DIRECTORY = "./tmpLocalFiles";
   private static final String TMP_REMOTE_FILE_DIRECTORY = "./tmpRemoteFiles";
+  // A small transfer window, so that the senders run out of credit and wait for the receivers.
+  private static final int TRANSFER_WINDOW_SIZE = 16;
   private static final int PARALLELISM_TEN = 10;
   private static final String EDGE_PREFIX_TEMPLATE = "Dummy(%d)";
   private static final AtomicInteger TEST_INDEX = new AtomicInteger(0);
@@ -131,7 +136,7 @@ public final class DataTransferTest {
     final SchedulerRunner schedulerRunner = new SchedulerRunner(schedulingPolicy, taskGroupQueue);
     final Scheduler scheduler =
         new BatchSingleJobScheduler(schedulingPolicy, schedulerRunner, taskGroupQueue, master,
-            pubSubEventHandler, updatePhysicalPlanEventHandler);
+            pubSubEventHandler, updatePhysicalPlanEventHandler, false, 0.75, 1.5);
     final AtomicInteger executorCount = new AtomicInteger(0);
 
     // Necessary for wiring up the message environments
@@ -173,6 +178,7 @@ public final class DataTransferTest {
     injector.bindVolatileInstance(PersistentConnectionToMasterMap.class, conToMaster);
     injector.bindVolatileParameter(JobConf.FileDirectory.class, TMP_LOCAL_FILE_DIRECTORY);
     injector.bindVolatileParameter(JobConf.GlusterVolumeDirectory.class, TMP_REMOTE_FILE_DIRECTORY);
+    injector.bindVolatileParameter(JobConf.PartitionTransferWindowSize.class, TRANSFER_WINDOW_SIZE);
     final BlockManagerWorker blockManagerWorker;
     final MetricManagerWorker metricManagerWorker;
     final SerializerManager serializerManager;
@@ -189,6 +195,8 @@ public final class DataTransferTest {
     final Executor executor = new Executor(
         executorId,
         EXECUTOR_CAPACITY,
+        OUTPUT_BATCH_SIZE,
+        TMP_LOCAL_FILE_DIRECTORY,
         conToMaster,
         messageEnvironment,
         serializerManager,
@@ -243,6 +251,12 @@ public final class DataTransferTest {
     // test ManyToMany different worker
     writeAndRead(worker1, worker2, DataCommunicationPatternProperty.Value.Shuffle, SER_MEMORY_STORE);
 
+    // test ManyToMany same worker (off-heap memory)
+    writeAndRead(worker1, worker1, DataCommunicationPatternProperty.Value.Shuffle, OFF_HEAP_MEMORY_STORE);
+
+    // test ManyToMany different worker (off-heap memory)
+    writeAndRead(worker1, worker2, DataCommunicationPatternProperty.Value.Shuffle, OFF_HEAP_MEMORY_STORE);
+
     // test ManyToMany same worker (local file)
     writeAndRead(worker1, worker1, DataCommunicationPatternProperty.Value.Shuffle, LOCAL_FILE_STORE);
 
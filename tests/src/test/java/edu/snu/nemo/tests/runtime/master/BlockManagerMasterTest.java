@@ -16,6 +16,7 @@
 package edu.snu.nemo.tests.runtime.master;
 
 import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
 import edu.snu.nemo.runtime.common.exception.AbsentBlockException;
 import edu.snu.nemo.runtime.common.message.MessageEnvironment;
 import edu.snu.nemo.runtime.common.message.local.LocalMessageDispatcher;
@@ -27,7 +28,14 @@ import org.apache.reef.tang.Tang;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
@@ -38,11 +46,12 @@ import static org.junit.Assert.assertTrue;
  * Test for {@link BlockManagerMaster}.
  */
 public final class BlockManagerMasterTest {
+  private LocalMessageDispatcher messageDispatcher;
   private BlockManagerMaster blockManagerMaster;
 
   @Before
   public void setUp() throws Exception {
-    final LocalMessageDispatcher messageDispatcher = new LocalMessageDispatcher();
+    messageDispatcher = new LocalMessageDispatcher();
     final LocalMessageEnvironment messageEnvironment =
         new LocalMessageEnvironment(MessageEnvironment.MASTER_COMMUNICATION_ID, messageDispatcher);
     final Injector injector = Tang.Factory.getTang().newInjector();
@@ -151,4 +160,104 @@ public final class BlockManagerMasterTest {
     checkBlockAbsentException(blockManagerMaster.getBlockLocationHandler(blockId).getLocationFuture(), blockId,
         BlockState.State.REMOVED);
   }
+
+  /**
+   * Test a request for the locations of multiple blocks, which is replied with a single message.
+   * @throws Exception
+   */
+  @Test
+  public void testBatchedLocationRequest() throws Exception {
+    final String edgeId = RuntimeIdGenerator.generateRuntimeEdgeId("Edge-2");
+    final String executorId = RuntimeIdGenerator.generateExecutorId();
+    final String committedBlockId = RuntimeIdGenerator.generateBlockId(edgeId, 0);
+    final String scheduledBlockId = RuntimeIdGenerator.generateBlockId(edgeId, 1);
+    final String readyBlockId = RuntimeIdGenerator.generateBlockId(edgeId, 2);
+    final String scheduledTaskGroupId = RuntimeIdGenerator.generateTaskGroupId(1, "Stage-Test");
+    blockManagerMaster.initializeState(committedBlockId, RuntimeIdGenerator.generateTaskGroupId(0, "Stage-Test"));
+    blockManagerMaster.initializeState(scheduledBlockId, scheduledTaskGroupId);
+    blockManagerMaster.initializeState(readyBlockId, RuntimeIdGenerator.generateTaskGroupId(2, "Stage-Test"));
+    blockManagerMaster.onProducerTaskGroupScheduled(RuntimeIdGenerator.generateTaskGroupId(0, "Stage-Test"));
+    blockManagerMaster.onBlockStateChanged(committedBlockId, BlockState.State.COMMITTED, executorId);
+    blockManagerMaster.onProducerTaskGroupScheduled(scheduledTaskGroupId);
+    // The local message environment replies synchronously, so every location is known before the request.
+    blockManagerMaster.onBlockStateChanged(scheduledBlockId, BlockState.State.COMMITTED, executorId);
+
+    final MessageEnvironment executorMessageEnvironment = new LocalMessageEnvironment(executorId, messageDispatcher);
+    final CompletableFuture<ControlMessage.Message> replyFuture = executorMessageEnvironment
+        .<ControlMessage.Message>asyncConnect(MessageEnvironment.MASTER_COMMUNICATION_ID,
+            MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID).get()
+        .request(ControlMessage.Message.newBuilder()
+            .setId(RuntimeIdGenerator.generateMessageId())
+            .setListenerId(MessageEnvironment.BLOCK_MANAGER_MASTER_MESSAGE_LISTENER_ID)
+            .setType(ControlMessage.MessageType.RequestBlockLocations)
+            .setRequestBlockLocationsMsg(ControlMessage.RequestBlockLocationsMsg.newBuilder()
+                .setExecutorId(executorId)
+                .addAllBlockIds(Arrays.asList(committedBlockId, scheduledBlockId, readyBlockId))
+                .build())
+            .build());
+
+
+    final ControlMessage.Message reply = replyFuture.get();
+    assertEquals(ControlMessage.MessageType.BlockLocationsInfo, reply.getType());
+    final List<ControlMessage.BlockLocationInfoMsg> infoMsgs =
+        reply.getBlockLocationsInfoMsg().getBlockLocationInfosList();
+    assertEquals(3, infoMsgs.size());
+    assertEquals(committedBlockId, infoMsgs.get(0).getBlockId());
+    assertEquals(executorId, infoMsgs.get(0).getOwnerExecutorId());
+    assertEquals(scheduledBlockId, infoMsgs.get(1).getBlockId());
+    assertEquals(executorId, infoMsgs.get(1).getOwnerExecutorId());
+    assertEquals(readyBlockId, infoMsgs.get(2).getBlockId());
+    assertFalse(infoMsgs.get(2).hasOwnerExecutorId());
+    assertEquals(ControlMessage.BlockStateFromExecutor.BLOCK_READY, infoMsgs.get(2).getState());
+  }
+
+  /**
+   * Test blocks of different producers which are scheduled, committed and lost concurrently.
+   * @throws Exception
+   */
+  @Test(timeout=10000)
+  public void testConcurrentStateChanges() throws Exception {
+    final int numTaskGroups = 8;
+    final int numBlocksPerTaskGroup = 100;
+    final String edgeId = RuntimeIdGenerator.generateRuntimeEdgeId("Edge-3");
+    final String executorId = RuntimeIdGenerator.generateExecutorId();
+    final List<String> taskGroupIds = new ArrayList<>(numTaskGroups);
+    for (int taskGroupIdx = 0; taskGroupIdx < numTaskGroups; taskGroupIdx++) {
+      final String taskGroupId = RuntimeIdGenerator.generateTaskGroupId(taskGroupIdx, "Stage-Test");
+      taskGroupIds.add(taskGroupId);
+      for (int blockIdx = 0; blockIdx < numBlocksPerTaskGroup; blockIdx++) {
+        blockManagerMaster.initializeState(
+            RuntimeIdGenerator.generateBlockId(edgeId, taskGroupIdx * numBlocksPerTaskGroup + blockIdx), taskGroupId);
+      }
+    }
+
+    // Each producer task group is scheduled and commits its blocks in its own thread.
+    final ExecutorService executorService = Executors.newFixedThreadPool(numTaskGroups);
+    final List<Future<?>> futures = new ArrayList<>(numTaskGroups);
+    for (int taskGroupIdx = 0; taskGroupIdx < numTaskGroups; taskGroupIdx++) {
+      final int index = taskGroupIdx;
+      futures.add(executorService.submit(() -> {
+        blockManagerMaster.onProducerTaskGroupScheduled(taskGroupIds.get(index));
+        for (int blockIdx = 0; blockIdx < numBlocksPerTaskGroup; blockIdx++) {
+          final String blockId = RuntimeIdGenerator.generateBlockId(edgeId, index * numBlocksPerTaskGroup + blockIdx);
+          blockManagerMaster.onBlockStateChanged(blockId, BlockState.State.COMMITTED, executorId);
+        }
+      }));
+    }
+    for (final Future<?> future : futures) {
+      future.get();
+    }
+    executorService.shutdown();
+
+    for (int blockIdx = 0; blockIdx < numTaskGroups * numBlocksPerTaskGroup; blockIdx++) {
+      final String blockId = RuntimeIdGenerator.generateBlockId(edgeId, blockIdx);
+      checkBlockLocation(blockManagerMaster.getBlockLocationHandler(blockId).getLocationFuture(), executorId);
+    }
+
+    // Every producer task group has to be recomputed when the executor is removed.
+    assertEquals(new HashSet<>(taskGroupIds), blockManagerMaster.removeWorker(executorId));
+    checkBlockAbsentException(blockManagerMaster.getBlockLocationHandler(
+        RuntimeIdGenerator.generateBlockId(edgeId, 0)).getLocationFuture(),
+        RuntimeIdGenerator.generateBlockId(edgeId, 0), BlockState.State.LOST);
+  }
 }
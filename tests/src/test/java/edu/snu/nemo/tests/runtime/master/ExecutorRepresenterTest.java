@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.tests.runtime.master;
+
+import edu.snu.nemo.common.ir.vertex.executionproperty.ExecutorPlacementProperty;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import edu.snu.nemo.runtime.common.message.MessageSender;
+import edu.snu.nemo.runtime.common.plan.physical.ScheduledTaskGroup;
+import edu.snu.nemo.runtime.master.resource.ExecutorRepresenter;
+import edu.snu.nemo.runtime.master.resource.ResourceSpecification;
+import org.apache.reef.driver.context.ActiveContext;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests {@link ExecutorRepresenter}.
+ */
+public final class ExecutorRepresenterTest {
+  private static final byte[] SERIALIZED_TASK_GROUP_DAG = new byte[]{1, 2, 3};
+
+  /**
+   * Tests whether the stage of the scheduled task groups is sent only once to an executor.
+   */
+  @Test(timeout=5000)
+  public void testStageSentOnce() throws Exception {
+    final MessageSender<ControlMessage.Message> mockMsgSender = mock(MessageSender.class);
+    final ExecutorService serExecutorService = Executors.newSingleThreadExecutor();
+    final ExecutorRepresenter executorRepresenter = new ExecutorRepresenter("a1",
+        new ResourceSpecification(ExecutorPlacementProperty.COMPUTE, 2, 0), mockMsgSender, mock(ActiveContext.class),
+        serExecutorService);
+
+    final String stage0 = RuntimeIdGenerator.generateStageId(0);
+    final String stage1 = RuntimeIdGenerator.generateStageId(1);
+    executorRepresenter.onTaskGroupScheduled(
+        createScheduledTaskGroup(RuntimeIdGenerator.generateTaskGroupId(0, stage0)));
+    executorRepresenter.onTaskGroupScheduled(
+        createScheduledTaskGroup(RuntimeIdGenerator.generateTaskGroupId(1, stage0)));
+    executorRepresenter.onTaskGroupScheduled(
+        createScheduledTaskGroup(RuntimeIdGenerator.generateTaskGroupId(0, stage1)));
+    serExecutorService.shutdown();
+    serExecutorService.awaitTermination(5, TimeUnit.SECONDS);
+
+    final ArgumentCaptor<ControlMessage.Message> messageCaptor = ArgumentCaptor.forClass(ControlMessage.Message.class);
+    verify(mockMsgSender, times(3)).send(messageCaptor.capture());
+    final List<ControlMessage.Message> messages = messageCaptor.getAllValues();
+
+    final ControlMessage.ScheduleTaskGroupMsg first = messages.get(0).getScheduleTaskGroupMsg();
+    assertEquals(RuntimeIdGenerator.generateTaskGroupId(0, stage0), first.getTaskGroupId());
+    assertTrue(first.hasStage());
+    assertArrayEquals(SERIALIZED_TASK_GROUP_DAG, first.getStage().getSerializedTaskGroupDag().toByteArray());
+    assertFalse(first.hasLogicalTaskIdToReadable());
+
+    // The stage is cached by the executor after the first task group.
+    assertFalse(messages.get(1).getScheduleTaskGroupMsg().hasStage());
+    assertTrue(messages.get(2).getScheduleTaskGroupMsg().hasStage());
+  }
+
+  private static ScheduledTaskGroup createScheduledTaskGroup(final String taskGroupId) {
+    return new ScheduledTaskGroup("TestPlan", SERIALIZED_TASK_GROUP_DAG, taskGroupId, Collections.emptyList(),
+        Collections.emptyList(), 0, ExecutorPlacementProperty.COMPUTE, Collections.emptyMap());
+  }
+}
@@ -47,6 +47,7 @@ import org.junit.runner.RunWith;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
@@ -155,6 +156,41 @@ public final class JobStateManagerTest {
     }
   }
 
+  /**
+   * Tests whether the task groups which take much longer than the other task groups of the stage are found.
+   */
+  @Test
+  public void testStragglerTaskGroups() throws Exception {
+    final IRVertex v1 = new OperatorVertex(mock(Transform.class));
+    v1.setProperty(ParallelismProperty.of(4));
+    irDAGBuilder.addVertex(v1);
+
+    final DAG<IRVertex, IREdge> irDAG = CompiletimeOptimizer.optimize(irDAGBuilder.buildWithoutSourceSinkCheck(),
+        new TestPolicy(), "");
+    final DAG<PhysicalStage, PhysicalStageEdge> physicalDAG = irDAG.convert(physicalPlanGenerator);
+    final JobStateManager jobStateManager = new JobStateManager(
+        new PhysicalPlan("TestPlan", physicalDAG, physicalPlanGenerator.getTaskIRVertexMap()),
+        blockManagerMaster, metricMessageHandler, MAX_SCHEDULE_ATTEMPT);
+
+    final PhysicalStage physicalStage = physicalDAG.getTopologicalSort().get(0);
+    final List<String> taskGroupIds = physicalStage.getTaskGroupIds();
+    jobStateManager.onStageStateChanged(physicalStage.getId(), StageState.State.EXECUTING);
+    // The last task group starts long before the others.
+    jobStateManager.onTaskGroupStateChanged(taskGroupIds.get(3), TaskGroupState.State.EXECUTING);
+    Thread.sleep(1000);
+    taskGroupIds.subList(0, 3).forEach(taskGroupId ->
+        jobStateManager.onTaskGroupStateChanged(taskGroupId, TaskGroupState.State.EXECUTING));
+
+    // Not enough task groups are complete to tell the stragglers.
+    jobStateManager.onTaskGroupStateChanged(taskGroupIds.get(0), TaskGroupState.State.COMPLETE);
+    jobStateManager.onTaskGroupStateChanged(taskGroupIds.get(1), TaskGroupState.State.COMPLETE);
+    assertTrue(jobStateManager.getStragglerTaskGroupIds(0.75, 1.5).isEmpty());
+
+    // The last task group has been running much longer than the median execution time.
+    jobStateManager.onTaskGroupStateChanged(taskGroupIds.get(2), TaskGroupState.State.COMPLETE);
+    assertEquals(Collections.singletonList(taskGroupIds.get(3)), jobStateManager.getStragglerTaskGroupIds(0.75, 1.5));
+  }
+
   /**
    * Test whether the methods waiting finish of job works properly.
    */
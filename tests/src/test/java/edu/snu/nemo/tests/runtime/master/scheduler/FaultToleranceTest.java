@@ -124,7 +124,7 @@ public final class FaultToleranceTest {
     }
     scheduler =
         new BatchSingleJobScheduler(schedulingPolicy, schedulerRunner, pendingTaskGroupQueue,
-            blockManagerMaster, pubSubEventHandler, updatePhysicalPlanEventHandler);
+            blockManagerMaster, pubSubEventHandler, updatePhysicalPlanEventHandler, false, 0.75, 1.5);
 
     // Add nodes
     executorRepresenterMap.keySet().forEach(executorId -> scheduler.onExecutorAdded(executorId));
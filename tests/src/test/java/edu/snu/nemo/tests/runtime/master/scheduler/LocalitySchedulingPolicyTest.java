@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2018 Seoul National University
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.snu.nemo.tests.runtime.master.scheduler;
+
+import edu.snu.nemo.common.coder.Coder;
+import edu.snu.nemo.common.dag.DAG;
+import edu.snu.nemo.common.dag.DAGBuilder;
+import edu.snu.nemo.common.ir.Readable;
+import edu.snu.nemo.common.ir.edge.executionproperty.DataCommunicationPatternProperty;
+import edu.snu.nemo.common.ir.executionproperty.ExecutionPropertyMap;
+import edu.snu.nemo.common.ir.vertex.IRVertex;
+import edu.snu.nemo.common.ir.vertex.executionproperty.ExecutorPlacementProperty;
+import edu.snu.nemo.runtime.common.RuntimeIdGenerator;
+import edu.snu.nemo.runtime.common.comm.ControlMessage;
+import edu.snu.nemo.runtime.common.message.MessageEnvironment;
+import edu.snu.nemo.runtime.common.message.MessageSender;
+import edu.snu.nemo.runtime.common.message.local.LocalMessageDispatcher;
+import edu.snu.nemo.runtime.common.message.local.LocalMessageEnvironment;
+import edu.snu.nemo.runtime.common.plan.RuntimeEdge;
+import edu.snu.nemo.runtime.common.plan.physical.PhysicalStage;
+import edu.snu.nemo.runtime.common.plan.physical.PhysicalStageEdge;
+import edu.snu.nemo.runtime.common.plan.physical.ScheduledTaskGroup;
+import edu.snu.nemo.runtime.common.plan.physical.Task;
+import edu.snu.nemo.runtime.common.state.BlockState;
+import edu.snu.nemo.runtime.master.BlockManagerMaster;
+import edu.snu.nemo.runtime.master.JobStateManager;
+import edu.snu.nemo.runtime.master.resource.ContainerManager;
+import edu.snu.nemo.runtime.master.resource.ExecutorRepresenter;
+import edu.snu.nemo.runtime.master.resource.ResourceSpecification;
+import edu.snu.nemo.runtime.master.scheduler.LocalitySchedulingPolicy;
+import edu.snu.nemo.runtime.master.scheduler.SchedulingPolicy;
+import org.apache.reef.driver.catalog.NodeDescriptor;
+import org.apache.reef.driver.context.ActiveContext;
+import org.apache.reef.driver.evaluator.EvaluatorDescriptor;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link LocalitySchedulingPolicy}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ContainerManager.class, JobStateManager.class})
+public final class LocalitySchedulingPolicyTest {
+  private static final int TIMEOUT_MS = 2000;
+  private static final int LOCALITY_WAIT_MS = 500;
+  private static final String STAGE_ID = "Stage-Test";
+
+  private SchedulingPolicy schedulingPolicy;
+  private BlockManagerMaster blockManagerMaster;
+  private final ContainerManager containerManager = mock(ContainerManager.class);
+  private final JobStateManager jobStateManager = mock(JobStateManager.class);
+  private final Map<String, ExecutorRepresenter> executorRepresenterMap = new HashMap<>();
+  private PhysicalStageEdge edge;
+
+  @Before
+  public void setUp() throws Exception {
+    when(containerManager.getExecutorRepresenterMap()).thenReturn(executorRepresenterMap);
+    when(containerManager.getFailedExecutorRepresenterMap()).thenReturn(executorRepresenterMap);
+
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileInstance(MessageEnvironment.class,
+        new LocalMessageEnvironment(MessageEnvironment.MASTER_COMMUNICATION_ID, new LocalMessageDispatcher()));
+    blockManagerMaster = injector.getInstance(BlockManagerMaster.class);
+    schedulingPolicy = new LocalitySchedulingPolicy(containerManager, blockManagerMaster, TIMEOUT_MS,
+        LOCALITY_WAIT_MS);
+
+    final MessageSender<ControlMessage.Message> mockMsgSender = mock(MessageSender.class);
+    final ExecutorService serExecutorService = Executors.newSingleThreadExecutor();
+    final ResourceSpecification computeSpec = new ResourceSpecification(ExecutorPlacementProperty.COMPUTE, 1, 0);
+    for (int i = 1; i <= 3; i++) {
+      final ExecutorRepresenter executor = new ExecutorRepresenter("a" + i, computeSpec, mockMsgSender,
+          mockActiveContext("node" + i), serExecutorService);
+      executorRepresenterMap.put(executor.getExecutorId(), executor);
+      schedulingPolicy.onExecutorAdded(executor.getExecutorId());
+    }
+
+    final ExecutionPropertyMap edgeProperties = new ExecutionPropertyMap("Edge-0");
+    edgeProperties.put(DataCommunicationPatternProperty.of(DataCommunicationPatternProperty.Value.OneToOne));
+    edge = new PhysicalStageEdge("Edge-0", edgeProperties, mock(IRVertex.class), mock(IRVertex.class),
+        createStage("Stage-Producer"), createStage(STAGE_ID), mock(Coder.class), false);
+  }
+
+  @Test
+  public void testBlockLocality() {
+    commitInputBlock(0, "a3");
+    commitInputBlock(1, "a1");
+    commitInputBlock(2, "a2");
+
+    assertTrue(schedulingPolicy.scheduleTaskGroup(createTaskGroup(0, Collections.emptyMap()), jobStateManager));
+    assertTrue(schedulingPolicy.scheduleTaskGroup(createTaskGroup(1, Collections.emptyMap()), jobStateManager));
+    assertTrue(schedulingPolicy.scheduleTaskGroup(createTaskGroup(2, Collections.emptyMap()), jobStateManager));
+    assertRunningOn(0, "a3");
+    assertRunningOn(1, "a1");
+    assertRunningOn(2, "a2");
+  }
+
+  @Test
+  public void testReadableLocality() {
+    final Readable readable = new Readable() {
+      @Override
+      public Iterable read() {
+        return Collections.emptyList();
+      }
+
+      @Override
+      public List<String> getLocations() {
+        return Collections.singletonList("node2");
+      }
+    };
+    assertTrue(schedulingPolicy.scheduleTaskGroup(
+        createTaskGroup(0, Collections.singletonMap("Task-0", readable)), jobStateManager));
+    assertRunningOn(0, "a2");
+  }
+
+  @Test
+  public void testDelayScheduling() throws Exception {
+    commitInputBlock(0, "a1");
+    commitInputBlock(1, "a1");
+    commitInputBlock(2, "a1");
+    assertTrue(schedulingPolicy.scheduleTaskGroup(createTaskGroup(0, Collections.emptyMap()), jobStateManager));
+    assertRunningOn(0, "a1");
+
+    // The preferred executor becomes free while the task group is waiting for it.
+    final Thread completer = new Thread(() -> {
+      try {
+        Thread.sleep(LOCALITY_WAIT_MS / 5);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      schedulingPolicy.onTaskGroupExecutionComplete("a1", RuntimeIdGenerator.generateTaskGroupId(0, STAGE_ID));
+    });
+    completer.start();
+    assertTrue(schedulingPolicy.scheduleTaskGroup(createTaskGroup(1, Collections.emptyMap()), jobStateManager));
+    completer.join();
+    assertRunningOn(1, "a1");
+
+    // The preferred executor stays busy, so the task group falls back to another executor after the locality wait.
+    final long startTimeMs = System.currentTimeMillis();
+    assertTrue(schedulingPolicy.scheduleTaskGroup(createTaskGroup(2, Collections.emptyMap()), jobStateManager));
+    assertTrue(System.currentTimeMillis() - startTimeMs >= LOCALITY_WAIT_MS);
+    final String taskGroupId = RuntimeIdGenerator.generateTaskGroupId(2, STAGE_ID);
+    assertTrue(executorRepresenterMap.get("a2").getRunningTaskGroups().contains(taskGroupId)
+        || executorRepresenterMap.get("a3").getRunningTaskGroups().contains(taskGroupId));
+  }
+
+  private void commitInputBlock(final int taskGroupIdx, final String executorId) {
+    final String blockId = RuntimeIdGenerator.generateBlockId("Edge-0", taskGroupIdx);
+    final String producerTaskGroupId = RuntimeIdGenerator.generateTaskGroupId(taskGroupIdx, "Stage-Producer");
+    blockManagerMaster.initializeState(blockId, producerTaskGroupId);
+    blockManagerMaster.onProducerTaskGroupScheduled(producerTaskGroupId);
+    blockManagerMaster.onBlockStateChanged(blockId, BlockState.State.COMMITTED, executorId);
+  }
+
+  private ScheduledTaskGroup createTaskGroup(final int taskGroupIdx,
+                                             final Map<String, Readable> logicalTaskIdToReadable) {
+    return new ScheduledTaskGroup("TestPlan", new byte[0], RuntimeIdGenerator.generateTaskGroupId(taskGroupIdx,
+        STAGE_ID), Collections.singletonList(edge), Collections.emptyList(), 0, ExecutorPlacementProperty.NONE,
+        logicalTaskIdToReadable);
+  }
+
+  private void assertRunningOn(final int taskGroupIdx, final String executorId) {
+    assertTrue(executorRepresenterMap.get(executorId).getRunningTaskGroups()
+        .contains(RuntimeIdGenerator.generateTaskGroupId(taskGroupIdx, STAGE_ID)));
+  }
+
+  private static PhysicalStage createStage(final String stageId) {
+    final DAG<Task, RuntimeEdge<Task>> emptyDag = new DAGBuilder<Task, RuntimeEdge<Task>>().build();
+    return new PhysicalStage(stageId, emptyDag, 3, 0, ExecutorPlacementProperty.NONE, Collections.emptyList());
+  }
+
+  private static ActiveContext mockActiveContext(final String nodeName) {
+    final NodeDescriptor nodeDescriptor = mock(NodeDescriptor.class);
+    when(nodeDescriptor.getInetSocketAddress()).thenReturn(InetSocketAddress.createUnresolved(nodeName, 0));
+    final EvaluatorDescriptor evaluatorDescriptor = mock(EvaluatorDescriptor.class);
+    when(evaluatorDescriptor.getNodeDescriptor()).thenReturn(nodeDescriptor);
+    final ActiveContext activeContext = mock(ActiveContext.class);
+    when(activeContext.getEvaluatorDescriptor()).thenReturn(evaluatorDescriptor);
+    return activeContext;
+  }
+}
@@ -40,6 +40,7 @@ import java.util.concurrent.Executors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.*;
@@ -187,6 +188,36 @@ public final class RoundRobinSchedulingPolicyTest {
     verify(mockMsgSender, times(8)).send(anyObject());
   }
 
+  @Test
+  public void testTaskGroupCopies() {
+    final ScheduledTaskGroup scheduledTaskGroup =
+        convertToScheduledTaskGroups(1, new byte[0], "Stage A", ExecutorPlacementProperty.COMPUTE).get(0);
+    final String taskGroupId = scheduledTaskGroup.getTaskGroupId();
+    assertTrue(schedulingPolicy.scheduleTaskGroup(scheduledTaskGroup, jobStateManager));
+
+    // The copies are scheduled to the other compute executors, until no such executor is left.
+    final Optional<String> firstCopy = schedulingPolicy.scheduleTaskGroupCopy(scheduledTaskGroup);
+    final Optional<String> secondCopy = schedulingPolicy.scheduleTaskGroupCopy(scheduledTaskGroup);
+    assertTrue(firstCopy.isPresent());
+    assertTrue(secondCopy.isPresent());
+    assertNotEquals(firstCopy.get(), secondCopy.get());
+    assertFalse(schedulingPolicy.scheduleTaskGroupCopy(scheduledTaskGroup).isPresent());
+
+    // The first copy completes, and the others are cancelled.
+    final Set<String> cancelledExecutorIds = schedulingPolicy.cancelTaskGroupCopies(taskGroupId, firstCopy.get());
+    assertEquals(2, cancelledExecutorIds.size());
+    assertFalse(cancelledExecutorIds.contains(firstCopy.get()));
+    schedulingPolicy.onTaskGroupExecutionComplete(firstCopy.get(), taskGroupId);
+
+    // The freed executors can run another task group.
+    final ScheduledTaskGroup nextTaskGroup =
+        convertToScheduledTaskGroups(1, new byte[0], "Stage B", ExecutorPlacementProperty.COMPUTE).get(0);
+    assertTrue(schedulingPolicy.scheduleTaskGroup(nextTaskGroup, jobStateManager));
+
+    // 4 schedule messages and 2 cancel messages.
+    verify(mockMsgSender, timeout(TIMEOUT_MS).times(6)).send(anyObject());
+  }
+
   /**
    * Wrap a DAG of a task group into {@link ScheduledTaskGroup}s.
    *
@@ -392,6 +392,48 @@ public final class SingleTaskGroupQueueTest {
     countDownLatch.await();
   }
 
+  /**
+   * This method builds a physical DAG starting from an IR DAG and submits it to {@link SingleJobTaskGroupQueue}.
+   * Tests whether removing the children stage makes the parent stage, which was waiting for it, schedulable.
+   */
+  @Test
+  public void testRemoveStageUnblocksParent() throws Exception {
+    final Transform t = mock(Transform.class);
+    final IRVertex v1 = new OperatorVertex(t);
+    v1.setProperty(ParallelismProperty.of(3));
+    v1.setProperty(ExecutorPlacementProperty.of(ExecutorPlacementProperty.COMPUTE));
+    irDAGBuilder.addVertex(v1);
+
+    final IRVertex v2 = new OperatorVertex(t);
+    v2.setProperty(ParallelismProperty.of(2));
+    v2.setProperty(ExecutorPlacementProperty.of(ExecutorPlacementProperty.COMPUTE));
+    irDAGBuilder.addVertex(v2);
+
+    final IREdge e1 = new IREdge(DataCommunicationPatternProperty.Value.Shuffle, v1, v2, Coder.DUMMY_CODER);
+    irDAGBuilder.connectVertices(e1);
+
+    final DAG<IRVertex, IREdge> irDAG = CompiletimeOptimizer.optimize(irDAGBuilder.buildWithoutSourceSinkCheck(),
+        new TestPolicy(true), "");
+
+    final DAG<PhysicalStage, PhysicalStageEdge> physicalDAG = irDAG.convert(physicalPlanGenerator);
+
+    pendingTaskGroupPriorityQueue.onJobScheduled(
+        new PhysicalPlan("TestPlan", physicalDAG, physicalPlanGenerator.getTaskIRVertexMap()));
+
+    final List<PhysicalStage> dagOf2Stages = physicalDAG.getTopologicalSort();
+
+    scheduleStage(dagOf2Stages.get(1));
+    scheduleStage(dagOf2Stages.get(0));
+    assertEquals(dequeueAndGetStageId(), dagOf2Stages.get(1).getId());
+
+    // Removing the children stage with a pending TaskGroup should let the parent TaskGroups be scheduled.
+    pendingTaskGroupPriorityQueue.removeTaskGroupsAndDescendants(dagOf2Stages.get(1).getId());
+    assertEquals(dequeueAndGetStageId(), dagOf2Stages.get(0).getId());
+    assertEquals(dequeueAndGetStageId(), dagOf2Stages.get(0).getId());
+    assertEquals(dequeueAndGetStageId(), dagOf2Stages.get(0).getId());
+    assertTrue(pendingTaskGroupPriorityQueue.isEmpty());
+  }
+
   /**
    * Schedule the task groups in a physical stage.
    * @param stage the stage to schedule.